@@ -0,0 +1,262 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.math.test;
+
+import com.jme3.math.FastMath;
+import com.jme3.math.Vector3f;
+import java.util.logging.Logger;
+import jme3utilities.math.MyVector3f;
+import jme3utilities.math.noise.Generator;
+import jme3utilities.math.polygon.CornerSet3f;
+
+/**
+ * Benchmark for the largest-triangle and planarity calculations of the
+ * CornerSet3f class: compare the exact and approximate algorithms with a
+ * brute-force search over all triples, across a range of corner counts.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class BenchmarkLargestTriangle {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * largest corner count for which to time the brute-force search
+     */
+    final private static int maxBruteForce = 400;
+    /**
+     * number of timed corner sets per corner count
+     */
+    final private static int numSets = 5;
+    /**
+     * corner counts to benchmark
+     */
+    final private static int[] cornerCounts = {25, 50, 100, 200, 400, 800};
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            BenchmarkLargestTriangle.class.getName());
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private BenchmarkLargestTriangle() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Console application to benchmark the CornerSet3f class.
+     *
+     * @param ignored command-line arguments
+     */
+    public static void main(String[] ignored) {
+        System.out.printf("Benchmark results for class CornerSet3f:%n%n");
+
+        Generator random = new Generator(518_204L);
+
+        // Warm up the JIT compiler.
+        for (int iteration = 0; iteration < 20; ++iteration) {
+            run(random, 60, false, false);
+            run(random, 60, true, false);
+        }
+
+        System.out.printf("%-10s %7s %12s %12s %12s %12s%n", "shape",
+                "corners", "brute ms", "exact ms", "approx ms", "planar ms");
+        for (int numCorners : cornerCounts) {
+            run(random, numCorners, false, true);
+        }
+        for (int numCorners : cornerCounts) {
+            run(random, numCorners, true, true);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Find the largest triangle by testing every triple of corners.
+     *
+     * @param corners the corner locations (not null, unaffected)
+     * @return the square of the area of the largest triangle
+     */
+    private static double bruteForce(Vector3f[] corners) {
+        int numCorners = corners.length;
+        double result = 0.0;
+        Vector3f ab = new Vector3f();
+        Vector3f ac = new Vector3f();
+        Vector3f cross = new Vector3f();
+        for (int i = 0; i < numCorners - 2; ++i) {
+            for (int j = i + 1; j < numCorners - 1; ++j) {
+                corners[j].subtract(corners[i], ab);
+                for (int k = j + 1; k < numCorners; ++k) {
+                    corners[k].subtract(corners[i], ac);
+                    ab.cross(ac, cross);
+                    double squaredArea = MyVector3f.lengthSquared(cross) / 4.0;
+                    result = Math.max(result, squaredArea);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Generate random corners uniformly distributed in a cube.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param numCorners the number of corners to generate (&ge;3)
+     * @return a new array of new vectors
+     */
+    private static Vector3f[] cloud(Generator random, int numCorners) {
+        Vector3f[] result = new Vector3f[numCorners];
+        for (int i = 0; i < numCorners; ++i) {
+            float x = 100f * random.nextFloat();
+            float y = 100f * random.nextFloat();
+            float z = 100f * random.nextFloat();
+            result[i] = new Vector3f(x, y, z);
+        }
+
+        return result;
+    }
+
+    /**
+     * Generate the corners of a random "coastline": a closed loop whose
+     * radius wanders randomly, lying in a tilted plane.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param numCorners the number of corners to generate (&ge;3)
+     * @return a new array of new vectors
+     */
+    private static Vector3f[] coastline(Generator random, int numCorners) {
+        Vector3f uAxis = new Vector3f(1f, 0.5f, 0f);
+        Vector3f vAxis = new Vector3f(0f, 0.3f, 1f);
+        Vector3f[] result = new Vector3f[numCorners];
+
+        float radius = 100f;
+        for (int i = 0; i < numCorners; ++i) {
+            radius += 2f * (float) random.nextGaussian();
+            radius = FastMath.clamp(radius, 50f, 150f);
+            float theta = FastMath.TWO_PI * i / numCorners;
+            float u = radius * FastMath.cos(theta);
+            float v = radius * FastMath.sin(theta);
+            result[i] = uAxis.mult(u).addLocal(vAxis.mult(v));
+        }
+
+        return result;
+    }
+
+    /**
+     * Time the calculations for several corner sets of the specified size
+     * and shape, and print the mean times per corner set.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param numCorners the number of corners in each set (&ge;3)
+     * @param isCloud true for a random cloud, false for a planar coastline
+     * @param print true to print the results, false to discard them
+     */
+    private static void run(Generator random, int numCorners,
+            boolean isCloud, boolean print) {
+        boolean brute = numCorners <= maxBruteForce;
+        long bruteNanos = 0L;
+        long exactNanos = 0L;
+        long approxNanos = 0L;
+        long planarNanos = 0L;
+        int numErrors = 0;
+
+        for (int setIndex = 0; setIndex < numSets; ++setIndex) {
+            Vector3f[] corners = isCloud
+                    ? cloud(random, numCorners)
+                    : coastline(random, numCorners);
+
+            double bruteSA = Double.NaN;
+            if (brute) {
+                long startNanos = System.nanoTime();
+                bruteSA = bruteForce(corners);
+                bruteNanos += System.nanoTime() - startNanos;
+            }
+
+            CornerSet3f cornerSet = new CornerSet3f(corners, 0.001f);
+            long startNanos = System.nanoTime();
+            int[] exact = cornerSet.largestTriangle();
+            exactNanos += System.nanoTime() - startNanos;
+
+            cornerSet = new CornerSet3f(corners, 0.001f);
+            startNanos = System.nanoTime();
+            cornerSet.approximateLargestTriangle();
+            approxNanos += System.nanoTime() - startNanos;
+
+            cornerSet = new CornerSet3f(corners, 0.001f);
+            startNanos = System.nanoTime();
+            boolean isPlanar = cornerSet.isPlanar();
+            planarNanos += System.nanoTime() - startNanos;
+
+            if (isPlanar == isCloud) {
+                ++numErrors;
+            }
+            if (brute && squaredArea(corners, exact) != bruteSA) {
+                ++numErrors;
+            }
+        }
+
+        if (print) {
+            String shape = isCloud ? "cloud" : "coastline";
+            String bruteMillis = brute
+                    ? String.format("%.3f", bruteNanos * 1e-6 / numSets)
+                    : "-";
+            System.out.printf("%-10s %7d %12s %12.3f %12.3f %12.3f%n",
+                    shape, numCorners, bruteMillis,
+                    exactNanos * 1e-6 / numSets,
+                    approxNanos * 1e-6 / numSets,
+                    planarNanos * 1e-6 / numSets);
+            if (numErrors > 0) {
+                System.out.printf("  *** %d incorrect result(s)%n",
+                        numErrors);
+            }
+        }
+    }
+
+    /**
+     * Calculate the square of the area of the specified triangle.
+     *
+     * @param corners the corner locations (not null, unaffected)
+     * @param triangle the indices of the triangle's corners (not null,
+     * length=3, in ascending order, unaffected)
+     * @return area^2 (&ge;0)
+     */
+    private static double squaredArea(Vector3f[] corners, int[] triangle) {
+        Vector3f a = corners[triangle[0]];
+        Vector3f ab = corners[triangle[1]].subtract(a);
+        Vector3f ac = corners[triangle[2]].subtract(a);
+        Vector3f cross = ab.cross(ac);
+        double result = MyVector3f.lengthSquared(cross) / 4.0;
+
+        return result;
+    }
+}
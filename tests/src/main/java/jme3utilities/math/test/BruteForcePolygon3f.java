@@ -0,0 +1,85 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.math.test;
+
+import com.jme3.math.Vector3f;
+import java.util.logging.Logger;
+import jme3utilities.math.polygon.GenericPolygon3f;
+
+/**
+ * A generic polygon that can also test for self-intersection by comparing
+ * every pair of sides, for cross-checking the sweep used by
+ * GenericPolygon3f.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+class BruteForcePolygon3f extends GenericPolygon3f {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            BruteForcePolygon3f.class.getName());
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a polygon from an array of corners.
+     *
+     * @param cornerArray locations of the corners, in sequence (not null or
+     * containing any nulls, unaffected)
+     * @param compareTolerance tolerance (&ge;0) used to compare locations for
+     * coincidence
+     * @throws IllegalArgumentException if the corners provided don't form a
+     * generic polygon
+     */
+    BruteForcePolygon3f(Vector3f[] cornerArray, float compareTolerance) {
+        super(cornerArray, compareTolerance);
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Test whether this polygon is self-intersecting by testing every pair of
+     * sides.
+     *
+     * @return true if it is self-intersecting, otherwise false
+     */
+    boolean isSelfIntersectingBruteForce() {
+        for (int sideI = 0; sideI < numCorners; ++sideI) {
+            for (int sideJ = sideI + 1; sideJ < numCorners; ++sideJ) {
+                if (doSidesIntersect(sideI, sideJ)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+}
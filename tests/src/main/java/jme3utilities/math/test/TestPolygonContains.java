@@ -0,0 +1,332 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.math.test;
+
+import com.jme3.math.FastMath;
+import com.jme3.math.Vector3f;
+import java.nio.FloatBuffer;
+import java.util.logging.Logger;
+import jme3utilities.math.MyVector3f;
+import jme3utilities.math.noise.Generator;
+import jme3utilities.math.polygon.SimplePolygon3f;
+
+/**
+ * Cross-check the batch containment tests of SimplePolygon3f against the
+ * single-location test and against a reference based on winding angles, and
+ * compare the time per location with the previous nearest-side algorithm.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class TestPolygonContains {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * tolerance for comparing locations
+     */
+    final private static float tolerance = 0.001f;
+    /**
+     * number of locations tested against each polygon
+     */
+    final private static int numLocations = 100_000;
+    /**
+     * corner counts to test
+     */
+    final private static int[] cornerCounts = {4, 16, 64, 256, 1024};
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            TestPolygonContains.class.getName());
+    /**
+     * first basis vector of the test plane
+     */
+    final private static Vector3f uAxis = new Vector3f(0.8f, 0.6f, 0f);
+    /**
+     * 2nd basis vector of the test plane
+     */
+    final private static Vector3f vAxis = new Vector3f(0f, 0f, 1f);
+    /**
+     * normal of the test plane
+     */
+    final private static Vector3f normal = uAxis.cross(vAxis);
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private TestPolygonContains() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Console application to test SimplePolygon3f.contains(). Throws an
+     * exception if any location is classified inconsistently.
+     *
+     * @param ignored command-line arguments
+     */
+    public static void main(String[] ignored) {
+        System.out.printf("Test results for SimplePolygon3f.contains():%n%n");
+
+        Generator random = new Generator(805_113L);
+        System.out.printf("%-8s %7s %9s %9s %9s %11s %11s%n", "shape",
+                "corners", "contained", "mismatch", "legacy ns",
+                "single ns", "batch ns");
+        int numMismatches = 0;
+        for (int numCorners : cornerCounts) {
+            numMismatches += run(random, numCorners, true);
+        }
+        for (int numCorners : cornerCounts) {
+            numMismatches += run(random, numCorners, false);
+        }
+        if (numMismatches > 0) {
+            String message = numMismatches + " mismatched classifications";
+            throw new RuntimeException(message);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Test containment using the nearest-side algorithm that
+     * SimplePolygon3f.contains() used previously, for timing comparisons.
+     *
+     * @param polygon the polygon to test (not null)
+     * @param location the location to test (not null, unaffected)
+     * @return true if contained, otherwise false
+     */
+    private static boolean legacyContains(
+            SimplePolygon3f polygon, Vector3f location) {
+        if (!polygon.inPlane(location)) {
+            return false;
+        }
+
+        Vector3f closestLocation = new Vector3f();
+        int closestSide = polygon.findSide(location, closestLocation);
+        float tolerance2 = tolerance * tolerance;
+        if (MyVector3f.doCoincide(location, closestLocation, tolerance2)) {
+            return true;
+        }
+
+        Vector3f corner1 = polygon.copyCornerLocation(closestSide);
+        Vector3f pointOffset = location.subtract(corner1);
+        int next = polygon.nextIndex(closestSide);
+        Vector3f corner2 = polygon.copyCornerLocation(next);
+        Vector3f sideOffset = corner2.subtract(corner1);
+        Vector3f cross = sideOffset.cross(pointOffset);
+        double crossDot = cross.dot(polygon.planeNormal());
+        if (crossDot >= 0.0) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Generate test locations in and around the specified polygon: mostly
+     * random locations near its bounding box, some of them slightly off the
+     * plane, plus locations just inside and outside the tolerance of its
+     * perimeter.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param corners the polygon's corners (not null, unaffected)
+     * @return a new array of packed (x,y,z) triples
+     */
+    private static float[] locations(Generator random, Vector3f[] corners) {
+        int numCorners = corners.length;
+        float[] result = new float[3 * numLocations];
+        Vector3f location = new Vector3f();
+        for (int i = 0; i < numLocations; ++i) {
+            int choice = random.nextInt(10);
+            if (choice < 7) {
+                float u = 240f * random.nextFloat() - 120f;
+                float v = 240f * random.nextFloat() - 120f;
+                location.set(uAxis).multLocal(u);
+                location.addLocal(vAxis.mult(v));
+                if (choice == 0) {
+                    float n = 4f * tolerance * (random.nextFloat() - 0.5f);
+                    location.addLocal(normal.mult(n));
+                }
+            } else {
+                // near a random side, inside or outside the tolerance
+                int side = random.nextInt(numCorners);
+                Vector3f corner1 = corners[side];
+                Vector3f corner2 = corners[(side + 1) % numCorners];
+                Vector3f sideOffset = corner2.subtract(corner1);
+                float t = random.nextFloat();
+                location.set(corner1).addLocal(sideOffset.mult(t));
+                Vector3f perpendicular = sideOffset.cross(normal);
+                perpendicular.normalizeLocal();
+                float distance = (choice == 7) ? 0.5f : 2f;
+                if (random.nextBoolean()) {
+                    distance = -distance;
+                }
+                location.addLocal(perpendicular.mult(distance * tolerance));
+            }
+            result[3 * i] = location.x;
+            result[3 * i + 1] = location.y;
+            result[3 * i + 2] = location.z;
+        }
+
+        return result;
+    }
+
+    /**
+     * Test containment using the winding angle of the perimeter around the
+     * location, for reference.
+     *
+     * @param polygon the polygon to test (not null)
+     * @param location the location to test (not null, unaffected)
+     * @return true if contained, otherwise false
+     */
+    private static boolean referenceContains(
+            SimplePolygon3f polygon, Vector3f location) {
+        if (!polygon.inPlane(location)) {
+            return false;
+        }
+        int numCorners = polygon.numCorners();
+        float tolerance2 = tolerance * tolerance;
+        for (int side = 0; side < numCorners; ++side) {
+            double sd = polygon.squaredDistanceToSide(location, side, null);
+            if (sd <= tolerance2) {
+                return true;
+            }
+        }
+
+        Vector3f planeNormal = polygon.planeNormal();
+        double totalAngle = 0.0;
+        for (int side = 0; side < numCorners; ++side) {
+            Vector3f offset1 = polygon.copyCornerLocation(side);
+            offset1.subtractLocal(location);
+            int next = polygon.nextIndex(side);
+            Vector3f offset2 = polygon.copyCornerLocation(next);
+            offset2.subtractLocal(location);
+            double sin = offset1.cross(offset2).dot(planeNormal);
+            double cos = offset1.dot(offset2);
+            totalAngle += Math.atan2(sin, cos);
+        }
+        if (Math.abs(totalAngle) > Math.PI) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Generate a convex or star-shaped polygon in the test plane, then test
+     * many locations against it and print a summary.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param numCorners the number of corners (&ge;3)
+     * @param convex true for a regular (convex) polygon, false for a
+     * star-shaped one (usually concave)
+     * @return the number of mismatched classifications (&ge;0)
+     */
+    private static int run(
+            Generator random, int numCorners, boolean convex) {
+        Vector3f[] corners = new Vector3f[numCorners];
+        for (int i = 0; i < numCorners; ++i) {
+            float theta = FastMath.TWO_PI * i / numCorners;
+            float radius = 100f;
+            if (!convex) {
+                radius = (i % 2 == 0) ? 100f : 40f + 40f * random.nextFloat();
+            }
+            float u = radius * FastMath.cos(theta);
+            float v = radius * FastMath.sin(theta);
+            corners[i] = uAxis.mult(u).addLocal(vAxis.mult(v));
+        }
+        SimplePolygon3f polygon = new SimplePolygon3f(corners, tolerance);
+
+        float[] locations = locations(random, corners);
+        FloatBuffer buffer = FloatBuffer.wrap(locations);
+        boolean[] batch = new boolean[numLocations];
+        boolean[] buffered = new boolean[numLocations];
+        /*
+         * Time the batch tests, repeating them a few times to warm up
+         * the JIT compiler.
+         */
+        long batchNanos = 0L;
+        for (int iteration = 0; iteration < 5; ++iteration) {
+            long startNanos = System.nanoTime();
+            polygon.contains(locations, batch);
+            batchNanos = System.nanoTime() - startNanos;
+        }
+        polygon.contains(buffer, buffered);
+        boolean[] skipped = new boolean[numLocations - 1];
+        buffer.position(3); // skip the first location
+        polygon.contains(buffer, skipped);
+
+        // Time the single-location tests.
+        Vector3f location = new Vector3f();
+        int numMismatches = 0;
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < numLocations; ++i) {
+            location.set(locations[3 * i], locations[3 * i + 1],
+                    locations[3 * i + 2]);
+            if (polygon.contains(location) != batch[i]) {
+                ++numMismatches;
+            }
+        }
+        long singleNanos = System.nanoTime() - startNanos;
+
+        // Time the legacy algorithm on a sample of the locations.
+        int numLegacy = Math.min(numLocations, 2_000_000 / numCorners);
+        startNanos = System.nanoTime();
+        for (int i = 0; i < numLegacy; ++i) {
+            location.set(locations[3 * i], locations[3 * i + 1],
+                    locations[3 * i + 2]);
+            legacyContains(polygon, location);
+        }
+        long legacyNanos = System.nanoTime() - startNanos;
+
+        // Compare with the reference.
+        int numContained = 0;
+        for (int i = 0; i < numLocations; ++i) {
+            if (batch[i]) {
+                ++numContained;
+            }
+            location.set(locations[3 * i], locations[3 * i + 1],
+                    locations[3 * i + 2]);
+            if (buffered[i] != batch[i]
+                    || (i > 0 && skipped[i - 1] != batch[i])
+                    || referenceContains(polygon, location) != batch[i]) {
+                ++numMismatches;
+            }
+        }
+
+        String shape = polygon.isConvex() ? "convex" : "concave";
+        System.out.printf("%-8s %7d %9d %9d %9.1f %11.1f %11.1f%n", shape,
+                numCorners, numContained, numMismatches,
+                legacyNanos / (double) numLegacy,
+                singleNanos / (double) numLocations,
+                batchNanos / (double) numLocations);
+
+        return numMismatches;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.math.test;
+
+import com.jme3.math.FastMath;
+import com.jme3.math.Vector3f;
+import java.util.Arrays;
+import java.util.logging.Logger;
+import jme3utilities.math.noise.Generator;
+
+/**
+ * Cross-check the sweep used by GenericPolygon3f.isSelfIntersecting()
+ * against a test of every pair of sides, using many randomly generated
+ * polygons, and compare the times taken for large polygons.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class TestSelfIntersection {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * largest corner count for which to time the brute-force test
+     */
+    final private static int maxBruteForce = 2000;
+    /**
+     * number of random polygons to cross-check per shape
+     */
+    final private static int numTrials = 2000;
+    /**
+     * corner counts to time
+     */
+    final private static int[] cornerCounts = {250, 500, 1000, 2000, 8000};
+    /**
+     * compare tolerances to cross-check
+     */
+    final private static float[] tolerances = {0.0001f, 0.01f, 0.2f};
+    /**
+     * names of the polygon shapes
+     */
+    final private static String[] shapeNames
+            = {"star", "random walk", "lattice", "non-planar"};
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            TestSelfIntersection.class.getName());
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private TestSelfIntersection() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Console application to test self-intersection of GenericPolygon3f.
+     *
+     * @param ignored command-line arguments
+     */
+    public static void main(String[] ignored) {
+        System.out.printf("Test results for GenericPolygon3f"
+                + ".isSelfIntersecting():%n%n");
+
+        Generator random = new Generator(174_529L);
+        System.out.printf("%-12s %10s %9s %9s %11s %10s%n", "shape",
+                "tolerance", "polygons", "skipped", "intersect", "mismatch");
+        int totalMismatches = 0;
+        for (int shape = 0; shape < shapeNames.length; ++shape) {
+            for (float tolerance : tolerances) {
+                totalMismatches += crossCheck(random, shape, tolerance);
+            }
+        }
+        System.out.printf("%ntotal mismatches: %d%n%n", totalMismatches);
+
+        System.out.printf("%-8s %12s %12s%n", "corners", "brute ms",
+                "sweep ms");
+        for (int numCorners : cornerCounts) {
+            Vector3f[] corners = star(random, numCorners);
+            BruteForcePolygon3f polygon
+                    = new BruteForcePolygon3f(corners, 0.0001f);
+            String bruteMillis = "-";
+            if (numCorners <= maxBruteForce) {
+                long startNanos = System.nanoTime();
+                boolean brute = polygon.isSelfIntersectingBruteForce();
+                long nanos = System.nanoTime() - startNanos;
+                bruteMillis = String.format("%.3f", nanos * 1e-6);
+                assert !brute;
+            }
+
+            long startNanos = System.nanoTime();
+            boolean sweep = polygon.isSelfIntersecting();
+            long nanos = System.nanoTime() - startNanos;
+            System.out.printf("%-8d %12s %12.3f%n", numCorners, bruteMillis,
+                    nanos * 1e-6);
+            assert !sweep;
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Cross-check random polygons of the specified shape and print a summary.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param shape which shape to generate (&ge;0, &lt;shapeNames.length)
+     * @param tolerance the compare tolerance (&ge;0)
+     * @return the number of mismatches found (&ge;0)
+     */
+    private static int crossCheck(
+            Generator random, int shape, float tolerance) {
+        int numSkipped = 0;
+        int numIntersecting = 0;
+        int numMismatches = 0;
+
+        for (int trial = 0; trial < numTrials; ++trial) {
+            int numCorners = 3 + random.nextInt(30);
+            Vector3f[] corners;
+            switch (shape) {
+                case 0:
+                    corners = star(random, numCorners);
+                    break;
+                case 1:
+                    corners = randomWalk(random, numCorners);
+                    break;
+                case 2:
+                    corners = lattice(random, numCorners);
+                    break;
+                default:
+                    corners = nonPlanar(random, numCorners);
+            }
+
+            BruteForcePolygon3f polygon;
+            try {
+                polygon = new BruteForcePolygon3f(corners, tolerance);
+            } catch (IllegalArgumentException exception) {
+                // degenerate polygon
+                ++numSkipped;
+                continue;
+            }
+
+            boolean sweep = polygon.isSelfIntersecting();
+            boolean brute = polygon.isSelfIntersectingBruteForce();
+            if (brute) {
+                ++numIntersecting;
+            }
+            if (sweep != brute) {
+                ++numMismatches;
+                System.out.printf("  mismatch: sweep=%s brute=%s corners=%s%n",
+                        sweep, brute, Arrays.toString(corners));
+            }
+        }
+
+        System.out.printf("%-12s %10s %9d %9d %11d %10d%n", shapeNames[shape],
+                tolerance, numTrials, numSkipped, numIntersecting,
+                numMismatches);
+        return numMismatches;
+    }
+
+    /**
+     * Generate a polygon whose corners lie on a small integer lattice in the
+     * X-Z plane, so that many sides touch, cross at corners, or overlap.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param numCorners the number of corners to generate (&ge;3)
+     * @return a new array of new vectors
+     */
+    private static Vector3f[] lattice(Generator random, int numCorners) {
+        Vector3f[] result = new Vector3f[numCorners];
+        for (int i = 0; i < numCorners; ++i) {
+            float x = random.nextInt(5);
+            float z = random.nextInt(5);
+            result[i] = new Vector3f(x, 0f, z);
+        }
+
+        return result;
+    }
+
+    /**
+     * Generate a polygon with random corners in a cube. The sides rarely
+     * intersect, except when the tolerance is large.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param numCorners the number of corners to generate (&ge;3)
+     * @return a new array of new vectors
+     */
+    private static Vector3f[] nonPlanar(Generator random, int numCorners) {
+        Vector3f[] result = new Vector3f[numCorners];
+        for (int i = 0; i < numCorners; ++i) {
+            float x = 4f * random.nextFloat();
+            float y = 4f * random.nextFloat();
+            float z = 4f * random.nextFloat();
+            result[i] = new Vector3f(x, y, z);
+        }
+
+        return result;
+    }
+
+    /**
+     * Generate a polygon by a random walk in a tilted plane. Such polygons
+     * are usually self-intersecting.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param numCorners the number of corners to generate (&ge;3)
+     * @return a new array of new vectors
+     */
+    private static Vector3f[] randomWalk(Generator random, int numCorners) {
+        Vector3f uAxis = new Vector3f(0.8f, 0.6f, 0f);
+        Vector3f vAxis = new Vector3f(0f, 0f, 1f);
+        Vector3f[] result = new Vector3f[numCorners];
+
+        float u = 0f;
+        float v = 0f;
+        for (int i = 0; i < numCorners; ++i) {
+            u += 2f * random.nextFloat() - 1f;
+            v += 2f * random.nextFloat() - 1f;
+            result[i] = uAxis.mult(u).addLocal(vAxis.mult(v));
+        }
+
+        return result;
+    }
+
+    /**
+     * Generate a star-shaped polygon in the X-Z plane, with corners at
+     * increasing angles and wandering distances from the origin, like a
+     * coastline. Such polygons are never self-intersecting.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param numCorners the number of corners to generate (&ge;3)
+     * @return a new array of new vectors
+     */
+    private static Vector3f[] star(Generator random, int numCorners) {
+        Vector3f[] result = new Vector3f[numCorners];
+        float radius = 75f;
+        for (int i = 0; i < numCorners; ++i) {
+            float theta = FastMath.TWO_PI * i / numCorners;
+            radius += 5f * (float) random.nextGaussian();
+            radius = FastMath.clamp(radius, 50f, 100f);
+            float x = radius * FastMath.cos(theta);
+            float z = radius * FastMath.sin(theta);
+            result[i] = new Vector3f(x, 0f, z);
+        }
+
+        return result;
+    }
+}
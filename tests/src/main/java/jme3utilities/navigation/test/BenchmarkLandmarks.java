@@ -0,0 +1,278 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation.test;
+
+import com.jme3.math.Vector3f;
+import java.util.List;
+import java.util.logging.Logger;
+import jme3utilities.math.noise.Generator;
+import jme3utilities.navigation.CompiledNavGraph;
+import jme3utilities.navigation.DistanceHeuristic;
+import jme3utilities.navigation.LandmarkHeuristic;
+import jme3utilities.navigation.NavArc;
+import jme3utilities.navigation.NavGraph;
+import jme3utilities.navigation.NavGraphBuilder;
+import jme3utilities.navigation.NavHeuristic;
+import jme3utilities.navigation.NavHistogram;
+import jme3utilities.navigation.NavMetrics;
+import jme3utilities.navigation.NavQuery;
+import jme3utilities.navigation.NavVertex;
+
+/**
+ * Benchmark for the LandmarkHeuristic class: compare the number of vertices
+ * expanded and the time taken by route searches in a maze, using Dijkstra's
+ * algorithm, A* with straight-line distances, and A* with landmarks.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class BenchmarkLandmarks {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * number of cells along each side of the maze
+     */
+    final private static int mazeSize = 200;
+    /**
+     * number of timed queries per heuristic
+     */
+    final private static int numQueries = 500;
+    /**
+     * number of untimed queries per heuristic, to warm up the JIT compiler
+     */
+    final private static int numWarmups = 100;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            BenchmarkLandmarks.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * goal vertex of each query
+     */
+    private static NavVertex[] ends;
+    /**
+     * maze to search
+     */
+    private static NavGraph graph;
+    /**
+     * cost of the optimal route for each query, recorded by the first run
+     */
+    private static float[] optimalCosts;
+    /**
+     * starting vertex of each query
+     */
+    private static NavVertex[] starts;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private BenchmarkLandmarks() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Console application to benchmark the LandmarkHeuristic class.
+     *
+     * @param ignored command-line arguments
+     */
+    public static void main(String[] ignored) {
+        System.out.printf("Benchmark results for class LandmarkHeuristic:%n%n");
+
+        Generator random = new Generator(692_331L);
+        graph = buildMaze(random);
+        CompiledNavGraph snapshot = graph.compile();
+        System.out.printf("maze with %d vertices and %d arcs%n%n",
+                graph.numVertices(), graph.numArcs());
+
+        int numVertices = graph.numVertices();
+        starts = new NavVertex[numQueries];
+        ends = new NavVertex[numQueries];
+        for (int queryIndex = 0; queryIndex < numQueries; ++queryIndex) {
+            int startIndex = random.nextInt(numVertices);
+            int endIndex = random.nextInt(numVertices - 1);
+            if (endIndex >= startIndex) {
+                ++endIndex;
+            }
+            starts[queryIndex] = graph.getVertex(startIndex);
+            ends[queryIndex] = graph.getVertex(endIndex);
+        }
+
+        System.out.printf("%-16s %12s %12s %12s %12s%n", "heuristic",
+                "prep ms", "mean expand", "p99 expand", "mean us");
+        optimalCosts = new float[numQueries];
+        run(null, "none (Dijkstra)", 0L, false);
+        run(new DistanceHeuristic(), "straight-line", 0L, true);
+
+        int[] landmarkCounts = {4, 8, 16};
+        for (int numLandmarks : landmarkCounts) {
+            long startNanos = System.nanoTime();
+            NavHeuristic heuristic
+                    = new LandmarkHeuristic(snapshot, numLandmarks);
+            long prepNanos = System.nanoTime() - startNanos;
+            String description = numLandmarks + " landmarks";
+            run(heuristic, description, prepNanos, true);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Generate a maze on a square grid, as a navigation graph. Passages are
+     * carved by a randomized depth-first traversal, and then a few extra
+     * walls are opened to create loops. Each passage has a random travel time
+     * of 1 to 4 per unit of length.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @return a new graph
+     */
+    private static NavGraph buildMaze(Generator random) {
+        int numCells = mazeSize * mazeSize;
+        NavGraphBuilder builder = new NavGraphBuilder(numCells, 5 * numCells);
+        for (int z = 0; z < mazeSize; ++z) {
+            for (int x = 0; x < mazeSize; ++x) {
+                String name = x + "," + z;
+                Vector3f location = new Vector3f(x, 0f, z);
+                builder.addVertex(name, null, location);
+            }
+        }
+
+        boolean[] visited = new boolean[numCells];
+        boolean[] openEast = new boolean[numCells];
+        boolean[] openNorth = new boolean[numCells];
+        int[] stack = new int[numCells];
+        int[] choices = new int[4];
+        int stackSize = 1;
+        visited[0] = true;
+        while (stackSize > 0) {
+            int cell = stack[stackSize - 1];
+            int x = cell % mazeSize;
+            int z = cell / mazeSize;
+            int numChoices = 0;
+            if (x > 0 && !visited[cell - 1]) {
+                choices[numChoices] = cell - 1;
+                ++numChoices;
+            }
+            if (x < mazeSize - 1 && !visited[cell + 1]) {
+                choices[numChoices] = cell + 1;
+                ++numChoices;
+            }
+            if (z > 0 && !visited[cell - mazeSize]) {
+                choices[numChoices] = cell - mazeSize;
+                ++numChoices;
+            }
+            if (z < mazeSize - 1 && !visited[cell + mazeSize]) {
+                choices[numChoices] = cell + mazeSize;
+                ++numChoices;
+            }
+            if (numChoices == 0) {
+                --stackSize;
+                continue;
+            }
+
+            int next = choices[random.nextInt(numChoices)];
+            int low = Math.min(cell, next);
+            if (Math.abs(next - cell) == 1) {
+                openEast[low] = true;
+            } else {
+                openNorth[low] = true;
+            }
+            visited[next] = true;
+            stack[stackSize] = next;
+            ++stackSize;
+        }
+
+        for (int cell = 0; cell < numCells; ++cell) {
+            int x = cell % mazeSize;
+            int z = cell / mazeSize;
+            if (x < mazeSize - 1
+                    && (openEast[cell] || random.nextInt(20) == 0)) {
+                builder.addArcPair(cell, cell + 1, 1 + random.nextInt(4));
+            }
+            if (z < mazeSize - 1
+                    && (openNorth[cell] || random.nextInt(20) == 0)) {
+                builder.addArcPair(
+                        cell, cell + mazeSize, 1 + random.nextInt(4));
+            }
+        }
+
+        NavGraph result = builder.build();
+        return result;
+    }
+
+    /**
+     * Run the queries with the specified heuristic and print a line of
+     * results.
+     *
+     * @param heuristic the heuristic to use, or null for Dijkstra's algorithm
+     * @param description a description of the heuristic (not null)
+     * @param prepNanos the preprocessing time (in nanoseconds)
+     * @param verify true to compare route costs to the optimal ones, false to
+     * record them
+     */
+    private static void run(NavHeuristic heuristic, String description,
+            long prepNanos, boolean verify) {
+        NavMetrics metrics = new NavMetrics(Long.MAX_VALUE);
+        graph.getRouter().setMetrics(metrics);
+        for (int queryIndex = 0; queryIndex < numWarmups; ++queryIndex) {
+            graph.seek(starts[queryIndex], ends[queryIndex], heuristic);
+        }
+        metrics.reset();
+
+        int numSuboptimal = 0;
+        for (int queryIndex = 0; queryIndex < numQueries; ++queryIndex) {
+            NavVertex start = starts[queryIndex];
+            NavVertex end = ends[queryIndex];
+            List<NavArc> route = graph.seek(start, end, heuristic);
+            float cost = 0f;
+            for (NavArc arc : route) {
+                cost += graph.getCost(arc);
+            }
+            if (!verify) {
+                optimalCosts[queryIndex] = cost;
+            } else if (cost > optimalCosts[queryIndex]) {
+                ++numSuboptimal;
+            }
+        }
+        graph.getRouter().setMetrics(null);
+
+        NavHistogram expansions = metrics.getExpansions(NavQuery.SEEK);
+        NavHistogram times = metrics.getTimes(NavQuery.SEEK);
+        System.out.printf("%-16s %12.1f %12.0f %12d %12.1f%n", description,
+                prepNanos / 1e6, expansions.getMean(),
+                expansions.getValueAtPercentile(99.0), times.getMean() / 1e3);
+        if (numSuboptimal > 0) {
+            System.out.printf("  WARNING: %d suboptimal routes!%n",
+                    numSuboptimal);
+        }
+    }
+}
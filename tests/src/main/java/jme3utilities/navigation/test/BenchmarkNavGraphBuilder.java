@@ -0,0 +1,345 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation.test;
+
+import com.jme3.math.Vector3f;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+import jme3utilities.math.noise.Generator;
+import jme3utilities.navigation.CompiledNavGraph;
+import jme3utilities.navigation.NavArc;
+import jme3utilities.navigation.NavGraph;
+import jme3utilities.navigation.NavGraphBuilder;
+import jme3utilities.navigation.NavVertex;
+
+/**
+ * Benchmark for the NavGraphBuilder class: build the same grid of about 50,000
+ * arcs one element at a time, in bulk, and in bulk with a thread pool, verify
+ * that the resulting graphs and snapshots are identical, and compare the
+ * times taken.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class BenchmarkNavGraphBuilder {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * number of cells along each side of the grid
+     */
+    final private static int gridSize = 112;
+    /**
+     * number of timed builds per method
+     */
+    final private static int numRuns = 20;
+    /**
+     * number of untimed builds per method, to warm up the JIT compiler
+     */
+    final private static int numWarmups = 10;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            BenchmarkNavGraphBuilder.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * cost of each pair of arcs
+     */
+    private static float[] pairCosts;
+    /**
+     * index of the first vertex of each pair of arcs
+     */
+    private static int[] pairIndices1;
+    /**
+     * index of the 2nd vertex of each pair of arcs
+     */
+    private static int[] pairIndices2;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private BenchmarkNavGraphBuilder() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Console application to benchmark the NavGraphBuilder class. Throws an
+     * exception if the graphs built differ.
+     *
+     * @param ignored command-line arguments
+     */
+    public static void main(String[] ignored) {
+        System.out.printf("Benchmark results for class NavGraphBuilder:%n%n");
+
+        Generator random = new Generator(385_106L);
+        generatePairs(random);
+        ForkJoinPool pool = new ForkJoinPool();
+
+        NavGraph expected = buildIncremental();
+        int numDifferences = compare(expected, buildBulk(null));
+        numDifferences += compare(expected, buildBulk(pool));
+        System.out.printf("grid with %d vertices and %d arcs, "
+                + "%d differences%n%n", expected.numVertices(),
+                expected.numArcs(), numDifferences);
+        if (numDifferences > 0) {
+            String message = numDifferences + " differences between graphs";
+            throw new RuntimeException(message);
+        }
+
+        System.out.printf("%-24s %10s %10s%n", "method", "mean ms", "min ms");
+        time("addVertex/addArcPair", null, false);
+        time("build()", null, true);
+        time("build(ForkJoinPool)", pool, true);
+        pool.shutdown();
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Build the grid in bulk, using a NavGraphBuilder.
+     *
+     * @param pool the pool in which to build, or null to build on the current
+     * thread
+     * @return a new graph with a compiled snapshot
+     */
+    private static NavGraph buildBulk(ForkJoinPool pool) {
+        int numCells = gridSize * gridSize;
+        int numPairs = pairCosts.length;
+        NavGraphBuilder builder = new NavGraphBuilder(numCells, 2 * numPairs);
+        for (int cell = 0; cell < numCells; ++cell) {
+            Vector3f location = cellLocation(cell);
+            builder.addVertex("c" + cell, null, location);
+        }
+        for (int pairIndex = 0; pairIndex < numPairs; ++pairIndex) {
+            builder.addArcPair(pairIndices1[pairIndex],
+                    pairIndices2[pairIndex], pairCosts[pairIndex]);
+        }
+        NavGraph result = builder.build(pool);
+
+        return result;
+    }
+
+    /**
+     * Build the grid one element at a time and then compile it.
+     *
+     * @return a new graph with a compiled snapshot
+     */
+    private static NavGraph buildIncremental() {
+        int numCells = gridSize * gridSize;
+        NavGraph result = new NavGraph();
+        NavVertex[] vertices = new NavVertex[numCells];
+        for (int cell = 0; cell < numCells; ++cell) {
+            Vector3f location = cellLocation(cell);
+            vertices[cell] = result.addVertex("c" + cell, null, location);
+        }
+        int numPairs = pairCosts.length;
+        for (int pairIndex = 0; pairIndex < numPairs; ++pairIndex) {
+            NavVertex v1 = vertices[pairIndices1[pairIndex]];
+            NavVertex v2 = vertices[pairIndices2[pairIndex]];
+            result.addArcPair(v1, v2, pairCosts[pairIndex]);
+        }
+        result.compile();
+
+        return result;
+    }
+
+    /**
+     * Determine the location of the specified grid cell.
+     *
+     * @param cell the index of the cell (&ge;0)
+     * @return a new location vector
+     */
+    private static Vector3f cellLocation(int cell) {
+        float x = cell % gridSize;
+        float z = cell / gridSize;
+        Vector3f result = new Vector3f(x, 0f, z);
+
+        return result;
+    }
+
+    /**
+     * Count the differences between 2 graphs, including their vertices, the
+     * order of their adjacency lists, and their compiled snapshots.
+     *
+     * @param expected the graph built one element at a time (not null,
+     * unaffected)
+     * @param actual the graph to compare (not null, unaffected)
+     * @return the number of differences found (&ge;0)
+     */
+    private static int compare(NavGraph expected, NavGraph actual) {
+        int numVertices = expected.numVertices();
+        if (actual.numVertices() != numVertices
+                || actual.numArcs() != expected.numArcs()) {
+            return 1;
+        }
+
+        int result = 0;
+        for (int index = 0; index < numVertices; ++index) {
+            NavVertex v1 = expected.getVertex(index);
+            NavVertex v2 = actual.getVertex(index);
+            if (!v1.getName().equals(v2.getName())
+                    || !v1.copyLocation().equals(v2.copyLocation())
+                    || v2.getLocus() != null || v2.getIndex() != index) {
+                ++result;
+            }
+            result += compareArcs(expected, v1.listOutgoing(),
+                    actual, v2.listOutgoing());
+            result += compareArcs(expected, v1.listIncoming(),
+                    actual, v2.listIncoming());
+        }
+
+        CompiledNavGraph snapshot1 = expected.compile();
+        CompiledNavGraph snapshot2 = actual.compile();
+        for (int index = 0; index < numVertices; ++index) {
+            int start1 = snapshot1.outgoingStart(index);
+            int end1 = snapshot1.outgoingEnd(index);
+            int incoming1 = snapshot1.incomingStart(index);
+            if (start1 != snapshot2.outgoingStart(index)
+                    || end1 != snapshot2.outgoingEnd(index)
+                    || incoming1 != snapshot2.incomingStart(index)) {
+                ++result;
+            }
+        }
+        int numArcs = snapshot1.numArcs();
+        for (int arcIndex = 0; arcIndex < numArcs; ++arcIndex) {
+            if (snapshot1.getFromIndex(arcIndex)
+                    != snapshot2.getFromIndex(arcIndex)
+                    || snapshot1.getToIndex(arcIndex)
+                    != snapshot2.getToIndex(arcIndex)
+                    || snapshot1.getCost(arcIndex)
+                    != snapshot2.getCost(arcIndex)
+                    || snapshot1.incomingArc(arcIndex)
+                    != snapshot2.incomingArc(arcIndex)) {
+                ++result;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Count the differences between 2 lists of arcs, comparing their
+     * endpoints by index and their costs.
+     *
+     * @param graph1 the graph containing the first list (not null, unaffected)
+     * @param arcs1 the first list (not null, unaffected)
+     * @param graph2 the graph containing the 2nd list (not null, unaffected)
+     * @param arcs2 the 2nd list (not null, unaffected)
+     * @return the number of differences found (&ge;0)
+     */
+    private static int compareArcs(NavGraph graph1, List<NavArc> arcs1,
+            NavGraph graph2, List<NavArc> arcs2) {
+        int numArcs = arcs1.size();
+        if (arcs2.size() != numArcs) {
+            return 1;
+        }
+
+        int result = 0;
+        for (int position = 0; position < numArcs; ++position) {
+            NavArc arc1 = arcs1.get(position);
+            NavArc arc2 = arcs2.get(position);
+            if (arc1.getFromVertex().getIndex()
+                    != arc2.getFromVertex().getIndex()
+                    || arc1.getToVertex().getIndex()
+                    != arc2.getToVertex().getIndex()
+                    || graph1.getCost(arc1) != graph2.getCost(arc2)) {
+                ++result;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Generate the pairs of arcs of the grid, each joining a cell to its
+     * neighbor in the +X or +Z direction, with random integer costs.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     */
+    private static void generatePairs(Generator random) {
+        int numPairs = 2 * gridSize * (gridSize - 1);
+        pairCosts = new float[numPairs];
+        pairIndices1 = new int[numPairs];
+        pairIndices2 = new int[numPairs];
+
+        int pairIndex = 0;
+        int numCells = gridSize * gridSize;
+        for (int cell = 0; cell < numCells; ++cell) {
+            int x = cell % gridSize;
+            int z = cell / gridSize;
+            if (x < gridSize - 1) {
+                pairIndices1[pairIndex] = cell;
+                pairIndices2[pairIndex] = cell + 1;
+                pairCosts[pairIndex] = 1 + random.nextInt(9);
+                ++pairIndex;
+            }
+            if (z < gridSize - 1) {
+                pairIndices1[pairIndex] = cell;
+                pairIndices2[pairIndex] = cell + gridSize;
+                pairCosts[pairIndex] = 1 + random.nextInt(9);
+                ++pairIndex;
+            }
+        }
+        assert pairIndex == numPairs : pairIndex;
+    }
+
+    /**
+     * Time repeated builds of the grid using the specified method and print a
+     * line of results.
+     *
+     * @param description a description of the method (not null)
+     * @param pool the pool in which to build, or null to build on the current
+     * thread
+     * @param bulk true to use a NavGraphBuilder, false to add elements one at
+     * a time
+     */
+    private static void time(
+            String description, ForkJoinPool pool, boolean bulk) {
+        long totalNanos = 0L;
+        long minNanos = Long.MAX_VALUE;
+        for (int runIndex = -numWarmups; runIndex < numRuns; ++runIndex) {
+            long startNanos = System.nanoTime();
+            NavGraph graph = bulk ? buildBulk(pool) : buildIncremental();
+            long elapsedNanos = System.nanoTime() - startNanos;
+            assert graph.numArcs() == 2 * pairCosts.length;
+
+            if (runIndex >= 0) {
+                totalNanos += elapsedNanos;
+                minNanos = Math.min(minNanos, elapsedNanos);
+            }
+        }
+
+        System.out.printf("%-24s %10.2f %10.2f%n", description,
+                totalNanos / 1e6 / numRuns, minNanos / 1e6);
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation.test;
+
+import com.jme3.math.Vector3f;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+import jme3utilities.math.noise.Generator;
+import jme3utilities.navigation.AlternativeRoutes;
+import jme3utilities.navigation.NavArc;
+import jme3utilities.navigation.NavGraph;
+import jme3utilities.navigation.NavVertex;
+
+/**
+ * Cross-check the AlternativeRoutes class: compare the costs of the k
+ * shortest loopless routes (Yen's algorithm) against a brute-force
+ * enumeration of every loopless route in small random graphs, and verify that
+ * diverse routes spread across parallel zero-cost paths.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class TestAlternativeRoutes {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * maximum number of routes to request per query
+     */
+    final private static int maxRoutes = 12;
+    /**
+     * number of parallel paths in the zero-cost graph
+     */
+    final private static int numParallel = 5;
+    /**
+     * number of queries per random graph
+     */
+    final private static int numQueries = 10;
+    /**
+     * number of random graphs to test
+     */
+    final private static int numRandomGraphs = 300;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            TestAlternativeRoutes.class.getName());
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private TestAlternativeRoutes() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Console application to test the AlternativeRoutes class. Throws an
+     * exception if any check fails.
+     *
+     * @param ignored command-line arguments
+     */
+    public static void main(String[] ignored) {
+        System.out.printf("Test results for class AlternativeRoutes:%n%n");
+
+        Generator random = new Generator(724_913L);
+        int numMismatches = 0;
+        int numQueriesTotal = 0;
+        int numRoutes = 0;
+        for (int graphIndex = 0; graphIndex < numRandomGraphs; ++graphIndex) {
+            NavGraph graph = buildRandom(random);
+            AlternativeRoutes finder = new AlternativeRoutes(graph.compile());
+            int numVertices = graph.numVertices();
+            for (int queryIndex = 0; queryIndex < numQueries; ++queryIndex) {
+                int startIndex = random.nextInt(numVertices);
+                int endIndex = random.nextInt(numVertices - 1);
+                if (endIndex >= startIndex) {
+                    ++endIndex;
+                }
+                NavVertex start = graph.getVertex(startIndex);
+                NavVertex end = graph.getVertex(endIndex);
+                List<List<NavArc>> routes
+                        = finder.findShortest(start, end, maxRoutes);
+                numRoutes += routes.size();
+                if (!checkShortest(graph, routes, start, end)) {
+                    ++numMismatches;
+                }
+                ++numQueriesTotal;
+            }
+        }
+        System.out.printf("findShortest: %d queries, %d routes, "
+                + "%d mismatched%n", numQueriesTotal, numRoutes,
+                numMismatches);
+
+        int numDiverse = checkDiverse();
+        System.out.printf("findDiverse: %d of %d zero-cost paths found%n",
+                numDiverse, numParallel);
+        if (numDiverse != numParallel) {
+            ++numMismatches;
+        }
+
+        if (numMismatches > 0) {
+            String message = numMismatches + " failed checks";
+            throw new RuntimeException(message);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Generate a small random graph with one-way arcs and random integer
+     * costs, some of them zero.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @return a new graph
+     */
+    private static NavGraph buildRandom(Generator random) {
+        int numVertices = 4 + random.nextInt(6);
+        NavGraph result = new NavGraph();
+        for (int index = 0; index < numVertices; ++index) {
+            Vector3f location = new Vector3f(index, 0f, 0f);
+            result.addVertex("v" + index, null, location);
+        }
+
+        int numArcs = 3 * numVertices;
+        for (int arcIndex = 0; arcIndex < numArcs; ++arcIndex) {
+            NavVertex origin = result.getVertex(random.nextInt(numVertices));
+            NavVertex terminus = result.getVertex(random.nextInt(numVertices));
+            if (origin != terminus && origin.findOutgoing(terminus) == null) {
+                result.addArc(origin, terminus, random.nextInt(5));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Search for diverse routes in a graph consisting of parallel zero-cost
+     * paths between 2 vertices.
+     *
+     * @return the number of distinct routes found (&ge;0)
+     */
+    private static int checkDiverse() {
+        NavGraph graph = new NavGraph();
+        NavVertex start = graph.addVertex("start", null, new Vector3f());
+        NavVertex end = graph.addVertex("end", null, new Vector3f(2f, 0f, 0f));
+        for (int pathIndex = 0; pathIndex < numParallel; ++pathIndex) {
+            Vector3f location = new Vector3f(1f, 0f, pathIndex);
+            NavVertex middle = graph.addVertex("m" + pathIndex, null, location);
+            graph.addArc(start, middle, 0f);
+            graph.addArc(middle, end, 0f);
+        }
+
+        AlternativeRoutes finder = new AlternativeRoutes(graph.compile());
+        List<List<NavArc>> routes
+                = finder.findDiverse(start, end, numParallel, 0.5f);
+        Set<List<NavArc>> distinct = new HashSet<>(routes);
+        int result = distinct.size();
+
+        return result;
+    }
+
+    /**
+     * Compare the routes found by Yen's algorithm against a brute-force
+     * enumeration of loopless routes.
+     *
+     * @param graph the graph that was queried (not null, unaffected)
+     * @param routes the routes found (not null, unaffected)
+     * @param start the starting vertex (not null, unaffected)
+     * @param end the goal vertex (not null, unaffected)
+     * @return true if the routes are valid, distinct, and as cheap as the
+     * cheapest loopless routes, otherwise false
+     */
+    private static boolean checkShortest(NavGraph graph,
+            List<List<NavArc>> routes, NavVertex start, NavVertex end) {
+        List<Float> allCosts = new ArrayList<>(100);
+        boolean[] visited = new boolean[graph.numVertices()];
+        enumerate(graph, start, end, 0f, visited, allCosts);
+        Collections.sort(allCosts);
+        int expectedCount = Math.min(maxRoutes, allCosts.size());
+        if (routes.size() != expectedCount) {
+            return false;
+        }
+
+        Set<List<NavArc>> distinct = new HashSet<>(routes);
+        if (distinct.size() != routes.size()) {
+            return false;
+        }
+        for (int position = 0; position < expectedCount; ++position) {
+            float cost = routeCost(graph, routes.get(position), start, end);
+            if (cost != allCosts.get(position)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Enumerate every loopless route from the specified vertex to the goal,
+     * recording their total costs.
+     *
+     * @param graph the graph to search (not null, unaffected)
+     * @param vertex the current vertex (not null, unaffected)
+     * @param end the goal vertex (not null, unaffected)
+     * @param costSoFar the cost of reaching the current vertex (&ge;0)
+     * @param visited true for each vertex on the current route, indexed by
+     * vertex index (not null, restored before returning)
+     * @param storeCosts storage for the total costs (not null, added to)
+     */
+    private static void enumerate(NavGraph graph, NavVertex vertex,
+            NavVertex end, float costSoFar, boolean[] visited,
+            List<Float> storeCosts) {
+        if (vertex == end) {
+            storeCosts.add(costSoFar);
+            return;
+        }
+
+        visited[vertex.getIndex()] = true;
+        for (NavArc arc : vertex.listOutgoing()) {
+            NavVertex terminus = arc.getToVertex();
+            if (!visited[terminus.getIndex()]) {
+                float cost = costSoFar + graph.getCost(arc);
+                enumerate(graph, terminus, end, cost, visited, storeCosts);
+            }
+        }
+        visited[vertex.getIndex()] = false;
+    }
+
+    /**
+     * Calculate the cost of the specified route, verifying that it's loopless
+     * and that its arcs join the specified vertices.
+     *
+     * @param graph the graph containing the route (not null, unaffected)
+     * @param arcs the arcs of the route (not null, unaffected)
+     * @param start the starting vertex (not null, unaffected)
+     * @param end the goal vertex (not null, unaffected)
+     * @return the total cost (&ge;0) or NaN if the route is invalid
+     */
+    private static float routeCost(NavGraph graph, List<NavArc> arcs,
+            NavVertex start, NavVertex end) {
+        boolean[] visited = new boolean[graph.numVertices()];
+        visited[start.getIndex()] = true;
+        float result = 0f;
+        NavVertex vertex = start;
+        for (NavArc arc : arcs) {
+            if (arc.getFromVertex() != vertex) {
+                return Float.NaN;
+            }
+            result += graph.getCost(arc);
+            vertex = arc.getToVertex();
+            if (visited[vertex.getIndex()]) {
+                return Float.NaN;
+            }
+            visited[vertex.getIndex()] = true;
+        }
+        if (vertex != end) {
+            result = Float.NaN;
+        }
+
+        return result;
+    }
+}
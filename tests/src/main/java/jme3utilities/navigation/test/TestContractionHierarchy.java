@@ -0,0 +1,301 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation.test;
+
+import com.jme3.math.Vector3f;
+import java.util.List;
+import java.util.logging.Logger;
+import jme3utilities.math.noise.Generator;
+import jme3utilities.navigation.CompiledNavGraph;
+import jme3utilities.navigation.ContractionHierarchy;
+import jme3utilities.navigation.NavArc;
+import jme3utilities.navigation.NavGraph;
+import jme3utilities.navigation.NavGraphBuilder;
+import jme3utilities.navigation.NavVertex;
+import jme3utilities.navigation.NavWorkspace;
+
+/**
+ * Cross-check the ContractionHierarchy class against Dijkstra's algorithm on
+ * random graphs, a long chain, and square grids, and compare their query
+ * times.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class TestContractionHierarchy {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * number of vertices in the chain
+     */
+    final private static int chainLength = 20_000;
+    /**
+     * number of queries per graph
+     */
+    final private static int numQueries = 200;
+    /**
+     * number of random graphs to test
+     */
+    final private static int numRandomGraphs = 100;
+    /**
+     * number of cells along each side of the grids
+     */
+    final private static int[] gridSizes = {10, 50, 150};
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            TestContractionHierarchy.class.getName());
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private TestContractionHierarchy() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Console application to test the ContractionHierarchy class. Throws an
+     * exception if any route differs in cost from the one found by Dijkstra's
+     * algorithm.
+     *
+     * @param ignored command-line arguments
+     */
+    public static void main(String[] ignored) {
+        System.out.printf("Test results for class ContractionHierarchy:%n%n");
+
+        Generator random = new Generator(560_219L);
+        System.out.printf("%-12s %8s %9s %9s %9s %10s %10s %9s%n", "graph",
+                "vertices", "shortcuts", "prep ms", "queries", "dijk us",
+                "ch us", "mismatch");
+        int numMismatches = 0;
+        for (int graphIndex = 0; graphIndex < numRandomGraphs; ++graphIndex) {
+            NavGraph graph = buildRandom(random);
+            numMismatches += run(random, graph, "random", false);
+        }
+        System.out.printf("%-12s %8s %9s %9s %9d %10s %10s %9d%n", "random",
+                "10-69", "-", "-", numRandomGraphs * numQueries, "-", "-",
+                numMismatches);
+
+        NavGraph chain = buildChain(random);
+        numMismatches += run(random, chain, "chain", true);
+        for (int gridSize : gridSizes) {
+            NavGraph graph = buildGrid(random, gridSize);
+            String description = gridSize + "x" + gridSize + " grid";
+            numMismatches += run(random, graph, description, true);
+        }
+
+        if (numMismatches > 0) {
+            String message = numMismatches + " mismatched routes";
+            throw new RuntimeException(message);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Generate a chain of vertices in which each vertex is joined to the next
+     * by a pair of arcs with random integer costs. Routes along the chain are
+     * long, so their shortcuts nest deeply.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @return a new graph
+     */
+    private static NavGraph buildChain(Generator random) {
+        NavGraphBuilder builder
+                = new NavGraphBuilder(chainLength, 2 * chainLength);
+        for (int index = 0; index < chainLength; ++index) {
+            Vector3f location = new Vector3f(index, 0f, 0f);
+            builder.addVertex("c" + index, null, location);
+        }
+        for (int index = 1; index < chainLength; ++index) {
+            builder.addArcPair(index - 1, index, 1 + random.nextInt(9));
+        }
+
+        NavGraph result = builder.build();
+        return result;
+    }
+
+    /**
+     * Generate a square grid in which each cell is joined to its 4 neighbors
+     * by pairs of arcs with random integer costs.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param gridSize the number of cells along each side (&ge;2)
+     * @return a new graph
+     */
+    private static NavGraph buildGrid(Generator random, int gridSize) {
+        int numCells = gridSize * gridSize;
+        NavGraphBuilder builder = new NavGraphBuilder(numCells, 4 * numCells);
+        for (int z = 0; z < gridSize; ++z) {
+            for (int x = 0; x < gridSize; ++x) {
+                String name = x + "," + z;
+                Vector3f location = new Vector3f(x, 0f, z);
+                builder.addVertex(name, null, location);
+            }
+        }
+        for (int cell = 0; cell < numCells; ++cell) {
+            int x = cell % gridSize;
+            int z = cell / gridSize;
+            if (x < gridSize - 1) {
+                builder.addArcPair(cell, cell + 1, 1 + random.nextInt(9));
+            }
+            if (z < gridSize - 1) {
+                builder.addArcPair(
+                        cell, cell + gridSize, 1 + random.nextInt(9));
+            }
+        }
+
+        NavGraph result = builder.build();
+        return result;
+    }
+
+    /**
+     * Generate a small random graph with one-way arcs and random integer
+     * costs, some of them zero.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @return a new graph
+     */
+    private static NavGraph buildRandom(Generator random) {
+        int numVertices = 10 + random.nextInt(60);
+        NavGraph result = new NavGraph();
+        for (int index = 0; index < numVertices; ++index) {
+            Vector3f location = new Vector3f(index, 0f, 0f);
+            result.addVertex("v" + index, null, location);
+        }
+
+        int numArcs = 3 * numVertices;
+        for (int arcIndex = 0; arcIndex < numArcs; ++arcIndex) {
+            NavVertex origin = result.getVertex(random.nextInt(numVertices));
+            NavVertex terminus = result.getVertex(random.nextInt(numVertices));
+            if (origin != terminus && origin.findOutgoing(terminus) == null) {
+                result.addArc(origin, terminus, random.nextInt(10));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Calculate the cost of the specified route, verifying that its arcs join
+     * the specified vertices.
+     *
+     * @param graph the graph containing the route (not null, unaffected)
+     * @param arcs the arcs of the route (unaffected) or null for no route
+     * @param start the starting vertex (not null, unaffected)
+     * @param end the goal vertex (not null, unaffected)
+     * @return the total cost (&ge;0), {@link Float#POSITIVE_INFINITY} if
+     * there's no route, or NaN if the arcs don't join start to end
+     */
+    private static float routeCost(NavGraph graph, List<NavArc> arcs,
+            NavVertex start, NavVertex end) {
+        if (arcs == null) {
+            return Float.POSITIVE_INFINITY;
+        }
+
+        float result = 0f;
+        NavVertex vertex = start;
+        for (NavArc arc : arcs) {
+            if (arc.getFromVertex() != vertex) {
+                return Float.NaN;
+            }
+            result += graph.getCost(arc);
+            vertex = arc.getToVertex();
+        }
+        if (vertex != end) {
+            result = Float.NaN;
+        }
+
+        return result;
+    }
+
+    /**
+     * Preprocess the specified graph, compare random queries against
+     * Dijkstra's algorithm, and optionally print a line of results.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param graph the graph to test (not null, unaffected)
+     * @param description a description of the graph (not null)
+     * @param print true to print a line of results, otherwise false
+     * @return the number of mismatches found (&ge;0)
+     */
+    private static int run(Generator random, NavGraph graph,
+            String description, boolean print) {
+        CompiledNavGraph snapshot = graph.compile();
+        long startNanos = System.nanoTime();
+        ContractionHierarchy hierarchy = new ContractionHierarchy(snapshot);
+        long prepNanos = System.nanoTime() - startNanos;
+
+        int numVertices = graph.numVertices();
+        NavWorkspace forward = new NavWorkspace(numVertices);
+        NavWorkspace backward = new NavWorkspace(numVertices);
+        long dijkstraNanos = 0L;
+        long hierarchyNanos = 0L;
+        int numMismatches = 0;
+        for (int queryIndex = 0; queryIndex < numQueries; ++queryIndex) {
+            int startIndex = random.nextInt(numVertices);
+            int endIndex = random.nextInt(numVertices - 1);
+            if (endIndex >= startIndex) {
+                ++endIndex;
+            }
+            NavVertex start = graph.getVertex(startIndex);
+            NavVertex end = graph.getVertex(endIndex);
+
+            startNanos = System.nanoTime();
+            List<NavArc> dijkstraRoute = graph.seek(start, end);
+            dijkstraNanos += System.nanoTime() - startNanos;
+
+            startNanos = System.nanoTime();
+            List<NavArc> route = hierarchy.seek(start, end, forward, backward);
+            hierarchyNanos += System.nanoTime() - startNanos;
+
+            float optimal = routeCost(graph, dijkstraRoute, start, end);
+            float routeCost = routeCost(graph, route, start, end);
+            float cost = hierarchy.cost(startIndex, endIndex, forward,
+                    backward);
+            if (routeCost != optimal || cost != optimal) {
+                ++numMismatches;
+                System.out.printf("  mismatch: %s to %s dijkstra=%s "
+                        + "route=%s cost=%s%n", start, end, optimal,
+                        routeCost, cost);
+            }
+        }
+
+        if (print) {
+            System.out.printf("%-12s %8d %9d %9.1f %9d %10.1f %10.1f %9d%n",
+                    description, numVertices, hierarchy.countShortcuts(),
+                    prepNanos / 1e6, numQueries,
+                    dijkstraNanos / 1e3 / numQueries,
+                    hierarchyNanos / 1e3 / numQueries, numMismatches);
+        }
+        return numMismatches;
+    }
+}
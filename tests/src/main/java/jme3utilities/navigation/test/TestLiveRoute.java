@@ -0,0 +1,295 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation.test;
+
+import com.jme3.math.Vector3f;
+import java.util.List;
+import java.util.logging.Logger;
+import jme3utilities.math.noise.Generator;
+import jme3utilities.navigation.DistanceHeuristic;
+import jme3utilities.navigation.LiveRoute;
+import jme3utilities.navigation.NavArc;
+import jme3utilities.navigation.NavGraph;
+import jme3utilities.navigation.NavHeuristic;
+import jme3utilities.navigation.NavVertex;
+
+/**
+ * Cross-check the LiveRoute class against a fresh search after each of many
+ * random edits (added arcs, removed arcs, altered costs, and moves of the
+ * start) to randomly generated graphs.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class TestLiveRoute {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * number of random edits applied to each graph
+     */
+    final private static int numEdits = 200;
+    /**
+     * number of random graphs to test per mode
+     */
+    final private static int numGraphs = 200;
+    /**
+     * number of vertices in each graph
+     */
+    final private static int numVertices = 40;
+    /**
+     * side length of the square in which vertices are located
+     */
+    final private static int worldSize = 10;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            TestLiveRoute.class.getName());
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private TestLiveRoute() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Console application to test the LiveRoute class. Throws an exception if
+     * any route cost differs from that of a fresh search.
+     *
+     * @param ignored command-line arguments
+     */
+    public static void main(String[] ignored) {
+        System.out.printf("Test results for class LiveRoute:%n%n");
+
+        Generator random = new Generator(318_407L);
+        System.out.printf("%-16s %8s %8s %12s %10s%n", "heuristic", "graphs",
+                "edits", "expansions", "mismatch");
+        int numMismatches = run(random, false);
+        numMismatches += run(random, true);
+        if (numMismatches > 0) {
+            String message = numMismatches + " mismatched route costs";
+            throw new RuntimeException(message);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Apply a random edit to the specified graph or route.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param graph the graph to edit (not null, modified)
+     * @param route the route to edit (not null, modified)
+     * @param useLengths true to keep each cost at least the arc's length,
+     * false to allow zero-cost arcs
+     */
+    private static void applyEdit(Generator random, NavGraph graph,
+            LiveRoute route, boolean useLengths) {
+        int choice = random.nextInt(4);
+        if (choice == 0 || graph.numArcs() == 0) {
+            NavVertex origin = randomVertex(random, graph);
+            NavVertex terminus = randomVertex(random, graph);
+            if (origin != terminus && origin.findOutgoing(terminus) == null) {
+                float cost = randomCost(random, origin, terminus, useLengths);
+                graph.addArc(origin, terminus, cost);
+            }
+
+        } else if (choice == 1) {
+            NavArc arc = randomArc(random, graph);
+            graph.remove(arc);
+
+        } else if (choice == 2) {
+            NavArc arc = randomArc(random, graph);
+            NavVertex origin = arc.getFromVertex();
+            NavVertex terminus = arc.getToVertex();
+            float cost = randomCost(random, origin, terminus, useLengths);
+            graph.setCost(arc, cost);
+
+        } else {
+            NavVertex newStart = randomVertex(random, graph);
+            if (newStart != route.getGoal()) {
+                route.setStart(newStart);
+            }
+        }
+    }
+
+    /**
+     * Generate a random graph with integer coordinates and costs.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param useLengths true to make each cost at least the arc's length,
+     * false to allow zero-cost arcs
+     * @return a new graph
+     */
+    private static NavGraph buildGraph(Generator random, boolean useLengths) {
+        NavGraph result = new NavGraph();
+        for (int index = 0; index < numVertices; ++index) {
+            float x = random.nextInt(worldSize);
+            float z = random.nextInt(worldSize);
+            Vector3f location = new Vector3f(x, 0f, z);
+            result.addVertex("v" + index, null, location);
+        }
+
+        int numArcs = 3 * numVertices;
+        for (int arcIndex = 0; arcIndex < numArcs; ++arcIndex) {
+            NavVertex origin = randomVertex(random, result);
+            NavVertex terminus = randomVertex(random, result);
+            if (origin != terminus && origin.findOutgoing(terminus) == null) {
+                float cost = randomCost(random, origin, terminus, useLengths);
+                result.addArc(origin, terminus, cost);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Calculate the cost of the specified route.
+     *
+     * @param graph the graph containing the route (not null, unaffected)
+     * @param arcs the arcs of the route (unaffected) or null for no route
+     * @return the total cost (&ge;0) or {@link Float#POSITIVE_INFINITY} if
+     * there's no route
+     */
+    private static float routeCost(NavGraph graph, List<NavArc> arcs) {
+        if (arcs == null) {
+            return Float.POSITIVE_INFINITY;
+        }
+
+        float result = 0f;
+        for (NavArc arc : arcs) {
+            result += graph.getCost(arc);
+        }
+
+        return result;
+    }
+
+    /**
+     * Choose a random member arc of the specified graph.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param graph the graph to use (not null, at least one arc, unaffected)
+     * @return a pre-existing arc
+     */
+    private static NavArc randomArc(Generator random, NavGraph graph) {
+        List<NavArc> arcs = graph.listArcs();
+        int index = random.nextInt(arcs.size());
+        NavArc result = arcs.get(index);
+
+        return result;
+    }
+
+    /**
+     * Generate a random integer cost for an arc between the specified
+     * vertices.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param origin the originating vertex (not null, unaffected)
+     * @param terminus the terminating vertex (not null, unaffected)
+     * @param useLengths true to make the cost at least the arc's length,
+     * false to allow zero
+     * @return the cost (&ge;0)
+     */
+    private static float randomCost(Generator random, NavVertex origin,
+            NavVertex terminus, boolean useLengths) {
+        float result = random.nextInt(6);
+        if (useLengths) {
+            Vector3f offset = terminus.copyLocation();
+            offset.subtractLocal(origin.copyLocation());
+            result += (float) Math.ceil(offset.length());
+        }
+
+        return result;
+    }
+
+    /**
+     * Choose a random member vertex of the specified graph.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param graph the graph to use (not null, unaffected)
+     * @return a pre-existing vertex
+     */
+    private static NavVertex randomVertex(Generator random, NavGraph graph) {
+        int index = random.nextInt(graph.numVertices());
+        NavVertex result = graph.getVertex(index);
+
+        return result;
+    }
+
+    /**
+     * Edit many random graphs, check their routes after each edit, and print
+     * a line of results.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param useLengths true to use straight-line distances as the heuristic,
+     * false to use no heuristic and allow zero-cost arcs
+     * @return the number of mismatches found (&ge;0)
+     */
+    private static int run(Generator random, boolean useLengths) {
+        NavHeuristic heuristic = useLengths ? new DistanceHeuristic() : null;
+        long numExpansions = 0L;
+        int numMismatches = 0;
+
+        for (int graphIndex = 0; graphIndex < numGraphs; ++graphIndex) {
+            NavGraph graph = buildGraph(random, useLengths);
+            int startIndex = random.nextInt(numVertices);
+            int goalIndex = random.nextInt(numVertices - 1);
+            if (goalIndex >= startIndex) {
+                ++goalIndex;
+            }
+            NavVertex start = graph.getVertex(startIndex);
+            NavVertex goal = graph.getVertex(goalIndex);
+            LiveRoute route
+                    = graph.getRouter().createLiveRoute(start, goal, heuristic);
+
+            for (int editIndex = 0; editIndex < numEdits; ++editIndex) {
+                applyEdit(random, graph, route, useLengths);
+
+                float liveCost = route.cost();
+                float listedCost = routeCost(graph, route.listArcs());
+                List<NavArc> arcs
+                        = graph.seek(route.getStart(), goal, heuristic);
+                float freshCost = routeCost(graph, arcs);
+                if (liveCost != freshCost || listedCost != freshCost) {
+                    ++numMismatches;
+                    System.out.printf("  mismatch: live=%s listed=%s "
+                            + "fresh=%s%n", liveCost, listedCost, freshCost);
+                }
+            }
+            numExpansions += route.countExpansions();
+        }
+
+        String description = useLengths ? "straight-line" : "none";
+        System.out.printf("%-16s %8d %8d %12d %10d%n", description, numGraphs,
+                numEdits, numExpansions, numMismatches);
+        return numMismatches;
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation.test;
+
+import com.jme3.math.Vector3f;
+import java.util.List;
+import java.util.logging.Logger;
+import jme3utilities.math.noise.Generator;
+import jme3utilities.navigation.DistanceHeuristic;
+import jme3utilities.navigation.NavArc;
+import jme3utilities.navigation.NavGraph;
+import jme3utilities.navigation.NavHeuristic;
+import jme3utilities.navigation.NavHierarchy;
+import jme3utilities.navigation.NavVertex;
+
+/**
+ * Cross-check the NavHierarchy class against a flat search after each of many
+ * random edits (added vertices, added arcs, removed arcs, and altered costs)
+ * to randomly generated graphs, so that clusters marked dirty are rebuilt
+ * between queries.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class TestNavHierarchy {
+    // *************************************************************************
+    // constants and loggers
+
+    /**
+     * edge length of each grid cell
+     */
+    final private static float cellSize = 5f;
+    /**
+     * number of random edits applied to each graph
+     */
+    final private static int numEdits = 100;
+    /**
+     * number of random graphs to test per mode
+     */
+    final private static int numGraphs = 50;
+    /**
+     * number of queries after each edit
+     */
+    final private static int numQueries = 5;
+    /**
+     * number of vertices in each new graph
+     */
+    final private static int numVertices = 150;
+    /**
+     * side length of the square in which vertices are located
+     */
+    final private static int worldSize = 20;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            TestNavHierarchy.class.getName());
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private TestNavHierarchy() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Console application to test the NavHierarchy class. Throws an exception
+     * if any route cost differs from that of a flat search.
+     *
+     * @param ignored command-line arguments
+     */
+    public static void main(String[] ignored) {
+        System.out.printf("Test results for class NavHierarchy:%n%n");
+
+        Generator random = new Generator(947_260L);
+        System.out.printf("%-16s %8s %8s %9s %10s %10s%n", "heuristic",
+                "graphs", "edits", "queries", "unreached", "mismatch");
+        int numMismatches = run(random, false);
+        numMismatches += run(random, true);
+        if (numMismatches > 0) {
+            String message = numMismatches + " mismatched route costs";
+            throw new RuntimeException(message);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Add an arc between 2 random vertices that are near each other, unless
+     * they're the same or already joined.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param graph the graph to modify (not null, modified)
+     * @param useLengths true to make the cost at least the arc's length,
+     * false to allow zero
+     */
+    private static void addRandomArc(
+            Generator random, NavGraph graph, boolean useLengths) {
+        NavVertex origin = randomVertex(random, graph);
+        NavVertex terminus = randomVertex(random, graph);
+        float distance = origin.copyLocation()
+                .distance(terminus.copyLocation());
+        if (origin != terminus && distance < 1.5f * cellSize
+                && origin.findOutgoing(terminus) == null) {
+            float cost = randomCost(random, origin, terminus, useLengths);
+            graph.addArc(origin, terminus, cost);
+        }
+    }
+
+    /**
+     * Add a vertex at a random location with integer coordinates.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param graph the graph to modify (not null, modified)
+     */
+    private static void addRandomVertex(Generator random, NavGraph graph) {
+        float x = random.nextInt(worldSize);
+        float z = random.nextInt(worldSize);
+        Vector3f location = new Vector3f(x, 0f, z);
+        String name = "v" + graph.numVertices();
+        graph.addVertex(name, null, location);
+    }
+
+    /**
+     * Apply a random edit to the specified graph.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param graph the graph to edit (not null, modified)
+     * @param useLengths true to keep each cost at least the arc's length,
+     * false to allow zero-cost arcs
+     */
+    private static void applyEdit(
+            Generator random, NavGraph graph, boolean useLengths) {
+        int choice = random.nextInt(10);
+        if (choice == 0) {
+            addRandomVertex(random, graph);
+
+        } else if (choice < 4 || graph.numArcs() == 0) {
+            for (int attempt = 0; attempt < 5; ++attempt) {
+                addRandomArc(random, graph, useLengths);
+            }
+
+        } else if (choice < 7) {
+            NavArc arc = randomArc(random, graph);
+            graph.remove(arc);
+
+        } else {
+            NavArc arc = randomArc(random, graph);
+            NavVertex origin = arc.getFromVertex();
+            NavVertex terminus = arc.getToVertex();
+            float cost = randomCost(random, origin, terminus, useLengths);
+            graph.setCost(arc, cost);
+        }
+    }
+
+    /**
+     * Generate a random graph in which arcs join nearby vertices.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param useLengths true to make each cost at least the arc's length,
+     * false to allow zero-cost arcs
+     * @return a new graph
+     */
+    private static NavGraph buildGraph(Generator random, boolean useLengths) {
+        NavGraph result = new NavGraph();
+        for (int index = 0; index < numVertices; ++index) {
+            addRandomVertex(random, result);
+        }
+
+        int numAttempts = 20 * numVertices;
+        for (int attempt = 0; attempt < numAttempts; ++attempt) {
+            addRandomArc(random, result, useLengths);
+        }
+
+        return result;
+    }
+
+    /**
+     * Calculate the cost of the specified route, verifying that its arcs join
+     * the specified vertices.
+     *
+     * @param graph the graph containing the route (not null, unaffected)
+     * @param arcs the arcs of the route (unaffected) or null for no route
+     * @param start the starting vertex (not null, unaffected)
+     * @param end the goal vertex (not null, unaffected)
+     * @return the total cost (&ge;0), {@link Float#POSITIVE_INFINITY} if
+     * there's no route, or NaN if the arcs don't join start to end
+     */
+    private static float routeCost(NavGraph graph, List<NavArc> arcs,
+            NavVertex start, NavVertex end) {
+        if (arcs == null) {
+            return Float.POSITIVE_INFINITY;
+        }
+
+        float result = 0f;
+        NavVertex vertex = start;
+        for (NavArc arc : arcs) {
+            if (arc.getFromVertex() != vertex) {
+                return Float.NaN;
+            }
+            result += graph.getCost(arc);
+            vertex = arc.getToVertex();
+        }
+        if (vertex != end) {
+            result = Float.NaN;
+        }
+
+        return result;
+    }
+
+    /**
+     * Choose a random member arc of the specified graph.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param graph the graph to use (not null, at least one arc, unaffected)
+     * @return a pre-existing arc
+     */
+    private static NavArc randomArc(Generator random, NavGraph graph) {
+        List<NavArc> arcs = graph.listArcs();
+        int index = random.nextInt(arcs.size());
+        NavArc result = arcs.get(index);
+
+        return result;
+    }
+
+    /**
+     * Generate a random integer cost for an arc between the specified
+     * vertices.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param origin the originating vertex (not null, unaffected)
+     * @param terminus the terminating vertex (not null, unaffected)
+     * @param useLengths true to make the cost at least the arc's length,
+     * false to allow zero
+     * @return the cost (&ge;0)
+     */
+    private static float randomCost(Generator random, NavVertex origin,
+            NavVertex terminus, boolean useLengths) {
+        float result = random.nextInt(6);
+        if (useLengths) {
+            Vector3f offset = terminus.copyLocation();
+            offset.subtractLocal(origin.copyLocation());
+            result += (float) Math.ceil(offset.length());
+        }
+
+        return result;
+    }
+
+    /**
+     * Choose a random member vertex of the specified graph.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param graph the graph to use (not null, unaffected)
+     * @return a pre-existing vertex
+     */
+    private static NavVertex randomVertex(Generator random, NavGraph graph) {
+        int index = random.nextInt(graph.numVertices());
+        NavVertex result = graph.getVertex(index);
+
+        return result;
+    }
+
+    /**
+     * Edit many random graphs, compare routes after each edit, and print a
+     * line of results.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param useLengths true to use straight-line distances as the heuristic,
+     * false to use no heuristic and allow zero-cost arcs
+     * @return the number of mismatches found (&ge;0)
+     */
+    private static int run(Generator random, boolean useLengths) {
+        NavHeuristic heuristic = useLengths ? new DistanceHeuristic() : null;
+        int numMismatches = 0;
+        int numUnreached = 0;
+
+        for (int graphIndex = 0; graphIndex < numGraphs; ++graphIndex) {
+            NavGraph graph = buildGraph(random, useLengths);
+            NavHierarchy hierarchy
+                    = graph.getRouter().createHierarchy(cellSize);
+
+            for (int editIndex = 0; editIndex < numEdits; ++editIndex) {
+                applyEdit(random, graph, useLengths);
+
+                for (int queryI = 0; queryI < numQueries; ++queryI) {
+                    NavVertex start = randomVertex(random, graph);
+                    NavVertex end = randomVertex(random, graph);
+                    if (start == end) {
+                        continue;
+                    }
+                    List<NavArc> flatRoute = graph.seek(start, end);
+                    float flatCost = routeCost(graph, flatRoute, start, end);
+                    List<NavArc> route = hierarchy.seek(start, end, heuristic);
+                    float cost = routeCost(graph, route, start, end);
+                    if (flatRoute == null) {
+                        ++numUnreached;
+                    }
+                    if (cost != flatCost) {
+                        ++numMismatches;
+                        System.out.printf("  mismatch: %s to %s flat=%s "
+                                + "hierarchy=%s%n", start, end, flatCost,
+                                cost);
+                    }
+                }
+            }
+        }
+
+        String description = useLengths ? "straight-line" : "none";
+        int numQueriesTotal = numGraphs * numEdits * numQueries;
+        System.out.printf("%-16s %8d %8d %9d %10d %10d%n", description,
+                numGraphs, numEdits, numQueriesTotal, numUnreached,
+                numMismatches);
+        return numMismatches;
+    }
+}
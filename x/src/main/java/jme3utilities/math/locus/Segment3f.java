@@ -41,7 +41,7 @@ import jme3utilities.math.spline.Spline3f;
  *
  * @author Stephen Gold sgold@sonic.net
  */
-public class Segment3f implements Locus3f {
+public class Segment3f implements BoundedLocus3f {
     // *************************************************************************
     // constants
 
@@ -326,6 +326,30 @@ public class Segment3f implements Locus3f {
         Validate.inRange(index, description, 0, 1);
     }
     // *************************************************************************
+    // BoundedLocus3f methods
+
+    /**
+     * Calculate an axis-aligned box that contains every location in this
+     * region, expanded by the compare tolerance.
+     *
+     * @param storeMin storage for the minimum coordinates (not null, modified)
+     * @param storeMax storage for the maximum coordinates (not null, modified)
+     */
+    @Override
+    public void boundingBox(Vector3f storeMin, Vector3f storeMax) {
+        Validate.nonNull(storeMin, "min storage");
+        Validate.nonNull(storeMax, "max storage");
+
+        Vector3f corner0 = cornerLocations[0];
+        Vector3f corner1 = cornerLocations[1];
+        storeMin.x = Math.min(corner0.x, corner1.x) - tolerance;
+        storeMin.y = Math.min(corner0.y, corner1.y) - tolerance;
+        storeMin.z = Math.min(corner0.z, corner1.z) - tolerance;
+        storeMax.x = Math.max(corner0.x, corner1.x) + tolerance;
+        storeMax.y = Math.max(corner0.y, corner1.y) + tolerance;
+        storeMax.z = Math.max(corner0.z, corner1.z) + tolerance;
+    }
+    // *************************************************************************
     // Locus3f methods
 
     /**
@@ -56,7 +56,7 @@ import jme3utilities.math.spline.Spline3f;
  *
  * @author Stephen Gold sgold@sonic.net
  */
-public class Shell3f implements Locus3f {
+public class Shell3f implements BoundedLocus3f {
     // *************************************************************************
     // constants and loggers
 
@@ -293,9 +293,9 @@ public class Shell3f implements Locus3f {
         if (weights == null) {
             this.weights = null;
         } else {
-            Validate.positive(weights.x, "U-axis weight");
-            Validate.positive(weights.y, "V-axis weight");
-            Validate.positive(weights.z, "W-axis weight");
+            Validate.nonNegative(weights.x, "U-axis weight");
+            Validate.nonNegative(weights.y, "V-axis weight");
+            Validate.nonNegative(weights.z, "W-axis weight");
             this.weights = weights.clone();
         }
         this.innerRadius = innerRadius;
@@ -313,6 +313,82 @@ public class Shell3f implements Locus3f {
     // *************************************************************************
     // new methods exposed
 
+    /**
+     * Copy the center of this shell.
+     *
+     * @return a new coordinate vector
+     */
+    public Vector3f copyCenter() {
+        Vector3f result = center.clone();
+        return result;
+    }
+
+    /**
+     * Copy the orientation of this shell.
+     *
+     * @return a new quaternion to convert UVW (local) coordinates to XYZ
+     * (world) coordinates, or null if rotation is skipped
+     */
+    public Quaternion copyOrientation() {
+        Quaternion result;
+        if (orientation == null) {
+            result = null;
+        } else {
+            result = orientation.clone();
+        }
+
+        return result;
+    }
+
+    /**
+     * Copy the axis weights of this shell.
+     *
+     * @return a new vector (all components &ge;0) or null if weighting is
+     * skipped
+     */
+    public Vector3f copyWeights() {
+        Vector3f result;
+        if (weights == null) {
+            result = null;
+        } else {
+            result = weights.clone();
+        }
+
+        return result;
+    }
+
+    /**
+     * Read the inner radius of this shell.
+     *
+     * @return the minimum metric value for points in the shell (&ge;0, may be
+     * {@link Float#POSITIVE_INFINITY})
+     */
+    public float getInnerRadius() {
+        assert innerRadius >= 0f : innerRadius;
+        return innerRadius;
+    }
+
+    /**
+     * Access the metric employed by this shell.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public Metric getMetric() {
+        assert metric != null;
+        return metric;
+    }
+
+    /**
+     * Read the outer radius of this shell.
+     *
+     * @return the maximum metric value for points in the shell
+     * (&ge;innerRadius, may be {@link Float#POSITIVE_INFINITY})
+     */
+    public float getOuterRadius() {
+        assert outerRadius >= innerRadius : outerRadius;
+        return outerRadius;
+    }
+
     /**
      * Test whether this shell is convex.
      *
@@ -353,6 +429,40 @@ public class Shell3f implements Locus3f {
         }
     }
     // *************************************************************************
+    // BoundedLocus3f methods
+
+    /**
+     * Calculate an axis-aligned box that contains every location in this
+     * region. Every supported metric is at least the Chebyshev metric, so each
+     * weighted local coordinate is bounded by the outer radius.
+     *
+     * @param storeMin storage for the minimum coordinates (not null, modified)
+     * @param storeMax storage for the maximum coordinates (not null, modified)
+     */
+    @Override
+    public void boundingBox(Vector3f storeMin, Vector3f storeMax) {
+        Validate.nonNull(storeMin, "min storage");
+        Validate.nonNull(storeMax, "max storage");
+
+        // Calculate the half-extents in local (UVW) coordinates.
+        Vector3f halfExtents = new Vector3f(outerRadius, outerRadius,
+                outerRadius);
+        if (weights != null) {
+            halfExtents.x /= weights.x; // zero weight -> infinite extent
+            halfExtents.y /= weights.y;
+            halfExtents.z /= weights.z;
+        }
+
+        if (orientation != null) {
+            // Enclose the local box in a sphere, which is rotation-invariant.
+            float radius = halfExtents.length();
+            halfExtents.set(radius, radius, radius);
+        }
+
+        center.subtract(halfExtents, storeMin);
+        center.add(halfExtents, storeMax);
+    }
+    // *************************************************************************
     // Locus3f methods
 
     /**
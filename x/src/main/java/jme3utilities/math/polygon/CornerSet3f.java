@@ -27,6 +27,7 @@
 package jme3utilities.math.polygon;
 
 import com.jme3.math.Vector3f;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 import java.util.logging.Logger;
@@ -56,10 +57,12 @@ public class CornerSet3f {
      */
     private Boolean isPlanar = null;
     /**
-     * cached squared distance between each pair of corners (each &ge;0,
-     * allocated by constructor, each initialized by #setSquaredDistance())
+     * cached squared distance between each pair of distinct corners (each
+     * &ge;0 or NaN if not yet calculated, allocated by constructor, each
+     * initialized by #setSquaredDistance()) stored as a lower triangle
+     * without the diagonal: see #triangleIndex()
      */
-    final private Double[][] squaredDistances;
+    final private double[] squaredDistances;
     /**
      * maximum distance for locations to coincide (&ge;0, set by constructor)
      */
@@ -105,7 +108,8 @@ public class CornerSet3f {
 
         // Allocate array space for caching calculated values.
         this.cornerLocations = new Vector3f[numCorners];
-        this.squaredDistances = new Double[numCorners][numCorners];
+        this.squaredDistances = new double[numCorners * (numCorners - 1) / 2];
+        Arrays.fill(squaredDistances, Double.NaN);
 
         // Copy corner locations.
         for (int cornerIndex = 0; cornerIndex < numCorners; ++cornerIndex) {
@@ -137,7 +141,8 @@ public class CornerSet3f {
 
         // Allocate array space for caching values.
         this.cornerLocations = new Vector3f[numCorners];
-        this.squaredDistances = new Double[numCorners][numCorners];
+        this.squaredDistances = new double[numCorners * (numCorners - 1) / 2];
+        Arrays.fill(squaredDistances, Double.NaN);
 
         // Copy corner locations.
         for (int cornerIndex = 0; cornerIndex < numCorners; ++cornerIndex) {
@@ -152,6 +157,53 @@ public class CornerSet3f {
     // *************************************************************************
     // new methods exposed
 
+    /**
+     * Find a triangle whose area is at least half that of the largest triangle
+     * formed by any 3 corners. The result is formed by the most distant pair
+     * of corners plus the corner farthest from the line through them. It
+     * takes O(n^2) time, versus O(n^3) in the worst case for
+     * {@link #largestTriangle()}.
+     * <p>
+     * The factor of 2 is guaranteed only for planar corner sets. In that case,
+     * every corner lies in a rectangle whose length is the distance (D)
+     * between the pair and whose width is twice the distance (H) of the
+     * farthest corner, so no triangle can exceed D*H, while the result has
+     * D*H/2.
+     *
+     * @return a new vector of 3 corner indices (sorted in ascending order) or
+     * null if this corner set has &lt;3 corners
+     */
+    public int[] approximateLargestTriangle() {
+        if (numCorners < 3) {
+            return null;
+        }
+
+        BitSet allCorners = new BitSet(numCorners);
+        allCorners.set(0, numCorners);
+        int[] pair = mostDistant(allCorners);
+        int aIndex = pair[0];
+        int bIndex = pair[1];
+
+        double largestSA = -1.0;
+        int cIndex = -1;
+        for (int cornerIndex = 0; cornerIndex < numCorners; ++cornerIndex) {
+            if (cornerIndex != aIndex && cornerIndex != bIndex) {
+                double sa = squaredArea(aIndex, bIndex, cornerIndex);
+                if (sa > largestSA) {
+                    largestSA = sa;
+                    cIndex = cornerIndex;
+                }
+            }
+        }
+
+        int[] result = {aIndex, bIndex, cIndex};
+        Arrays.sort(result);
+
+        assert result[0] < result[1];
+        assert result[1] < result[2];
+        return result;
+    }
+
     /**
      * Copy the location of a specified corner.
      *
@@ -164,6 +216,21 @@ public class CornerSet3f {
         return result;
     }
 
+    /**
+     * Copy the location of a specified corner.
+     *
+     * @param cornerIndex which corner (&ge;0, &lt;numCorners)
+     * @param storeResult storage for the result (modified if not null)
+     * @return a coordinate vector (either storeResult or a new instance)
+     */
+    public Vector3f copyCornerLocation(int cornerIndex, Vector3f storeResult) {
+        validateIndex(cornerIndex, "corner index");
+        Vector3f result
+                = (storeResult == null) ? new Vector3f() : storeResult;
+        result.set(cornerLocations[cornerIndex]);
+        return result;
+    }
+
     /**
      * Copy the array of corner locations.
      *
@@ -179,6 +246,31 @@ public class CornerSet3f {
         return result;
     }
 
+    /**
+     * Calculate an axis-aligned box that contains every corner, expanded by
+     * the compare tolerance. If there are no corners, the result is empty
+     * (min &gt; max).
+     *
+     * @param storeMin storage for the minimum coordinates (not null, modified)
+     * @param storeMax storage for the maximum coordinates (not null, modified)
+     */
+    public void boundingBox(Vector3f storeMin, Vector3f storeMax) {
+        Validate.nonNull(storeMin, "min storage");
+        Validate.nonNull(storeMax, "max storage");
+
+        float inf = Float.POSITIVE_INFINITY;
+        storeMin.set(inf, inf, inf);
+        storeMax.set(-inf, -inf, -inf);
+        for (Vector3f corner : cornerLocations) {
+            storeMin.x = Math.min(storeMin.x, corner.x - tolerance);
+            storeMin.y = Math.min(storeMin.y, corner.y - tolerance);
+            storeMin.z = Math.min(storeMin.z, corner.z - tolerance);
+            storeMax.x = Math.max(storeMax.x, corner.x + tolerance);
+            storeMax.y = Math.max(storeMax.y, corner.y + tolerance);
+            storeMax.z = Math.max(storeMax.z, corner.z + tolerance);
+        }
+    }
+
     /**
      * Calculate the diameter of this corner set: the distance between its 2
      * most distant corners.
@@ -248,7 +340,9 @@ public class CornerSet3f {
     }
 
     /**
-     * Calculate (or look up) the largest triangle formed by any 3 corners.
+     * Calculate (or look up) the largest triangle formed by any 3 corners. If
+     * several triangles tie for largest, the one with the lowest indices (in
+     * lexicographic order) is chosen.
      *
      * @return a new vector of 3 corner indices (sorted in ascending order) or
      * null if this corner set has &lt;3 corners
@@ -550,15 +644,26 @@ public class CornerSet3f {
         validateIndex(indexB, "index of 2nd corner");
         validateIndex(indexC, "index of 3rd corner");
 
-        // Calculate the offsets of B and C relative to A.
+        /*
+         * Calculate the offsets of B and C relative to A, then their
+         * cross product, using the same single-precision arithmetic as
+         * Vector3f but without allocating any vectors.
+         */
         Vector3f a = cornerLocations[indexA];
         Vector3f b = cornerLocations[indexB];
         Vector3f c = cornerLocations[indexC];
-        Vector3f ab = b.subtract(a);
-        Vector3f ac = c.subtract(a);
-
-        Vector3f cross = ab.cross(ac);
-        double areaSquared = MyVector3f.lengthSquared(cross) / 4.0;
+        float abX = b.x - a.x;
+        float abY = b.y - a.y;
+        float abZ = b.z - a.z;
+        float acX = c.x - a.x;
+        float acY = c.y - a.y;
+        float acZ = c.z - a.z;
+
+        double crossX = abY * acZ - abZ * acY;
+        double crossY = abZ * acX - abX * acZ;
+        double crossZ = abX * acY - abY * acX;
+        double areaSquared
+                = (crossX * crossX + crossY * crossY + crossZ * crossZ) / 4.0;
 
         assert areaSquared >= 0.0 : areaSquared;
         return areaSquared;
@@ -575,10 +680,16 @@ public class CornerSet3f {
         validateIndex(cornerIndex1, "index of first corner");
         validateIndex(cornerIndex2, "index of 2nd corner");
 
-        if (squaredDistances[cornerIndex1][cornerIndex2] == null) {
+        if (cornerIndex1 == cornerIndex2) {
+            return 0.0;
+        }
+        int triangleIndex = triangleIndex(cornerIndex1, cornerIndex2);
+        if (Double.isNaN(squaredDistances[triangleIndex])) {
             setSquaredDistance(cornerIndex1, cornerIndex2);
         }
-        return squaredDistances[cornerIndex1][cornerIndex2];
+        double result = squaredDistances[triangleIndex];
+
+        return result;
     }
 
     /**
@@ -605,6 +716,28 @@ public class CornerSet3f {
     // *************************************************************************
     // private methods
 
+    /**
+     * Compare 2 triangles lexicographically by their sorted corner indices.
+     *
+     * @param triangle1 the first triangle (not null, length=3, in ascending
+     * order, unaffected)
+     * @param triangle2 the 2nd triangle (not null, length=3, in ascending
+     * order, unaffected)
+     * @return negative if triangle1 comes first, positive if triangle2 comes
+     * first, or 0 if they're identical
+     */
+    private static int compareTriangles(int[] triangle1, int[] triangle2) {
+        assert triangle1.length == 3 : triangle1.length;
+        assert triangle2.length == 3 : triangle2.length;
+
+        int result = 0;
+        for (int i = 0; i < 3 && result == 0; ++i) {
+            result = Integer.compare(triangle1[i], triangle2[i]);
+        }
+
+        return result;
+    }
+
     /**
      * Initialize the #isPlanar field. A corner set is planar if all corners lie
      * in a single plane.
@@ -633,8 +766,12 @@ public class CornerSet3f {
             return;
         }
 
-        // The hard way: find the 3 corners which form the largest triangle.
-        int[] triangle = largestTriangle();
+        /*
+         * The hard way: find 3 corners which form a large triangle.
+         * Any triangle with at least half the maximum area defines
+         * the plane well enough for this test.
+         */
+        int[] triangle = approximateLargestTriangle();
         if (triangle == null) {
             /*
              * Degenerate case:
@@ -692,31 +829,53 @@ public class CornerSet3f {
     }
 
     /**
-     * Initialize the #largestTriangle field if numCorners&gt;3, otherwise leave
+     * Initialize the #largestTriangle field if numCorners&ge;3, otherwise leave
      * it unchanged.
+     * <p>
+     * Starting from the approximate triangle, each pair of corners is treated
+     * as the longest side of a triangle. Only pairs whose area bound could
+     * match the best triangle found so far get scanned for a 3rd corner.
+     * Since every triangle is reached through its longest side, the result
+     * is exact.
      */
     private void setLargestTriangle() {
-        double largestSA = -1.0;
-        int[] largest = null;
-        for (int i = 0; i < numCorners - 2; ++i) {
-            for (int j = i + 1; j < numCorners - 1; ++j) {
-                for (int k = j + 1; k < numCorners; ++k) {
-                    double sa = squaredArea(i, j, k);
-                    if (sa > largestSA) {
+        int[] largest = approximateLargestTriangle();
+        if (largest == null) {
+            return;
+        }
+        double largestSA = squaredArea(largest[0], largest[1], largest[2]);
+        TriangleBound bound = new TriangleBound(cornerLocations, largest);
+
+        int[] candidate = new int[3];
+        for (int i = 0; i < numCorners - 1; ++i) {
+            for (int j = i + 1; j < numCorners; ++j) {
+                if (!bound.canReach(i, j, largestSA)) {
+                    continue;
+                }
+
+                double sideSD = squaredDistance(i, j);
+                for (int k = 0; k < numCorners; ++k) {
+                    if (k == i || k == j
+                            || squaredDistance(i, k) > sideSD
+                            || squaredDistance(j, k) > sideSD) {
+                        continue;
+                    }
+                    candidate[0] = i;
+                    candidate[1] = j;
+                    candidate[2] = k;
+                    Arrays.sort(candidate);
+                    double sa = squaredArea(
+                            candidate[0], candidate[1], candidate[2]);
+                    if (sa > largestSA || (sa == largestSA
+                            && compareTriangles(candidate, largest) < 0)) {
                         largestSA = sa;
-                        if (largest == null) {
-                            largest = new int[3];
-                        }
-                        largest[0] = i;
-                        largest[1] = j;
-                        largest[2] = k;
+                        System.arraycopy(candidate, 0, largest, 0, 3);
                     }
                 }
             }
         }
-        if (largest != null) {
-            setLargestTriangle(largest);
-        }
+
+        setLargestTriangle(largest);
     }
 
     /**
@@ -744,45 +903,52 @@ public class CornerSet3f {
     }
 
     /**
-     * Initialize the element(s) of the #squaredDistances field for a particular
-     * pair of corners.
+     * Initialize the element of the #squaredDistances field for a particular
+     * pair of distinct corners.
      *
      * @param cornerIndex1 index of the first corner (&ge;0, &lt;numCorners)
-     * @param cornerIndex2 index of the 2nd corner (&ge;0, &lt;numCorners)
+     * @param cornerIndex2 index of the 2nd corner (&ge;0, &lt;numCorners,
+     * &ne;cornerIndex1)
      */
     private void setSquaredDistance(int cornerIndex1, int cornerIndex2) {
-        assert cornerIndex1 >= 0 : cornerIndex1;
-        assert cornerIndex1 < numCorners : cornerIndex1;
-        assert cornerIndex2 >= 0 : cornerIndex2;
-        assert cornerIndex2 < numCorners : cornerIndex2;
-
-        if (cornerIndex1 == cornerIndex2) {
-            setSquaredDistance(cornerIndex1, cornerIndex2, 0.0);
-        } else {
-            Vector3f corner1 = cornerLocations[cornerIndex1];
-            Vector3f corner2 = cornerLocations[cornerIndex2];
-            double square = MyVector3f.distanceSquared(corner1, corner2);
-            setSquaredDistance(cornerIndex1, cornerIndex2, square);
-        }
+        Vector3f corner1 = cornerLocations[cornerIndex1];
+        Vector3f corner2 = cornerLocations[cornerIndex2];
+        double square = MyVector3f.distanceSquared(corner1, corner2);
+        setSquaredDistance(cornerIndex1, cornerIndex2, square);
     }
 
     /**
      * Direct setter for the #squaredDistances field.
      *
      * @param ci1 index of the first corner (&ge;0, &lt;numCorners)
-     * @param ci2 index of the 2nd corner (&ge;0, &lt;numCorners)
+     * @param ci2 index of the 2nd corner (&ge;0, &lt;numCorners, &ne;ci1)
      * @param newValue new value for squared distance (&ge;0)
      */
     private void setSquaredDistance(int ci1, int ci2, double newValue) {
+        assert newValue >= 0.0 : newValue;
+
+        int triangleIndex = triangleIndex(ci1, ci2);
+        assert Double.isNaN(squaredDistances[triangleIndex]);
+        this.squaredDistances[triangleIndex] = newValue;
+    }
+
+    /**
+     * Calculate the position of the specified pair of distinct corners in the
+     * #squaredDistances field. The order of the indices doesn't matter.
+     *
+     * @param ci1 index of the first corner (&ge;0, &lt;numCorners)
+     * @param ci2 index of the 2nd corner (&ge;0, &lt;numCorners, &ne;ci1)
+     * @return the position (&ge;0)
+     */
+    private static int triangleIndex(int ci1, int ci2) {
         assert ci1 >= 0 : ci1;
-        assert ci1 < numCorners : ci1;
         assert ci2 >= 0 : ci2;
-        assert ci2 < numCorners : ci2;
-        assert newValue >= 0.0 : newValue;
-        assert squaredDistances[ci1][ci2] == null;
-        assert squaredDistances[ci2][ci1] == null;
+        assert ci1 != ci2 : ci1;
 
-        this.squaredDistances[ci1][ci2] = newValue;
-        this.squaredDistances[ci2][ci1] = newValue;
+        int high = Math.max(ci1, ci2);
+        int low = Math.min(ci1, ci2);
+        int result = high * (high - 1) / 2 + low;
+
+        return result;
     }
 }
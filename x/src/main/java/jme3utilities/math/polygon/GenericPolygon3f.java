@@ -28,6 +28,7 @@ package jme3utilities.math.polygon;
 
 import com.jme3.math.FastMath;
 import com.jme3.math.Vector3f;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 import java.util.logging.Logger;
@@ -74,10 +75,28 @@ public class GenericPolygon3f extends Polygon3f {
      * generic polygon
      */
     public GenericPolygon3f(Vector3f[] cornerArray, float compareTolerance) {
+        this(cornerArray, compareTolerance, true);
+    }
+
+    /**
+     * Instantiate a generic polygon from an array of corners, optionally
+     * skipping verification.
+     *
+     * @param cornerArray locations of the corners, in sequence (not null or
+     * containing any nulls, unaffected)
+     * @param compareTolerance tolerance (&ge;0) used to compare locations for
+     * coincidence
+     * @param verify true to verify that the corners form a generic polygon,
+     * false to trust the caller
+     * @throws IllegalArgumentException if verification is requested and the
+     * corners provided don't form a generic polygon
+     */
+    protected GenericPolygon3f(
+            Vector3f[] cornerArray, float compareTolerance, boolean verify) {
         super(cornerArray, compareTolerance);
 
         // Verify that the polygon is generic.
-        if (isDegenerate()) {
+        if (verify && isDegenerate()) {
             throw new IllegalArgumentException("degenerate polygon");
         }
     }
@@ -196,9 +215,10 @@ public class GenericPolygon3f extends Polygon3f {
             } else {
                 /*
                  * The segments are parallel but not collinear, so they
-                 * do not intersect.
+                 * do not intersect. (With 3 unique corners, this happens
+                 * when short sides meet at an angle.)
                  */
-                assert numUnique == 4 : numUnique;
+                assert numUnique >= 3 : numUnique;
                 return false;
             }
         }
@@ -432,22 +452,136 @@ public class GenericPolygon3f extends Polygon3f {
         return false;
     }
 
+    /**
+     * Test whether 2 intervals overlap.
+     *
+     * @param index1 the position of the first interval in the arrays (&ge;0)
+     * @param index2 the position of the 2nd interval in the arrays (&ge;0)
+     * @param minima the lower ends of the intervals (not null, unaffected)
+     * @param maxima the upper ends of the intervals (not null, unaffected)
+     * @return true if they overlap, otherwise false
+     */
+    private static boolean overlapOnAxis(
+            int index1, int index2, float[] minima, float[] maxima) {
+        if (maxima[index1] >= minima[index2]
+                && maxima[index2] >= minima[index1]) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
     /**
      * Initialize the #isSelfIntersecting field. The polygon is
      * self-intersecting if 2 (or more) sides intersect at some location other
      * their corners.
+     * <p>
+     * Rather than testing every pair of sides, sweep a plane along the axis in
+     * which the corners are most spread out. Each side is enclosed in an
+     * axis-aligned box, expanded enough that sides which
+     * #doSidesIntersect() considers intersecting always have overlapping
+     * boxes. Only sides whose boxes overlap get tested, so the result is the
+     * same as testing every pair, in O(n log n) time for typical polygons.
      */
     private void setIsSelfIntersecting() {
         assert isSelfIntersecting == null : isSelfIntersecting;
+        /*
+         * Calculate a margin that allows for the compare tolerance (which
+         * may apply to both sides) plus rounding errors.
+         */
+        float maxAbs = 0f;
+        for (Vector3f corner : cornerLocations) {
+            maxAbs = Math.max(maxAbs, Math.abs(corner.x));
+            maxAbs = Math.max(maxAbs, Math.abs(corner.y));
+            maxAbs = Math.max(maxAbs, Math.abs(corner.z));
+        }
+        float margin = 2f * tolerance + 1e-5f * maxAbs;
 
-        // consider each pair of sides
-        for (int sideI = 0; sideI < numCorners; ++sideI) {
-            for (int sideJ = sideI + 1; sideJ < numCorners; ++sideJ) {
-                if (doSidesIntersect(sideI, sideJ)) {
-                    isSelfIntersecting = true;
-                    return;
+        // Calculate the expanded bounds of each side, 3 axes per side.
+        float[] minima = new float[3 * numCorners];
+        float[] maxima = new float[3 * numCorners];
+        Vector3f min = new Vector3f();
+        Vector3f max = new Vector3f();
+        for (int sideIndex = 0; sideIndex < numCorners; ++sideIndex) {
+            Vector3f corner1 = cornerLocations[sideIndex];
+            Vector3f corner2 = cornerLocations[nextIndex(sideIndex)];
+            min.set(corner1);
+            max.set(corner1);
+            MyVector3f.accumulateMinima(min, corner2);
+            MyVector3f.accumulateMaxima(max, corner2);
+
+            int base = 3 * sideIndex;
+            minima[base] = min.x - margin;
+            minima[base + 1] = min.y - margin;
+            minima[base + 2] = min.z - margin;
+            maxima[base] = max.x + margin;
+            maxima[base + 1] = max.y + margin;
+            maxima[base + 2] = max.z + margin;
+        }
+
+        // Choose the sweep axis.
+        boundingBox(min, max);
+        Vector3f extent = max.subtract(min);
+        int sweepAxis;
+        if (extent.x >= extent.y && extent.x >= extent.z) {
+            sweepAxis = 0;
+        } else if (extent.y >= extent.z) {
+            sweepAxis = 1;
+        } else {
+            sweepAxis = 2;
+        }
+        int otherAxis1 = (sweepAxis + 1) % 3;
+        int otherAxis2 = (sweepAxis + 2) % 3;
+        /*
+         * Sort the sides by their minimum coordinates along the sweep axis,
+         * packing each sort key and side index into a long.
+         */
+        long[] events = new long[numCorners];
+        for (int sideIndex = 0; sideIndex < numCorners; ++sideIndex) {
+            float key = minima[3 * sideIndex + sweepAxis];
+            int bits = Float.floatToIntBits(key);
+            if (bits < 0) {
+                bits ^= 0x7fffffff;
+            }
+            events[sideIndex] = ((long) bits << 32) | sideIndex;
+        }
+        Arrays.sort(events);
+        /*
+         * Sweep, maintaining a list of the sides whose boxes
+         * overlap the sweep plane.
+         */
+        int[] active = new int[numCorners];
+        int numActive = 0;
+        for (long event : events) {
+            int sideI = (int) (event & 0xffffffffL);
+            int baseI = 3 * sideI;
+            float sweepMin = minima[baseI + sweepAxis];
+
+            int numKept = 0;
+            for (int activeIndex = 0; activeIndex < numActive; ++activeIndex) {
+                int sideJ = active[activeIndex];
+                int baseJ = 3 * sideJ;
+                if (maxima[baseJ + sweepAxis] < sweepMin) {
+                    // The sweep plane has passed side J, so drop it.
+                    continue;
+                }
+                active[numKept] = sideJ;
+                ++numKept;
+
+                if (overlapOnAxis(baseI + otherAxis1, baseJ + otherAxis1,
+                        minima, maxima)
+                        && overlapOnAxis(baseI + otherAxis2,
+                                baseJ + otherAxis2, minima, maxima)) {
+                    int low = Math.min(sideI, sideJ);
+                    int high = Math.max(sideI, sideJ);
+                    if (doSidesIntersect(low, high)) {
+                        this.isSelfIntersecting = true;
+                        return;
+                    }
                 }
             }
+            active[numKept] = sideI;
+            numActive = numKept + 1;
         }
 
         this.isSelfIntersecting = false;
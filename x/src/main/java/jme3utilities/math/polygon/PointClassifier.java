@@ -0,0 +1,484 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.math.polygon;
+
+import com.jme3.math.Vector3f;
+import java.util.logging.Logger;
+import jme3utilities.math.ReadXZ;
+
+/**
+ * Precomputed edge equations for classifying points against a simple polygon,
+ * without allocating any objects. A point is contained if it lies within the
+ * compare tolerance of the perimeter (measured in 3-D, as
+ * {@link Polygon3f#squaredDistanceToSide(com.jme3.math.Vector3f, int,
+ * com.jme3.math.Vector3f)} does) or inside it by the crossing-number rule,
+ * applied to its projection onto the polygon's planar basis. For convex
+ * polygons, the inside test uses a binary search over the fan of triangles
+ * that share the first corner.
+ * <p>
+ * Since projection never increases distances, planar distances serve to
+ * reject sides and locations cheaply before any 3-D distance is calculated.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class PointClassifier {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            PointClassifier.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * true if the polygon is convex
+     */
+    final private boolean isConvex;
+    /**
+     * +1 if the corners run counter-clockwise in planar coordinates, -1 if
+     * clockwise
+     */
+    final private double orientation;
+    /**
+     * square of the compare tolerance (&ge;0)
+     */
+    final private float tolerance2;
+    /**
+     * constant of the plane containing the polygon
+     */
+    final private float planeConstant;
+    /**
+     * minimum planar X coordinate of any corner, minus the tolerance
+     */
+    final private double minX;
+    /**
+     * maximum planar X coordinate of any corner, plus the tolerance
+     */
+    final private double maxX;
+    /**
+     * minimum planar Z coordinate of any corner, minus the tolerance
+     */
+    final private double minZ;
+    /**
+     * maximum planar Z coordinate of any corner, plus the tolerance
+     */
+    final private double maxZ;
+    /**
+     * world X component of each corner's offset from the first corner
+     */
+    final private double[] cornerX;
+    /**
+     * world Y component of each corner's offset from the first corner
+     */
+    final private double[] cornerY;
+    /**
+     * world Z component of each corner's offset from the first corner
+     */
+    final private double[] cornerZ;
+    /**
+     * planar X component of each side's offset (from its first corner to its
+     * 2nd)
+     */
+    final private double[] deltaX;
+    /**
+     * planar Z component of each side's offset
+     */
+    final private double[] deltaZ;
+    /**
+     * reciprocal of each side's squared planar length
+     */
+    final private double[] inverseLengthSquared;
+    /**
+     * reciprocal of each side's squared length in world coordinates, or 0 if
+     * its corners coincide
+     */
+    final private double[] inverseSideLength2;
+    /**
+     * planar X coordinate of each corner (relative to the first corner)
+     */
+    final private double[] planeX;
+    /**
+     * planar Z coordinate of each corner (relative to the first corner)
+     */
+    final private double[] planeZ;
+    /**
+     * world X component of each side's offset (from its first corner to its
+     * 2nd)
+     */
+    final private double[] sideX;
+    /**
+     * world Y component of each side's offset
+     */
+    final private double[] sideY;
+    /**
+     * world Z component of each side's offset
+     */
+    final private double[] sideZ;
+    /**
+     * number of corners and sides (&ge;3)
+     */
+    final private int numSides;
+    /**
+     * normal of the plane containing the polygon (unit vector)
+     */
+    final private Vector3f normal;
+    /**
+     * location of the first corner (the origin of planar coordinates)
+     */
+    final private Vector3f origin;
+    /**
+     * first basis vector for planar coordinates (unit vector)
+     */
+    final private Vector3f xBasis;
+    /**
+     * 2nd basis vector for planar coordinates (unit vector)
+     */
+    final private Vector3f zBasis;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a classifier for a simple polygon.
+     *
+     * @param polygon the polygon to classify against (not null, unaffected)
+     * @param xBasis the first basis vector for the polygon's planar offsets
+     * (not null, unit vector, unaffected)
+     * @param zBasis the 2nd basis vector for the polygon's planar offsets (not
+     * null, unit vector, unaffected)
+     * @param planeConstant the constant of the polygon's plane
+     */
+    PointClassifier(SimplePolygon3f polygon, Vector3f xBasis, Vector3f zBasis,
+            float planeConstant) {
+        this.numSides = polygon.numCorners();
+        assert numSides >= 3 : numSides;
+        float tolerance = polygon.getTolerance();
+        assert tolerance >= 0f : tolerance;
+
+        this.origin = polygon.copyCornerLocation(0);
+        this.xBasis = xBasis.clone();
+        this.zBasis = zBasis.clone();
+        this.normal = polygon.planeNormal();
+        this.planeConstant = planeConstant;
+        this.tolerance2 = tolerance * tolerance;
+        this.isConvex = polygon.isConvex();
+
+        this.cornerX = new double[numSides];
+        this.cornerY = new double[numSides];
+        this.cornerZ = new double[numSides];
+        this.planeX = new double[numSides];
+        this.planeZ = new double[numSides];
+        Vector3f corner = new Vector3f();
+        double xMin = Double.POSITIVE_INFINITY;
+        double xMax = Double.NEGATIVE_INFINITY;
+        double zMin = Double.POSITIVE_INFINITY;
+        double zMax = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < numSides; ++i) {
+            polygon.copyCornerLocation(i, corner);
+            cornerX[i] = corner.x - (double) origin.x;
+            cornerY[i] = corner.y - (double) origin.y;
+            cornerZ[i] = corner.z - (double) origin.z;
+
+            ReadXZ planarOffset = polygon.planarOffset(i);
+            double x = planarOffset.getX();
+            double z = planarOffset.getZ();
+            planeX[i] = x;
+            planeZ[i] = z;
+            xMin = Math.min(xMin, x);
+            xMax = Math.max(xMax, x);
+            zMin = Math.min(zMin, z);
+            zMax = Math.max(zMax, z);
+        }
+        this.minX = xMin - tolerance;
+        this.maxX = xMax + tolerance;
+        this.minZ = zMin - tolerance;
+        this.maxZ = zMax + tolerance;
+
+        this.deltaX = new double[numSides];
+        this.deltaZ = new double[numSides];
+        this.inverseLengthSquared = new double[numSides];
+        this.sideX = new double[numSides];
+        this.sideY = new double[numSides];
+        this.sideZ = new double[numSides];
+        this.inverseSideLength2 = new double[numSides];
+        double twiceArea = 0.0;
+        for (int i = 0; i < numSides; ++i) {
+            int next = (i + 1) % numSides;
+            double dx = planeX[next] - planeX[i];
+            double dz = planeZ[next] - planeZ[i];
+            deltaX[i] = dx;
+            deltaZ[i] = dz;
+            double lengthSquared = dx * dx + dz * dz;
+            assert lengthSquared > 0.0 : i;
+            inverseLengthSquared[i] = 1.0 / lengthSquared;
+            twiceArea += planeX[i] * planeZ[next] - planeZ[i] * planeX[next];
+
+            double sx = cornerX[next] - cornerX[i];
+            double sy = cornerY[next] - cornerY[i];
+            double sz = cornerZ[next] - cornerZ[i];
+            sideX[i] = sx;
+            sideY[i] = sy;
+            sideZ[i] = sz;
+            double sideLength2 = sx * sx + sy * sy + sz * sz;
+            if (sideLength2 > 0.0) {
+                inverseSideLength2[i] = 1.0 / sideLength2;
+            }
+        }
+        this.orientation = (twiceArea >= 0.0) ? 1.0 : -1.0;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Test whether the polygon contains the specified location.
+     *
+     * @param x the location's X coordinate
+     * @param y the location's Y coordinate
+     * @param z the location's Z coordinate
+     * @return true if contained, otherwise false
+     */
+    boolean contains(float x, float y, float z) {
+        // Reject locations that aren't in the plane.
+        float pseudoDistance
+                = normal.x * x + normal.y * y + normal.z * z + planeConstant;
+        if (pseudoDistance * pseudoDistance > tolerance2) {
+            return false;
+        }
+
+        // Project onto the planar basis and reject using the bounding box.
+        double dx = x - (double) origin.x;
+        double dy = y - (double) origin.y;
+        double dz = z - (double) origin.z;
+        double px = xBasis.x * dx + xBasis.y * dy + xBasis.z * dz;
+        double pz = zBasis.x * dx + zBasis.y * dy + zBasis.z * dz;
+        if (px < minX || px > maxX || pz < minZ || pz > maxZ) {
+            return false;
+        }
+
+        boolean result;
+        if (isConvex) {
+            result = containsConvex(px, pz, dx, dy, dz);
+        } else {
+            result = containsGeneral(px, pz, dx, dy, dz);
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Test whether a convex polygon contains the specified location, using a
+     * binary search over the fan of triangles that share the first corner.
+     *
+     * @param px the location's planar X coordinate
+     * @param pz the location's planar Z coordinate
+     * @param dx the X component of the location's offset from the first
+     * corner
+     * @param dy the Y component of the location's offset from the first
+     * corner
+     * @param dz the Z component of the location's offset from the first
+     * corner
+     * @return true if contained, otherwise false
+     */
+    private boolean containsConvex(
+            double px, double pz, double dx, double dy, double dz) {
+        /*
+         * Relative to the first corner (the planar origin), find the side
+         * whose half-plane to test: the first side or the last side if the
+         * location lies outside the fan, otherwise the side opposite the
+         * first corner in the triangle that contains its direction.
+         */
+        int last = numSides - 1;
+        int side;
+        if (orientation * (planeX[1] * pz - planeZ[1] * px) < 0.0) {
+            side = 0;
+        } else if (orientation * (planeX[last] * pz - planeZ[last] * px)
+                > 0.0) {
+            side = last;
+        } else {
+            int low = 1;
+            int high = last;
+            while (high - low > 1) {
+                int middle = (low + high) >>> 1;
+                double cross
+                        = planeX[middle] * pz - planeZ[middle] * px;
+                if (orientation * cross >= 0.0) {
+                    low = middle;
+                } else {
+                    high = middle;
+                }
+            }
+            side = low;
+        }
+
+        // Test the location against the chosen side's half-plane.
+        double ox = px - planeX[side];
+        double oz = pz - planeZ[side];
+        double cross = deltaX[side] * oz - deltaZ[side] * ox;
+        if (side != 0 && side != last && orientation * cross >= 0.0) {
+            return true;
+        }
+        /*
+         * The location is outside (or on) that half-plane's boundary. If it's
+         * farther from the boundary than the tolerance, then it's outside the
+         * polygon by more than the tolerance.
+         */
+        double excess = Math.max(-orientation * cross, 0.0);
+        if (excess * excess * inverseLengthSquared[side] > tolerance2) {
+            return false;
+        }
+
+        /*
+         * The location lies outside the polygon but near the chosen side.
+         * Its nearest perimeter location lies on the chain of sides
+         * visible from it, which includes the chosen side, so walk
+         * that chain in both directions.
+         */
+        if (isNearSide(side, dx, dy, dz)) {
+            return true;
+        }
+        for (int i = (side + 1) % numSides; i != side; i = (i + 1) % numSides) {
+            if (!isVisible(i, px, pz)) {
+                break;
+            } else if (isNearSide(i, dx, dy, dz)) {
+                return true;
+            }
+        }
+        for (int i = (side + last) % numSides; i != side;
+                i = (i + last) % numSides) {
+            if (!isVisible(i, px, pz)) {
+                break;
+            } else if (isNearSide(i, dx, dy, dz)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Test whether the polygon contains the specified location, by testing
+     * its distance from each nearby side and counting the sides crossed by a
+     * planar ray in the +X direction.
+     *
+     * @param px the location's planar X coordinate
+     * @param pz the location's planar Z coordinate
+     * @param dx the X component of the location's offset from the first
+     * corner
+     * @param dy the Y component of the location's offset from the first
+     * corner
+     * @param dz the Z component of the location's offset from the first
+     * corner
+     * @return true if contained, otherwise false
+     */
+    private boolean containsGeneral(
+            double px, double pz, double dx, double dy, double dz) {
+        double band = Math.sqrt(tolerance2);
+        double aboveZ = pz + band;
+        double belowZ = pz - band;
+
+        boolean inside = false;
+        for (int i = 0; i < numSides; ++i) {
+            double z1 = planeZ[i];
+            double sideDz = deltaZ[i];
+            double z2 = z1 + sideDz;
+            if (z1 > aboveZ && z2 > aboveZ || z1 < belowZ && z2 < belowZ) {
+                // The side can neither cross the ray nor lie in the band.
+                continue;
+            }
+            if (isNearSide(i, dx, dy, dz)) {
+                return true;
+            }
+
+            // Does the side cross the ray?
+            if ((z1 > pz) != (z2 > pz)) {
+                double crossingX = planeX[i] + deltaX[i] * (pz - z1) / sideDz;
+                if (px < crossingX) {
+                    inside = !inside;
+                }
+            }
+        }
+
+        return inside;
+    }
+
+    /**
+     * Test whether the specified location lies within the compare tolerance
+     * of the specified side, measuring in world coordinates.
+     *
+     * @param side the index of the side (&ge;0, &lt;numSides)
+     * @param dx the X component of the location's offset from the first
+     * corner
+     * @param dy the Y component of the location's offset from the first
+     * corner
+     * @param dz the Z component of the location's offset from the first
+     * corner
+     * @return true if within the tolerance, otherwise false
+     */
+    private boolean isNearSide(int side, double dx, double dy, double dz) {
+        double ox = dx - cornerX[side];
+        double oy = dy - cornerY[side];
+        double oz = dz - cornerZ[side];
+        double sx = sideX[side];
+        double sy = sideY[side];
+        double sz = sideZ[side];
+        double t = (ox * sx + oy * sy + oz * sz) * inverseSideLength2[side];
+        t = Math.max(0.0, Math.min(1.0, t));
+        double ex = ox - t * sx;
+        double ey = oy - t * sy;
+        double ez = oz - t * sz;
+        double distanceSquared = ex * ex + ey * ey + ez * ez;
+        if (distanceSquared <= tolerance2) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Test whether the specified planar location lies on the outer side of
+     * the line through the specified side (or on the line itself).
+     *
+     * @param side the index of the side (&ge;0, &lt;numSides)
+     * @param px the location's planar X coordinate
+     * @param pz the location's planar Z coordinate
+     * @return true if the side is visible from outside, otherwise false
+     */
+    private boolean isVisible(int side, double px, double pz) {
+        double ox = px - planeX[side];
+        double oz = pz - planeZ[side];
+        double cross = deltaX[side] * oz - deltaZ[side] * ox;
+        if (orientation * cross <= 0.0) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+}
@@ -28,6 +28,7 @@ package jme3utilities.math.polygon;
 
 import com.jme3.math.FastMath;
 import com.jme3.math.Vector3f;
+import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Logger;
 import jme3utilities.Validate;
@@ -59,15 +60,16 @@ public class Polygon3f extends CornerSet3f {
      */
     private Boolean isDegenerate = null;
     /**
-     * cached dot product at each corner (allocated by constructor; initialized
-     * by #setCornerProducts())
+     * cached dot product at each corner, or NaN if not yet calculated
+     * (allocated by constructor; initialized by #setCornerProducts())
      */
-    final private Double[] dotProducts;
+    final private double[] dotProducts;
     /**
-     * cached cross product at each corner (allocated by constructor;
-     * initialized by #setCornerProducts())
+     * cached components of the cross product at each corner, 3 per corner
+     * (allocated by constructor; initialized by #setCornerProducts() along
+     * with #dotProducts)
      */
-    final private Vector3f[] crossProducts;
+    final private float[] crossProducts;
     // *************************************************************************
     // constructors
 
@@ -83,8 +85,9 @@ public class Polygon3f extends CornerSet3f {
         super(cornerArray, compareTolerance);
 
         // Allocate array space for caching values.
-        this.crossProducts = new Vector3f[numCorners];
-        this.dotProducts = new Double[numCorners];
+        this.crossProducts = new float[3 * numCorners];
+        this.dotProducts = new double[numCorners];
+        Arrays.fill(dotProducts, Double.NaN);
     }
 
     /**
@@ -99,8 +102,9 @@ public class Polygon3f extends CornerSet3f {
         super(cornerList, compareTolerance);
 
         // Allocate array space for caching values.
-        this.crossProducts = new Vector3f[numCorners];
-        this.dotProducts = new Double[numCorners];
+        this.crossProducts = new float[3 * numCorners];
+        this.dotProducts = new double[numCorners];
+        Arrays.fill(dotProducts, Double.NaN);
     }
     // *************************************************************************
     // new methods exposed
@@ -145,12 +149,28 @@ public class Polygon3f extends CornerSet3f {
      * @return a new vector
      */
     public Vector3f crossProduct(int cornerIndex) {
+        Vector3f result = crossProduct(cornerIndex, null);
+        return result;
+    }
+
+    /**
+     * Calculate (or look up) the cross product of successive sides which meet
+     * at the specified corner.
+     *
+     * @param cornerIndex which corner (&ge;0, &lt;numCorners)
+     * @param storeResult storage for the result (modified if not null)
+     * @return the cross product (either storeResult or a new vector)
+     */
+    public Vector3f crossProduct(int cornerIndex, Vector3f storeResult) {
         validateIndex(cornerIndex, "corner index");
+        Vector3f result = (storeResult == null) ? new Vector3f() : storeResult;
 
-        if (crossProducts[cornerIndex] == null) {
+        if (Double.isNaN(dotProducts[cornerIndex])) {
             setCornerProducts(cornerIndex);
         }
-        Vector3f result = crossProducts[cornerIndex].clone();
+        int start = 3 * cornerIndex;
+        result.set(crossProducts[start], crossProducts[start + 1],
+                crossProducts[start + 2]);
 
         return result;
     }
@@ -165,7 +185,7 @@ public class Polygon3f extends CornerSet3f {
     public double dotProduct(int cornerIndex) {
         validateIndex(cornerIndex, "corner index");
 
-        if (dotProducts[cornerIndex] == null) {
+        if (Double.isNaN(dotProducts[cornerIndex])) {
             setCornerProducts(cornerIndex);
         }
         double result = dotProducts[cornerIndex];
@@ -193,6 +213,46 @@ public class Polygon3f extends CornerSet3f {
         return result;
     }
 
+    /**
+     * Find a side that this polygon shares with another polygon. Unlike
+     * sharesSideWith(), this method doesn't allocate, so it's suitable for use
+     * in inner loops. The 2 polygons must have identical tolerances.
+     *
+     * @param other the other polygon (not null, unaffected)
+     * @return the index of the first shared side in this polygon (&ge;0,
+     * &lt;numCorners) or -1 if no side is shared
+     */
+    public int findSharedSide(Polygon3f other) {
+        Validate.nonNull(other, "other polygon");
+        if (other.getTolerance() != tolerance) {
+            throw new IllegalArgumentException("tolerances differ");
+        }
+
+        int otherCorners = other.numCorners();
+        for (int thisI = 0; thisI < numCorners; ++thisI) {
+            Vector3f thisCorner = cornerLocations[thisI];
+            Vector3f thisNext = cornerLocations[(thisI + 1) % numCorners];
+            for (int otherI = 0; otherI < otherCorners; ++otherI) {
+                Vector3f otherCorner = other.cornerLocations[otherI];
+                if (!MyVector3f.doCoincide(
+                        thisCorner, otherCorner, tolerance2)) {
+                    continue;
+                }
+                int otherN = (otherI + 1) % otherCorners;
+                int otherP = (otherI + otherCorners - 1) % otherCorners;
+                Vector3f otherNext = other.cornerLocations[otherN];
+                Vector3f otherPrev = other.cornerLocations[otherP];
+                if (MyVector3f.doCoincide(thisNext, otherNext, tolerance2)
+                        || MyVector3f.doCoincide(
+                                thisNext, otherPrev, tolerance2)) {
+                    return thisI;
+                }
+            }
+        }
+
+        return -1;
+    }
+
     /**
      * Find the polygon's shortest side.
      *
@@ -541,8 +601,8 @@ public class Polygon3f extends CornerSet3f {
     // private methods
 
     /**
-     * Initialize the elements of the #cosTurnAngles and #crossProducts fields
-     * for a specified corner.
+     * Initialize the elements of the #dotProducts and #crossProducts fields
+     * for a specified corner, without allocating any objects.
      *
      * @param cornerIndex which corner (&ge;0, &lt;numCorners)
      */
@@ -554,30 +614,40 @@ public class Polygon3f extends CornerSet3f {
         Vector3f a = cornerLocations[prevI];
         Vector3f b = cornerLocations[cornerIndex];
         Vector3f c = cornerLocations[nextI];
-        Vector3f offsetAB = b.subtract(a);
-        Vector3f offsetBC = c.subtract(b);
-
-        double dot = MyVector3f.dot(offsetAB, offsetBC);
-        Vector3f cross = offsetAB.cross(offsetBC);
-        setCornerProducts(cornerIndex, dot, cross);
+        float abX = b.x - a.x;
+        float abY = b.y - a.y;
+        float abZ = b.z - a.z;
+        float bcX = c.x - b.x;
+        float bcY = c.y - b.y;
+        float bcZ = c.z - b.z;
+
+        double dot = (double) abX * bcX + (double) abY * bcY
+                + (double) abZ * bcZ;
+        float crossX = abY * bcZ - abZ * bcY;
+        float crossY = abZ * bcX - abX * bcZ;
+        float crossZ = abX * bcY - abY * bcX;
+        setCornerProducts(cornerIndex, dot, crossX, crossY, crossZ);
     }
 
     /**
-     * Direct setter for the #cosTurnAngles and #crossProduct fields.
+     * Direct setter for the #dotProducts and #crossProducts fields.
      *
      * @param cornerIndex index of the corner (&ge;0, &lt;numCorners)
      * @param newDot value for dot product
-     * @param newCross vector for cross product (not null, unaffected)
+     * @param crossX X component of the cross product
+     * @param crossY Y component of the cross product
+     * @param crossZ Z component of the cross product
      */
-    private void setCornerProducts(
-            int cornerIndex, double newDot, Vector3f newCross) {
+    private void setCornerProducts(int cornerIndex, double newDot,
+            float crossX, float crossY, float crossZ) {
         assert cornerIndex >= 0 : cornerIndex;
         assert cornerIndex < numCorners : cornerIndex;
-        assert newCross != null;
-        assert crossProducts[cornerIndex] == null;
-        assert dotProducts[cornerIndex] == null;
+        assert Double.isNaN(dotProducts[cornerIndex]);
 
-        this.crossProducts[cornerIndex] = newCross.clone();
+        int start = 3 * cornerIndex;
+        this.crossProducts[start] = crossX;
+        this.crossProducts[start + 1] = crossY;
+        this.crossProducts[start + 2] = crossZ;
         this.dotProducts[cornerIndex] = newDot;
     }
 
@@ -28,6 +28,7 @@ package jme3utilities.math.polygon;
 
 import com.jme3.math.FastMath;
 import com.jme3.math.Vector3f;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
@@ -35,6 +36,7 @@ import jme3utilities.Validate;
 import jme3utilities.math.MyArray;
 import jme3utilities.math.MyVector3f;
 import jme3utilities.math.VectorXZ;
+import jme3utilities.math.locus.BoundedLocus3f;
 import jme3utilities.math.locus.Locus3f;
 import jme3utilities.math.spline.LinearSpline3f;
 import jme3utilities.math.spline.Spline3f;
@@ -50,7 +52,7 @@ import jme3utilities.math.spline.Spline3f;
  */
 public class SimplePolygon3f
         extends GenericPolygon3f
-        implements Locus3f {
+        implements BoundedLocus3f {
     // *************************************************************************
     // constants
 
@@ -82,6 +84,11 @@ public class SimplePolygon3f
      * #setCentroid()).
      */
     private VectorXZ centroid = null;
+    /**
+     * cached edge equations for testing containment (initialized by
+     * #setClassifier())
+     */
+    private PointClassifier classifier = null;
     /**
      * cached normal vector of the plane containing the polygon (unit vector,
      * initialized by #setPlane())
@@ -116,13 +123,34 @@ public class SimplePolygon3f
      * simple polygon
      */
     public SimplePolygon3f(Vector3f[] cornerArray, float compareTolerance) {
-        super(cornerArray, compareTolerance);
+        this(cornerArray, compareTolerance, true);
+    }
+
+    /**
+     * Instantiate a simple polygon from an array of corners, optionally
+     * skipping verification. Verification is costly for polygons with many
+     * corners, so it may be skipped when the corners are known to be valid,
+     * for instance because they were copied from an existing simple polygon
+     * with the same tolerance.
+     *
+     * @param cornerArray locations of the corners, in sequence (not null or
+     * containing any nulls, unaffected)
+     * @param compareTolerance tolerance (&ge;0) used to compare locations for
+     * coincidence
+     * @param verify true to verify that the corners form a simple polygon,
+     * false to trust the caller
+     * @throws IllegalArgumentException if verification is requested and the
+     * corners provided don't form a simple polygon
+     */
+    public SimplePolygon3f(
+            Vector3f[] cornerArray, float compareTolerance, boolean verify) {
+        super(cornerArray, compareTolerance, verify);
 
         // Verify that the polygon is simple.
-        if (!isPlanar()) {
+        if (verify && !isPlanar()) {
             throw new IllegalArgumentException("non-planar polygon");
         }
-        if (isSelfIntersecting()) {
+        if (verify && isSelfIntersecting()) {
             throw new IllegalArgumentException("self-intersecting polygon");
         }
 
@@ -173,6 +201,78 @@ public class SimplePolygon3f
         return result;
     }
 
+    /**
+     * Test which of the specified locations this region contains, as if by
+     * {@link #contains(com.jme3.math.Vector3f)} for each location. Edge
+     * equations are precomputed on first use, so no objects are allocated
+     * when storeResult is provided.
+     *
+     * @param locations the coordinates of the test locations, packed as
+     * (x,y,z) triples (not null, length a multiple of 3, unaffected)
+     * @param storeResult storage for the results, one per location (modified
+     * if not null, length&ge;locations.length/3)
+     * @return an array of results (either storeResult or a new instance)
+     */
+    public boolean[] contains(float[] locations, boolean[] storeResult) {
+        Validate.nonNull(locations, "locations");
+        Validate.require(locations.length % 3 == 0, "whole triples");
+        int numLocations = locations.length / 3;
+        boolean[] result = (storeResult == null)
+                ? new boolean[numLocations] : storeResult;
+        Validate.require(result.length >= numLocations, "enough storage");
+
+        if (classifier == null) {
+            setClassifier();
+        }
+        for (int i = 0; i < numLocations; ++i) {
+            int start = 3 * i;
+            float x = locations[start];
+            float y = locations[start + 1];
+            float z = locations[start + 2];
+            result[i] = classifier.contains(x, y, z);
+        }
+
+        return result;
+    }
+
+    /**
+     * Test which of the specified locations this region contains, as if by
+     * {@link #contains(com.jme3.math.Vector3f)} for each location. Edge
+     * equations are precomputed on first use, so no objects are allocated
+     * when storeResult is provided.
+     *
+     * @param locations the coordinates of the test locations, packed as
+     * (x,y,z) triples between the buffer's position and its limit (not null,
+     * remaining a multiple of 3, unaffected, position not altered)
+     * @param storeResult storage for the results, one per location, starting
+     * with the location at the buffer's position (modified if not null,
+     * length&ge;remaining/3)
+     * @return an array of results (either storeResult or a new instance)
+     */
+    public boolean[] contains(FloatBuffer locations, boolean[] storeResult) {
+        Validate.nonNull(locations, "locations");
+        int position = locations.position();
+        int remaining = locations.remaining();
+        Validate.require(remaining % 3 == 0, "whole triples");
+        int numLocations = remaining / 3;
+        boolean[] result = (storeResult == null)
+                ? new boolean[numLocations] : storeResult;
+        Validate.require(result.length >= numLocations, "enough storage");
+
+        if (classifier == null) {
+            setClassifier();
+        }
+        for (int i = 0; i < numLocations; ++i) {
+            int start = position + 3 * i;
+            float x = locations.get(start);
+            float y = locations.get(start + 1);
+            float z = locations.get(start + 2);
+            result[i] = classifier.contains(x, y, z);
+        }
+
+        return result;
+    }
+
     /**
      * Test whether the specified location lies in the plane of this polygon.
      *
@@ -351,29 +451,13 @@ public class SimplePolygon3f
     public boolean contains(Vector3f location) {
         Validate.nonNull(location, "location");
 
-        if (!inPlane(location)) {
-            return false;
+        if (classifier == null) {
+            setClassifier();
         }
+        boolean result
+                = classifier.contains(location.x, location.y, location.z);
 
-        Vector3f closestLocation = new Vector3f();
-        int closestSide = findSide(location, closestLocation);
-        assert closestSide >= 0 : closestSide;
-        if (MyVector3f.doCoincide(location, closestLocation, tolerance2)) {
-            return true;
-        }
-
-        Vector3f corner1 = cornerLocations[closestSide];
-        Vector3f pointOffset = location.subtract(corner1);
-        int next = nextIndex(closestSide);
-        Vector3f corner2 = cornerLocations[next];
-        Vector3f sideOffset = corner2.subtract(corner1);
-        Vector3f cross = sideOffset.cross(pointOffset);
-        double crossDot = cross.dot(planeNormal);
-        if (crossDot >= 0.0) {
-            return true;
-        } else {
-            return false;
-        }
+        return result;
     }
 
     /**
@@ -750,6 +834,19 @@ public class SimplePolygon3f
         this.centroid = new VectorXZ(x, z);
     }
 
+    /**
+     * Initialize the #classifier field.
+     */
+    private void setClassifier() {
+        assert classifier == null;
+
+        if (planeNormal == null) {
+            setPlane();
+        }
+        this.classifier = new PointClassifier(
+                this, planeXBasis, planeZBasis, planeConstant);
+    }
+
     /**
      * Initialize the #isConvex field.
      *
@@ -761,8 +858,9 @@ public class SimplePolygon3f
         if (planeNormal == null) {
             setPlane();
         }
+        Vector3f cross = new Vector3f();
         for (int cornerI = 0; cornerI < numCorners; ++cornerI) {
-            Vector3f cross = crossProduct(cornerI);
+            crossProduct(cornerI, cross);
             float dot = planeNormal.dot(cross);
             if (!(dot >= 0f)) {
                 this.isConvex = false;
@@ -0,0 +1,378 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.math.polygon;
+
+import com.jme3.math.Vector3f;
+import java.util.logging.Logger;
+
+/**
+ * Upper bounds on the areas of triangles formed by corners of a CornerSet3f,
+ * used to prune the search for the largest triangle.
+ * <p>
+ * Two bounds apply to every corner set: a triangle can't exceed an
+ * equilateral triangle on its longest side, and its 3rd corner lies within a
+ * bounding sphere. For nearly planar corner sets, a much tighter bound is
+ * obtained from the support function of the corners' projection onto a
+ * plane, sampled at regular angles.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class TriangleBound {
+    // *************************************************************************
+    // constants
+
+    /**
+     * ratio of an equilateral triangle's area to the square of its side
+     */
+    final private static double equilateral = Math.sqrt(3.0) / 4.0;
+    /**
+     * number of sampled directions in the support function (even, &ge;8)
+     */
+    final private static int numDirections = 64;
+    /**
+     * angle between successive sampled directions (in radians)
+     */
+    final private static double sampleAngle = 2.0 * Math.PI / numDirections;
+    /**
+     * cosines of the sampled directions
+     */
+    final private static double[] sampleCos = new double[numDirections];
+    /**
+     * sines of the sampled directions
+     */
+    final private static double[] sampleSin = new double[numDirections];
+    /**
+     * sine of the angle between successive sampled directions
+     */
+    final private static double sinSampleAngle = Math.sin(sampleAngle);
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            TriangleBound.class.getName());
+
+    static {
+        for (int m = 0; m < numDirections; ++m) {
+            sampleCos[m] = Math.cos(m * sampleAngle);
+            sampleSin[m] = Math.sin(m * sampleAngle);
+        }
+    }
+    // *************************************************************************
+    // fields
+
+    /**
+     * X coordinate of the center of the bounding sphere
+     */
+    final private double centerX;
+    /**
+     * Y coordinate of the center of the bounding sphere
+     */
+    final private double centerY;
+    /**
+     * Z coordinate of the center of the bounding sphere
+     */
+    final private double centerZ;
+    /**
+     * radius of the bounding sphere (&ge;0)
+     */
+    final private double radius;
+    /**
+     * allowance for rounding errors in CornerSet3f#squaredArea() (&ge;0)
+     */
+    final private double slack;
+    /**
+     * extent of the corners along the plane's normal (&ge;0) or
+     * POSITIVE_INFINITY if the corner set isn't nearly planar
+     */
+    final private double thickness;
+    /**
+     * planar X coordinate of each corner, relative to the sphere's center, or
+     * null if the corner set isn't nearly planar
+     */
+    final private double[] planeX;
+    /**
+     * planar Z coordinate of each corner, relative to the sphere's center, or
+     * null if the corner set isn't nearly planar
+     */
+    final private double[] planeZ;
+    /**
+     * maximum planar offset of any corner in each sampled direction, or null
+     * if the corner set isn't nearly planar
+     */
+    final private double[] support;
+    /**
+     * corner locations (not null, alias)
+     */
+    final private Vector3f[] corners;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate bounds for the specified corners.
+     *
+     * @param corners the corner locations (not null, length&ge;3, alias
+     * created)
+     * @param seed the indices of 3 corners that form a large triangle, used to
+     * choose the plane (not null, unaffected)
+     */
+    TriangleBound(Vector3f[] corners, int[] seed) {
+        assert corners.length >= 3 : corners.length;
+        assert seed.length == 3 : seed.length;
+
+        this.corners = corners;
+        int numCorners = corners.length;
+        /*
+         * Calculate a sphere that contains every corner,
+         * centered on the corners' axis-aligned bounding box.
+         */
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        double maxZ = Double.NEGATIVE_INFINITY;
+        for (Vector3f corner : corners) {
+            minX = Math.min(minX, corner.x);
+            minY = Math.min(minY, corner.y);
+            minZ = Math.min(minZ, corner.z);
+            maxX = Math.max(maxX, corner.x);
+            maxY = Math.max(maxY, corner.y);
+            maxZ = Math.max(maxZ, corner.z);
+        }
+        this.centerX = (minX + maxX) / 2.0;
+        this.centerY = (minY + maxY) / 2.0;
+        this.centerZ = (minZ + maxZ) / 2.0;
+
+        double radiusSquared = 0.0;
+        for (Vector3f corner : corners) {
+            double dx = corner.x - centerX;
+            double dy = corner.y - centerY;
+            double dz = corner.z - centerZ;
+            double sd = dx * dx + dy * dy + dz * dz;
+            radiusSquared = Math.max(radiusSquared, sd);
+        }
+        this.radius = Math.sqrt(radiusSquared);
+        this.slack = 1e-5 * radiusSquared;
+        /*
+         * Choose an orthonormal basis for the plane of the seed triangle.
+         */
+        Vector3f a = corners[seed[0]];
+        Vector3f b = corners[seed[1]];
+        Vector3f c = corners[seed[2]];
+        double abX = b.x - (double) a.x;
+        double abY = b.y - (double) a.y;
+        double abZ = b.z - (double) a.z;
+        double acX = c.x - (double) a.x;
+        double acY = c.y - (double) a.y;
+        double acZ = c.z - (double) a.z;
+        double nX = abY * acZ - abZ * acY;
+        double nY = abZ * acX - abX * acZ;
+        double nZ = abX * acY - abY * acX;
+        double nLength = Math.sqrt(nX * nX + nY * nY + nZ * nZ);
+        double abLength = Math.sqrt(abX * abX + abY * abY + abZ * abZ);
+        if (nLength == 0.0 || abLength == 0.0) {
+            this.planeX = null;
+            this.planeZ = null;
+            this.support = null;
+            this.thickness = Double.POSITIVE_INFINITY;
+            return;
+        }
+        nX /= nLength;
+        nY /= nLength;
+        nZ /= nLength;
+        double xX = abX / abLength;
+        double xY = abY / abLength;
+        double xZ = abZ / abLength;
+        double zX = nY * xZ - nZ * xY;
+        double zY = nZ * xX - nX * xZ;
+        double zZ = nX * xY - nY * xX;
+        /*
+         * Project the corners onto the plane
+         * and measure their extent along its normal.
+         */
+        double[] projectedX = new double[numCorners];
+        double[] projectedZ = new double[numCorners];
+        double minN = Double.POSITIVE_INFINITY;
+        double maxN = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < numCorners; ++i) {
+            Vector3f corner = corners[i];
+            double dx = corner.x - centerX;
+            double dy = corner.y - centerY;
+            double dz = corner.z - centerZ;
+            projectedX[i] = xX * dx + xY * dy + xZ * dz;
+            projectedZ[i] = zX * dx + zY * dy + zZ * dz;
+            double n = nX * dx + nY * dy + nZ * dz;
+            minN = Math.min(minN, n);
+            maxN = Math.max(maxN, n);
+        }
+        double extent = maxN - minN;
+        if (extent > 0.1 * radius) {
+            // Not nearly planar: the plane wouldn't tighten the bound.
+            this.planeX = null;
+            this.planeZ = null;
+            this.support = null;
+            this.thickness = Double.POSITIVE_INFINITY;
+            return;
+        }
+        this.planeX = projectedX;
+        this.planeZ = projectedZ;
+        this.thickness = extent;
+
+        // Sample the support function of the projected corners.
+        this.support = new double[numDirections];
+        for (int m = 0; m < numDirections; ++m) {
+            double cos = sampleCos[m];
+            double sin = sampleSin[m];
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < numCorners; ++i) {
+                max = Math.max(max, cos * planeX[i] + sin * planeZ[i]);
+            }
+            support[m] = max;
+        }
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Test whether a triangle whose longest side joins the specified corners
+     * might have the specified squared area (or more).
+     *
+     * @param index1 the index of one end of the side (&ge;0)
+     * @param index2 the index of the other end of the side (&ge;0)
+     * @param squaredArea the squared area to test (&ge;0)
+     * @return false if no such triangle can be that large, otherwise true
+     */
+    boolean canReach(int index1, int index2, double squaredArea) {
+        Vector3f corner1 = corners[index1];
+        Vector3f corner2 = corners[index2];
+        double sideX = corner2.x - (double) corner1.x;
+        double sideY = corner2.y - (double) corner1.y;
+        double sideZ = corner2.z - (double) corner1.z;
+        double side2 = sideX * sideX + sideY * sideY + sideZ * sideZ;
+        double side = Math.sqrt(side2);
+        /*
+         * The 3rd corner lies within the bounding sphere, so its distance
+         * from the line through the side can't exceed the distance of the
+         * sphere's center plus the radius.
+         */
+        double centerDistance = radius;
+        if (side > 0.0) {
+            double wx = centerX - corner1.x;
+            double wy = centerY - corner1.y;
+            double wz = centerZ - corner1.z;
+            double crossX = wy * sideZ - wz * sideY;
+            double crossY = wz * sideX - wx * sideZ;
+            double crossZ = wx * sideY - wy * sideX;
+            double cross2
+                    = crossX * crossX + crossY * crossY + crossZ * crossZ;
+            centerDistance = Math.sqrt(cross2) / side;
+        }
+        double bound = side * (centerDistance + radius) / 2.0;
+        bound = Math.min(bound, equilateral * side2);
+        if (!exceeds(bound, squaredArea)) {
+            return false;
+        }
+
+        if (support != null) {
+            bound = Math.min(bound, planarBound(index1, index2));
+            if (!exceeds(bound, squaredArea)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Test whether an area bound, inflated to allow for rounding errors, is
+     * at least the square root of the specified squared area.
+     *
+     * @param bound the area bound (&ge;0)
+     * @param squaredArea the squared area to compare (&ge;0)
+     * @return true if the bound is large enough, otherwise false
+     */
+    private boolean exceeds(double bound, double squaredArea) {
+        double inflated = bound * (1.0 + 1e-6) + slack;
+        if (inflated * inflated < squaredArea) {
+            return false;
+        } else {
+            return true;
+        }
+    }
+
+    /**
+     * Bound the area of any triangle having the specified corners as a side,
+     * using the sampled support function of the projected corners.
+     * <p>
+     * Each offset between corners splits into a planar part and a normal part
+     * no longer than #thickness. The cross product of the planar parts is
+     * bounded by the planar distance of the 3rd corner from the side, while
+     * the cross terms involving normal parts are bounded by the thickness.
+     *
+     * @param index1 the index of one end of the side (&ge;0)
+     * @param index2 the index of the other end of the side (&ge;0)
+     * @return an upper bound on the area (&ge;0)
+     */
+    private double planarBound(int index1, int index2) {
+        double x1 = planeX[index1];
+        double z1 = planeZ[index1];
+        double ux = planeX[index2] - x1;
+        double uz = planeZ[index2] - z1;
+        double uLength = Math.sqrt(ux * ux + uz * uz);
+        double result = thickness * (uLength + 2.0 * radius) / 2.0;
+        if (uLength == 0.0) {
+            return result;
+        }
+        /*
+         * Find the sampled directions on either side of the side's normal.
+         * The support function in the normal direction can't exceed that
+         * at the apex of the wedge formed by their supporting lines.
+         */
+        double normalX = -uz / uLength;
+        double normalZ = ux / uLength;
+        double angle = Math.atan2(normalZ, normalX);
+        int m = (int) Math.floor(angle / sampleAngle);
+        m = Math.floorMod(m, numDirections);
+        int next = (m + 1) % numDirections;
+        double weight1 = sampleSin[next] * normalX - sampleCos[next] * normalZ;
+        double weight2 = sampleCos[m] * normalZ - sampleSin[m] * normalX;
+        weight1 = Math.max(weight1, 0.0) / sinSampleAngle;
+        weight2 = Math.max(weight2, 0.0) / sinSampleAngle;
+
+        int half = numDirections / 2;
+        double forward = weight1 * support[m] + weight2 * support[next];
+        double backward = weight1 * support[(m + half) % numDirections]
+                + weight2 * support[(next + half) % numDirections];
+        double offset = normalX * x1 + normalZ * z1;
+        double distance = Math.max(forward - offset, backward + offset);
+        result += uLength * Math.max(distance, 0.0) / 2.0;
+
+        return result;
+    }
+}
@@ -0,0 +1,432 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * Finds several distinct routes between a pair of vertices in an immutable
+ * snapshot of a navigation graph, for instance to spread a crowd across
+ * different paths. Two modes are provided: the k shortest loopless routes
+ * (Yen's algorithm) and penalty-based diverse routes.
+ * <p>
+ * Scratch storage is allocated once and reused by every search, and each
+ * query begins with a single reverse search from the goal. Its costs serve
+ * as an exact lower bound for all later searches in the same query, so those
+ * searches expand few vertices beyond the routes they return. Not
+ * thread-safe: each thread should use its own instance.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class AlternativeRoutes {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            AlternativeRoutes.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * true for each arc excluded from the current search, indexed by arc
+     * index
+     */
+    final private boolean[] blockedArcs;
+    /**
+     * true for each vertex excluded from the current search, indexed by vertex
+     * index
+     */
+    final private boolean[] blockedVertices;
+    /**
+     * snapshot to query (not null, initialized by constructor)
+     */
+    final private CompiledNavGraph graph;
+    /**
+     * unmodified cost of each arc, indexed by arc index
+     */
+    final private float[] baseCosts;
+    /**
+     * cost of each arc including penalties, indexed by arc index
+     */
+    final private float[] penalizedCosts;
+    /**
+     * smallest cost that a penalty is proportional to, so that cheap and
+     * zero-cost arcs are also penalized (&gt;0, the mean arc cost or 1 if
+     * that is zero)
+     */
+    final private float penaltyFloor;
+    /**
+     * storage for tracing routes
+     */
+    final private int[] routeArcs;
+    /**
+     * scratch storage for forward searches
+     */
+    final private NavWorkspace forwardWorkspace;
+    /**
+     * costs to the goal of the current query, used as the heuristic
+     */
+    final private NavWorkspace reverseWorkspace;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a route finder for the specified snapshot.
+     *
+     * @param graph the snapshot to query (not null, alias created)
+     */
+    public AlternativeRoutes(CompiledNavGraph graph) {
+        Validate.nonNull(graph, "graph");
+
+        this.graph = graph;
+        int numVertices = graph.numVertices();
+        int numArcs = graph.numArcs();
+        this.blockedArcs = new boolean[numArcs];
+        this.blockedVertices = new boolean[numVertices];
+        this.baseCosts = new float[numArcs];
+        double totalCost = 0.0;
+        for (int arcIndex = 0; arcIndex < numArcs; ++arcIndex) {
+            baseCosts[arcIndex] = graph.getCost(arcIndex);
+            totalCost += baseCosts[arcIndex];
+        }
+        this.penalizedCosts = baseCosts.clone();
+        float meanCost = (numArcs == 0) ? 0f : (float) (totalCost / numArcs);
+        this.penaltyFloor = (meanCost > 0f) ? meanCost : 1f;
+        this.routeArcs = new int[numVertices];
+        this.forwardWorkspace = new NavWorkspace(numVertices);
+        this.reverseWorkspace = new NavWorkspace(numVertices);
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Find up to the specified number of diverse routes. After each route is
+     * found, the cost of every arc it uses is increased by the specified
+     * fraction of its current cost or of the mean arc cost, whichever is
+     * greater, steering later searches onto different arcs, even ones that
+     * cost nothing. Penalties last only for the duration of this query. The
+     * first route is always a cheapest one.
+     *
+     * @param startVertex the starting point (member, distinct from endVertex)
+     * @param endVertex the goal (member, distinct from startVertex)
+     * @param maxRoutes the maximum number of routes to find (&gt;0)
+     * @param penaltyFactor the fractional cost increase applied to the arcs
+     * of each route found (&gt;0)
+     * @return a new list of distinct routes, in the order found, each a new
+     * list of arcs (empty if the goal is unreachable)
+     */
+    public List<List<NavArc>> findDiverse(NavVertex startVertex,
+            NavVertex endVertex, int maxRoutes, float penaltyFactor) {
+        validateQuery(startVertex, endVertex, maxRoutes);
+        Validate.positive(penaltyFactor, "penalty factor");
+
+        int startIndex = startVertex.getIndex();
+        int endIndex = endVertex.getIndex();
+        graph.reverseTotalCosts(endIndex, reverseWorkspace);
+
+        List<List<NavArc>> result = new ArrayList<>(maxRoutes);
+        Set<CandidateRoute> found = new HashSet<>(2 * maxRoutes);
+        List<CandidateRoute> penalized = new ArrayList<>(2 * maxRoutes);
+
+        // Repeated routes count toward the limit on searches.
+        int maxSearches = 2 * maxRoutes;
+        for (int searchI = 0; searchI < maxSearches; ++searchI) {
+            float cost = search(startIndex, endIndex, penalizedCosts);
+            if (cost == Float.POSITIVE_INFINITY) {
+                break;
+            }
+            CandidateRoute route = trace(endIndex, 0, null);
+            if (found.add(route)) {
+                result.add(listArcs(route));
+                if (result.size() == maxRoutes) {
+                    break;
+                }
+            }
+
+            int numArcs = route.numArcs();
+            for (int position = 0; position < numArcs; ++position) {
+                int arcIndex = route.arcIndex(position);
+                float base = Math.max(penalizedCosts[arcIndex], penaltyFloor);
+                penalizedCosts[arcIndex] += penaltyFactor * base;
+            }
+            penalized.add(route);
+        }
+
+        // Remove the penalties.
+        for (CandidateRoute route : penalized) {
+            int numArcs = route.numArcs();
+            for (int position = 0; position < numArcs; ++position) {
+                int arcIndex = route.arcIndex(position);
+                penalizedCosts[arcIndex] = baseCosts[arcIndex];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Find up to the specified number of cheapest loopless routes, using Yen's
+     * algorithm.
+     *
+     * @param startVertex the starting point (member, distinct from endVertex)
+     * @param endVertex the goal (member, distinct from startVertex)
+     * @param maxRoutes the maximum number of routes to find (&gt;0)
+     * @return a new list of distinct routes, in order of increasing cost,
+     * each a new list of arcs (empty if the goal is unreachable)
+     */
+    public List<List<NavArc>> findShortest(
+            NavVertex startVertex, NavVertex endVertex, int maxRoutes) {
+        validateQuery(startVertex, endVertex, maxRoutes);
+
+        int startIndex = startVertex.getIndex();
+        int endIndex = endVertex.getIndex();
+        graph.reverseTotalCosts(endIndex, reverseWorkspace);
+
+        List<List<NavArc>> result = new ArrayList<>(maxRoutes);
+        float cost = search(startIndex, endIndex, baseCosts);
+        if (cost == Float.POSITIVE_INFINITY) {
+            return result;
+        }
+
+        List<CandidateRoute> accepted = new ArrayList<>(maxRoutes);
+        PriorityQueue<CandidateRoute> candidates = new PriorityQueue<>();
+        Set<CandidateRoute> known = new HashSet<>();
+        CandidateRoute route = trace(endIndex, 0, null);
+        known.add(route);
+
+        while (true) {
+            accepted.add(route);
+            result.add(listArcs(route));
+            if (result.size() == maxRoutes) {
+                break;
+            }
+
+            // Deviate from the latest route at each of its vertices.
+            int numArcs = route.numArcs();
+            float rootCost = 0f;
+            int spurIndex = startIndex;
+            for (int rootLength = 0; rootLength < numArcs; ++rootLength) {
+                CandidateRoute spurRoute = findSpur(accepted, route,
+                        rootLength, rootCost, spurIndex, endIndex);
+                if (spurRoute != null && known.add(spurRoute)) {
+                    candidates.add(spurRoute);
+                }
+
+                int arcIndex = route.arcIndex(rootLength);
+                rootCost += baseCosts[arcIndex];
+                blockedVertices[spurIndex] = true;
+                spurIndex = graph.getToIndex(arcIndex);
+            }
+
+            // Unblock the vertices of the latest route.
+            for (int position = 0; position < numArcs; ++position) {
+                int arcIndex = route.arcIndex(position);
+                blockedVertices[graph.getFromIndex(arcIndex)] = false;
+            }
+
+            route = candidates.poll();
+            if (route == null) {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Access the snapshot being queried.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public CompiledNavGraph getGraph() {
+        return graph;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Find the cheapest route that follows the specified route for the
+     * specified number of arcs and then deviates from every accepted route
+     * with the same beginning. The vertices before the spur vertex must
+     * already be blocked.
+     *
+     * @param accepted the routes accepted so far (not null, unaffected)
+     * @param route the route to deviate from (not null, unaffected)
+     * @param rootLength the number of arcs to follow (&ge;0)
+     * @param rootCost the total cost of the arcs followed (&ge;0)
+     * @param spurIndex the index of the vertex at which to deviate
+     * @param endIndex the index of the goal vertex
+     * @return a new route, or null if no deviation reaches the goal
+     */
+    private CandidateRoute findSpur(List<CandidateRoute> accepted,
+            CandidateRoute route, int rootLength, float rootCost,
+            int spurIndex, int endIndex) {
+        for (CandidateRoute other : accepted) {
+            if (other.numArcs() > rootLength
+                    && other.hasPrefix(route, rootLength)) {
+                blockedArcs[other.arcIndex(rootLength)] = true;
+            }
+        }
+
+        CandidateRoute result = null;
+        float spurCost = search(spurIndex, endIndex, baseCosts);
+        if (spurCost < Float.POSITIVE_INFINITY) {
+            result = trace(endIndex, rootLength, route);
+        }
+
+        for (CandidateRoute other : accepted) {
+            if (other.numArcs() > rootLength
+                    && other.hasPrefix(route, rootLength)) {
+                blockedArcs[other.arcIndex(rootLength)] = false;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Convert a route to a list of arcs.
+     *
+     * @param route the route to convert (not null, unaffected)
+     * @return a new list of pre-existing arcs
+     */
+    private List<NavArc> listArcs(CandidateRoute route) {
+        int numArcs = route.numArcs();
+        List<NavArc> result = new ArrayList<>(numArcs);
+        for (int position = 0; position < numArcs; ++position) {
+            int arcIndex = route.arcIndex(position);
+            result.add(graph.getArc(arcIndex));
+        }
+
+        return result;
+    }
+
+    /**
+     * Search forward for the cheapest route that avoids blocked vertices and
+     * arcs, using A* with the costs of the reverse search as the heuristic.
+     * Since blocking and penalties only increase costs, the heuristic remains
+     * admissible and consistent.
+     *
+     * @param startIndex the index of the starting vertex
+     * @param endIndex the index of the goal vertex
+     * @param costs the cost of each arc (not null, unaffected)
+     * @return the total cost of the route (&ge;0) or
+     * {@link Float#POSITIVE_INFINITY} if the goal is unreachable
+     */
+    private float search(int startIndex, int endIndex, float[] costs) {
+        forwardWorkspace.begin();
+        if (!reverseWorkspace.isReached(startIndex)) {
+            return Float.POSITIVE_INFINITY;
+        }
+        VertexQueue openQueue = forwardWorkspace.getOpenQueue();
+        forwardWorkspace.reach(startIndex, 0f, -1);
+        openQueue.offer(startIndex, reverseWorkspace.cost(startIndex));
+
+        while (!openQueue.isEmpty()) {
+            int visitIndex = openQueue.remove();
+            float visitCost = forwardWorkspace.cost(visitIndex);
+            if (visitIndex == endIndex) {
+                return visitCost;
+            }
+            forwardWorkspace.settle(visitIndex);
+
+            int end = graph.outgoingEnd(visitIndex);
+            for (int arcIndex = graph.outgoingStart(visitIndex);
+                    arcIndex < end; ++arcIndex) {
+                int toIndex = graph.getToIndex(arcIndex);
+                if (blockedArcs[arcIndex] || blockedVertices[toIndex]
+                        || forwardWorkspace.isSettled(toIndex)
+                        || !reverseWorkspace.isReached(toIndex)) {
+                    continue;
+                }
+                float cost = visitCost + costs[arcIndex];
+                if (cost < forwardWorkspace.cost(toIndex)) {
+                    forwardWorkspace.reach(toIndex, cost, arcIndex);
+                    float priority = cost + reverseWorkspace.cost(toIndex);
+                    openQueue.offer(toIndex, priority);
+                }
+            }
+        }
+
+        return Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Trace the route found by the most recent search, prefixed by the
+     * leading arcs of another route, and total its unpenalized cost.
+     *
+     * @param endIndex the index of the goal vertex (reached)
+     * @param rootLength the number of leading arcs to copy (&ge;0)
+     * @param root the route to copy them from (unaffected) or null if
+     * rootLength is zero
+     * @return a new route
+     */
+    private CandidateRoute trace(
+            int endIndex, int rootLength, CandidateRoute root) {
+        int spurLength
+                = graph.traceRoute(endIndex, forwardWorkspace, routeArcs);
+        int[] arcIndices = new int[rootLength + spurLength];
+        for (int position = 0; position < rootLength; ++position) {
+            arcIndices[position] = root.arcIndex(position);
+        }
+        System.arraycopy(routeArcs, 0, arcIndices, rootLength, spurLength);
+
+        float cost = 0f;
+        for (int arcIndex : arcIndices) {
+            cost += baseCosts[arcIndex];
+        }
+        CandidateRoute result = new CandidateRoute(arcIndices, cost);
+
+        return result;
+    }
+
+    /**
+     * Validate the arguments of a query.
+     *
+     * @param startVertex the starting point
+     * @param endVertex the goal
+     * @param maxRoutes the maximum number of routes
+     */
+    private void validateQuery(
+            NavVertex startVertex, NavVertex endVertex, int maxRoutes) {
+        graph.validateMember(startVertex, "start vertex");
+        graph.validateMember(endVertex, "end vertex");
+        if (startVertex == endVertex) {
+            throw new IllegalArgumentException("vertices not distinct");
+        }
+        Validate.positive(maxRoutes, "maximum number of routes");
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.List;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * A resumable A* search in an immutable snapshot of a navigation graph. Each
+ * call to {@link #step(int)} expands at most a specified number of vertices,
+ * so a long search can be spread across frames (for instance, from the update
+ * method of a Control or AppState) with bounded cost per frame.
+ * <p>
+ * Until the search completes, {@link #listPartialRoute()} returns a route to
+ * the expanded vertex that appears closest to the goal, so an agent can start
+ * moving before planning has finished. Since the snapshot is immutable, the
+ * source graph may be modified while a search is in progress. Not
+ * thread-safe.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class AnytimeSearch {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            AnytimeSearch.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * true once the search has finished, successfully or not
+     */
+    private boolean isDone = false;
+    /**
+     * true once a route to the goal has been found
+     */
+    private boolean isFound = false;
+    /**
+     * snapshot being searched (not null, initialized by constructor)
+     */
+    final private CompiledNavGraph graph;
+    /**
+     * estimated remaining cost from the best expanded vertex to the goal
+     */
+    private float bestEstimate = Float.POSITIVE_INFINITY;
+    /**
+     * index of the expanded vertex that appears closest to the goal
+     */
+    private int bestIndex;
+    /**
+     * index of the goal vertex (initialized by constructor)
+     */
+    final private int endIndex;
+    /**
+     * total number of vertices expanded (&ge;0)
+     */
+    private int numExpanded = 0;
+    /**
+     * estimator for remaining costs, or null to use straight-line distances
+     * for choosing partial routes
+     */
+    final private NavHeuristic heuristic;
+    /**
+     * blocks and cost multipliers to apply, or null for none
+     */
+    final private NavOverlay overlay;
+    /**
+     * goal vertex (not null, initialized by constructor)
+     */
+    final private NavVertex endVertex;
+    /**
+     * search state, preserved between steps
+     */
+    final private NavWorkspace workspace;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Begin a search for the cheapest route between the specified vertices.
+     * No vertices are expanded until the first step.
+     *
+     * @param graph the snapshot to search (not null, alias created)
+     * @param startVertex the starting vertex (member, distinct from
+     * endVertex)
+     * @param endVertex the goal vertex (member, distinct from startVertex)
+     * @param heuristic estimator for remaining costs (alias created) or null
+     * for none
+     */
+    public AnytimeSearch(CompiledNavGraph graph, NavVertex startVertex,
+            NavVertex endVertex, NavHeuristic heuristic) {
+        this(graph, startVertex, endVertex, heuristic, null);
+    }
+
+    /**
+     * Begin a search for the cheapest route between the specified vertices,
+     * with costs adjusted by the specified overlay. No vertices are expanded
+     * until the first step.
+     *
+     * @param graph the snapshot to search (not null, alias created)
+     * @param startVertex the starting vertex (member, distinct from
+     * endVertex)
+     * @param endVertex the goal vertex (member, distinct from startVertex)
+     * @param heuristic estimator for remaining costs (alias created) or null
+     * for none
+     * @param overlay blocks and cost multipliers to apply (matching the
+     * snapshot, alias created) or null for none
+     */
+    public AnytimeSearch(CompiledNavGraph graph, NavVertex startVertex,
+            NavVertex endVertex, NavHeuristic heuristic, NavOverlay overlay) {
+        Validate.nonNull(graph, "graph");
+        graph.validateMember(startVertex, "start vertex");
+        graph.validateMember(endVertex, "end vertex");
+        if (startVertex == endVertex) {
+            throw new IllegalArgumentException("vertices not distinct");
+        }
+        if (overlay != null && !overlay.matches(graph)) {
+            throw new IllegalArgumentException(
+                    "The overlay doesn't match the snapshot.");
+        }
+
+        this.graph = graph;
+        this.endVertex = endVertex;
+        this.endIndex = endVertex.getIndex();
+        this.heuristic = heuristic;
+        this.overlay = overlay;
+        this.workspace = new NavWorkspace(graph.numVertices());
+
+        int startIndex = startVertex.getIndex();
+        this.bestIndex = startIndex;
+        workspace.begin();
+        workspace.reach(startIndex, 0f, -1);
+        workspace.getOpenQueue().offer(startIndex, 0f);
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Count the vertices expanded so far.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countExpanded() {
+        assert numExpanded >= 0 : numExpanded;
+        return numExpanded;
+    }
+
+    /**
+     * Access the expanded vertex that appears closest to the goal: the goal
+     * itself once it's been found, otherwise the start vertex or the vertex
+     * with the least estimated remaining cost.
+     *
+     * @return the pre-existing member vertex (not null)
+     */
+    public NavVertex getBestVertex() {
+        NavVertex result = graph.getVertex(bestIndex);
+        return result;
+    }
+
+    /**
+     * Read the cost of the route found.
+     *
+     * @return the total cost (&ge;0) or {@link Float#POSITIVE_INFINITY} if no
+     * route has been found
+     */
+    public float getCost() {
+        float result = Float.POSITIVE_INFINITY;
+        if (isFound) {
+            result = workspace.cost(endIndex);
+        }
+
+        return result;
+    }
+
+    /**
+     * Access the snapshot being searched.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public CompiledNavGraph getGraph() {
+        assert graph != null;
+        return graph;
+    }
+
+    /**
+     * Test whether the search has finished, either by finding the goal or by
+     * exhausting every reachable vertex.
+     *
+     * @return true if finished, otherwise false
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
+    /**
+     * Test whether a route to the goal has been found.
+     *
+     * @return true if found, otherwise false
+     */
+    public boolean isFound() {
+        return isFound;
+    }
+
+    /**
+     * Copy the best route known so far: the complete route once the goal has
+     * been found, otherwise a route to the best vertex.
+     *
+     * @return a new list of arcs (not null, empty if no vertex has been
+     * expanded beyond the start)
+     */
+    public List<NavArc> listPartialRoute() {
+        List<NavArc> result = graph.listRoute(bestIndex, workspace);
+        return result;
+    }
+
+    /**
+     * Copy the complete route, if it has been found.
+     *
+     * @return a new list of arcs, or null if the goal hasn't been found
+     */
+    public List<NavArc> listRoute() {
+        if (!isFound) {
+            return null;
+        }
+
+        List<NavArc> result = graph.listRoute(endIndex, workspace);
+        return result;
+    }
+
+    /**
+     * Continue the search, expanding at most the specified number of
+     * vertices.
+     *
+     * @param maxExpansions the expansion budget for this step (&gt;0)
+     * @return true if the search has finished, otherwise false
+     */
+    public boolean step(int maxExpansions) {
+        Validate.positive(maxExpansions, "max expansions");
+
+        VertexQueue openQueue = workspace.getOpenQueue();
+        int budget = maxExpansions;
+        while (!isDone && budget > 0) {
+            if (openQueue.isEmpty()) {
+                this.isDone = true;
+                break;
+            }
+
+            int visitIndex = openQueue.remove();
+            float visitCost = workspace.cost(visitIndex);
+            if (visitIndex == endIndex) {
+                this.isDone = true;
+                this.isFound = true;
+                this.bestIndex = endIndex;
+                this.bestEstimate = 0f;
+                break;
+            }
+            workspace.settle(visitIndex);
+            ++numExpanded;
+            --budget;
+            considerBest(visitIndex, visitCost);
+
+            // Relax each outgoing arc of the current vertex.
+            int end = graph.outgoingEnd(visitIndex);
+            for (int arcIndex = graph.outgoingStart(visitIndex);
+                    arcIndex < end; ++arcIndex) {
+                int toIndex = graph.getToIndex(arcIndex);
+                if (workspace.isSettled(toIndex)) {
+                    continue;
+                }
+                float arcCost = graph.getCost(arcIndex);
+                if (overlay != null) {
+                    arcCost = overlay.adjustCost(arcIndex, toIndex, arcCost);
+                    if (arcCost == Float.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                }
+                float cost = visitCost + arcCost;
+                if (cost < workspace.cost(toIndex)) {
+                    workspace.reach(toIndex, cost, arcIndex);
+                    float priority = cost;
+                    if (heuristic != null) {
+                        priority += heuristic.estimateCost(
+                                graph.getVertex(toIndex), endVertex);
+                    }
+                    openQueue.offer(toIndex, priority);
+                }
+            }
+        }
+
+        return isDone;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Update the best vertex if the specified newly expanded vertex appears
+     * closer to the goal. Ties are broken in favor of the cheaper vertex.
+     *
+     * @param vertexIndex the index of the expanded vertex
+     * @param cost the cost of reaching the expanded vertex
+     */
+    private void considerBest(int vertexIndex, float cost) {
+        NavVertex vertex = graph.getVertex(vertexIndex);
+        float estimate;
+        if (heuristic == null) {
+            estimate = vertex.distance(endVertex);
+        } else {
+            estimate = heuristic.estimateCost(vertex, endVertex);
+        }
+
+        if (estimate < bestEstimate || estimate == bestEstimate
+                && cost < workspace.cost(bestIndex)) {
+            this.bestEstimate = estimate;
+            this.bestIndex = vertexIndex;
+        }
+    }
+}
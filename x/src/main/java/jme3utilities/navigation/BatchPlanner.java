@@ -0,0 +1,189 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * Plans routes for many agents at once, in parallel, using an immutable
+ * snapshot of a navigation graph. Requests that share a goal are served by a
+ * single reverse search from that goal. Thread-safe, provided the heuristic
+ * (if any) is thread-safe.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class BatchPlanner {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            BatchPlanner.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * snapshot to query (not null, initialized by constructor)
+     */
+    final private CompiledNavGraph graph;
+    /**
+     * pool to execute searches (not null, initialized by constructor)
+     */
+    final private ForkJoinPool pool;
+    /**
+     * estimator for single-request searches, or null for none
+     */
+    final private NavHeuristic heuristic;
+    /**
+     * scratch storage for each worker thread
+     */
+    final private ThreadLocal<NavWorkspace> workspaces;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a planner that uses Dijkstra's algorithm and the common
+     * fork/join pool.
+     *
+     * @param graph the snapshot to query (not null, alias created)
+     */
+    public BatchPlanner(CompiledNavGraph graph) {
+        this(graph, null, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Instantiate a planner with the specified heuristic and pool.
+     *
+     * @param graph the snapshot to query (not null, alias created)
+     * @param heuristic estimator for remaining costs in single-request
+     * searches (alias created) or null for none
+     * @param pool the pool to execute searches (not null, alias created)
+     */
+    public BatchPlanner(CompiledNavGraph graph, NavHeuristic heuristic,
+            ForkJoinPool pool) {
+        Validate.nonNull(graph, "graph");
+        Validate.nonNull(pool, "pool");
+
+        this.graph = graph;
+        this.heuristic = heuristic;
+        this.pool = pool;
+
+        final int capacity = graph.numVertices();
+        this.workspaces = new ThreadLocal<NavWorkspace>() {
+            @Override
+            protected NavWorkspace initialValue() {
+                return new NavWorkspace(capacity);
+            }
+        };
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Access the snapshot being queried.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public CompiledNavGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Access the heuristic.
+     *
+     * @return the pre-existing instance, or null if none
+     */
+    NavHeuristic getHeuristic() {
+        return heuristic;
+    }
+
+    /**
+     * Access the scratch storage for the current thread.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    NavWorkspace getWorkspace() {
+        NavWorkspace result = workspaces.get();
+        return result;
+    }
+
+    /**
+     * Find the cheapest route for each of many (start, end) pairs. Pairs are
+     * matched by position in the arrays.
+     *
+     * @param startVertices the starting vertex of each pair (not null, all
+     * members of the snapshot, unaffected)
+     * @param endVertices the goal vertex of each pair (not null, same length
+     * as startVertices, all members of the snapshot, unaffected)
+     * @return a new list with one element per pair: a new list of arcs, an
+     * empty list if the start is the goal, or null if the goal is unreachable
+     */
+    public List<List<NavArc>> seek(
+            NavVertex[] startVertices, NavVertex[] endVertices) {
+        Validate.nonNull(startVertices, "start vertices");
+        Validate.nonNull(endVertices, "end vertices");
+        int numRequests = startVertices.length;
+        if (endVertices.length != numRequests) {
+            String message = String.format(
+                    "Got %d start vertices but %d end vertices.",
+                    numRequests, endVertices.length);
+            throw new IllegalArgumentException(message);
+        }
+
+        int[] startIndices = new int[numRequests];
+        int[] endIndices = new int[numRequests];
+        for (int request = 0; request < numRequests; ++request) {
+            NavVertex start = startVertices[request];
+            graph.validateMember(start, "start vertex");
+            startIndices[request] = start.getIndex();
+
+            NavVertex end = endVertices[request];
+            graph.validateMember(end, "end vertex");
+            endIndices[request] = end.getIndex();
+        }
+
+        List<List<NavArc>> result = new ArrayList<>(numRequests);
+        for (int request = 0; request < numRequests; ++request) {
+            result.add(null);
+        }
+        if (numRequests > 0) {
+            RouteBatch batch
+                    = new RouteBatch(this, startIndices, endIndices, result);
+            int numGroups = batch.numGroups();
+            RouteTask task = new RouteTask(batch, 0, numGroups);
+            pool.invoke(task);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * A route found by an alternative-route search, represented by the indices of
+ * its arcs in a compiled graph. Routes are ordered by total cost, then by
+ * number of arcs, then by arc indices. Immutable.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class CandidateRoute implements Comparable<CandidateRoute> {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            CandidateRoute.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * total cost of the route (&ge;0)
+     */
+    final private float cost;
+    /**
+     * indices of the arcs, in route order (not null)
+     */
+    final private int[] arcIndices;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a route.
+     *
+     * @param arcIndices the indices of the arcs, in route order (not null,
+     * alias created)
+     * @param cost the total cost of the route (&ge;0)
+     */
+    CandidateRoute(int[] arcIndices, float cost) {
+        assert arcIndices != null;
+        assert cost >= 0f : cost;
+
+        this.arcIndices = arcIndices;
+        this.cost = cost;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Read the index of the specified arc in the route.
+     *
+     * @param position the position of the arc in the route (&ge;0,
+     * &lt;numArcs)
+     * @return the arc index
+     */
+    int arcIndex(int position) {
+        int result = arcIndices[position];
+        return result;
+    }
+
+    /**
+     * Read the total cost of the route.
+     *
+     * @return the cost (&ge;0)
+     */
+    float cost() {
+        return cost;
+    }
+
+    /**
+     * Test whether this route begins with the same arcs as another route.
+     *
+     * @param other the other route (not null, unaffected)
+     * @param numArcs the number of leading arcs to compare (&ge;0, &le;the
+     * length of the other route)
+     * @return true if this route is long enough and the arcs match, otherwise
+     * false
+     */
+    boolean hasPrefix(CandidateRoute other, int numArcs) {
+        if (arcIndices.length < numArcs) {
+            return false;
+        }
+        for (int position = 0; position < numArcs; ++position) {
+            if (arcIndices[position] != other.arcIndices[position]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Count the arcs in the route.
+     *
+     * @return the count (&ge;0)
+     */
+    int numArcs() {
+        int result = arcIndices.length;
+        return result;
+    }
+    // *************************************************************************
+    // Comparable methods
+
+    /**
+     * Compare with another route based on cost, length, and arc indices.
+     *
+     * @param otherRoute (not null, unaffected)
+     * @return 0 if the routes are identical, negative if this route is better
+     */
+    @Override
+    public int compareTo(CandidateRoute otherRoute) {
+        int result = Float.compare(cost, otherRoute.cost);
+        if (result == 0) {
+            result = arcIndices.length - otherRoute.arcIndices.length;
+        }
+        for (int position = 0; result == 0 && position < arcIndices.length;
+                ++position) {
+            result = arcIndices[position] - otherRoute.arcIndices[position];
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // Object methods
+
+    /**
+     * Compare for equality based on arc indices.
+     *
+     * @param otherObject (unaffected)
+     * @return true if the routes follow the same arcs, otherwise false
+     */
+    @Override
+    public boolean equals(Object otherObject) {
+        boolean result = false;
+
+        if (this == otherObject) {
+            result = true;
+
+        } else if (otherObject instanceof CandidateRoute) {
+            CandidateRoute otherRoute = (CandidateRoute) otherObject;
+            result = Arrays.equals(arcIndices, otherRoute.arcIndices);
+        }
+
+        return result;
+    }
+
+    /**
+     * Generate the hash code for this route.
+     *
+     * @return value for use in hashing
+     */
+    @Override
+    public int hashCode() {
+        int hash = Arrays.hashCode(arcIndices);
+        return hash;
+    }
+}
@@ -0,0 +1,952 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * An immutable snapshot of a navigation graph in compressed-sparse-row form.
+ * Vertices are identified by their indices, and arcs by their positions in the
+ * snapshot. Queries that take a {@link NavWorkspace} perform no allocation.
+ * Since a snapshot never changes, it may be queried from multiple threads
+ * concurrently, provided each thread uses its own workspace.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class CompiledNavGraph {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            CompiledNavGraph.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * cost of each arc, indexed by arc index
+     */
+    final private float[] arcCosts;
+    /**
+     * index of the originating vertex of each arc, indexed by arc index
+     */
+    final private int[] arcFromIndices;
+    /**
+     * index of the terminating vertex of each arc, indexed by arc index
+     */
+    final private int[] arcToIndices;
+    /**
+     * indices of incoming arcs, grouped by terminating vertex
+     */
+    final private int[] incomingArcs;
+    /**
+     * position in incomingArcs of the first incoming arc of each vertex,
+     * indexed by vertex index, plus a final entry equal to the number of arcs
+     */
+    final private int[] incomingOffsets;
+    /**
+     * position of the first outgoing arc of each vertex, indexed by vertex
+     * index, plus a final entry equal to the number of arcs
+     */
+    final private int[] outgoingOffsets;
+    /**
+     * version of the source graph when this snapshot was compiled
+     */
+    final private int version;
+    /**
+     * each arc, indexed by arc index
+     */
+    final private NavArc[] arcs;
+    /**
+     * each vertex, indexed by vertex index
+     */
+    final private NavVertex[] vertices;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Compile a snapshot from the specified graph data.
+     *
+     * @param indexedVertices the member vertices in index order (not null,
+     * unaffected)
+     * @param costs the cost of each member arc (not null, unaffected)
+     * @param version the version of the graph
+     */
+    CompiledNavGraph(List<NavVertex> indexedVertices,
+            Map<NavArc, Float> costs, int version) {
+        int numVertices = indexedVertices.size();
+        int numArcs = costs.size();
+
+        this.vertices = new NavVertex[numVertices];
+        this.arcs = new NavArc[numArcs];
+        this.arcCosts = new float[numArcs];
+        this.arcFromIndices = new int[numArcs];
+        this.arcToIndices = new int[numArcs];
+        this.outgoingOffsets = new int[numVertices + 1];
+        this.incomingOffsets = new int[numVertices + 1];
+        this.incomingArcs = new int[numArcs];
+        this.version = version;
+
+        // Group the arcs by originating vertex.
+        int arcIndex = 0;
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            NavVertex vertex = indexedVertices.get(vertexIndex);
+            assert vertex.getIndex() == vertexIndex : vertexIndex;
+            vertices[vertexIndex] = vertex;
+            outgoingOffsets[vertexIndex] = arcIndex;
+
+            int numOutgoing = vertex.numOutgoing();
+            for (int position = 0; position < numOutgoing; ++position) {
+                NavArc arc = vertex.getOutgoing(position);
+                arcs[arcIndex] = arc;
+                arcCosts[arcIndex] = costs.get(arc);
+                arcFromIndices[arcIndex] = vertexIndex;
+                int toIndex = arc.getToVertex().getIndex();
+                arcToIndices[arcIndex] = toIndex;
+                ++arcIndex;
+            }
+        }
+        assert arcIndex == numArcs : arcIndex;
+        outgoingOffsets[numVertices] = numArcs;
+
+        groupIncoming();
+    }
+
+    /**
+     * Derive a snapshot from a previous one whose graph has since changed only
+     * in its arc costs. The new snapshot shares all its topology with the
+     * previous one, so only the cost array is copied.
+     *
+     * @param previous the previous snapshot of the same graph (not null,
+     * unaffected)
+     * @param changedArcs the arcs whose costs have changed since the previous
+     * snapshot was compiled (not null, unaffected, may contain duplicates)
+     * @param costs the current cost of each member arc (not null, unaffected)
+     * @param version the version of the graph
+     */
+    CompiledNavGraph(CompiledNavGraph previous,
+            Collection<NavArc> changedArcs, Map<NavArc, Float> costs,
+            int version) {
+        this.vertices = previous.vertices;
+        this.arcs = previous.arcs;
+        this.arcCosts = previous.arcCosts.clone();
+        this.arcFromIndices = previous.arcFromIndices;
+        this.arcToIndices = previous.arcToIndices;
+        this.outgoingOffsets = previous.outgoingOffsets;
+        this.incomingOffsets = previous.incomingOffsets;
+        this.incomingArcs = previous.incomingArcs;
+        this.version = version;
+
+        for (NavArc arc : changedArcs) {
+            int fromIndex = arc.getFromVertex().getIndex();
+            int toIndex = arc.getToVertex().getIndex();
+            int arcIndex = previous.findArc(fromIndex, toIndex);
+            assert arcs[arcIndex] == arc : arcIndex;
+            arcCosts[arcIndex] = costs.get(arc);
+        }
+    }
+
+    /**
+     * Instantiate a snapshot from arcs that are already grouped by originating
+     * vertex, such as those read from a file. Only the incoming adjacency is
+     * computed here, so construction takes time linear in the size of the
+     * graph, without any hashing.
+     *
+     * @param indexedVertices the member vertices in index order (not null,
+     * alias created)
+     * @param groupedArcs the member arcs, grouped by originating vertex in
+     * index order (not null, alias created)
+     * @param costs the cost of each arc, indexed by arc index (not null, alias
+     * created)
+     * @param offsets the position of the first outgoing arc of each vertex,
+     * plus a final entry equal to the number of arcs (not null, alias created)
+     * @param toIndices the index of the terminating vertex of each arc (not
+     * null, alias created)
+     * @param version the version of the graph
+     */
+    CompiledNavGraph(NavVertex[] indexedVertices, NavArc[] groupedArcs,
+            float[] costs, int[] offsets, int[] toIndices, int version) {
+        int numVertices = indexedVertices.length;
+        int numArcs = groupedArcs.length;
+        assert costs.length == numArcs : costs.length;
+        assert offsets.length == numVertices + 1 : offsets.length;
+        assert offsets[numVertices] == numArcs : offsets[numVertices];
+        assert toIndices.length == numArcs : toIndices.length;
+
+        this.vertices = indexedVertices;
+        this.arcs = groupedArcs;
+        this.arcCosts = costs;
+        this.arcFromIndices = new int[numArcs];
+        this.arcToIndices = toIndices;
+        this.outgoingOffsets = offsets;
+        this.incomingOffsets = new int[numVertices + 1];
+        this.incomingArcs = new int[numArcs];
+        this.version = version;
+
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            int end = offsets[vertexIndex + 1];
+            for (int arcI = offsets[vertexIndex]; arcI < end; ++arcI) {
+                arcFromIndices[arcI] = vertexIndex;
+            }
+        }
+
+        groupIncoming();
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Count the vertices reachable from the specified vertex using a
+     * breadth-first traversal. Afterward, the hop count of each reached vertex
+     * can be read from the workspace.
+     *
+     * @param startIndex the index of the starting vertex (&ge;0,
+     * &lt;numVertices)
+     * @param workspace scratch storage (not null, capacity &ge;numVertices)
+     * @return the count (&ge;1)
+     */
+    public int countReachableFrom(int startIndex, NavWorkspace workspace) {
+        int result = forwardHopCounts(startIndex, Integer.MAX_VALUE, workspace);
+        return result;
+    }
+
+    /**
+     * Find the arc (if any) from one vertex to another.
+     *
+     * @param fromIndex the index of the originating vertex (&ge;0,
+     * &lt;numVertices)
+     * @param toIndex the index of the terminating vertex (&ge;0,
+     * &lt;numVertices)
+     * @return the arc index, or -1 if none found
+     */
+    public int findArc(int fromIndex, int toIndex) {
+        validateVertexIndex(fromIndex, "from index");
+        validateVertexIndex(toIndex, "to index");
+
+        int end = outgoingOffsets[fromIndex + 1];
+        for (int arcIndex = outgoingOffsets[fromIndex]; arcIndex < end;
+                ++arcIndex) {
+            if (arcToIndices[arcIndex] == toIndex) {
+                return arcIndex;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Calculate the minimum number of hops from the specified vertex to each
+     * vertex within the specified range, using a breadth-first traversal.
+     * Afterward, the hop count of each reached vertex can be read from the
+     * workspace.
+     *
+     * @param startIndex the index of the starting vertex (&ge;0,
+     * &lt;numVertices)
+     * @param maxHopCount the maximum number of hops to follow (&ge;0)
+     * @param workspace scratch storage (not null, capacity &ge;numVertices)
+     * @return the number of vertices reached (&ge;1)
+     */
+    public int forwardHopCounts(
+            int startIndex, int maxHopCount, NavWorkspace workspace) {
+        validateVertexIndex(startIndex, "start index");
+        Validate.nonNegative(maxHopCount, "max hop count");
+        validateWorkspace(workspace);
+
+        int result = forwardHopCounts(startIndex, maxHopCount, -1, workspace);
+        return result;
+    }
+
+    /**
+     * Calculate the minimum number of hops from the specified vertex to each
+     * vertex within the specified range, without following the specified
+     * arc. The reached vertices are listed in the workspace frontier in order
+     * of hop count.
+     *
+     * @param startIndex the index of the starting vertex (&ge;0,
+     * &lt;numVertices)
+     * @param maxHopCount the maximum number of hops to follow (&ge;0)
+     * @param avoidArcIndex the index of the arc not to follow, or -1 to follow
+     * all arcs
+     * @param workspace scratch storage (not null, capacity &ge;numVertices)
+     * @return the number of vertices reached (&ge;1)
+     */
+    int forwardHopCounts(int startIndex, int maxHopCount, int avoidArcIndex,
+            NavWorkspace workspace) {
+        workspace.begin();
+        int[] frontier = workspace.getFrontier();
+        frontier[0] = startIndex;
+        workspace.reachByHops(startIndex, 0, -1);
+        int head = 0;
+        int tail = 1;
+
+        while (head < tail) {
+            int visitIndex = frontier[head];
+            ++head;
+            int hopCount = workspace.hopCount(visitIndex);
+            if (hopCount >= maxHopCount) {
+                continue;
+            }
+
+            int end = outgoingOffsets[visitIndex + 1];
+            for (int arcIndex = outgoingOffsets[visitIndex]; arcIndex < end;
+                    ++arcIndex) {
+                int toIndex = arcToIndices[arcIndex];
+                if (arcIndex != avoidArcIndex
+                        && !workspace.isReached(toIndex)) {
+                    workspace.reachByHops(toIndex, hopCount + 1, arcIndex);
+                    frontier[tail] = toIndex;
+                    ++tail;
+                }
+            }
+        }
+
+        return tail;
+    }
+
+    /**
+     * Calculate the minimum total cost from the specified vertex to every
+     * vertex, using Dijkstra's algorithm. Afterward, the workspace holds each
+     * reachable vertex's cost, and its route arc is the last arc of a cheapest
+     * route from the start.
+     *
+     * @param startIndex the index of the starting vertex (&ge;0,
+     * &lt;numVertices)
+     * @param workspace scratch storage (not null, capacity &ge;numVertices)
+     * @return the number of vertices reachable from the start (&ge;1)
+     */
+    public int forwardTotalCosts(int startIndex, NavWorkspace workspace) {
+        validateVertexIndex(startIndex, "start index");
+        validateWorkspace(workspace);
+
+        workspace.begin();
+        VertexQueue openQueue = workspace.getOpenQueue();
+        workspace.reach(startIndex, 0f, -1);
+        openQueue.offer(startIndex, 0f);
+        int result = 0;
+
+        while (!openQueue.isEmpty()) {
+            int visitIndex = openQueue.remove();
+            workspace.settle(visitIndex);
+            ++result;
+            float visitCost = workspace.cost(visitIndex);
+
+            // Relax each outgoing arc of the current vertex.
+            int end = outgoingOffsets[visitIndex + 1];
+            for (int arcIndex = outgoingOffsets[visitIndex]; arcIndex < end;
+                    ++arcIndex) {
+                int toIndex = arcToIndices[arcIndex];
+                if (workspace.isSettled(toIndex)) {
+                    continue;
+                }
+                float cost = visitCost + arcCosts[arcIndex];
+                if (cost < workspace.cost(toIndex)) {
+                    workspace.reach(toIndex, cost, arcIndex);
+                    openQueue.offer(toIndex, cost);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Access the indexed arc.
+     *
+     * @param arcIndex the index of the arc (&ge;0, &lt;numArcs)
+     * @return the pre-existing instance
+     */
+    public NavArc getArc(int arcIndex) {
+        validateArcIndex(arcIndex, "arc index");
+        NavArc result = arcs[arcIndex];
+        return result;
+    }
+
+    /**
+     * Read the cost of the indexed arc.
+     *
+     * @param arcIndex the index of the arc (&ge;0, &lt;numArcs)
+     * @return the cost as of compilation (&ge;0)
+     */
+    public float getCost(int arcIndex) {
+        validateArcIndex(arcIndex, "arc index");
+        float result = arcCosts[arcIndex];
+        return result;
+    }
+
+    /**
+     * Read the index of the originating vertex of the indexed arc.
+     *
+     * @param arcIndex the index of the arc (&ge;0, &lt;numArcs)
+     * @return the vertex index (&ge;0, &lt;numVertices)
+     */
+    public int getFromIndex(int arcIndex) {
+        validateArcIndex(arcIndex, "arc index");
+        int result = arcFromIndices[arcIndex];
+        return result;
+    }
+
+    /**
+     * Read the index of the terminating vertex of the indexed arc.
+     *
+     * @param arcIndex the index of the arc (&ge;0, &lt;numArcs)
+     * @return the vertex index (&ge;0, &lt;numVertices)
+     */
+    public int getToIndex(int arcIndex) {
+        validateArcIndex(arcIndex, "arc index");
+        int result = arcToIndices[arcIndex];
+        return result;
+    }
+
+    /**
+     * Read the version of the source graph when this snapshot was compiled.
+     *
+     * @return the version number
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Access the indexed vertex.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;numVertices)
+     * @return the pre-existing instance
+     */
+    public NavVertex getVertex(int vertexIndex) {
+        validateVertexIndex(vertexIndex, "vertex index");
+        NavVertex result = vertices[vertexIndex];
+        return result;
+    }
+
+    /**
+     * Read the arc index at the specified position in the incoming-arc list.
+     *
+     * @param position the position (&ge;0, &lt;numArcs)
+     * @return the arc index (&ge;0, &lt;numArcs)
+     */
+    public int incomingArc(int position) {
+        validateArcIndex(position, "position");
+        int result = incomingArcs[position];
+        return result;
+    }
+
+    /**
+     * Find the position just past the specified vertex's last incoming arc in
+     * the incoming-arc list.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;numVertices)
+     * @return the position (&ge;0, &le;numArcs)
+     */
+    public int incomingEnd(int vertexIndex) {
+        validateVertexIndex(vertexIndex, "vertex index");
+        int result = incomingOffsets[vertexIndex + 1];
+        return result;
+    }
+
+    /**
+     * Find the position of the specified vertex's first incoming arc in the
+     * incoming-arc list.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;numVertices)
+     * @return the position (&ge;0, &le;numArcs)
+     */
+    public int incomingStart(int vertexIndex) {
+        validateVertexIndex(vertexIndex, "vertex index");
+        int result = incomingOffsets[vertexIndex];
+        return result;
+    }
+
+    /**
+     * Enumerate the arcs of the route found by the most recent reverse search,
+     * from the specified vertex to the goal.
+     *
+     * @param startIndex the index of the starting vertex (&ge;0,
+     * &lt;numVertices, reached by the search)
+     * @param workspace the workspace used for the search (not null,
+     * unaffected)
+     * @return a new list of pre-existing arcs, in route order
+     */
+    public List<NavArc> listReverseRoute(
+            int startIndex, NavWorkspace workspace) {
+        validateVertexIndex(startIndex, "start index");
+        validateWorkspace(workspace);
+        Validate.require(
+                workspace.isReached(startIndex), "start vertex reached");
+
+        List<NavArc> result = new ArrayList<>(10);
+        int arcIndex = workspace.routeArc(startIndex);
+        while (arcIndex >= 0) {
+            result.add(arcs[arcIndex]);
+            int toIndex = arcToIndices[arcIndex];
+            arcIndex = workspace.routeArc(toIndex);
+        }
+
+        return result;
+    }
+
+    /**
+     * Enumerate the arcs of the route found by the most recent forward search,
+     * from its origin to the specified vertex.
+     *
+     * @param endIndex the index of the final vertex (&ge;0, &lt;numVertices,
+     * reached by the search)
+     * @param workspace the workspace used for the search (not null,
+     * unaffected)
+     * @return a new list of pre-existing arcs, in route order
+     */
+    public List<NavArc> listRoute(int endIndex, NavWorkspace workspace) {
+        validateVertexIndex(endIndex, "end index");
+        validateWorkspace(workspace);
+        Validate.require(workspace.isReached(endIndex), "end vertex reached");
+
+        List<NavArc> result = new ArrayList<>(10);
+        int arcIndex = workspace.routeArc(endIndex);
+        while (arcIndex >= 0) {
+            result.add(arcs[arcIndex]);
+            int fromIndex = arcFromIndices[arcIndex];
+            arcIndex = workspace.routeArc(fromIndex);
+        }
+        Collections.reverse(result);
+
+        return result;
+    }
+
+    /**
+     * Count the arcs in this snapshot.
+     *
+     * @return the count (&ge;0)
+     */
+    public int numArcs() {
+        int result = arcs.length;
+        return result;
+    }
+
+    /**
+     * Count the vertices in this snapshot.
+     *
+     * @return the count (&ge;0)
+     */
+    public int numVertices() {
+        int result = vertices.length;
+        return result;
+    }
+
+    /**
+     * Find the index just past the specified vertex's last outgoing arc.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;numVertices)
+     * @return the arc index (&ge;0, &le;numArcs)
+     */
+    public int outgoingEnd(int vertexIndex) {
+        validateVertexIndex(vertexIndex, "vertex index");
+        int result = outgoingOffsets[vertexIndex + 1];
+        return result;
+    }
+
+    /**
+     * Find the index of the specified vertex's first outgoing arc. Its
+     * outgoing arcs have consecutive indices.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;numVertices)
+     * @return the arc index (&ge;0, &le;numArcs)
+     */
+    public int outgoingStart(int vertexIndex) {
+        validateVertexIndex(vertexIndex, "vertex index");
+        int result = outgoingOffsets[vertexIndex];
+        return result;
+    }
+
+    /**
+     * Calculate the minimum total cost from every vertex to the specified
+     * vertex, using Dijkstra's algorithm on reversed arcs. Afterward, the
+     * workspace holds each vertex's cost-to-go, and its route arc is the first
+     * arc of a cheapest route to the goal.
+     *
+     * @param endIndex the index of the goal vertex (&ge;0, &lt;numVertices)
+     * @param workspace scratch storage (not null, capacity &ge;numVertices)
+     * @return the number of vertices that can reach the goal (&ge;1)
+     */
+    public int reverseTotalCosts(int endIndex, NavWorkspace workspace) {
+        int result = reverseTotalCosts(endIndex, null, workspace);
+        return result;
+    }
+
+    /**
+     * Calculate the minimum total cost from every vertex to the specified
+     * vertex, using Dijkstra's algorithm on reversed arcs, with costs adjusted
+     * by the specified overlay. Afterward, the workspace holds each vertex's
+     * cost-to-go, and its route arc is the first arc of a cheapest route to
+     * the goal.
+     *
+     * @param endIndex the index of the goal vertex (&ge;0, &lt;numVertices)
+     * @param overlay blocks and cost multipliers to apply (matching this
+     * snapshot) or null for none
+     * @param workspace scratch storage (not null, capacity &ge;numVertices)
+     * @return the number of vertices that can reach the goal (&ge;1)
+     */
+    public int reverseTotalCosts(
+            int endIndex, NavOverlay overlay, NavWorkspace workspace) {
+        validateVertexIndex(endIndex, "end index");
+        validateOverlay(overlay);
+        validateWorkspace(workspace);
+
+        workspace.begin();
+        VertexQueue openQueue = workspace.getOpenQueue();
+        workspace.reach(endIndex, 0f, -1);
+        openQueue.offer(endIndex, 0f);
+        int result = 0;
+
+        while (!openQueue.isEmpty()) {
+            int visitIndex = openQueue.remove();
+            workspace.settle(visitIndex);
+            ++result;
+            float visitCost = workspace.cost(visitIndex);
+
+            // Relax each incoming arc of the current vertex.
+            int end = incomingOffsets[visitIndex + 1];
+            for (int position = incomingOffsets[visitIndex]; position < end;
+                    ++position) {
+                int arcIndex = incomingArcs[position];
+                int fromIndex = arcFromIndices[arcIndex];
+                if (workspace.isSettled(fromIndex)) {
+                    continue;
+                }
+                float arcCost = arcCosts[arcIndex];
+                if (overlay != null) {
+                    arcCost = overlay.adjustCost(arcIndex, fromIndex, arcCost);
+                    if (arcCost == Float.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                }
+                float cost = visitCost + arcCost;
+                if (cost < workspace.cost(fromIndex)) {
+                    workspace.reach(fromIndex, cost, arcIndex);
+                    openQueue.offer(fromIndex, cost);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the shortest (or cheapest) route from one vertex to another using
+     * A* search. With a null heuristic, this is equivalent to Dijkstra's
+     * algorithm. Afterward, the route can be retrieved using
+     * {@link #traceRoute(int, NavWorkspace, int[])}.
+     *
+     * @param startIndex the index of the starting vertex (&ge;0,
+     * &lt;numVertices)
+     * @param endIndex the index of the goal vertex (&ge;0, &lt;numVertices)
+     * @param heuristic estimator for remaining costs, or null for none
+     * @param workspace scratch storage (not null, capacity &ge;numVertices)
+     * @return the total cost of the route (&ge;0) or
+     * {@link Float#POSITIVE_INFINITY} if the goal is unreachable
+     */
+    public float seek(int startIndex, int endIndex, NavHeuristic heuristic,
+            NavWorkspace workspace) {
+        float result = seek(startIndex, endIndex, heuristic, null, workspace);
+        return result;
+    }
+
+    /**
+     * Find the shortest (or cheapest) route from one vertex to another using
+     * A* search, with costs adjusted by the specified overlay. With a null
+     * heuristic, this is equivalent to Dijkstra's algorithm. Afterward, the
+     * route can be retrieved using
+     * {@link #traceRoute(int, NavWorkspace, int[])}.
+     *
+     * @param startIndex the index of the starting vertex (&ge;0,
+     * &lt;numVertices)
+     * @param endIndex the index of the goal vertex (&ge;0, &lt;numVertices)
+     * @param heuristic estimator for remaining costs, or null for none
+     * @param overlay blocks and cost multipliers to apply (matching this
+     * snapshot) or null for none
+     * @param workspace scratch storage (not null, capacity &ge;numVertices)
+     * @return the total cost of the route (&ge;0) or
+     * {@link Float#POSITIVE_INFINITY} if the goal is unreachable
+     */
+    public float seek(int startIndex, int endIndex, NavHeuristic heuristic,
+            NavOverlay overlay, NavWorkspace workspace) {
+        validateVertexIndex(startIndex, "start index");
+        validateVertexIndex(endIndex, "end index");
+        validateOverlay(overlay);
+        validateWorkspace(workspace);
+
+        workspace.begin();
+        VertexQueue openQueue = workspace.getOpenQueue();
+        workspace.reach(startIndex, 0f, -1);
+        openQueue.offer(startIndex, 0f);
+        NavVertex endVertex = vertices[endIndex];
+
+        while (!openQueue.isEmpty()) {
+            int visitIndex = openQueue.remove();
+            float visitCost = workspace.cost(visitIndex);
+            if (visitIndex == endIndex) {
+                return visitCost;
+            }
+            workspace.settle(visitIndex);
+
+            // Relax each outgoing arc of the current vertex.
+            int end = outgoingOffsets[visitIndex + 1];
+            for (int arcIndex = outgoingOffsets[visitIndex]; arcIndex < end;
+                    ++arcIndex) {
+                int toIndex = arcToIndices[arcIndex];
+                if (workspace.isSettled(toIndex)) {
+                    continue;
+                }
+                float arcCost = arcCosts[arcIndex];
+                if (overlay != null) {
+                    arcCost = overlay.adjustCost(arcIndex, toIndex, arcCost);
+                    if (arcCost == Float.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                }
+                float cost = visitCost + arcCost;
+                if (cost < workspace.cost(toIndex)) {
+                    workspace.reach(toIndex, cost, arcIndex);
+                    float priority = cost;
+                    if (heuristic != null) {
+                        priority += heuristic.estimateCost(
+                                vertices[toIndex], endVertex);
+                    }
+                    openQueue.offer(toIndex, priority);
+                }
+            }
+        }
+
+        return Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Find the shortest (or cheapest) route from one vertex to another using
+     * Dijkstra's algorithm.
+     *
+     * @param startVertex starting point (member, distinct from endVertex)
+     * @param endVertex goal (member, distinct from startVertex)
+     * @param workspace scratch storage (not null, capacity &ge;numVertices)
+     * @return a new list of arcs, or null if goal is unreachable
+     */
+    public List<NavArc> seek(NavVertex startVertex, NavVertex endVertex,
+            NavWorkspace workspace) {
+        validateMember(startVertex, "start vertex");
+        validateMember(endVertex, "end vertex");
+        if (startVertex == endVertex) {
+            throw new IllegalArgumentException("vertices not distinct");
+        }
+
+        int startIndex = startVertex.getIndex();
+        int endIndex = endVertex.getIndex();
+        float cost = seek(startIndex, endIndex, null, workspace);
+        if (cost == Float.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        List<NavArc> result = listRoute(endIndex, workspace);
+        return result;
+    }
+
+    /**
+     * Test whether this snapshot has the same topology as another, meaning
+     * that one was derived from the other by changing only arc costs, so
+     * their arc and vertex indices agree.
+     *
+     * @param other the snapshot to compare (not null, unaffected)
+     * @return true if the topology is shared, otherwise false
+     */
+    boolean sharesTopology(CompiledNavGraph other) {
+        if (other.arcs == arcs && other.vertices == vertices) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Copy the route found by the most recent query, from its origin to the
+     * specified vertex.
+     *
+     * @param endIndex the index of the final vertex (&ge;0, &lt;numVertices,
+     * reached by the query)
+     * @param workspace the workspace used for the query (not null, unaffected)
+     * @param storeArcs storage for the arc indices, in route order (not null,
+     * length &ge; the number of arcs in the route, modified)
+     * @return the number of arcs in the route (&ge;0)
+     */
+    public int traceRoute(
+            int endIndex, NavWorkspace workspace, int[] storeArcs) {
+        validateVertexIndex(endIndex, "end index");
+        validateWorkspace(workspace);
+        Validate.require(workspace.isReached(endIndex), "end vertex reached");
+        Validate.nonNull(storeArcs, "storage array");
+
+        int result = countRouteArcs(endIndex, workspace);
+        if (storeArcs.length < result) {
+            String message = String.format(
+                    "Storage array has length %d, but route has %d arcs.",
+                    storeArcs.length, result);
+            throw new IllegalArgumentException(message);
+        }
+
+        int vertexIndex = endIndex;
+        for (int i = result - 1; i >= 0; --i) {
+            int arcIndex = workspace.routeArc(vertexIndex);
+            storeArcs[i] = arcIndex;
+            vertexIndex = arcFromIndices[arcIndex];
+        }
+
+        return result;
+    }
+
+    /**
+     * Verify that a vertex (used as a method argument) is a member of this
+     * snapshot.
+     *
+     * @param vertex vertex argument to be validated
+     * @param description description of the argument
+     */
+    public void validateMember(NavVertex vertex, String description) {
+        Validate.nonNull(vertex, description);
+
+        int vertexIndex = vertex.getIndex();
+        if (vertexIndex >= vertices.length || vertices[vertexIndex] != vertex) {
+            String what;
+            if (description == null) {
+                what = "vertex argument";
+            } else {
+                what = description;
+            }
+
+            String message = String.format("%s must be a member.", what);
+            throw new IllegalArgumentException(message);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Count the arcs in the route found by the most recent query, from its
+     * origin to the specified vertex.
+     *
+     * @param endIndex the index of the final vertex (reached by the query)
+     * @param workspace the workspace used for the query (not null, unaffected)
+     * @return the count (&ge;0)
+     */
+    private int countRouteArcs(int endIndex, NavWorkspace workspace) {
+        int result = 0;
+        int arcIndex = workspace.routeArc(endIndex);
+        while (arcIndex >= 0) {
+            ++result;
+            int fromIndex = arcFromIndices[arcIndex];
+            arcIndex = workspace.routeArc(fromIndex);
+        }
+
+        return result;
+    }
+
+    /**
+     * Group the arcs by terminating vertex, using a counting sort. Invoked
+     * only by constructors.
+     */
+    private void groupIncoming() {
+        int numVertices = vertices.length;
+        int numArcs = arcs.length;
+        for (int arcIndex = 0; arcIndex < numArcs; ++arcIndex) {
+            int toIndex = arcToIndices[arcIndex];
+            ++incomingOffsets[toIndex + 1];
+        }
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            incomingOffsets[vertexIndex + 1] += incomingOffsets[vertexIndex];
+        }
+        int[] fill = new int[numVertices];
+        for (int arcIndex = 0; arcIndex < numArcs; ++arcIndex) {
+            int toIndex = arcToIndices[arcIndex];
+            int position = incomingOffsets[toIndex] + fill[toIndex];
+            incomingArcs[position] = arcIndex;
+            ++fill[toIndex];
+        }
+    }
+
+    /**
+     * Verify that an arc index (used as a method argument) is in range.
+     *
+     * @param arcIndex the index to be validated
+     * @param description description of the argument
+     */
+    private void validateArcIndex(int arcIndex, String description) {
+        Validate.inRange(arcIndex, description, 0, arcs.length - 1);
+    }
+
+    /**
+     * Verify that an overlay (used as a method argument) matches this
+     * snapshot.
+     *
+     * @param overlay the overlay to be validated (may be null)
+     */
+    private void validateOverlay(NavOverlay overlay) {
+        if (overlay != null && !overlay.matches(this)) {
+            throw new IllegalArgumentException(
+                    "The overlay doesn't match this snapshot.");
+        }
+    }
+
+    /**
+     * Verify that a vertex index (used as a method argument) is in range.
+     *
+     * @param vertexIndex the index to be validated
+     * @param description description of the argument
+     */
+    private void validateVertexIndex(int vertexIndex, String description) {
+        Validate.inRange(vertexIndex, description, 0, vertices.length - 1);
+    }
+
+    /**
+     * Verify that a workspace (used as a method argument) is large enough for
+     * this snapshot.
+     *
+     * @param workspace the workspace to be validated
+     */
+    private void validateWorkspace(NavWorkspace workspace) {
+        Validate.nonNull(workspace, "workspace");
+
+        int capacity = workspace.getCapacity();
+        if (capacity < vertices.length) {
+            String message = String.format(
+                    "Workspace has capacity %d, but snapshot has %d vertices.",
+                    capacity, vertices.length);
+            throw new IllegalArgumentException(message);
+        }
+    }
+}
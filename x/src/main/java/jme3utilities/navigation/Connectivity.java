@@ -0,0 +1,457 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Linear-time connectivity analyses of compiled navigation graphs: hop counts
+ * from breadth-first traversals, plus bridges, articulation points, and
+ * strongly connected components from Tarjan's depth-first search. The
+ * searches are iterative, so deep graphs can't overflow the stack.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class Connectivity {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            Connectivity.class.getName());
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private Connectivity() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Count the strongly connected components of the specified graph.
+     *
+     * @param graph the graph to analyze (not null, unaffected)
+     * @return the count (&ge;0)
+     */
+    static int countStrongComponents(CompiledNavGraph graph) {
+        int[] components = new int[graph.numVertices()];
+        int result = stronglyConnected(graph, components);
+
+        return result;
+    }
+
+    /**
+     * Find the bridges and articulation points of the undirected graph that
+     * underlies the specified graph, in which each arc (or pair of opposing
+     * arcs) is an edge. Removing a bridge, or an articulation point, increases
+     * the number of connected components.
+     *
+     * @param graph the graph to analyze (not null, unaffected)
+     * @param storeBridges storage for the results, indexed by arc index: true
+     * for each arc of a bridge (not null, length&ge;numArcs, modified)
+     * @param storeCutVertices storage for the results, indexed by vertex
+     * index: true for each articulation point (not null,
+     * length&ge;numVertices, modified)
+     */
+    static void findBridges(CompiledNavGraph graph, boolean[] storeBridges,
+            boolean[] storeCutVertices) {
+        int numVertices = graph.numVertices();
+        int[] discovery = new int[numVertices]; // 0 means undiscovered
+        int[] low = new int[numVertices];
+        int[] parents = new int[numVertices];
+        int[] positions = new int[numVertices]; // next neighbor to examine
+        int[] callStack = new int[numVertices];
+        int numDiscovered = 0;
+        Arrays.fill(storeBridges, false);
+        Arrays.fill(storeCutVertices, false);
+
+        for (int root = 0; root < numVertices; ++root) {
+            if (discovery[root] != 0) {
+                continue;
+            }
+            ++numDiscovered;
+            discovery[root] = numDiscovered;
+            low[root] = numDiscovered;
+            parents[root] = -1;
+            positions[root] = 0;
+            callStack[0] = root;
+            int depth = 1;
+            int numRootChildren = 0;
+
+            while (depth > 0) {
+                int vertex = callStack[depth - 1];
+                int neighbor = nextNeighbor(graph, vertex, positions);
+                if (neighbor >= 0) {
+                    if (neighbor == parents[vertex]) {
+                        continue;
+                    } else if (discovery[neighbor] == 0) { // tree edge
+                        ++numDiscovered;
+                        discovery[neighbor] = numDiscovered;
+                        low[neighbor] = numDiscovered;
+                        parents[neighbor] = vertex;
+                        positions[neighbor] = 0;
+                        callStack[depth] = neighbor;
+                        ++depth;
+                        if (vertex == root) {
+                            ++numRootChildren;
+                        }
+                    } else if (discovery[neighbor] < low[vertex]) {
+                        low[vertex] = discovery[neighbor]; // back edge
+                    }
+                    continue;
+                }
+
+                // Finished with the vertex, so return to its parent.
+                --depth;
+                int parent = parents[vertex];
+                if (parent >= 0) {
+                    if (low[vertex] < low[parent]) {
+                        low[parent] = low[vertex];
+                    }
+                    if (low[vertex] > discovery[parent]) {
+                        markEdge(graph, parent, vertex, storeBridges);
+                    }
+                    if (parent != root && low[vertex] >= discovery[parent]) {
+                        storeCutVertices[parent] = true;
+                    }
+                }
+            }
+
+            if (numRootChildren > 1) {
+                storeCutVertices[root] = true;
+            }
+        }
+    }
+
+    /**
+     * Test whether the endpoints of the specified arc would still be
+     * connected if the arc were removed.
+     *
+     * @param graph the graph to analyze (not null, unaffected)
+     * @param arcIndex the index of the arc to hypothetically remove (&ge;0,
+     * &lt;numArcs)
+     * @param workspace scratch storage (not null, capacity &ge;numVertices)
+     * @return true if still connected, false if not
+     */
+    static boolean isConnectedWithout(
+            CompiledNavGraph graph, int arcIndex, NavWorkspace workspace) {
+        NavArc arc = graph.getArc(arcIndex);
+        int fromIndex = arc.getFromVertex().getIndex();
+        graph.forwardHopCounts(
+                fromIndex, Integer.MAX_VALUE, arcIndex, workspace);
+        boolean result = workspace.isReached(arc.getToVertex().getIndex());
+
+        return result;
+    }
+
+    /**
+     * Enumerate the articulation points of the undirected graph that underlies
+     * the specified graph.
+     *
+     * @param graph the graph to analyze (not null, unaffected)
+     * @return a new list of pre-existing vertices, in index order
+     */
+    static List<NavVertex> listArticulationPoints(CompiledNavGraph graph) {
+        int numVertices = graph.numVertices();
+        boolean[] isBridge = new boolean[graph.numArcs()];
+        boolean[] isCut = new boolean[numVertices];
+        findBridges(graph, isBridge, isCut);
+
+        List<NavVertex> result = new ArrayList<>(10);
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            if (isCut[vertexIndex]) {
+                NavVertex vertex = graph.getVertex(vertexIndex);
+                result.add(vertex);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Enumerate the vertices within the specified inclusive range of hops
+     * from the specified vertex.
+     *
+     * @param graph the graph to analyze (not null, unaffected)
+     * @param startIndex the index of the starting vertex (&ge;0,
+     * &lt;numVertices)
+     * @param minHopCount the minimum number of hops (&ge;0)
+     * @param maxHopCount the maximum number of hops (&ge;minHopCount)
+     * @param workspace scratch storage (not null, capacity &ge;numVertices)
+     * @return a new list of pre-existing vertices, in order of hop count
+     */
+    static List<NavVertex> listByHops(CompiledNavGraph graph, int startIndex,
+            int minHopCount, int maxHopCount, NavWorkspace workspace) {
+        int numReached
+                = graph.forwardHopCounts(startIndex, maxHopCount, workspace);
+
+        // The frontier lists the reached vertices in order of hop count.
+        int[] frontier = workspace.getFrontier();
+        List<NavVertex> result = new ArrayList<>(30);
+        for (int position = 0; position < numReached; ++position) {
+            int vertexIndex = frontier[position];
+            if (workspace.hopCount(vertexIndex) >= minHopCount) {
+                NavVertex vertex = graph.getVertex(vertexIndex);
+                result.add(vertex);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Enumerate the arcs that form bridges in the undirected graph that
+     * underlies the specified graph.
+     *
+     * @param graph the graph to analyze (not null, unaffected)
+     * @return a new list of pre-existing arcs, in index order
+     */
+    static List<NavArc> listBridges(CompiledNavGraph graph) {
+        int numArcs = graph.numArcs();
+        boolean[] isBridge = new boolean[numArcs];
+        boolean[] isCut = new boolean[graph.numVertices()];
+        findBridges(graph, isBridge, isCut);
+
+        List<NavArc> result = new ArrayList<>(10);
+        for (int arcIndex = 0; arcIndex < numArcs; ++arcIndex) {
+            if (isBridge[arcIndex]) {
+                NavArc arc = graph.getArc(arcIndex);
+                result.add(arc);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Enumerate the vertices in the specified subset that are the maximal
+     * number of hops from the specified vertex.
+     *
+     * @param graph the graph to analyze (not null, unaffected)
+     * @param startIndex the index of the starting vertex (&ge;0,
+     * &lt;numVertices)
+     * @param subset the vertices to consider (not null, all in the graph,
+     * unaffected)
+     * @param workspace scratch storage (not null, capacity &ge;numVertices)
+     * @return a new list of pre-existing vertices
+     */
+    static List<NavVertex> listMostHops(CompiledNavGraph graph, int startIndex,
+            Iterable<? extends NavVertex> subset, NavWorkspace workspace) {
+        graph.forwardHopCounts(startIndex, Integer.MAX_VALUE, workspace);
+
+        int mostHops = 0;
+        List<NavVertex> result = new ArrayList<>(10);
+        for (NavVertex vertex : subset) {
+            int hops = workspace.hopCount(vertex.getIndex());
+            if (hops >= 0) {
+                if (hops > mostHops) {
+                    mostHops = hops;
+                    result.clear();
+                }
+                if (hops == mostHops) {
+                    result.add(vertex);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Partition the vertices of the specified graph into strongly connected
+     * components.
+     *
+     * @param graph the graph to analyze (not null, unaffected)
+     * @return a new list of new lists of pre-existing vertices
+     */
+    static List<List<NavVertex>> listStrongComponents(CompiledNavGraph graph) {
+        int numVertices = graph.numVertices();
+        int[] components = new int[numVertices];
+        int numComponents = stronglyConnected(graph, components);
+
+        List<List<NavVertex>> result = new ArrayList<>(numComponents);
+        for (int componentI = 0; componentI < numComponents; ++componentI) {
+            List<NavVertex> list = new ArrayList<>(4);
+            result.add(list);
+        }
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            NavVertex vertex = graph.getVertex(vertexIndex);
+            int componentI = components[vertexIndex];
+            result.get(componentI).add(vertex);
+        }
+
+        return result;
+    }
+
+    /**
+     * Partition the vertices of the specified graph into strongly connected
+     * components, using Tarjan's algorithm.
+     *
+     * @param graph the graph to analyze (not null, unaffected)
+     * @param storeComponents storage for the component index of each vertex,
+     * indexed by vertex index (not null, length&ge;numVertices, modified)
+     * @return the number of components (&ge;0)
+     */
+    static int stronglyConnected(
+            CompiledNavGraph graph, int[] storeComponents) {
+        int numVertices = graph.numVertices();
+        int[] discovery = new int[numVertices]; // 0 means undiscovered
+        int[] low = new int[numVertices];
+        int[] nextArcs = new int[numVertices]; // next arc to examine
+        int[] callStack = new int[numVertices];
+        int[] componentStack = new int[numVertices];
+        boolean[] isStacked = new boolean[numVertices];
+        int numDiscovered = 0;
+        int numComponents = 0;
+        int componentDepth = 0;
+
+        for (int root = 0; root < numVertices; ++root) {
+            if (discovery[root] != 0) {
+                continue;
+            }
+            ++numDiscovered;
+            discovery[root] = numDiscovered;
+            low[root] = numDiscovered;
+            nextArcs[root] = graph.outgoingStart(root);
+            callStack[0] = root;
+            int depth = 1;
+            componentStack[componentDepth] = root;
+            ++componentDepth;
+            isStacked[root] = true;
+
+            while (depth > 0) {
+                int vertex = callStack[depth - 1];
+                int arcIndex = nextArcs[vertex];
+                if (arcIndex < graph.outgoingEnd(vertex)) {
+                    nextArcs[vertex] = arcIndex + 1;
+                    int toIndex = graph.getToIndex(arcIndex);
+                    if (discovery[toIndex] == 0) {
+                        ++numDiscovered;
+                        discovery[toIndex] = numDiscovered;
+                        low[toIndex] = numDiscovered;
+                        nextArcs[toIndex] = graph.outgoingStart(toIndex);
+                        callStack[depth] = toIndex;
+                        ++depth;
+                        componentStack[componentDepth] = toIndex;
+                        ++componentDepth;
+                        isStacked[toIndex] = true;
+                    } else if (isStacked[toIndex]
+                            && discovery[toIndex] < low[vertex]) {
+                        low[vertex] = discovery[toIndex];
+                    }
+                    continue;
+                }
+
+                // Finished with the vertex, so return to its caller.
+                --depth;
+                if (depth > 0) {
+                    int caller = callStack[depth - 1];
+                    if (low[vertex] < low[caller]) {
+                        low[caller] = low[vertex];
+                    }
+                }
+                if (low[vertex] == discovery[vertex]) {
+                    // The vertex is the root of a component.
+                    int member;
+                    do {
+                        --componentDepth;
+                        member = componentStack[componentDepth];
+                        isStacked[member] = false;
+                        storeComponents[member] = numComponents;
+                    } while (member != vertex);
+                    ++numComponents;
+                }
+            }
+        }
+
+        return numComponents;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Mark the arcs between 2 vertices (in either direction).
+     *
+     * @param graph the graph being analyzed (not null, unaffected)
+     * @param vertex1 the index of the first vertex
+     * @param vertex2 the index of the 2nd vertex
+     * @param storeMarks the marks, indexed by arc index (not null, modified)
+     */
+    private static void markEdge(CompiledNavGraph graph, int vertex1,
+            int vertex2, boolean[] storeMarks) {
+        int arcIndex = graph.findArc(vertex1, vertex2);
+        if (arcIndex >= 0) {
+            storeMarks[arcIndex] = true;
+        }
+        arcIndex = graph.findArc(vertex2, vertex1);
+        if (arcIndex >= 0) {
+            storeMarks[arcIndex] = true;
+        }
+    }
+
+    /**
+     * Find the next undirected neighbor of the specified vertex, examining
+     * outgoing arcs and then incoming ones.
+     *
+     * @param graph the graph being analyzed (not null, unaffected)
+     * @param vertex the index of the vertex
+     * @param positions the number of neighbors already examined for each
+     * vertex (not null, incremented)
+     * @return the index of the neighbor, or -1 if none remain
+     */
+    private static int nextNeighbor(
+            CompiledNavGraph graph, int vertex, int[] positions) {
+        int position = positions[vertex];
+        int numOutgoing
+                = graph.outgoingEnd(vertex) - graph.outgoingStart(vertex);
+        int numIncoming
+                = graph.incomingEnd(vertex) - graph.incomingStart(vertex);
+
+        int result;
+        if (position < numOutgoing) {
+            int arcIndex = graph.outgoingStart(vertex) + position;
+            result = graph.getToIndex(arcIndex);
+        } else if (position < numOutgoing + numIncoming) {
+            int offset = graph.incomingStart(vertex) + position - numOutgoing;
+            int arcIndex = graph.incomingArc(offset);
+            result = graph.getFromIndex(arcIndex);
+        } else {
+            return -1;
+        }
+        positions[vertex] = position + 1;
+
+        return result;
+    }
+}
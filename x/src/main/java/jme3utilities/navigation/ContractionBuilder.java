@@ -0,0 +1,749 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+
+/**
+ * Contract the vertices of a compiled snapshot to produce the ranks and edges
+ * of a contraction hierarchy. Vertices are contracted in rounds: each round
+ * selects an independent set of vertices whose priorities are local minima,
+ * and contracts them all at once. Priorities and shortcuts are computed in
+ * parallel, but the edges are modified only between parallel phases. Not
+ * thread-safe.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class ContractionBuilder {
+    // *************************************************************************
+    // constants
+
+    /**
+     * phase that finds the shortcuts for each selected vertex
+     */
+    final static int contract = 1;
+    /**
+     * maximum number of vertices settled by each witness search during
+     * contraction, which limits preprocessing time at the cost of some
+     * unnecessary shortcuts
+     */
+    final private static int maxContractSettled = 500;
+    /**
+     * maximum number of vertices settled by each witness search while
+     * estimating priorities, which needn't be exact
+     */
+    final private static int maxEstimateSettled = 50;
+    /**
+     * minimum number of vertices in a phase worth splitting into tasks
+     */
+    final private static int minParallel = 64;
+    /**
+     * phase that updates the priority of each candidate vertex
+     */
+    final static int prioritize = 0;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            ContractionBuilder.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * snapshot being preprocessed (not null, initialized by constructor)
+     */
+    final private CompiledNavGraph graph;
+    /**
+     * cost of each edge, indexed by edge index
+     */
+    private float[] edgeCosts;
+    /**
+     * index of the underlying arc of each edge, or -1 for a shortcut, indexed
+     * by edge index
+     */
+    private int[] edgeArcs;
+    /**
+     * index of the originating vertex of each edge, indexed by edge index
+     */
+    private int[] edgeFromIndices;
+    /**
+     * index of the terminating vertex of each edge, indexed by edge index
+     */
+    private int[] edgeToIndices;
+    /**
+     * index of the first half of each shortcut, or -1 for an arc, indexed by
+     * edge index
+     */
+    private int[] firstHalves;
+    /**
+     * index of the second half of each shortcut, or -1 for an arc, indexed by
+     * edge index
+     */
+    private int[] secondHalves;
+    /**
+     * indices of the uncontracted vertices (only the first numCandidates
+     * elements are meaningful)
+     */
+    final private int[] candidates;
+    /**
+     * number of contracted neighbors of each vertex, indexed by vertex index
+     */
+    final private int[] contractedNeighbors;
+    /**
+     * number of incoming edges from uncontracted vertices, indexed by vertex
+     * index
+     */
+    final private int[] numIn;
+    /**
+     * number of outgoing edges to uncontracted vertices, indexed by vertex
+     * index
+     */
+    final private int[] numOut;
+    /**
+     * depth of each vertex in the hierarchy so far, indexed by vertex index
+     */
+    final private int[] levels;
+    /**
+     * contraction priority of each uncontracted vertex (lower values are
+     * contracted first) indexed by vertex index
+     */
+    final private int[] priorities;
+    /**
+     * rank of each vertex, or -1 if not yet contracted, indexed by vertex
+     * index
+     */
+    final private int[] ranks;
+    /**
+     * indices of the vertices selected for contraction in the current round
+     * (only the first numSelected elements are meaningful)
+     */
+    final private int[] selected;
+    /**
+     * indices of the incoming edges from uncontracted vertices, indexed by
+     * vertex index
+     */
+    final private int[][] inEdges;
+    /**
+     * indices of the outgoing edges to uncontracted vertices, indexed by
+     * vertex index
+     */
+    final private int[][] outEdges;
+    /**
+     * shortcuts needed by each selected vertex, as pairs of edge indices,
+     * indexed by position in the selected array
+     */
+    final private int[][] shortcuts;
+    /**
+     * number of uncontracted vertices (&ge;0)
+     */
+    private int numCandidates;
+    /**
+     * number of edges created so far (&ge;0)
+     */
+    private int numEdges = 0;
+    /**
+     * number of vertices selected for the current round (&ge;0)
+     */
+    private int numSelected = 0;
+    /**
+     * true if a vertex's priority needs to be recomputed, indexed by vertex
+     * index
+     */
+    final private boolean[] isDirty;
+    /**
+     * scratch storage for witness searches, one per thread
+     */
+    final private ThreadLocal<NavWorkspace> workspaces;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a builder for the specified snapshot, with an edge for each
+     * arc and no vertices contracted.
+     *
+     * @param graph the snapshot to preprocess (not null, alias created)
+     */
+    ContractionBuilder(CompiledNavGraph graph) {
+        assert graph != null;
+
+        this.graph = graph;
+        final int numVertices = graph.numVertices();
+        int numArcs = graph.numArcs();
+        int edgeCapacity = Math.max(16, 2 * numArcs);
+        this.edgeCosts = new float[edgeCapacity];
+        this.edgeArcs = new int[edgeCapacity];
+        this.edgeFromIndices = new int[edgeCapacity];
+        this.edgeToIndices = new int[edgeCapacity];
+        this.firstHalves = new int[edgeCapacity];
+        this.secondHalves = new int[edgeCapacity];
+
+        this.candidates = new int[numVertices];
+        this.contractedNeighbors = new int[numVertices];
+        this.numIn = new int[numVertices];
+        this.numOut = new int[numVertices];
+        this.levels = new int[numVertices];
+        this.priorities = new int[numVertices];
+        this.ranks = new int[numVertices];
+        this.selected = new int[numVertices];
+        this.inEdges = new int[numVertices][];
+        this.outEdges = new int[numVertices][];
+        this.shortcuts = new int[numVertices][];
+        this.isDirty = new boolean[numVertices];
+        this.workspaces = new ThreadLocal<NavWorkspace>() {
+            @Override
+            protected NavWorkspace initialValue() {
+                return new NavWorkspace(numVertices);
+            }
+        };
+
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            int numIncoming = graph.incomingEnd(vertexIndex)
+                    - graph.incomingStart(vertexIndex);
+            int numOutgoing = graph.outgoingEnd(vertexIndex)
+                    - graph.outgoingStart(vertexIndex);
+            inEdges[vertexIndex] = new int[Math.max(4, numIncoming)];
+            outEdges[vertexIndex] = new int[Math.max(4, numOutgoing)];
+            candidates[vertexIndex] = vertexIndex;
+        }
+        this.numCandidates = numVertices;
+        Arrays.fill(ranks, -1);
+        Arrays.fill(isDirty, true);
+
+        for (int arcIndex = 0; arcIndex < numArcs; ++arcIndex) {
+            int fromIndex = graph.getFromIndex(arcIndex);
+            int toIndex = graph.getToIndex(arcIndex);
+            float cost = graph.getCost(arcIndex);
+            addEdge(fromIndex, toIndex, cost, arcIndex, -1, -1);
+        }
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Contract all vertices.
+     *
+     * @param pool the pool to execute parallel phases, or null to execute
+     * them on the current thread
+     */
+    void contractAll(ForkJoinPool pool) {
+        int nextRank = 0;
+        while (numCandidates > 0) {
+            runPhase(pool, prioritize, numCandidates);
+            selectIndependent();
+            /*
+             * Rank the selected vertices before finding their shortcuts,
+             * so that no witness search passes through any of them.
+             */
+            for (int position = 0; position < numSelected; ++position) {
+                int vertexIndex = selected[position];
+                ranks[vertexIndex] = nextRank;
+                ++nextRank;
+            }
+            runPhase(pool, contract, numSelected);
+
+            for (int position = 0; position < numSelected; ++position) {
+                int vertexIndex = selected[position];
+                detach(vertexIndex);
+                int[] pairs = shortcuts[position];
+                for (int i = 0; i < pairs.length; i += 2) {
+                    addShortcut(pairs[i], pairs[i + 1]);
+                }
+                shortcuts[position] = null;
+            }
+
+            int numKept = 0;
+            for (int position = 0; position < numCandidates; ++position) {
+                int vertexIndex = candidates[position];
+                if (ranks[vertexIndex] < 0) {
+                    candidates[numKept] = vertexIndex;
+                    ++numKept;
+                }
+            }
+            this.numCandidates = numKept;
+        }
+    }
+
+    /**
+     * Process the specified range of vertices for the specified phase.
+     * Invoked by fork/join tasks, or directly for small phases.
+     *
+     * @param phase which phase to perform
+     * @param first the position of the first vertex to process (&ge;0)
+     * @param end the position just past the last vertex to process
+     * (&ge;first)
+     */
+    void contractRange(int phase, int first, int end) {
+        NavWorkspace workspace = workspaces.get();
+        switch (phase) {
+            case prioritize:
+                for (int position = first; position < end; ++position) {
+                    int vertexIndex = candidates[position];
+                    if (isDirty[vertexIndex]) {
+                        int[] pairs = findShortcuts(
+                                vertexIndex, maxEstimateSettled, workspace);
+                        int edgeDifference = pairs.length / 2
+                                - numIn[vertexIndex] - numOut[vertexIndex];
+                        priorities[vertexIndex] = 2 * edgeDifference
+                                + contractedNeighbors[vertexIndex]
+                                + levels[vertexIndex];
+                        isDirty[vertexIndex] = false;
+                    }
+                }
+                break;
+
+            case contract:
+                for (int position = first; position < end; ++position) {
+                    int vertexIndex = selected[position];
+                    shortcuts[position] = findShortcuts(
+                            vertexIndex, maxContractSettled, workspace);
+                }
+                break;
+
+            default:
+                throw new IllegalArgumentException("phase = " + phase);
+        }
+    }
+
+    /**
+     * Copy the underlying arc of each edge.
+     *
+     * @return a new array of arc indices (-1 for shortcuts), indexed by edge
+     * index
+     */
+    int[] copyEdgeArcs() {
+        int[] result = Arrays.copyOf(edgeArcs, numEdges);
+        return result;
+    }
+
+    /**
+     * Copy the cost of each edge.
+     *
+     * @return a new array, indexed by edge index
+     */
+    float[] copyEdgeCosts() {
+        float[] result = Arrays.copyOf(edgeCosts, numEdges);
+        return result;
+    }
+
+    /**
+     * Copy the originating vertex of each edge.
+     *
+     * @return a new array of vertex indices, indexed by edge index
+     */
+    int[] copyEdgeFromIndices() {
+        int[] result = Arrays.copyOf(edgeFromIndices, numEdges);
+        return result;
+    }
+
+    /**
+     * Copy the terminating vertex of each edge.
+     *
+     * @return a new array of vertex indices, indexed by edge index
+     */
+    int[] copyEdgeToIndices() {
+        int[] result = Arrays.copyOf(edgeToIndices, numEdges);
+        return result;
+    }
+
+    /**
+     * Copy the first half of each shortcut.
+     *
+     * @return a new array of edge indices (-1 for arcs), indexed by edge index
+     */
+    int[] copyFirstHalves() {
+        int[] result = Arrays.copyOf(firstHalves, numEdges);
+        return result;
+    }
+
+    /**
+     * Copy the rank of each vertex. Invoke only after all vertices have been
+     * contracted.
+     *
+     * @return a new array of ranks, indexed by vertex index
+     */
+    int[] copyRanks() {
+        assert numCandidates == 0 : numCandidates;
+        int[] result = ranks.clone();
+        return result;
+    }
+
+    /**
+     * Copy the second half of each shortcut.
+     *
+     * @return a new array of edge indices (-1 for arcs), indexed by edge index
+     */
+    int[] copySecondHalves() {
+        int[] result = Arrays.copyOf(secondHalves, numEdges);
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Create a new edge and link it to its uncontracted endpoints.
+     *
+     * @param fromIndex the index of the originating vertex
+     * @param toIndex the index of the terminating vertex
+     * @param cost the cost of the edge (&ge;0)
+     * @param arcIndex the index of the underlying arc, or -1 for a shortcut
+     * @param firstHalf the index of the shortcut's first half, or -1 for an
+     * arc
+     * @param secondHalf the index of the shortcut's second half, or -1 for an
+     * arc
+     */
+    private void addEdge(int fromIndex, int toIndex, float cost, int arcIndex,
+            int firstHalf, int secondHalf) {
+        if (numEdges == edgeCosts.length) {
+            int capacity = 2 * numEdges;
+            this.edgeCosts = Arrays.copyOf(edgeCosts, capacity);
+            this.edgeArcs = Arrays.copyOf(edgeArcs, capacity);
+            this.edgeFromIndices = Arrays.copyOf(edgeFromIndices, capacity);
+            this.edgeToIndices = Arrays.copyOf(edgeToIndices, capacity);
+            this.firstHalves = Arrays.copyOf(firstHalves, capacity);
+            this.secondHalves = Arrays.copyOf(secondHalves, capacity);
+        }
+
+        int edgeIndex = numEdges;
+        edgeCosts[edgeIndex] = cost;
+        edgeArcs[edgeIndex] = arcIndex;
+        edgeFromIndices[edgeIndex] = fromIndex;
+        edgeToIndices[edgeIndex] = toIndex;
+        firstHalves[edgeIndex] = firstHalf;
+        secondHalves[edgeIndex] = secondHalf;
+        ++numEdges;
+
+        int count = numOut[fromIndex];
+        if (count == outEdges[fromIndex].length) {
+            outEdges[fromIndex] = Arrays.copyOf(outEdges[fromIndex], 2 * count);
+        }
+        outEdges[fromIndex][count] = edgeIndex;
+        numOut[fromIndex] = count + 1;
+
+        count = numIn[toIndex];
+        if (count == inEdges[toIndex].length) {
+            inEdges[toIndex] = Arrays.copyOf(inEdges[toIndex], 2 * count);
+        }
+        inEdges[toIndex][count] = edgeIndex;
+        numIn[toIndex] = count + 1;
+    }
+
+    /**
+     * Add a shortcut that bypasses a contracted vertex, unless its endpoints
+     * are already linked at least as cheaply. A costlier link is superseded.
+     *
+     * @param firstHalf the index of the edge into the contracted vertex
+     * @param secondHalf the index of the edge out of the contracted vertex
+     */
+    private void addShortcut(int firstHalf, int secondHalf) {
+        int fromIndex = edgeFromIndices[firstHalf];
+        int toIndex = edgeToIndices[secondHalf];
+        float cost = edgeCosts[firstHalf] + edgeCosts[secondHalf];
+
+        int[] outgoing = outEdges[fromIndex];
+        int count = numOut[fromIndex];
+        for (int position = 0; position < count; ++position) {
+            int edgeIndex = outgoing[position];
+            if (edgeToIndices[edgeIndex] == toIndex) {
+                if (edgeCosts[edgeIndex] <= cost) {
+                    return;
+                }
+                removeOutgoing(fromIndex, edgeIndex);
+                removeIncoming(toIndex, edgeIndex);
+                break;
+            }
+        }
+
+        addEdge(fromIndex, toIndex, cost, -1, firstHalf, secondHalf);
+    }
+
+    /**
+     * Unlink a newly contracted vertex from its uncontracted neighbors, and
+     * mark their priorities for recomputation.
+     *
+     * @param vertexIndex the index of the contracted vertex
+     */
+    private void detach(int vertexIndex) {
+        int newLevel = levels[vertexIndex] + 1;
+
+        int[] incoming = inEdges[vertexIndex];
+        for (int position = 0; position < numIn[vertexIndex]; ++position) {
+            int edgeIndex = incoming[position];
+            int neighbor = edgeFromIndices[edgeIndex];
+            removeOutgoing(neighbor, edgeIndex);
+            ++contractedNeighbors[neighbor];
+            levels[neighbor] = Math.max(levels[neighbor], newLevel);
+            isDirty[neighbor] = true;
+        }
+
+        int[] outgoing = outEdges[vertexIndex];
+        for (int position = 0; position < numOut[vertexIndex]; ++position) {
+            int edgeIndex = outgoing[position];
+            int neighbor = edgeToIndices[edgeIndex];
+            removeIncoming(neighbor, edgeIndex);
+            ++contractedNeighbors[neighbor];
+            levels[neighbor] = Math.max(levels[neighbor], newLevel);
+            isDirty[neighbor] = true;
+        }
+
+        inEdges[vertexIndex] = null;
+        outEdges[vertexIndex] = null;
+        numIn[vertexIndex] = 0;
+        numOut[vertexIndex] = 0;
+    }
+
+    /**
+     * Find the shortcuts needed to preserve route costs between the
+     * uncontracted neighbors of the specified vertex, should it be
+     * contracted. Neither the graph nor the ranks are modified.
+     *
+     * @param vertexIndex the index of the vertex
+     * @param maxSettled the maximum number of vertices to settle in each
+     * witness search (&gt;0)
+     * @param workspace scratch storage for witness searches (not null)
+     * @return a new array of edge-index pairs, one pair per shortcut
+     */
+    private int[] findShortcuts(
+            int vertexIndex, int maxSettled, NavWorkspace workspace) {
+        int[] incoming = inEdges[vertexIndex];
+        int[] outgoing = outEdges[vertexIndex];
+        int inCount = numIn[vertexIndex];
+        int outCount = numOut[vertexIndex];
+        int[] result = new int[2 * Math.min(inCount * outCount, 8)];
+        int resultLength = 0;
+
+        for (int inPosition = 0; inPosition < inCount; ++inPosition) {
+            int firstHalf = incoming[inPosition];
+            int fromIndex = edgeFromIndices[firstHalf];
+            float inCost = edgeCosts[firstHalf];
+
+            float maxOutCost = -1f;
+            for (int outPosition = 0; outPosition < outCount; ++outPosition) {
+                int secondHalf = outgoing[outPosition];
+                if (edgeToIndices[secondHalf] != fromIndex) {
+                    float outCost = edgeCosts[secondHalf];
+                    maxOutCost = Math.max(maxOutCost, outCost);
+                }
+            }
+            if (maxOutCost < 0f) {
+                continue;
+            }
+            witnessSearch(fromIndex, vertexIndex, inCost + maxOutCost,
+                    maxSettled, workspace);
+
+            for (int outPosition = 0; outPosition < outCount; ++outPosition) {
+                int secondHalf = outgoing[outPosition];
+                int toIndex = edgeToIndices[secondHalf];
+                float viaCost = inCost + edgeCosts[secondHalf];
+                if (toIndex != fromIndex
+                        && workspace.cost(toIndex) > viaCost) {
+                    if (resultLength == result.length) {
+                        result = Arrays.copyOf(result, 2 * resultLength);
+                    }
+                    result[resultLength] = firstHalf;
+                    result[resultLength + 1] = secondHalf;
+                    resultLength += 2;
+                }
+            }
+        }
+
+        if (resultLength < result.length) {
+            result = Arrays.copyOf(result, resultLength);
+        }
+
+        return result;
+    }
+
+    /**
+     * Test whether the specified vertex precedes all its uncontracted
+     * neighbors in contraction order.
+     *
+     * @param vertexIndex the index of the vertex to test
+     * @return true if it precedes them all, otherwise false
+     */
+    private boolean isLocalMinimum(int vertexIndex) {
+        int[] incoming = inEdges[vertexIndex];
+        for (int position = 0; position < numIn[vertexIndex]; ++position) {
+            int neighbor = edgeFromIndices[incoming[position]];
+            if (!precedes(vertexIndex, neighbor)) {
+                return false;
+            }
+        }
+
+        int[] outgoing = outEdges[vertexIndex];
+        for (int position = 0; position < numOut[vertexIndex]; ++position) {
+            int neighbor = edgeToIndices[outgoing[position]];
+            if (!precedes(vertexIndex, neighbor)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Test whether the first vertex precedes the second in contraction order.
+     * Ties are broken by scrambled index, to avoid spatial bias.
+     *
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the second vertex (&ne;index1)
+     * @return true if the first vertex precedes, otherwise false
+     */
+    private boolean precedes(int index1, int index2) {
+        int priority1 = priorities[index1];
+        int priority2 = priorities[index2];
+        if (priority1 < priority2) {
+            return true;
+        } else if (priority1 > priority2) {
+            return false;
+        } else if (index1 * 0x9e3779b1 < index2 * 0x9e3779b1) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Remove the specified edge from the incoming edges of a vertex.
+     *
+     * @param vertexIndex the index of the vertex
+     * @param edgeIndex the index of the edge to remove
+     */
+    private void removeIncoming(int vertexIndex, int edgeIndex) {
+        int[] incoming = inEdges[vertexIndex];
+        int last = numIn[vertexIndex] - 1;
+        for (int position = last; position >= 0; --position) {
+            if (incoming[position] == edgeIndex) {
+                incoming[position] = incoming[last];
+                numIn[vertexIndex] = last;
+                return;
+            }
+        }
+        assert false : edgeIndex;
+    }
+
+    /**
+     * Remove the specified edge from the outgoing edges of a vertex.
+     *
+     * @param vertexIndex the index of the vertex
+     * @param edgeIndex the index of the edge to remove
+     */
+    private void removeOutgoing(int vertexIndex, int edgeIndex) {
+        int[] outgoing = outEdges[vertexIndex];
+        int last = numOut[vertexIndex] - 1;
+        for (int position = last; position >= 0; --position) {
+            if (outgoing[position] == edgeIndex) {
+                outgoing[position] = outgoing[last];
+                numOut[vertexIndex] = last;
+                return;
+            }
+        }
+        assert false : edgeIndex;
+    }
+
+    /**
+     * Perform the specified phase on the first numVertices candidates or
+     * selected vertices, in parallel if there are enough of them.
+     *
+     * @param pool the pool to execute tasks, or null for none
+     * @param phase which phase to perform
+     * @param numVertices the number of vertices to process (&ge;0)
+     */
+    private void runPhase(ForkJoinPool pool, int phase, int numVertices) {
+        if (pool == null || numVertices < minParallel) {
+            contractRange(phase, 0, numVertices);
+        } else {
+            ContractionTask task
+                    = new ContractionTask(this, phase, 0, numVertices);
+            pool.invoke(task);
+        }
+    }
+
+    /**
+     * Select the candidates that precede all their uncontracted neighbors.
+     * No two selected vertices are adjacent.
+     */
+    private void selectIndependent() {
+        this.numSelected = 0;
+        for (int position = 0; position < numCandidates; ++position) {
+            int vertexIndex = candidates[position];
+            if (isLocalMinimum(vertexIndex)) {
+                selected[numSelected] = vertexIndex;
+                ++numSelected;
+            }
+        }
+        assert numSelected > 0 : numCandidates;
+    }
+
+    /**
+     * Search for cheap routes from the specified vertex that avoid contracted
+     * vertices and the specified vertex. Afterward, the workspace holds an
+     * upper bound on the cost to each vertex reached.
+     *
+     * @param startIndex the index of the starting vertex
+     * @param avoidIndex the index of the vertex to avoid
+     * @param maxCost the cost beyond which routes aren't of interest
+     * @param maxSettled the maximum number of vertices to settle (&gt;0)
+     * @param workspace scratch storage (not null, modified)
+     */
+    private void witnessSearch(int startIndex, int avoidIndex, float maxCost,
+            int maxSettled, NavWorkspace workspace) {
+        workspace.begin();
+        VertexQueue openQueue = workspace.getOpenQueue();
+        workspace.reach(startIndex, 0f, -1);
+        openQueue.offer(startIndex, 0f);
+
+        while (!openQueue.isEmpty()) {
+            int visitIndex = openQueue.remove();
+            float visitCost = workspace.cost(visitIndex);
+            if (visitCost > maxCost) {
+                break;
+            }
+            workspace.settle(visitIndex);
+            if (workspace.countSettled() >= maxSettled) {
+                break;
+            }
+
+            int[] outgoing = outEdges[visitIndex];
+            for (int position = 0; position < numOut[visitIndex];
+                    ++position) {
+                int edgeIndex = outgoing[position];
+                int toIndex = edgeToIndices[edgeIndex];
+                if (toIndex == avoidIndex || ranks[toIndex] >= 0
+                        || workspace.isSettled(toIndex)) {
+                    continue;
+                }
+                float cost = visitCost + edgeCosts[edgeIndex];
+                if (cost < workspace.cost(toIndex)) {
+                    workspace.reach(toIndex, cost, edgeIndex);
+                    openQueue.offer(toIndex, cost);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,613 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * A contraction hierarchy for a compiled snapshot: a ranking of its vertices
+ * plus shortcut edges that preserve route costs, so that each query needs
+ * only a small bidirectional search that climbs toward higher-ranked
+ * vertices. Suitable for large graphs whose costs never change, queried many
+ * times.
+ * <p>
+ * Preprocessing contracts independent sets of vertices in parallel. The
+ * result can be saved and loaded using {@link NavGraphFormat}. Once built,
+ * the hierarchy is immutable, so it may be queried from multiple threads,
+ * provided each thread uses its own workspaces.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ * @see NavRouter#setContractionHierarchyEnabled(boolean)
+ */
+public class ContractionHierarchy {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            ContractionHierarchy.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * snapshot that was preprocessed (not null, initialized by constructor)
+     */
+    final private CompiledNavGraph graph;
+    /**
+     * cost of each edge, indexed by edge index
+     */
+    final private float[] edgeCosts;
+    /**
+     * index of the underlying arc of each edge, or -1 for a shortcut, indexed
+     * by edge index
+     */
+    final private int[] edgeArcs;
+    /**
+     * index of the originating vertex of each edge, indexed by edge index
+     */
+    final private int[] edgeFromIndices;
+    /**
+     * index of the terminating vertex of each edge, indexed by edge index
+     */
+    final private int[] edgeToIndices;
+    /**
+     * index of the first half of each shortcut, or -1 for an arc, indexed by
+     * edge index
+     */
+    final private int[] firstHalves;
+    /**
+     * rank of each vertex (higher ranks were contracted later) indexed by
+     * vertex index
+     */
+    final private int[] ranks;
+    /**
+     * index of the second half of each shortcut, or -1 for an arc, indexed by
+     * edge index
+     */
+    final private int[] secondHalves;
+    /**
+     * indices of the edges that descend into each vertex, grouped by
+     * terminating vertex
+     */
+    private int[] downEdges;
+    /**
+     * position of each vertex's first descending edge in downEdges, indexed
+     * by vertex index, plus a final entry for the total
+     */
+    private int[] downOffsets;
+    /**
+     * indices of the edges that ascend from each vertex, grouped by
+     * originating vertex
+     */
+    private int[] upEdges;
+    /**
+     * position of each vertex's first ascending edge in upEdges, indexed by
+     * vertex index, plus a final entry for the total
+     */
+    private int[] upOffsets;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Preprocess the specified snapshot using the common fork/join pool.
+     *
+     * @param graph the snapshot to preprocess (not null, alias created)
+     */
+    public ContractionHierarchy(CompiledNavGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Preprocess the specified snapshot using the specified pool.
+     *
+     * @param graph the snapshot to preprocess (not null, alias created)
+     * @param pool the pool to execute witness searches (not null)
+     */
+    public ContractionHierarchy(CompiledNavGraph graph, ForkJoinPool pool) {
+        Validate.nonNull(graph, "graph");
+        Validate.nonNull(pool, "pool");
+
+        ContractionBuilder builder = new ContractionBuilder(graph);
+        builder.contractAll(pool);
+
+        this.graph = graph;
+        this.edgeCosts = builder.copyEdgeCosts();
+        this.edgeArcs = builder.copyEdgeArcs();
+        this.edgeFromIndices = builder.copyEdgeFromIndices();
+        this.edgeToIndices = builder.copyEdgeToIndices();
+        this.firstHalves = builder.copyFirstHalves();
+        this.ranks = builder.copyRanks();
+        this.secondHalves = builder.copySecondHalves();
+        groupEdges();
+    }
+
+    /**
+     * Instantiate a hierarchy from pre-validated data, such as from a file.
+     * The endpoints of each edge are derived from its arc or from its halves.
+     *
+     * @param graph the snapshot that was preprocessed (not null, alias
+     * created)
+     * @param ranks the rank of each vertex (not null, alias created)
+     * @param costs the cost of each edge (not null, alias created)
+     * @param arcs the underlying arc of each edge, or -1 for a shortcut (not
+     * null, alias created)
+     * @param firstHalves the first half of each shortcut, or -1 for an arc
+     * (not null, each half preceding its shortcut, alias created)
+     * @param secondHalves the second half of each shortcut, or -1 for an arc
+     * (not null, each half preceding its shortcut, alias created)
+     */
+    ContractionHierarchy(CompiledNavGraph graph, int[] ranks, float[] costs,
+            int[] arcs, int[] firstHalves, int[] secondHalves) {
+        assert ranks.length == graph.numVertices();
+        int numEdges = costs.length;
+        assert arcs.length == numEdges;
+        assert firstHalves.length == numEdges;
+        assert secondHalves.length == numEdges;
+
+        this.graph = graph;
+        this.edgeCosts = costs;
+        this.edgeArcs = arcs;
+        this.edgeFromIndices = new int[numEdges];
+        this.edgeToIndices = new int[numEdges];
+        this.firstHalves = firstHalves;
+        this.ranks = ranks;
+        this.secondHalves = secondHalves;
+
+        for (int edgeIndex = 0; edgeIndex < numEdges; ++edgeIndex) {
+            int arcIndex = arcs[edgeIndex];
+            if (arcIndex >= 0) {
+                edgeFromIndices[edgeIndex] = graph.getFromIndex(arcIndex);
+                edgeToIndices[edgeIndex] = graph.getToIndex(arcIndex);
+            } else {
+                int first = firstHalves[edgeIndex];
+                int second = secondHalves[edgeIndex];
+                assert first < edgeIndex && second < edgeIndex : edgeIndex;
+                edgeFromIndices[edgeIndex] = edgeFromIndices[first];
+                edgeToIndices[edgeIndex] = edgeToIndices[second];
+            }
+        }
+        groupEdges();
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Determine the total cost of the cheapest route from one vertex to
+     * another.
+     *
+     * @param startIndex the index of the starting vertex (&ge;0,
+     * &lt;numVertices)
+     * @param endIndex the index of the goal vertex (&ge;0, &lt;numVertices)
+     * @param forward scratch storage for the forward search (not null,
+     * capacity &ge;numVertices)
+     * @param backward scratch storage for the backward search (not null,
+     * capacity &ge;numVertices, distinct from forward)
+     * @return the cost (&ge;0, 0 if the vertices are the same) or
+     * {@link Float#POSITIVE_INFINITY} if the goal is unreachable
+     */
+    public float cost(int startIndex, int endIndex, NavWorkspace forward,
+            NavWorkspace backward) {
+        int numVertices = ranks.length;
+        Validate.inRange(startIndex, "start index", 0, numVertices - 1);
+        Validate.inRange(endIndex, "end index", 0, numVertices - 1);
+        validateWorkspaces(forward, backward);
+
+        int meetIndex = meet(startIndex, endIndex, forward, backward);
+        float result = Float.POSITIVE_INFINITY;
+        if (meetIndex >= 0) {
+            result = forward.cost(meetIndex) + backward.cost(meetIndex);
+        }
+
+        return result;
+    }
+
+    /**
+     * Count the shortcuts added during preprocessing.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countShortcuts() {
+        int result = edgeCosts.length - graph.numArcs();
+        return result;
+    }
+
+    /**
+     * Read the underlying arc of the specified edge.
+     *
+     * @param edgeIndex the index of the edge (&ge;0, &lt;numEdges)
+     * @return the index of the arc, or -1 for a shortcut
+     */
+    int edgeArc(int edgeIndex) {
+        int result = edgeArcs[edgeIndex];
+        return result;
+    }
+
+    /**
+     * Read the cost of the specified edge.
+     *
+     * @param edgeIndex the index of the edge (&ge;0, &lt;numEdges)
+     * @return the cost (&ge;0)
+     */
+    float edgeCost(int edgeIndex) {
+        float result = edgeCosts[edgeIndex];
+        return result;
+    }
+
+    /**
+     * Read the originating vertex of the specified edge.
+     *
+     * @param edgeIndex the index of the edge (&ge;0, &lt;numEdges)
+     * @return the vertex index (&ge;0)
+     */
+    int edgeFromIndex(int edgeIndex) {
+        int result = edgeFromIndices[edgeIndex];
+        return result;
+    }
+
+    /**
+     * Read the terminating vertex of the specified edge.
+     *
+     * @param edgeIndex the index of the edge (&ge;0, &lt;numEdges)
+     * @return the vertex index (&ge;0)
+     */
+    int edgeToIndex(int edgeIndex) {
+        int result = edgeToIndices[edgeIndex];
+        return result;
+    }
+
+    /**
+     * Read the first half of the specified edge.
+     *
+     * @param edgeIndex the index of the edge (&ge;0, &lt;numEdges)
+     * @return the index of the first half, or -1 for an arc
+     */
+    int firstHalf(int edgeIndex) {
+        int result = firstHalves[edgeIndex];
+        return result;
+    }
+
+    /**
+     * Access the snapshot that was preprocessed.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public CompiledNavGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Read the rank of the specified vertex, which indicates the order in
+     * which vertices were contracted.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;numVertices)
+     * @return the rank (&ge;0, &lt;numVertices)
+     */
+    public int getRank(int vertexIndex) {
+        Validate.inRange(vertexIndex, "vertex index", 0, ranks.length - 1);
+        int result = ranks[vertexIndex];
+        return result;
+    }
+
+    /**
+     * Count the edges in this hierarchy, including both arcs and shortcuts.
+     *
+     * @return the count (&ge;0)
+     */
+    int numEdges() {
+        int result = edgeCosts.length;
+        return result;
+    }
+
+    /**
+     * Read the second half of the specified edge.
+     *
+     * @param edgeIndex the index of the edge (&ge;0, &lt;numEdges)
+     * @return the index of the second half, or -1 for an arc
+     */
+    int secondHalf(int edgeIndex) {
+        int result = secondHalves[edgeIndex];
+        return result;
+    }
+
+    /**
+     * Find the shortest (or cheapest) route from one vertex to another,
+     * allocating scratch storage for the purpose.
+     *
+     * @param startVertex starting point (member, distinct from endVertex)
+     * @param endVertex goal (member, distinct from startVertex)
+     * @return a new list of arcs, or null if goal is unreachable
+     */
+    public List<NavArc> seek(NavVertex startVertex, NavVertex endVertex) {
+        int numVertices = ranks.length;
+        NavWorkspace forward = new NavWorkspace(numVertices);
+        NavWorkspace backward = new NavWorkspace(numVertices);
+        List<NavArc> result = seek(startVertex, endVertex, forward, backward);
+
+        return result;
+    }
+
+    /**
+     * Find the shortest (or cheapest) route from one vertex to another,
+     * using the specified scratch storage.
+     *
+     * @param startVertex starting point (member, distinct from endVertex)
+     * @param endVertex goal (member, distinct from startVertex)
+     * @param forward scratch storage for the forward search (not null,
+     * capacity &ge;numVertices)
+     * @param backward scratch storage for the backward search (not null,
+     * capacity &ge;numVertices, distinct from forward)
+     * @return a new list of arcs, or null if goal is unreachable
+     */
+    public List<NavArc> seek(NavVertex startVertex, NavVertex endVertex,
+            NavWorkspace forward, NavWorkspace backward) {
+        graph.validateMember(startVertex, "start vertex");
+        graph.validateMember(endVertex, "end vertex");
+        if (startVertex == endVertex) {
+            throw new IllegalArgumentException("vertices not distinct");
+        }
+        validateWorkspaces(forward, backward);
+
+        int startIndex = startVertex.getIndex();
+        int endIndex = endVertex.getIndex();
+        int meetIndex = meet(startIndex, endIndex, forward, backward);
+        if (meetIndex < 0) {
+            return null;
+        }
+
+        // Collect the ascending edges from the start to the meeting vertex.
+        int numUp = 0;
+        for (int vertexIndex = meetIndex; vertexIndex != startIndex;) {
+            int edgeIndex = forward.routeArc(vertexIndex);
+            vertexIndex = edgeFromIndices[edgeIndex];
+            ++numUp;
+        }
+        int[] upRoute = new int[numUp];
+        int vertexIndex = meetIndex;
+        for (int i = numUp - 1; i >= 0; --i) {
+            int edgeIndex = forward.routeArc(vertexIndex);
+            upRoute[i] = edgeIndex;
+            vertexIndex = edgeFromIndices[edgeIndex];
+        }
+
+        List<NavArc> result = new ArrayList<>(2 * numUp + 8);
+        for (int edgeIndex : upRoute) {
+            unpack(edgeIndex, result);
+        }
+
+        // Then the descending edges from the meeting vertex to the goal.
+        for (vertexIndex = meetIndex; vertexIndex != endIndex;) {
+            int edgeIndex = backward.routeArc(vertexIndex);
+            unpack(edgeIndex, result);
+            vertexIndex = edgeToIndices[edgeIndex];
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Group the edges into ascending edges (by originating vertex) and
+     * descending edges (by terminating vertex) for queries.
+     */
+    private void groupEdges() {
+        int numVertices = ranks.length;
+        int numEdges = edgeCosts.length;
+        this.upOffsets = new int[numVertices + 1];
+        this.downOffsets = new int[numVertices + 1];
+        for (int edgeIndex = 0; edgeIndex < numEdges; ++edgeIndex) {
+            int fromIndex = edgeFromIndices[edgeIndex];
+            int toIndex = edgeToIndices[edgeIndex];
+            if (ranks[toIndex] > ranks[fromIndex]) {
+                ++upOffsets[fromIndex + 1];
+            } else {
+                ++downOffsets[toIndex + 1];
+            }
+        }
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            upOffsets[vertexIndex + 1] += upOffsets[vertexIndex];
+            downOffsets[vertexIndex + 1] += downOffsets[vertexIndex];
+        }
+
+        this.upEdges = new int[upOffsets[numVertices]];
+        this.downEdges = new int[downOffsets[numVertices]];
+        int[] upCounts = new int[numVertices];
+        int[] downCounts = new int[numVertices];
+        for (int edgeIndex = 0; edgeIndex < numEdges; ++edgeIndex) {
+            int fromIndex = edgeFromIndices[edgeIndex];
+            int toIndex = edgeToIndices[edgeIndex];
+            if (ranks[toIndex] > ranks[fromIndex]) {
+                int position = upOffsets[fromIndex] + upCounts[fromIndex];
+                upEdges[position] = edgeIndex;
+                ++upCounts[fromIndex];
+            } else {
+                int position = downOffsets[toIndex] + downCounts[toIndex];
+                downEdges[position] = edgeIndex;
+                ++downCounts[toIndex];
+            }
+        }
+    }
+
+    /**
+     * Search upward from both ends until the cheapest meeting vertex is
+     * known. Afterward, the forward workspace holds the ascending route to
+     * each vertex it reached, and the backward workspace holds the descending
+     * route from each vertex it reached.
+     *
+     * @param startIndex the index of the starting vertex
+     * @param endIndex the index of the goal vertex
+     * @param forward scratch storage for the forward search (not null)
+     * @param backward scratch storage for the backward search (not null)
+     * @return the index of the meeting vertex, or -1 if the goal is
+     * unreachable
+     */
+    private int meet(int startIndex, int endIndex, NavWorkspace forward,
+            NavWorkspace backward) {
+        forward.begin();
+        VertexQueue forwardQueue = forward.getOpenQueue();
+        forward.reach(startIndex, 0f, -1);
+        forwardQueue.offer(startIndex, 0f);
+
+        backward.begin();
+        VertexQueue backwardQueue = backward.getOpenQueue();
+        backward.reach(endIndex, 0f, -1);
+        backwardQueue.offer(endIndex, 0f);
+
+        float bestCost = Float.POSITIVE_INFINITY;
+        int result = -1;
+        while (true) {
+            /*
+             * Each search stops once its cheapest open vertex can't
+             * improve on the best meeting found so far.
+             */
+            boolean forwardOpen = !forwardQueue.isEmpty()
+                    && forwardQueue.peekPriority() < bestCost;
+            boolean backwardOpen = !backwardQueue.isEmpty()
+                    && backwardQueue.peekPriority() < bestCost;
+            boolean stepForward;
+            if (forwardOpen && backwardOpen) {
+                stepForward = forwardQueue.peekPriority()
+                        <= backwardQueue.peekPriority();
+            } else if (forwardOpen || backwardOpen) {
+                stepForward = forwardOpen;
+            } else {
+                break;
+            }
+
+            NavWorkspace workspace;
+            NavWorkspace other;
+            int[] offsets;
+            int[] edges;
+            int[] farIndices;
+            if (stepForward) {
+                workspace = forward;
+                other = backward;
+                offsets = upOffsets;
+                edges = upEdges;
+                farIndices = edgeToIndices;
+            } else {
+                workspace = backward;
+                other = forward;
+                offsets = downOffsets;
+                edges = downEdges;
+                farIndices = edgeFromIndices;
+            }
+
+            int visitIndex = workspace.getOpenQueue().remove();
+            float visitCost = workspace.cost(visitIndex);
+            workspace.settle(visitIndex);
+            if (other.isReached(visitIndex)) {
+                float cost = visitCost + other.cost(visitIndex);
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    result = visitIndex;
+                }
+            }
+
+            // Relax each edge that climbs from the current vertex.
+            int end = offsets[visitIndex + 1];
+            for (int position = offsets[visitIndex]; position < end;
+                    ++position) {
+                int edgeIndex = edges[position];
+                int farIndex = farIndices[edgeIndex];
+                if (workspace.isSettled(farIndex)) {
+                    continue;
+                }
+                float cost = visitCost + edgeCosts[edgeIndex];
+                if (cost < workspace.cost(farIndex)) {
+                    workspace.reach(farIndex, cost, edgeIndex);
+                    workspace.getOpenQueue().offer(farIndex, cost);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Append the arcs represented by the specified edge to a list, expanding
+     * shortcuts with an explicit stack, since they may be nested deeply.
+     *
+     * @param edgeIndex the index of the edge to expand
+     * @param storeResult the list to append to (not null, modified)
+     */
+    private void unpack(int edgeIndex, List<NavArc> storeResult) {
+        int[] stack = new int[16];
+        stack[0] = edgeIndex;
+        int stackSize = 1;
+        while (stackSize > 0) {
+            --stackSize;
+            int topIndex = stack[stackSize];
+            int arcIndex = edgeArcs[topIndex];
+            if (arcIndex >= 0) {
+                NavArc arc = graph.getArc(arcIndex);
+                storeResult.add(arc);
+                continue;
+            }
+
+            if (stackSize + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, 2 * stack.length);
+            }
+            // Push the 2nd half first, so the first half is expanded first.
+            stack[stackSize] = secondHalves[topIndex];
+            stack[stackSize + 1] = firstHalves[topIndex];
+            stackSize += 2;
+        }
+    }
+
+    /**
+     * Verify that a pair of workspaces (used as method arguments) are
+     * distinct and large enough for the snapshot.
+     *
+     * @param forward the workspace for the forward search
+     * @param backward the workspace for the backward search
+     */
+    private void validateWorkspaces(
+            NavWorkspace forward, NavWorkspace backward) {
+        Validate.nonNull(forward, "forward workspace");
+        Validate.nonNull(backward, "backward workspace");
+        if (forward == backward) {
+            throw new IllegalArgumentException("workspaces not distinct");
+        }
+
+        int numVertices = ranks.length;
+        int capacity = Math.min(forward.getCapacity(), backward.getCapacity());
+        if (capacity < numVertices) {
+            String message = String.format(
+                    "Workspace has capacity %d, but snapshot has %d vertices.",
+                    capacity, numVertices);
+            throw new IllegalArgumentException(message);
+        }
+    }
+}
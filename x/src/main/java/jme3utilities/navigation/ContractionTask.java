@@ -0,0 +1,121 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Logger;
+
+/**
+ * Fork/join task to perform one phase of contraction on a range of vertices,
+ * splitting the range until each task handles a moderate number of
+ * vertices.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class ContractionTask extends RecursiveAction {
+    // *************************************************************************
+    // constants
+
+    /**
+     * maximum number of vertices handled by a task without splitting, small
+     * because each vertex may require several witness searches
+     */
+    final private static int maxVerticesPerTask = 32;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            ContractionTask.class.getName());
+    /**
+     * serialization version, to avoid a lint warning
+     */
+    final private static long serialVersionUID = 1L;
+    // *************************************************************************
+    // fields
+
+    /**
+     * builder performing the contraction (not null, initialized by
+     * constructor)
+     */
+    final private ContractionBuilder builder;
+    /**
+     * position of the first vertex to process (initialized by constructor)
+     */
+    final private int firstVertex;
+    /**
+     * position just past the last vertex to process (initialized by
+     * constructor)
+     */
+    final private int endVertex;
+    /**
+     * which phase to perform (initialized by constructor)
+     */
+    final private int phase;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a task for the specified phase and range of vertices.
+     *
+     * @param builder the builder performing the contraction (not null, alias
+     * created)
+     * @param phase which phase to perform
+     * @param firstVertex the position of the first vertex to process (&ge;0)
+     * @param endVertex the position just past the last vertex to process
+     * (&gt;firstVertex)
+     */
+    ContractionTask(ContractionBuilder builder, int phase, int firstVertex,
+            int endVertex) {
+        assert builder != null;
+        assert firstVertex >= 0 : firstVertex;
+        assert endVertex > firstVertex : endVertex;
+
+        this.builder = builder;
+        this.phase = phase;
+        this.firstVertex = firstVertex;
+        this.endVertex = endVertex;
+    }
+    // *************************************************************************
+    // RecursiveAction methods
+
+    /**
+     * Process the vertices, forking subtasks if there are many.
+     */
+    @Override
+    protected void compute() {
+        if (endVertex - firstVertex <= maxVerticesPerTask) {
+            builder.contractRange(phase, firstVertex, endVertex);
+        } else {
+            int middle = (firstVertex + endVertex) >>> 1;
+            ContractionTask low = new ContractionTask(
+                    builder, phase, firstVertex, middle);
+            ContractionTask high = new ContractionTask(
+                    builder, phase, middle, endVertex);
+            invokeAll(low, high);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * An immutable A* heuristic based on the straight-line distance between vertex
+ * locations. It's admissible if no arc costs less than its offset length
+ * multiplied by the scale factor.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class DistanceHeuristic implements NavHeuristic {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            DistanceHeuristic.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * minimum cost per unit of distance (&ge;0, initialized by constructor)
+     */
+    final private float costPerUnit;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a heuristic for graphs in which arc costs are lengths.
+     */
+    public DistanceHeuristic() {
+        this.costPerUnit = 1f;
+    }
+
+    /**
+     * Instantiate a heuristic with the specified scale factor.
+     *
+     * @param costPerUnit the minimum cost per unit of distance (&ge;0)
+     */
+    public DistanceHeuristic(float costPerUnit) {
+        Validate.nonNegative(costPerUnit, "cost per unit");
+        this.costPerUnit = costPerUnit;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Read the scale factor.
+     *
+     * @return the minimum cost per unit of distance (&ge;0)
+     */
+    public float getCostPerUnit() {
+        assert costPerUnit >= 0f : costPerUnit;
+        return costPerUnit;
+    }
+    // *************************************************************************
+    // NavHeuristic methods
+
+    /**
+     * Estimate the total cost of the cheapest route from one vertex to another.
+     *
+     * @param fromVertex the starting vertex (not null, unaffected)
+     * @param goalVertex the goal vertex (not null, unaffected)
+     * @return the estimated cost (&ge;0)
+     */
+    @Override
+    public float estimateCost(NavVertex fromVertex, NavVertex goalVertex) {
+        float distance = fromVertex.distance(goalVertex);
+        float result = costPerUnit * distance;
+
+        assert result >= 0f : result;
+        return result;
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * Precomputed costs and first arcs of the cheapest routes between every pair
+ * of vertices in an immutable snapshot of a navigation graph. Once built, a
+ * route is found in time proportional to its length. Memory grows with the
+ * square of the vertex count, so tables are intended for small graphs of a
+ * few hundred vertices. Built in parallel, using one reverse search per
+ * vertex. Thread-safe once constructed.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class DistanceTable {
+    // *************************************************************************
+    // constants
+
+    /**
+     * maximum number of vertices for which a table can be built
+     */
+    final public static int maxVertices = 46340;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            DistanceTable.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * snapshot that was tabulated (not null, initialized by constructor)
+     */
+    final private CompiledNavGraph graph;
+    /**
+     * total cost of the cheapest route between each pair of vertices, or
+     * {@link Float#POSITIVE_INFINITY} if none, indexed by (toIndex *
+     * numVertices + fromIndex)
+     */
+    final private float[] costs;
+    /**
+     * index of the first arc of the cheapest route between each pair of
+     * vertices, or -1 if none, indexed like the costs
+     */
+    final private int[] firstArcs;
+    /**
+     * number of vertices in the snapshot (&ge;0)
+     */
+    final private int numVertices;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Tabulate the specified snapshot using the common fork/join pool.
+     *
+     * @param graph the snapshot to tabulate (not null, at most
+     * {@link #maxVertices} vertices, alias created)
+     */
+    public DistanceTable(CompiledNavGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Tabulate the specified snapshot using the specified pool.
+     *
+     * @param graph the snapshot to tabulate (not null, at most
+     * {@link #maxVertices} vertices, alias created)
+     * @param pool the pool to execute searches (not null)
+     */
+    public DistanceTable(CompiledNavGraph graph, ForkJoinPool pool) {
+        Validate.nonNull(graph, "graph");
+        Validate.nonNull(pool, "pool");
+        this.numVertices = graph.numVertices();
+        Validate.inRange(numVertices, "number of vertices", 0, maxVertices);
+
+        this.graph = graph;
+        int tableSize = numVertices * numVertices;
+        this.costs = new float[tableSize];
+        this.firstArcs = new int[tableSize];
+
+        if (numVertices > 0) {
+            DistanceTableTask task
+                    = new DistanceTableTask(this, 0, numVertices);
+            pool.invoke(task);
+        }
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Look up the total cost of the cheapest route from one vertex to another.
+     *
+     * @param fromVertex the starting point (member)
+     * @param toVertex the goal (member)
+     * @return the cost (&ge;0, 0 if the vertices are the same) or
+     * {@link Float#POSITIVE_INFINITY} if the goal is unreachable
+     */
+    public float cost(NavVertex fromVertex, NavVertex toVertex) {
+        graph.validateMember(fromVertex, "from vertex");
+        graph.validateMember(toVertex, "to vertex");
+
+        int tableIndex = tableIndex(fromVertex.getIndex(), toVertex.getIndex());
+        float result = costs[tableIndex];
+
+        return result;
+    }
+
+    /**
+     * Access the snapshot that was tabulated.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public CompiledNavGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Look up the first arc of the cheapest route from one vertex to another.
+     *
+     * @param fromVertex the starting point (member)
+     * @param toVertex the goal (member)
+     * @return a pre-existing arc, or null if the vertices are the same or the
+     * goal is unreachable
+     */
+    public NavArc nextArc(NavVertex fromVertex, NavVertex toVertex) {
+        graph.validateMember(fromVertex, "from vertex");
+        graph.validateMember(toVertex, "to vertex");
+
+        int tableIndex = tableIndex(fromVertex.getIndex(), toVertex.getIndex());
+        int arcIndex = firstArcs[tableIndex];
+        NavArc result = null;
+        if (arcIndex >= 0) {
+            result = graph.getArc(arcIndex);
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the cheapest route from one vertex to another, in time
+     * proportional to the length of the route.
+     *
+     * @param startVertex starting point (member, distinct from endVertex)
+     * @param endVertex goal (member, distinct from startVertex)
+     * @return a new list of arcs, or null if goal is unreachable
+     */
+    public List<NavArc> seek(NavVertex startVertex, NavVertex endVertex) {
+        graph.validateMember(startVertex, "start vertex");
+        graph.validateMember(endVertex, "end vertex");
+        if (startVertex == endVertex) {
+            throw new IllegalArgumentException("vertices not distinct");
+        }
+
+        int endIndex = endVertex.getIndex();
+        int rowStart = endIndex * numVertices;
+        int vertexIndex = startVertex.getIndex();
+        if (firstArcs[rowStart + vertexIndex] < 0) {
+            return null;
+        }
+
+        List<NavArc> result = new ArrayList<>(8);
+        while (vertexIndex != endIndex) {
+            int arcIndex = firstArcs[rowStart + vertexIndex];
+            assert arcIndex >= 0 : arcIndex;
+            result.add(graph.getArc(arcIndex));
+            vertexIndex = graph.getToIndex(arcIndex);
+        }
+
+        return result;
+    }
+
+    /**
+     * Tabulate the routes to the specified range of goal vertices. Invoked
+     * only by fork/join tasks during construction.
+     *
+     * @param firstGoal the index of the first goal (&ge;0)
+     * @param endGoal the index just past the last goal (&gt;firstGoal,
+     * &le;numVertices)
+     */
+    void tabulate(int firstGoal, int endGoal) {
+        NavWorkspace workspace = new NavWorkspace(numVertices);
+        for (int goalIndex = firstGoal; goalIndex < endGoal; ++goalIndex) {
+            graph.reverseTotalCosts(goalIndex, workspace);
+
+            int rowStart = goalIndex * numVertices;
+            for (int fromIndex = 0; fromIndex < numVertices; ++fromIndex) {
+                costs[rowStart + fromIndex] = workspace.cost(fromIndex);
+                firstArcs[rowStart + fromIndex] = workspace.routeArc(fromIndex);
+            }
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Calculate the position of the specified vertex pair in the tables.
+     *
+     * @param fromIndex the index of the starting vertex
+     * @param toIndex the index of the goal vertex
+     * @return the position (&ge;0)
+     */
+    private int tableIndex(int fromIndex, int toIndex) {
+        int result = toIndex * numVertices + fromIndex;
+        return result;
+    }
+}
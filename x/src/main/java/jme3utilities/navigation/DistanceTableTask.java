@@ -0,0 +1,110 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Logger;
+
+/**
+ * Fork/join task to tabulate the routes to a range of goal vertices,
+ * splitting the range until each task handles a small number of goals.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class DistanceTableTask extends RecursiveAction {
+    // *************************************************************************
+    // constants
+
+    /**
+     * maximum number of goals handled by a task without splitting, to
+     * amortize the allocation of its workspace
+     */
+    final private static int maxGoalsPerTask = 16;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            DistanceTableTask.class.getName());
+    /**
+     * serialization version, to avoid a lint warning
+     */
+    final private static long serialVersionUID = 1L;
+    // *************************************************************************
+    // fields
+
+    /**
+     * table being built (not null, initialized by constructor)
+     */
+    final private DistanceTable table;
+    /**
+     * index of the first goal to tabulate (initialized by constructor)
+     */
+    final private int firstGoal;
+    /**
+     * index just past the last goal to tabulate (initialized by constructor)
+     */
+    final private int endGoal;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a task for the specified range of goals.
+     *
+     * @param table the table being built (not null, alias created)
+     * @param firstGoal the index of the first goal to tabulate (&ge;0)
+     * @param endGoal the index just past the last goal to tabulate
+     * (&gt;firstGoal)
+     */
+    DistanceTableTask(DistanceTable table, int firstGoal, int endGoal) {
+        assert table != null;
+        assert firstGoal >= 0 : firstGoal;
+        assert endGoal > firstGoal : endGoal;
+
+        this.table = table;
+        this.firstGoal = firstGoal;
+        this.endGoal = endGoal;
+    }
+    // *************************************************************************
+    // RecursiveAction methods
+
+    /**
+     * Tabulate the routes, forking subtasks if there are many goals.
+     */
+    @Override
+    protected void compute() {
+        if (endGoal - firstGoal <= maxGoalsPerTask) {
+            table.tabulate(firstGoal, endGoal);
+        } else {
+            int middle = (firstGoal + endGoal) >>> 1;
+            DistanceTableTask low
+                    = new DistanceTableTask(table, firstGoal, middle);
+            DistanceTableTask high
+                    = new DistanceTableTask(table, middle, endGoal);
+            invokeAll(low, high);
+        }
+    }
+}
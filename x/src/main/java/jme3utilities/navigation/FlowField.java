@@ -0,0 +1,219 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * The cheapest cost (or length) to reach a specific goal from every vertex of
+ * a navigation graph, together with the first arc of each cheapest route.
+ * Agents heading for the goal can step greedily, without searching.
+ * <p>
+ * A field is obtained from
+ * {@link FlowFieldCache#getField(jme3utilities.navigation.NavVertex)} and
+ * remains valid until a modification of the graph could change its contents.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class FlowField {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            FlowField.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * true until the field is invalidated by a modification of its graph
+     */
+    private boolean isValid = true;
+    /**
+     * cheapest cost to the goal from each vertex, indexed by vertex index
+     * (+Infinity if the goal is unreachable)
+     */
+    final private float[] costs;
+    /**
+     * first arc of the cheapest route from each vertex, indexed by vertex
+     * index (null for the goal and for vertices that can't reach it)
+     */
+    final private NavArc[] nextArcs;
+    /**
+     * goal vertex (not null, initialized by constructor)
+     */
+    final private NavVertex goal;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a field for the specified goal.
+     *
+     * @param goal the goal vertex (not null, alias created)
+     * @param costs the cost to the goal from each vertex (not null, alias
+     * created)
+     * @param nextArcs the first arc toward the goal from each vertex (not
+     * null, same length as costs, alias created)
+     */
+    FlowField(NavVertex goal, float[] costs, NavArc[] nextArcs) {
+        assert goal != null;
+        assert costs.length == nextArcs.length;
+
+        this.goal = goal;
+        this.costs = costs;
+        this.nextArcs = nextArcs;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Determine the cost (or length) of the cheapest route from the specified
+     * vertex to the goal.
+     *
+     * @param vertex the starting vertex (not null, unaffected)
+     * @return the cost (&ge;0) or {@link Float#POSITIVE_INFINITY} if the goal
+     * is unreachable
+     */
+    public float costToGo(NavVertex vertex) {
+        int index = vertex.getIndex();
+        float result;
+        if (index < costs.length) {
+            result = costs[index];
+        } else { // vertex added after the field was computed
+            result = Float.POSITIVE_INFINITY;
+        }
+
+        return result;
+    }
+
+    /**
+     * Access the goal vertex.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public NavVertex getGoal() {
+        assert goal != null;
+        return goal;
+    }
+
+    /**
+     * Mark this field as obsolete.
+     */
+    void invalidate() {
+        this.isValid = false;
+    }
+
+    /**
+     * Test whether adding an arc, or reducing its cost, would make this field
+     * obsolete.
+     *
+     * @param arc the arc (not null)
+     * @param cost the new cost of the arc (&ge;0)
+     * @return true if the arc offers a cheaper route, otherwise false
+     */
+    boolean isImprovedBy(NavArc arc, float cost) {
+        float costVia = costToGo(arc.getToVertex()) + cost;
+        float oldCost = costToGo(arc.getFromVertex());
+        if (costVia < oldCost) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Test whether the specified arc is the first arc of a cheapest route in
+     * this field, in which case removing it or increasing its cost would make
+     * the field obsolete.
+     *
+     * @param arc the arc (not null)
+     * @return true if the arc is used, otherwise false
+     */
+    boolean isUsing(NavArc arc) {
+        NavArc next = nextArc(arc.getFromVertex());
+        if (arc.equals(next)) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Test whether this field still reflects its graph.
+     *
+     * @return true if valid, otherwise false
+     */
+    public boolean isValid() {
+        return isValid;
+    }
+
+    /**
+     * Enumerate the arcs of the cheapest route from the specified vertex to
+     * the goal.
+     *
+     * @param startVertex the starting vertex (not null, unaffected)
+     * @return a new list of arcs (empty if the start is the goal) or null if
+     * the goal is unreachable
+     */
+    public List<NavArc> listRoute(NavVertex startVertex) {
+        if (costToGo(startVertex) == Float.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        List<NavArc> result = new ArrayList<>(10);
+        NavVertex vertex = startVertex;
+        while (vertex != goal) {
+            NavArc arc = nextArcs[vertex.getIndex()];
+            result.add(arc);
+            vertex = arc.getToVertex();
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the first arc of the cheapest route from the specified vertex to
+     * the goal.
+     *
+     * @param vertex the starting vertex (not null, unaffected)
+     * @return the pre-existing arc, or null if the vertex is the goal or can't
+     * reach it
+     */
+    public NavArc nextArc(NavVertex vertex) {
+        int index = vertex.getIndex();
+        NavArc result = null;
+        if (index < nextArcs.length) {
+            result = nextArcs[index];
+        }
+
+        return result;
+    }
+}
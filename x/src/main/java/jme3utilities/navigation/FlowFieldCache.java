@@ -0,0 +1,259 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Least-recently-used cache of flow fields for a navigation graph, which
+ * discards only those fields that are affected by each modification of the
+ * graph.
+ * <p>
+ * Instances are created by {@link NavRouter#createFlowFieldCache(int)}, which
+ * registers them as listeners of the graph.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class FlowFieldCache implements NavGraphListener {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            FlowFieldCache.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * maximum number of fields to retain (&ge;1, set by constructor)
+     */
+    final private int capacity;
+    /**
+     * cached fields, in access order, least recent first
+     */
+    final private Map<NavVertex, FlowField> fields;
+    /**
+     * graph that owns this cache (not null, set by constructor)
+     */
+    final private NavGraph graph;
+    /**
+     * scratch storage for computing fields, or null if not yet needed
+     */
+    private NavWorkspace workspace = null;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an empty cache for the specified graph.
+     *
+     * @param graph the graph that owns the cache (not null, alias created)
+     * @param capacity the maximum number of fields to retain (&ge;1)
+     */
+    FlowFieldCache(NavGraph graph, final int capacity) {
+        assert graph != null;
+        assert capacity >= 1 : capacity;
+
+        this.graph = graph;
+        this.capacity = capacity;
+        this.fields = new LinkedHashMap<NavVertex, FlowField>(
+                2 * capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<NavVertex, FlowField> eldest) {
+                if (size() > capacity) {
+                    eldest.getValue().invalidate();
+                    return true;
+                } else {
+                    return false;
+                }
+            }
+        };
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Invalidate and discard all cached fields.
+     */
+    public void clear() {
+        for (FlowField field : fields.values()) {
+            field.invalidate();
+        }
+        fields.clear();
+    }
+
+    /**
+     * Read the maximum number of fields retained.
+     *
+     * @return the count (&ge;1)
+     */
+    public int getCapacity() {
+        assert capacity >= 1 : capacity;
+        return capacity;
+    }
+
+    /**
+     * Access the flow field for the specified goal, which gives the cheapest
+     * cost and first arc toward the goal from every vertex. The field is
+     * computed (using one reverse search) if it isn't cached.
+     *
+     * @param goal the goal vertex (member of the graph, unaffected)
+     * @return a valid field (not null)
+     */
+    public FlowField getField(NavVertex goal) {
+        graph.validateMember(goal, "goal");
+
+        FlowField result = fields.get(goal);
+        if (result == null) {
+            result = computeField(goal);
+            fields.put(goal, result);
+        }
+
+        assert result.isValid();
+        return result;
+    }
+
+    /**
+     * Count the cached fields.
+     *
+     * @return the count (&ge;0, &le;capacity)
+     */
+    public int size() {
+        int result = fields.size();
+        return result;
+    }
+    // *************************************************************************
+    // NavGraphListener methods
+
+    /**
+     * Discard fields in which the new arc offers a cheaper route.
+     *
+     * @param arc the new arc (not null)
+     * @param cost the cost (or length) of the new arc (&ge;0)
+     */
+    @Override
+    public void arcAdded(NavArc arc, float cost) {
+        Iterator<FlowField> iterator = fields.values().iterator();
+        while (iterator.hasNext()) {
+            FlowField field = iterator.next();
+            if (field.isImprovedBy(arc, cost)) {
+                field.invalidate();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Discard fields in which a cheapest route used the removed arc.
+     *
+     * @param arc the removed arc (not null)
+     * @param oldCost the cost (or length) the arc had (&ge;0)
+     */
+    @Override
+    public void arcRemoved(NavArc arc, float oldCost) {
+        Iterator<FlowField> iterator = fields.values().iterator();
+        while (iterator.hasNext()) {
+            FlowField field = iterator.next();
+            if (field.isUsing(arc)) {
+                field.invalidate();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Discard fields affected by a change in the cost of an arc: a reduction
+     * matters only if it offers a cheaper route, an increase only if a
+     * cheapest route uses the arc.
+     *
+     * @param arc the modified arc (not null)
+     * @param oldCost the previous cost (or length) of the arc (&ge;0)
+     * @param newCost the new cost (or length) of the arc (&ge;0)
+     */
+    @Override
+    public void costChanged(NavArc arc, float oldCost, float newCost) {
+        Iterator<FlowField> iterator = fields.values().iterator();
+        while (iterator.hasNext()) {
+            FlowField field = iterator.next();
+            boolean isAffected;
+            if (newCost < oldCost) {
+                isAffected = field.isImprovedBy(arc, newCost);
+            } else {
+                isAffected = field.isUsing(arc);
+            }
+            if (isAffected) {
+                field.invalidate();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * A new vertex has no arcs, so it can't affect any field.
+     *
+     * @param vertex the new vertex (not null)
+     */
+    @Override
+    public void vertexAdded(NavVertex vertex) {
+        // do nothing
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Compute the flow field for the specified goal.
+     *
+     * @param goal the goal vertex (member, unaffected)
+     * @return a new field
+     */
+    private FlowField computeField(NavVertex goal) {
+        CompiledNavGraph snapshot = graph.compile();
+        int numVertices = snapshot.numVertices();
+        if (workspace == null || workspace.getCapacity() < numVertices) {
+            this.workspace = new NavWorkspace(numVertices);
+        }
+        snapshot.reverseTotalCosts(goal.getIndex(), workspace);
+
+        float[] costs = new float[numVertices];
+        NavArc[] nextArcs = new NavArc[numVertices];
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            costs[vertexIndex] = workspace.cost(vertexIndex);
+            int arcIndex = workspace.routeArc(vertexIndex);
+            if (arcIndex >= 0) {
+                nextArcs[vertexIndex] = snapshot.getArc(arcIndex);
+            }
+        }
+        FlowField result = new FlowField(goal, costs, nextArcs);
+
+        return result;
+    }
+}
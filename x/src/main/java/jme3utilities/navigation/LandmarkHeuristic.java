@@ -0,0 +1,286 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * An immutable A* heuristic based on precomputed costs to and from a few
+ * landmark vertices (the ALT technique: A*, landmarks, and the triangle
+ * inequality). For any landmark L, the cheapest route from v to t costs at
+ * least d(L,t) - d(L,v) and at least d(v,L) - d(t,L). The estimate is the
+ * largest such bound.
+ * <p>
+ * Unlike straight-line distances, these bounds account for walls and
+ * detours, and for costs that aren't lengths (such as travel times). That
+ * typically reduces the number of vertices expanded by an order of
+ * magnitude. The heuristic is admissible and consistent for the snapshot it
+ * was built from, and for later snapshots of the same graph in which no cost
+ * has decreased and no arc has been added.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class LandmarkHeuristic implements NavHeuristic {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            LandmarkHeuristic.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * snapshot from which the costs were computed (not null, initialized by
+     * constructor)
+     */
+    final private CompiledNavGraph graph;
+    /**
+     * cost from each landmark to each vertex, indexed by
+     * landmark*numVertices + vertexIndex
+     */
+    final private float[] fromLandmarks;
+    /**
+     * cost from each vertex to each landmark, indexed by
+     * landmark*numVertices + vertexIndex
+     */
+    final private float[] toLandmarks;
+    /**
+     * number of vertices in the snapshot (&ge;0)
+     */
+    final private int numVertices;
+    /**
+     * vertex index of each landmark
+     */
+    final private int[] landmarks;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a heuristic for the specified snapshot, choosing landmarks
+     * by farthest-point selection: each new landmark is the vertex whose
+     * cost from the nearest existing landmark is greatest, with unreachable
+     * vertices preferred, so that the landmarks end up on the periphery of
+     * the graph.
+     *
+     * @param graph the snapshot to use (not null, alias created)
+     * @param numLandmarks the desired number of landmarks (&gt;0, typically
+     * 4 to 16)
+     */
+    public LandmarkHeuristic(CompiledNavGraph graph, int numLandmarks) {
+        Validate.nonNull(graph, "graph");
+        Validate.positive(numLandmarks, "number of landmarks");
+
+        this.graph = graph;
+        this.numVertices = graph.numVertices();
+        int numToChoose = Math.min(numLandmarks, numVertices);
+        this.landmarks = new int[numToChoose];
+        this.fromLandmarks = new float[numToChoose * numVertices];
+        this.toLandmarks = new float[numToChoose * numVertices];
+        if (numToChoose == 0) {
+            return;
+        }
+
+        NavWorkspace workspace = new NavWorkspace(numVertices);
+        float[] nearest = new float[numVertices];
+        /*
+         * Seed the selection with the vertex farthest from vertex 0,
+         * which is likely to lie on the periphery.
+         */
+        graph.forwardTotalCosts(0, workspace);
+        int candidate = 0;
+        float farthest = 0f;
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            float cost = workspace.cost(vertexIndex);
+            if (cost < Float.POSITIVE_INFINITY && cost > farthest) {
+                farthest = cost;
+                candidate = vertexIndex;
+            }
+        }
+
+        for (int landmark = 0; landmark < numToChoose; ++landmark) {
+            landmarks[landmark] = candidate;
+            tabulate(landmark, workspace);
+
+            int base = landmark * numVertices;
+            candidate = 0;
+            float best = -1f;
+            for (int vertexIndex = 0; vertexIndex < numVertices;
+                    ++vertexIndex) {
+                float cost = Math.min(fromLandmarks[base + vertexIndex],
+                        Float.MAX_VALUE);
+                if (landmark == 0 || cost < nearest[vertexIndex]) {
+                    nearest[vertexIndex] = cost;
+                }
+                if (nearest[vertexIndex] > best) {
+                    best = nearest[vertexIndex];
+                    candidate = vertexIndex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Instantiate a heuristic for the specified snapshot using the specified
+     * landmarks.
+     *
+     * @param graph the snapshot to use (not null, alias created)
+     * @param landmarkVertices the landmarks (not null, not empty, all members
+     * of the snapshot, unaffected)
+     */
+    public LandmarkHeuristic(
+            CompiledNavGraph graph, NavVertex... landmarkVertices) {
+        Validate.nonNull(graph, "graph");
+        Validate.nonEmpty(landmarkVertices, "landmark vertices");
+        for (NavVertex vertex : landmarkVertices) {
+            graph.validateMember(vertex, "landmark vertex");
+        }
+
+        this.graph = graph;
+        this.numVertices = graph.numVertices();
+        int numLandmarks = landmarkVertices.length;
+        this.landmarks = new int[numLandmarks];
+        this.fromLandmarks = new float[numLandmarks * numVertices];
+        this.toLandmarks = new float[numLandmarks * numVertices];
+
+        NavWorkspace workspace = new NavWorkspace(numVertices);
+        for (int landmark = 0; landmark < numLandmarks; ++landmark) {
+            landmarks[landmark] = landmarkVertices[landmark].getIndex();
+            tabulate(landmark, workspace);
+        }
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Access the snapshot from which the costs were computed.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public CompiledNavGraph getGraph() {
+        assert graph != null;
+        return graph;
+    }
+
+    /**
+     * Access the indexed landmark.
+     *
+     * @param landmark which landmark (&ge;0, &lt;numLandmarks)
+     * @return the pre-existing member vertex
+     */
+    public NavVertex getLandmark(int landmark) {
+        Validate.inRange(landmark, "landmark", 0, landmarks.length - 1);
+
+        int vertexIndex = landmarks[landmark];
+        NavVertex result = graph.getVertex(vertexIndex);
+
+        return result;
+    }
+
+    /**
+     * Count the landmarks.
+     *
+     * @return the count (&ge;0)
+     */
+    public int numLandmarks() {
+        int result = landmarks.length;
+        return result;
+    }
+    // *************************************************************************
+    // NavHeuristic methods
+
+    /**
+     * Estimate the total cost of the cheapest route from one vertex to
+     * another, using the landmark bounds.
+     *
+     * @param fromVertex the starting vertex (member of the snapshot, not
+     * null, unaffected)
+     * @param goalVertex the goal vertex (member of the snapshot, not null,
+     * unaffected)
+     * @return the estimated cost (&ge;0) or {@link Float#POSITIVE_INFINITY} if
+     * the landmarks prove the goal unreachable
+     */
+    @Override
+    public float estimateCost(NavVertex fromVertex, NavVertex goalVertex) {
+        int fromIndex = fromVertex.getIndex();
+        int goalIndex = goalVertex.getIndex();
+        assert fromIndex < numVertices : fromIndex;
+        assert goalIndex < numVertices : goalIndex;
+
+        float result = 0f;
+        int numLandmarks = landmarks.length;
+        for (int base = 0; base < numLandmarks * numVertices;
+                base += numVertices) {
+            float lv = fromLandmarks[base + fromIndex];
+            float lt = fromLandmarks[base + goalIndex];
+            if (lv < Float.POSITIVE_INFINITY) {
+                if (lt == Float.POSITIVE_INFINITY) {
+                    return Float.POSITIVE_INFINITY; // else L->v->t
+                }
+                result = Math.max(result, lt - lv);
+            }
+
+            float vl = toLandmarks[base + fromIndex];
+            float tl = toLandmarks[base + goalIndex];
+            if (tl < Float.POSITIVE_INFINITY) {
+                if (vl == Float.POSITIVE_INFINITY) {
+                    return Float.POSITIVE_INFINITY; // else v->t->L
+                }
+                result = Math.max(result, vl - tl);
+            }
+        }
+
+        assert result >= 0f : result;
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Compute and store the costs to and from the indexed landmark.
+     *
+     * @param landmark which landmark (&ge;0, &lt;numLandmarks)
+     * @param workspace scratch storage (not null, capacity &ge;numVertices)
+     */
+    private void tabulate(int landmark, NavWorkspace workspace) {
+        int landmarkIndex = landmarks[landmark];
+        int base = landmark * numVertices;
+
+        graph.forwardTotalCosts(landmarkIndex, workspace);
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            fromLandmarks[base + vertexIndex] = workspace.cost(vertexIndex);
+        }
+
+        graph.reverseTotalCosts(landmarkIndex, workspace);
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            toLandmarks[base + vertexIndex] = workspace.cost(vertexIndex);
+        }
+    }
+}
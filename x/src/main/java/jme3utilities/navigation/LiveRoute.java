@@ -0,0 +1,577 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * The cheapest route from a (possibly moving) start to a fixed goal in a
+ * navigation graph, kept up to date by the D* Lite algorithm. After arcs are
+ * added, removed, or have their costs altered, only the affected part of the
+ * search is repaired, on the next query.
+ * <p>
+ * Route costs are compared first by cost and then by number of hops, which
+ * keeps the algorithm sound in the presence of zero-cost arcs. Queue keys are
+ * the standard D* Lite pair [min(g, rhs) + h + km, min(g, rhs)], with the hop
+ * count of min(g, rhs) as a final tie-breaker.
+ * <p>
+ * Instances are created by
+ * {@link NavRouter#createLiveRoute(jme3utilities.navigation.NavVertex,
+ * jme3utilities.navigation.NavVertex, jme3utilities.navigation.NavHeuristic)},
+ * which registers them as listeners. To stop the updates, pass the route to
+ * {@link NavGraph#removeListener(jme3utilities.navigation.NavGraphListener)}.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class LiveRoute implements NavGraphListener {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            LiveRoute.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * estimated cost to the goal from each vertex, indexed by vertex index
+     */
+    private float[] gCosts;
+    /**
+     * one-step lookahead cost to the goal from each vertex, indexed by vertex
+     * index
+     */
+    private float[] rhsCosts;
+    /**
+     * accumulated heuristic offset due to movements of the start
+     */
+    private float keyModifier = 0f;
+    /**
+     * estimated hop count to the goal from each vertex, indexed by vertex
+     * index (0 if the cost is infinite)
+     */
+    private int[] gHops;
+    /**
+     * number of vertices expanded since this route was created
+     */
+    private int numExpansions = 0;
+    /**
+     * one-step lookahead hop count to the goal from each vertex, indexed by
+     * vertex index (0 if the cost is infinite)
+     */
+    private int[] rhsHops;
+    /**
+     * graph being navigated (not null, set by constructor)
+     */
+    final private NavGraph graph;
+    /**
+     * estimator for remaining costs (not null, set by constructor)
+     */
+    final private NavHeuristic heuristic;
+    /**
+     * the current starting vertex (not null)
+     */
+    private NavVertex start;
+    /**
+     * the goal vertex (not null, set by constructor)
+     */
+    final private NavVertex goal;
+    /**
+     * inconsistent vertices, keyed by estimated route cost, then by cost to
+     * the goal, and then by hop count
+     */
+    final private VertexQueue openQueue;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a route between the specified member vertices.
+     *
+     * @param graph the graph to navigate (not null, alias created)
+     * @param start the starting vertex (member, alias created)
+     * @param goal the goal vertex (member, alias created)
+     * @param heuristic estimator for remaining costs (consistent, alias
+     * created) or null for none
+     */
+    LiveRoute(NavGraph graph, NavVertex start, NavVertex goal,
+            NavHeuristic heuristic) {
+        assert graph.contains(start) : start;
+        assert graph.contains(goal) : goal;
+
+        this.graph = graph;
+        this.start = start;
+        this.goal = goal;
+        if (heuristic == null) {
+            this.heuristic = new DistanceHeuristic(0f);
+        } else {
+            this.heuristic = heuristic;
+        }
+
+        int numVertices = graph.numVertices();
+        this.gCosts = new float[numVertices];
+        Arrays.fill(gCosts, Float.POSITIVE_INFINITY);
+        this.gHops = new int[numVertices];
+        this.rhsCosts = new float[numVertices];
+        Arrays.fill(rhsCosts, Float.POSITIVE_INFINITY);
+        this.rhsHops = new int[numVertices];
+        this.openQueue = new VertexQueue(numVertices);
+
+        int goalIndex = goal.getIndex();
+        rhsCosts[goalIndex] = 0f;
+        updateVertex(goalIndex);
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Determine the cost (or length) of the cheapest route from the start to
+     * the goal, repairing the search if needed.
+     *
+     * @return the cost (&ge;0) or {@link Float#POSITIVE_INFINITY} if the goal
+     * is unreachable
+     */
+    public float cost() {
+        computeShortestPath();
+        float result = gCosts[start.getIndex()];
+
+        return result;
+    }
+
+    /**
+     * Count the vertices expanded since this route was created, as a measure
+     * of the work done.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countExpansions() {
+        assert numExpansions >= 0 : numExpansions;
+        return numExpansions;
+    }
+
+    /**
+     * Access the goal vertex.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public NavVertex getGoal() {
+        assert goal != null;
+        return goal;
+    }
+
+    /**
+     * Access the current starting vertex.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public NavVertex getStart() {
+        assert start != null;
+        return start;
+    }
+
+    /**
+     * Enumerate the arcs of the cheapest route from the start to the goal,
+     * repairing the search if needed.
+     *
+     * @return a new list of member arcs (empty if the start is the goal) or
+     * null if the goal is unreachable
+     */
+    public List<NavArc> listArcs() {
+        computeShortestPath();
+        int startIndex = start.getIndex();
+        if (gCosts[startIndex] == Float.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        int numHops = gHops[startIndex];
+        List<NavArc> result = new ArrayList<>(numHops);
+        NavVertex vertex = start;
+        while (vertex != goal) {
+            NavArc arc = bestArc(vertex);
+            assert result.size() < numHops : result.size();
+            result.add(arc);
+            vertex = arc.getToVertex();
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the first arc of the cheapest route from the start to the goal,
+     * repairing the search if needed.
+     *
+     * @return a pre-existing member arc, or null if the start is the goal or
+     * the goal is unreachable
+     */
+    public NavArc nextArc() {
+        computeShortestPath();
+
+        NavArc result = null;
+        if (start != goal) {
+            result = bestArc(start);
+        }
+
+        return result;
+    }
+
+    /**
+     * Move the start, typically to the terminus of the arc just traversed.
+     * Prior search results remain useful.
+     *
+     * @param newStart the new starting vertex (member of the graph, alias
+     * created)
+     */
+    public void setStart(NavVertex newStart) {
+        graph.validateMember(newStart, "new start");
+
+        if (newStart != start) {
+            this.keyModifier += heuristic.estimateCost(start, newStart);
+            this.start = newStart;
+        }
+    }
+    // *************************************************************************
+    // NavGraphListener methods
+
+    /**
+     * Update the search for a new arc.
+     *
+     * @param arc the new arc (not null)
+     * @param cost the cost (or length) of the new arc (&ge;0)
+     */
+    @Override
+    public void arcAdded(NavArc arc, float cost) {
+        costChanged(arc, Float.POSITIVE_INFINITY, cost);
+    }
+
+    /**
+     * Update the search for a removed arc.
+     *
+     * @param arc the removed arc (not null)
+     * @param oldCost the cost (or length) the arc had (&ge;0)
+     */
+    @Override
+    public void arcRemoved(NavArc arc, float oldCost) {
+        costChanged(arc, oldCost, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Update the search for a change in the cost of an arc.
+     *
+     * @param arc the modified arc (not null)
+     * @param oldCost the previous cost of the arc (&ge;0, may be infinite)
+     * @param newCost the new cost of the arc (&ge;0, may be infinite)
+     */
+    @Override
+    public void costChanged(NavArc arc, float oldCost, float newCost) {
+        int fromIndex = arc.getFromVertex().getIndex();
+        if (fromIndex == goal.getIndex()) {
+            return;
+        }
+
+        int toIndex = arc.getToVertex().getIndex();
+        float toCost = gCosts[toIndex];
+        int toHops = gHops[toIndex];
+        if (newCost < oldCost) {
+            float costVia = newCost + toCost;
+            if (precedes(costVia, toHops + 1,
+                    rhsCosts[fromIndex], rhsHops[fromIndex])) {
+                rhsCosts[fromIndex] = costVia;
+                rhsHops[fromIndex] = toHops + 1;
+            }
+        } else if (rhsCosts[fromIndex] == oldCost + toCost
+                && rhsHops[fromIndex] == toHops + 1) {
+            updateLookahead(fromIndex);
+        }
+        updateVertex(fromIndex);
+    }
+
+    /**
+     * Enlarge the search for a new vertex.
+     *
+     * @param vertex the new vertex (not null)
+     */
+    @Override
+    public void vertexAdded(NavVertex vertex) {
+        int oldLength = gCosts.length;
+        int newLength = vertex.getIndex() + 1;
+        if (newLength > oldLength) {
+            this.gCosts = Arrays.copyOf(gCosts, newLength);
+            Arrays.fill(gCosts, oldLength, newLength,
+                    Float.POSITIVE_INFINITY);
+            this.gHops = Arrays.copyOf(gHops, newLength);
+            this.rhsCosts = Arrays.copyOf(rhsCosts, newLength);
+            Arrays.fill(rhsCosts, oldLength, newLength,
+                    Float.POSITIVE_INFINITY);
+            this.rhsHops = Arrays.copyOf(rhsHops, newLength);
+            openQueue.ensureCapacity(newLength);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Find the outgoing arc that leads most cheaply to the goal.
+     *
+     * @param vertex the vertex to leave (not null, unaffected)
+     * @return a pre-existing arc, or null if the goal is unreachable
+     */
+    private NavArc bestArc(NavVertex vertex) {
+        NavArc result = null;
+        float bestCost = Float.POSITIVE_INFINITY;
+        int bestHops = 0;
+        int numOutgoing = vertex.numOutgoing();
+        for (int position = 0; position < numOutgoing; ++position) {
+            NavArc arc = vertex.getOutgoing(position);
+            int toIndex = arc.getToVertex().getIndex();
+            float cost = graph.getCost(arc) + gCosts[toIndex];
+            int hops = gHops[toIndex] + 1;
+            if (cost < Float.POSITIVE_INFINITY
+                    && precedes(cost, hops, bestCost, bestHops)) {
+                bestCost = cost;
+                bestHops = hops;
+                result = arc;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Expand inconsistent vertices until the start is consistent and no
+     * queued key is lower than that of the start.
+     */
+    private void computeShortestPath() {
+        int startIndex = start.getIndex();
+        while (!openQueue.isEmpty()) {
+            float topKey = openQueue.peekPriority();
+            float topCost = openQueue.peekSecondary();
+            float topHops = openQueue.peekTertiary();
+            if (isConsistent(startIndex)
+                    && !isBelowKey(topKey, topCost, topHops, startIndex)) {
+                break;
+            }
+
+            int uIndex = openQueue.peekVertex();
+            if (isBelowKey(topKey, topCost, topHops, uIndex)) {
+                // The key is outdated due to movement of the start.
+                updateVertex(uIndex);
+                continue;
+            }
+
+            openQueue.remove();
+            ++numExpansions;
+            NavVertex u = graph.getVertex(uIndex);
+            if (precedes(rhsCosts[uIndex], rhsHops[uIndex],
+                    gCosts[uIndex], gHops[uIndex])) {
+                // overconsistent: lower the estimate to the lookahead
+                float uCost = rhsCosts[uIndex];
+                int uHops = rhsHops[uIndex];
+                gCosts[uIndex] = uCost;
+                gHops[uIndex] = uHops;
+                int numIncoming = u.numIncoming();
+                for (int position = 0; position < numIncoming; ++position) {
+                    NavArc arc = u.getIncoming(position);
+                    int predIndex = arc.getFromVertex().getIndex();
+                    float costVia = graph.getCost(arc) + uCost;
+                    if (precedes(costVia, uHops + 1,
+                            rhsCosts[predIndex], rhsHops[predIndex])) {
+                        rhsCosts[predIndex] = costVia;
+                        rhsHops[predIndex] = uHops + 1;
+                        updateVertex(predIndex);
+                    }
+                }
+
+            } else {
+                // underconsistent: discard the estimate
+                float oldCost = gCosts[uIndex];
+                int oldHops = gHops[uIndex];
+                gCosts[uIndex] = Float.POSITIVE_INFINITY;
+                gHops[uIndex] = 0;
+                if (uIndex != goal.getIndex()) {
+                    updateLookahead(uIndex);
+                }
+                updateVertex(uIndex);
+                int numIncoming = u.numIncoming();
+                for (int position = 0; position < numIncoming; ++position) {
+                    NavArc arc = u.getIncoming(position);
+                    int predIndex = arc.getFromVertex().getIndex();
+                    float costVia = graph.getCost(arc) + oldCost;
+                    if (rhsCosts[predIndex] == costVia
+                            && rhsHops[predIndex] == oldHops + 1
+                            && predIndex != goal.getIndex()) {
+                        updateLookahead(predIndex);
+                        updateVertex(predIndex);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Test whether the specified queue key is lower than the current key of
+     * the indexed vertex. Keys are compared lexicographically.
+     *
+     * @param key the estimated route cost of the queue key
+     * @param cost the cost to the goal of the queue key
+     * @param hops the hop count of the queue key
+     * @param vertexIndex the index of the vertex (&ge;0)
+     * @return true if the queue key is lower, otherwise false
+     */
+    private boolean isBelowKey(
+            float key, float cost, float hops, int vertexIndex) {
+        float vertexKey = primaryKey(vertexIndex);
+        float vertexCost = minCost(vertexIndex);
+        if (key != vertexKey) {
+            return key < vertexKey;
+        } else if (cost != vertexCost) {
+            return cost < vertexCost;
+        } else {
+            return hops < minHops(vertexIndex);
+        }
+    }
+
+    /**
+     * Test whether the indexed vertex is locally consistent.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0)
+     * @return true if its estimate equals its lookahead, otherwise false
+     */
+    private boolean isConsistent(int vertexIndex) {
+        if (gCosts[vertexIndex] != rhsCosts[vertexIndex]) {
+            return false;
+        } else if (gHops[vertexIndex] != rhsHops[vertexIndex]) {
+            return false;
+        } else {
+            return true;
+        }
+    }
+
+    /**
+     * Determine the lesser of the estimate and the lookahead of the indexed
+     * vertex, which is the 2nd component of its queue key.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0)
+     * @return the cost to the goal (&ge;0, may be infinite)
+     */
+    private float minCost(int vertexIndex) {
+        float result = Math.min(gCosts[vertexIndex], rhsCosts[vertexIndex]);
+        return result;
+    }
+
+    /**
+     * Determine the hop count of the lesser of the estimate and the lookahead
+     * of the indexed vertex, which breaks ties between queue keys.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0)
+     * @return the hop count (&ge;0)
+     */
+    private int minHops(int vertexIndex) {
+        int result;
+        if (precedes(gCosts[vertexIndex], gHops[vertexIndex],
+                rhsCosts[vertexIndex], rhsHops[vertexIndex])) {
+            result = gHops[vertexIndex];
+        } else {
+            result = rhsHops[vertexIndex];
+        }
+
+        return result;
+    }
+
+    /**
+     * Test whether one (cost, hops) pair is less than another.
+     *
+     * @param cost1 the cost of the first pair
+     * @param hops1 the hop count of the first pair
+     * @param cost2 the cost of the 2nd pair
+     * @param hops2 the hop count of the 2nd pair
+     * @return true if the first pair is less, otherwise false
+     */
+    private static boolean precedes(
+            float cost1, int hops1, float cost2, int hops2) {
+        if (cost1 < cost2) {
+            return true;
+        } else if (cost1 == cost2 && hops1 < hops2) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Calculate the primary queue key of the indexed vertex.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0)
+     * @return the key value
+     */
+    private float primaryKey(int vertexIndex) {
+        float minCost = minCost(vertexIndex);
+        NavVertex vertex = graph.getVertex(vertexIndex);
+        float result = minCost + heuristic.estimateCost(start, vertex)
+                + keyModifier;
+
+        return result;
+    }
+
+    /**
+     * Recalculate the one-step lookahead of the indexed vertex from its
+     * outgoing arcs.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, not the goal)
+     */
+    private void updateLookahead(int vertexIndex) {
+        NavVertex vertex = graph.getVertex(vertexIndex);
+        NavArc arc = bestArc(vertex);
+        if (arc == null) {
+            rhsCosts[vertexIndex] = Float.POSITIVE_INFINITY;
+            rhsHops[vertexIndex] = 0;
+        } else {
+            int toIndex = arc.getToVertex().getIndex();
+            rhsCosts[vertexIndex] = graph.getCost(arc) + gCosts[toIndex];
+            rhsHops[vertexIndex] = gHops[toIndex] + 1;
+        }
+    }
+
+    /**
+     * Queue the indexed vertex if it's inconsistent, otherwise dequeue it.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0)
+     */
+    private void updateVertex(int vertexIndex) {
+        if (isConsistent(vertexIndex)) {
+            openQueue.delete(vertexIndex);
+        } else {
+            float key = primaryKey(vertexIndex);
+            float minCost = minCost(vertexIndex);
+            int minHops = minHops(vertexIndex);
+            openQueue.update(vertexIndex, key, minCost, minHops);
+        }
+    }
+}
@@ -0,0 +1,656 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import com.jme3.math.Vector3f;
+import java.util.List;
+import java.util.logging.Logger;
+import jme3utilities.math.MyVector3f;
+import jme3utilities.math.locus.BoundedLocus3f;
+import jme3utilities.math.locus.Locus3f;
+
+/**
+ * Bounding-volume hierarchy over the loci of a navigation graph's vertices,
+ * used to accelerate point-location queries. Loci that don't implement
+ * {@link BoundedLocus3f} (or report infinite bounds) are kept in a separate
+ * list and tested exhaustively. The hierarchy is rebuilt lazily, on the first
+ * query after it's marked dirty. Not thread-safe.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class LocusTree {
+    // *************************************************************************
+    // constants
+
+    /**
+     * maximum number of loci in a leaf node
+     */
+    final private static int maxLeafSize = 4;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            LocusTree.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * true if the hierarchy needs to be rebuilt before the next query
+     */
+    private boolean isDirty = true;
+    /**
+     * axis-aligned bounds of each indexed locus (6 floats per vertex: min x,
+     * y, z followed by max x, y, z), indexed by vertex index
+     */
+    private float[] itemBounds = new float[0];
+    /**
+     * axis-aligned bounds of each node (6 floats per node)
+     */
+    private float[] nodeBounds = new float[0];
+    /**
+     * for leaf nodes, the number of loci; for internal nodes, zero
+     */
+    private int[] nodeCounts = new int[0];
+    /**
+     * for leaf nodes, the position of the first locus in #items
+     */
+    private int[] nodeFirsts = new int[0];
+    /**
+     * for internal nodes, the index of the right child (the left child
+     * immediately follows its parent)
+     */
+    private int[] nodeRights = new int[0];
+    /**
+     * vertex indices of the indexed loci, in leaf order
+     */
+    private int[] items = new int[0];
+    /**
+     * traversal stack, reused between queries
+     */
+    private int[] stack = new int[64];
+    /**
+     * vertex indices of the unbounded loci
+     */
+    private int[] unbounded = new int[0];
+    /**
+     * number of loci examined by the most recent query (&ge;0)
+     */
+    private int numExamined = 0;
+    /**
+     * number of nodes in the hierarchy (&ge;0)
+     */
+    private int numNodes = 0;
+    /**
+     * number of stack pushes by the most recent query (&ge;0)
+     */
+    private int numPushes = 0;
+    /**
+     * number of unbounded loci (&ge;0)
+     */
+    private int numUnbounded = 0;
+    /**
+     * member vertices of the graph, in index order (not null, live view)
+     */
+    final private List<NavVertex> vertices;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a dirty hierarchy for the specified vertices.
+     *
+     * @param indexedVertices the graph's vertices in index order (not null,
+     * alias created)
+     */
+    LocusTree(List<NavVertex> indexedVertices) {
+        assert indexedVertices != null;
+        this.vertices = indexedVertices;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Count the loci examined by the most recent query.
+     *
+     * @return count (&ge;0)
+     */
+    int countExamined() {
+        assert numExamined >= 0 : numExamined;
+        return numExamined;
+    }
+
+    /**
+     * Count the stack pushes made by the most recent query.
+     *
+     * @return count (&ge;0)
+     */
+    int countPushes() {
+        assert numPushes >= 0 : numPushes;
+        return numPushes;
+    }
+
+    /**
+     * Find a vertex whose locus contains the specified point.
+     *
+     * @param point the input coordinates (not null, unaffected)
+     * @return a pre-existing vertex, or null if none found
+     */
+    NavVertex findContains(Vector3f point) {
+        update();
+
+        NavVertex result = null;
+        int examined = 0;
+        int pushes = 0;
+        for (int i = 0; i < numUnbounded && result == null; ++i) {
+            NavVertex vertex = vertices.get(unbounded[i]);
+            ++examined;
+            if (vertex.getLocus().contains(point)) {
+                result = vertex;
+            }
+        }
+
+        int stackSize = (result == null) ? pushRoot() : 0;
+        pushes += stackSize;
+        while (stackSize > 0) {
+            --stackSize;
+            int node = stack[stackSize];
+            if (!boxContains(nodeBounds, node, point)) {
+                continue;
+            }
+
+            int count = nodeCounts[node];
+            if (count == 0) {
+                stackSize = push(stackSize, nodeRights[node]);
+                stackSize = push(stackSize, node + 1);
+                pushes += 2;
+                continue;
+            }
+
+            int end = nodeFirsts[node] + count;
+            for (int position = nodeFirsts[node]; position < end; ++position) {
+                int vertexIndex = items[position];
+                if (boxContains(itemBounds, vertexIndex, point)) {
+                    NavVertex vertex = vertices.get(vertexIndex);
+                    ++examined;
+                    if (vertex.getLocus().contains(point)) {
+                        result = vertex;
+                        stackSize = 0;
+                        break;
+                    }
+                }
+            }
+        }
+        this.numExamined = examined;
+        this.numPushes = pushes;
+
+        return result;
+    }
+
+    /**
+     * Find the vertex whose locus is nearest to the specified point.
+     *
+     * @param point the input coordinates (not null, unaffected)
+     * @return a pre-existing vertex, or null if none found
+     */
+    NavVertex findNearest(Vector3f point) {
+        update();
+
+        NavVertex result = null;
+        double nearest = Double.POSITIVE_INFINITY;
+        int examined = numUnbounded;
+        int pushes = 0;
+
+        for (int i = 0; i < numUnbounded; ++i) {
+            NavVertex vertex = vertices.get(unbounded[i]);
+            double ds = squaredDistance(vertex, point);
+            if (ds < nearest) {
+                nearest = ds;
+                result = vertex;
+            }
+        }
+
+        int stackSize = pushRoot();
+        pushes += stackSize;
+        while (stackSize > 0) {
+            --stackSize;
+            int node = stack[stackSize];
+            if (boxDistanceSquared(nodeBounds, node, point) >= nearest) {
+                continue;
+            }
+
+            int count = nodeCounts[node];
+            if (count == 0) {
+                // Push the farther child first, so the nearer one pops first.
+                int left = node + 1;
+                int right = nodeRights[node];
+                double leftDS = boxDistanceSquared(nodeBounds, left, point);
+                double rightDS = boxDistanceSquared(nodeBounds, right, point);
+                if (leftDS < rightDS) {
+                    stackSize = push(stackSize, right);
+                    stackSize = push(stackSize, left);
+                } else {
+                    stackSize = push(stackSize, left);
+                    stackSize = push(stackSize, right);
+                }
+                pushes += 2;
+                continue;
+            }
+
+            int end = nodeFirsts[node] + count;
+            for (int position = nodeFirsts[node]; position < end; ++position) {
+                int vertexIndex = items[position];
+                double boxDS
+                        = boxDistanceSquared(itemBounds, vertexIndex, point);
+                if (boxDS < nearest) {
+                    NavVertex vertex = vertices.get(vertexIndex);
+                    ++examined;
+                    double ds = squaredDistance(vertex, point);
+                    if (ds < nearest) {
+                        nearest = ds;
+                        result = vertex;
+                    }
+                }
+            }
+        }
+        this.numExamined = examined;
+        this.numPushes = pushes;
+
+        return result;
+    }
+
+    /**
+     * Mark the hierarchy as out of date, for instance because a vertex was
+     * added or a locus was altered.
+     */
+    void markDirty() {
+        this.isDirty = true;
+    }
+
+    /**
+     * Calculate the distance from the specified starting point to the first
+     * point of support (if any) directly below it in any indexed locus.
+     *
+     * @param location coordinates of starting point (not null, unaffected)
+     * @param cosineTolerance cosine of maximum slope for support (&gt;0, &lt;1)
+     * @return the shortest support distance (&ge;0) or
+     * {@link Float#POSITIVE_INFINITY} if no support
+     */
+    float supportDistance(Vector3f location, float cosineTolerance) {
+        update();
+
+        float shortest = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < numUnbounded; ++i) {
+            Locus3f locus = vertices.get(unbounded[i]).getLocus();
+            float distance = locus.supportDistance(location, cosineTolerance);
+            if (distance < shortest) {
+                shortest = distance;
+            }
+        }
+
+        int stackSize = pushRoot();
+        while (stackSize > 0) {
+            --stackSize;
+            int node = stack[stackSize];
+            if (supportBound(nodeBounds, node, location) >= shortest) {
+                continue;
+            }
+
+            int count = nodeCounts[node];
+            if (count == 0) {
+                stackSize = push(stackSize, nodeRights[node]);
+                stackSize = push(stackSize, node + 1);
+                continue;
+            }
+
+            int end = nodeFirsts[node] + count;
+            for (int position = nodeFirsts[node]; position < end; ++position) {
+                int vertexIndex = items[position];
+                if (supportBound(itemBounds, vertexIndex, location)
+                        < shortest) {
+                    Locus3f locus = vertices.get(vertexIndex).getLocus();
+                    float distance
+                            = locus.supportDistance(location, cosineTolerance);
+                    if (distance < shortest) {
+                        shortest = distance;
+                    }
+                }
+            }
+        }
+
+        return shortest;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Test whether the specified box contains the specified point.
+     *
+     * @param bounds the array of boxes (not null, unaffected)
+     * @param boxIndex which box
+     * @param point the input coordinates (not null, unaffected)
+     * @return true if contained, otherwise false
+     */
+    private static boolean boxContains(
+            float[] bounds, int boxIndex, Vector3f point) {
+        int base = 6 * boxIndex;
+        if (point.x < bounds[base] || point.x > bounds[base + 3]
+                || point.y < bounds[base + 1] || point.y > bounds[base + 4]
+                || point.z < bounds[base + 2] || point.z > bounds[base + 5]) {
+            return false;
+        } else {
+            return true;
+        }
+    }
+
+    /**
+     * Calculate the squared distance from the specified point to the nearest
+     * location in the specified box.
+     *
+     * @param bounds the array of boxes (not null, unaffected)
+     * @param boxIndex which box
+     * @param point the input coordinates (not null, unaffected)
+     * @return the squared distance (&ge;0)
+     */
+    private static double boxDistanceSquared(
+            float[] bounds, int boxIndex, Vector3f point) {
+        int base = 6 * boxIndex;
+        double dx = Math.max(0.0, Math.max(
+                bounds[base] - point.x, point.x - bounds[base + 3]));
+        double dy = Math.max(0.0, Math.max(
+                bounds[base + 1] - point.y, point.y - bounds[base + 4]));
+        double dz = Math.max(0.0, Math.max(
+                bounds[base + 2] - point.z, point.z - bounds[base + 5]));
+        double result = dx * dx + dy * dy + dz * dz;
+
+        return result;
+    }
+
+    /**
+     * Build the subtree for the specified range of loci.
+     *
+     * @param first the position of the first locus in #items
+     * @param count the number of loci (&gt;0)
+     * @return the index of the subtree's root node
+     */
+    private int buildNode(int first, int count) {
+        assert count > 0 : count;
+
+        int node = numNodes;
+        ++numNodes;
+
+        // Calculate the bounds of the node and of the loci's centers.
+        int nodeBase = 6 * node;
+        float[] centerBounds = new float[6];
+        for (int axis = 0; axis < 3; ++axis) {
+            nodeBounds[nodeBase + axis] = Float.POSITIVE_INFINITY;
+            nodeBounds[nodeBase + axis + 3] = Float.NEGATIVE_INFINITY;
+            centerBounds[axis] = Float.POSITIVE_INFINITY;
+            centerBounds[axis + 3] = Float.NEGATIVE_INFINITY;
+        }
+        int end = first + count;
+        for (int position = first; position < end; ++position) {
+            int itemBase = 6 * items[position];
+            for (int axis = 0; axis < 3; ++axis) {
+                float min = itemBounds[itemBase + axis];
+                float max = itemBounds[itemBase + axis + 3];
+                nodeBounds[nodeBase + axis]
+                        = Math.min(nodeBounds[nodeBase + axis], min);
+                nodeBounds[nodeBase + axis + 3]
+                        = Math.max(nodeBounds[nodeBase + axis + 3], max);
+                float center = 0.5f * (min + max);
+                centerBounds[axis] = Math.min(centerBounds[axis], center);
+                centerBounds[axis + 3]
+                        = Math.max(centerBounds[axis + 3], center);
+            }
+        }
+
+        if (count <= maxLeafSize) {
+            nodeFirsts[node] = first;
+            nodeCounts[node] = count;
+            return node;
+        }
+
+        // Split at the median center along the axis of greatest spread.
+        int splitAxis = 0;
+        float maxSpread = -1f;
+        for (int axis = 0; axis < 3; ++axis) {
+            float spread = centerBounds[axis + 3] - centerBounds[axis];
+            if (spread > maxSpread) {
+                maxSpread = spread;
+                splitAxis = axis;
+            }
+        }
+        int middle = first + count / 2;
+        select(first, end - 1, middle, splitAxis);
+
+        nodeCounts[node] = 0;
+        int left = buildNode(first, middle - first);
+        assert left == node + 1 : left;
+        nodeRights[node] = buildNode(middle, end - middle);
+
+        return node;
+    }
+
+    /**
+     * Read the doubled center coordinate of the specified locus along the
+     * specified axis.
+     *
+     * @param vertexIndex the index of the locus's vertex
+     * @param axis which axis (0, 1, or 2)
+     * @return the sum of the minimum and maximum coordinates
+     */
+    private float centerKey(int vertexIndex, int axis) {
+        int base = 6 * vertexIndex;
+        float result = itemBounds[base + axis] + itemBounds[base + axis + 3];
+
+        return result;
+    }
+
+    /**
+     * Push a node onto the traversal stack, enlarging it if necessary.
+     *
+     * @param stackSize the number of nodes already on the stack
+     * @param node the node to push
+     * @return the new number of nodes on the stack
+     */
+    private int push(int stackSize, int node) {
+        if (stackSize == stack.length) {
+            int[] newStack = new int[2 * stackSize];
+            System.arraycopy(stack, 0, newStack, 0, stackSize);
+            this.stack = newStack;
+        }
+        stack[stackSize] = node;
+
+        return stackSize + 1;
+    }
+
+    /**
+     * Push the root node (if any) onto the empty traversal stack.
+     *
+     * @return the new number of nodes on the stack (0 or 1)
+     */
+    private int pushRoot() {
+        int result = 0;
+        if (numNodes > 0) {
+            result = push(0, 0);
+        }
+
+        return result;
+    }
+
+    /**
+     * Partially sort the specified range of #items so that the locus at
+     * position k has the median center along the specified axis, with lesser
+     * centers before it and greater centers after it (Hoare's selection
+     * algorithm).
+     *
+     * @param low the first position in the range
+     * @param high the last position in the range
+     * @param k the position to select (&ge;low, &le;high)
+     * @param axis the axis to sort along (0, 1, or 2)
+     */
+    private void select(int low, int high, int k, int axis) {
+        while (high > low) {
+            float pivot = centerKey(items[(low + high) >>> 1], axis);
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (centerKey(items[i], axis) < pivot) {
+                    ++i;
+                }
+                while (centerKey(items[j], axis) > pivot) {
+                    --j;
+                }
+                if (i <= j) {
+                    int swap = items[i];
+                    items[i] = items[j];
+                    items[j] = swap;
+                    ++i;
+                    --j;
+                }
+            }
+
+            if (k <= j) {
+                high = j;
+            } else if (k >= i) {
+                low = i;
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Calculate the squared distance from the specified point to the nearest
+     * location in the specified vertex's locus.
+     *
+     * @param vertex the vertex to measure (not null, non-null locus)
+     * @param point the input coordinates (not null, unaffected)
+     * @return the squared distance (&ge;0) or
+     * {@link Double#POSITIVE_INFINITY} if no location found
+     */
+    private static double squaredDistance(NavVertex vertex, Vector3f point) {
+        Locus3f locus = vertex.getLocus();
+        Vector3f location = locus.findLocation(point);
+        double result;
+        if (location == null) {
+            result = Double.POSITIVE_INFINITY;
+        } else {
+            result = MyVector3f.distanceSquared(point, location);
+        }
+
+        return result;
+    }
+
+    /**
+     * Calculate a lower bound on the support distance from the specified
+     * location to anything in the specified box.
+     *
+     * @param bounds the array of boxes (not null, unaffected)
+     * @param boxIndex which box
+     * @param location coordinates of starting point (not null, unaffected)
+     * @return the lower bound (&ge;0) or {@link Float#POSITIVE_INFINITY} if the
+     * box isn't directly below the location
+     */
+    private static float supportBound(
+            float[] bounds, int boxIndex, Vector3f location) {
+        int base = 6 * boxIndex;
+        if (location.x < bounds[base] || location.x > bounds[base + 3]
+                || location.z < bounds[base + 2]
+                || location.z > bounds[base + 5]
+                || location.y < bounds[base + 1]) {
+            return Float.POSITIVE_INFINITY;
+        }
+        float result = Math.max(0f, location.y - bounds[base + 4]);
+
+        return result;
+    }
+
+    /**
+     * Rebuild the hierarchy if it's dirty.
+     */
+    private void update() {
+        if (!isDirty) {
+            return;
+        }
+
+        int numVertices = vertices.size();
+        if (itemBounds.length < 6 * numVertices) {
+            this.itemBounds = new float[6 * numVertices];
+            this.items = new int[numVertices];
+            this.unbounded = new int[numVertices];
+        }
+
+        // Sort the loci into bounded and unbounded ones.
+        Vector3f min = new Vector3f();
+        Vector3f max = new Vector3f();
+        int numItems = 0;
+        this.numUnbounded = 0;
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            NavVertex vertex = vertices.get(vertexIndex);
+            Locus3f locus = vertex.getLocus();
+            if (locus == null) {
+                continue;
+            }
+
+            boolean isBounded = false;
+            if (locus instanceof BoundedLocus3f) {
+                ((BoundedLocus3f) locus).boundingBox(min, max);
+                isBounded = Vector3f.isValidVector(min)
+                        && Vector3f.isValidVector(max);
+            }
+            if (isBounded) {
+                int base = 6 * vertexIndex;
+                itemBounds[base] = min.x;
+                itemBounds[base + 1] = min.y;
+                itemBounds[base + 2] = min.z;
+                itemBounds[base + 3] = max.x;
+                itemBounds[base + 4] = max.y;
+                itemBounds[base + 5] = max.z;
+                items[numItems] = vertexIndex;
+                ++numItems;
+            } else {
+                unbounded[numUnbounded] = vertexIndex;
+                ++numUnbounded;
+            }
+        }
+
+        // Build the nodes.
+        int maxNodes = Math.max(1, 2 * numItems);
+        if (nodeCounts.length < maxNodes) {
+            this.nodeBounds = new float[6 * maxNodes];
+            this.nodeCounts = new int[maxNodes];
+            this.nodeFirsts = new int[maxNodes];
+            this.nodeRights = new int[maxNodes];
+        }
+        this.numNodes = 0;
+        if (numItems > 0) {
+            buildNode(0, numItems);
+        }
+
+        this.isDirty = false;
+    }
+}
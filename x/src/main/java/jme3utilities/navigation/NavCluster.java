@@ -0,0 +1,209 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * A region of a navigation graph in a hierarchy, together with the costs of
+ * the cheapest routes between its portals that stay inside the region.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class NavCluster {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            NavCluster.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * true if the portals and costs need to be recalculated
+     */
+    private boolean isDirty = true;
+    /**
+     * cost of the cheapest internal route between each pair of portals,
+     * indexed by fromSlot * numPortals + toSlot, or null if dirty
+     */
+    private float[] portalCosts = null;
+    /**
+     * member vertices that have arcs to or from other clusters, in slot order
+     */
+    final private List<NavVertex> portals = new ArrayList<>(8);
+    /**
+     * member vertices
+     */
+    final private List<NavVertex> members = new ArrayList<>(16);
+    /**
+     * internal routes between portals that have already been refined, keyed
+     * by fromSlot * numPortals + toSlot
+     */
+    final private Map<Integer, List<NavArc>> refinedRoutes = new HashMap<>(8);
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an empty, dirty cluster.
+     */
+    NavCluster() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Add a member vertex and mark this cluster as dirty.
+     *
+     * @param vertex the vertex to add (not null, alias created)
+     */
+    void addMember(NavVertex vertex) {
+        members.add(vertex);
+        markDirty();
+    }
+
+    /**
+     * Find a previously refined internal route between 2 portals.
+     *
+     * @param fromSlot the slot of the originating portal (&ge;0)
+     * @param toSlot the slot of the terminating portal (&ge;0)
+     * @return the pre-existing list, or null if not yet refined
+     */
+    List<NavArc> findRefinedRoute(int fromSlot, int toSlot) {
+        assert !isDirty;
+        int key = fromSlot * portals.size() + toSlot;
+        List<NavArc> result = refinedRoutes.get(key);
+
+        return result;
+    }
+
+    /**
+     * Access the indexed portal.
+     *
+     * @param slot the slot of the portal (&ge;0, &lt;numPortals)
+     * @return the pre-existing vertex
+     */
+    NavVertex getPortal(int slot) {
+        assert !isDirty;
+        NavVertex result = portals.get(slot);
+        return result;
+    }
+
+    /**
+     * Test whether this cluster needs to be rebuilt.
+     *
+     * @return true if dirty, otherwise false
+     */
+    boolean isDirty() {
+        return isDirty;
+    }
+
+    /**
+     * Access the member vertices.
+     *
+     * @return the pre-existing list (not null)
+     */
+    List<NavVertex> listMembers() {
+        return members;
+    }
+
+    /**
+     * Mark this cluster as dirty, discarding its portals, costs, and refined
+     * routes.
+     */
+    void markDirty() {
+        this.isDirty = true;
+        this.portalCosts = null;
+        refinedRoutes.clear();
+    }
+
+    /**
+     * Count the portals.
+     *
+     * @return the count (&ge;0)
+     */
+    int numPortals() {
+        assert !isDirty;
+        int result = portals.size();
+        return result;
+    }
+
+    /**
+     * Read the cost of the cheapest internal route between 2 portals.
+     *
+     * @param fromSlot the slot of the originating portal (&ge;0)
+     * @param toSlot the slot of the terminating portal (&ge;0)
+     * @return the cost (&ge;0) or {@link Float#POSITIVE_INFINITY} if there's
+     * no internal route
+     */
+    float portalCost(int fromSlot, int toSlot) {
+        assert !isDirty;
+        int index = fromSlot * portals.size() + toSlot;
+        float result = portalCosts[index];
+
+        return result;
+    }
+
+    /**
+     * Record a refined internal route between 2 portals.
+     *
+     * @param fromSlot the slot of the originating portal (&ge;0)
+     * @param toSlot the slot of the terminating portal (&ge;0)
+     * @param route the route (not null, alias created)
+     */
+    void putRefinedRoute(int fromSlot, int toSlot, List<NavArc> route) {
+        assert !isDirty;
+        int key = fromSlot * portals.size() + toSlot;
+        refinedRoutes.put(key, route);
+    }
+
+    /**
+     * Replace the portals and mark this cluster as clean.
+     *
+     * @param newPortals the new portals, in slot order (not null, unaffected)
+     * @param newCosts the internal route costs between portals, indexed by
+     * fromSlot * numPortals + toSlot (not null, alias created)
+     */
+    void setPortals(List<NavVertex> newPortals, float[] newCosts) {
+        int numPortals = newPortals.size();
+        assert newCosts.length == numPortals * numPortals;
+
+        portals.clear();
+        portals.addAll(newPortals);
+        this.portalCosts = newCosts;
+        refinedRoutes.clear();
+        this.isDirty = false;
+    }
+}
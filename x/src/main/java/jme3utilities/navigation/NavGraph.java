@@ -30,7 +30,6 @@ import com.jme3.math.Vector3f;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -43,6 +42,10 @@ import jme3utilities.math.locus.Locus3f;
 /**
  * Graph for navigation. Its vertices represent reachable regions of the world.
  * Its arcs represent feasible routes between regions.
+ * <p>
+ * A graph isn't thread-safe: it should be modified and queried by a single
+ * (writer) thread. Other (reader) threads can query the most recently
+ * published snapshot without locking. See {@link #publish()}.
  *
  * @author Stephen Gold sgold@sonic.net
  */
@@ -58,14 +61,48 @@ public class NavGraph {
     // *************************************************************************
     // fields
 
+    /**
+     * most recently compiled snapshot, or null if none
+     */
+    private CompiledNavGraph compiled = null;
+    /**
+     * true if the next compilation must rebuild the whole snapshot, false if
+     * only changed costs need to be applied to the previous one
+     */
+    private boolean recompileAll = true;
+    /**
+     * most recently published snapshot, or null if none
+     */
+    private volatile CompiledNavGraph published = null;
+    /**
+     * count of modifications to this graph, for detecting stale snapshots
+     */
+    private int version = 0;
+
     /**
      * cost (or length) of each arc in this graph (all &ge;0)
      */
-    final private Map<NavArc, Float> arcCosts = new HashMap<>(100);
+    final private Map<NavArc, Float> arcCosts;
     /**
      * vertex for each name
      */
-    final private Map<String, NavVertex> vertices = new HashMap<>(30);
+    final private Map<String, NavVertex> vertices;
+    /**
+     * member vertices in index order
+     */
+    final private List<NavVertex> indexedVertices;
+    /**
+     * objects to notify of modifications
+     */
+    final private List<NavGraphListener> listeners = new ArrayList<>(2);
+    /**
+     * member arcs whose costs have changed since the most recent compilation
+     */
+    final private List<NavArc> changedCosts = new ArrayList<>(8);
+    /**
+     * route-finding strategy of this graph (not null)
+     */
+    final private NavRouter router;
     // *************************************************************************
     // constructors
 
@@ -73,7 +110,24 @@ public class NavGraph {
      * A no-arg constructor to avoid javadoc warnings from JDK 18.
      */
     public NavGraph() {
-        // do nothing
+        this(30, 100);
+    }
+
+    /**
+     * Instantiate an empty graph with room for the specified numbers of
+     * vertices and arcs, as done by {@link NavGraphBuilder}.
+     *
+     * @param vertexCapacity the number of vertices to expect (&ge;0)
+     * @param arcCapacity the number of arcs to expect (&ge;0)
+     */
+    NavGraph(int vertexCapacity, int arcCapacity) {
+        assert vertexCapacity >= 0 : vertexCapacity;
+        assert arcCapacity >= 0 : arcCapacity;
+
+        this.arcCosts = new HashMap<>(hashCapacity(arcCapacity));
+        this.vertices = new HashMap<>(hashCapacity(vertexCapacity));
+        this.indexedVertices = new ArrayList<>(vertexCapacity);
+        this.router = new NavRouter(this, indexedVertices);
     }
     // *************************************************************************
     // new methods exposed
@@ -104,6 +158,11 @@ public class NavGraph {
 
         origin.addOutgoing(newArc);
         terminus.addIncoming(newArc);
+        ++version;
+        this.recompileAll = true;
+        for (NavGraphListener listener : listeners) {
+            listener.arcAdded(newArc, initialCost);
+        }
 
         return newArc;
     }
@@ -126,6 +185,67 @@ public class NavGraph {
         addArc(v2, v1, initialCost);
     }
 
+    /**
+     * Add vertices and arcs that were created and validated in bulk, as done
+     * by {@link NavGraphBuilder}, and install a matching snapshot. Vertex
+     * names are checked here, since hashing them is unavoidable.
+     *
+     * @param newVertices the new vertices in index order, already linked to
+     * their arcs (not null, alias created)
+     * @param groupedArcs the new arcs, grouped by originating vertex in index
+     * order (not null, alias created)
+     * @param costs the cost of each new arc (not null, alias created)
+     * @param offsets the position of the first outgoing arc of each vertex,
+     * plus a final entry equal to the number of arcs (not null, alias created)
+     * @param toIndices the index of the terminating vertex of each arc (not
+     * null, alias created)
+     */
+    void addBulk(NavVertex[] newVertices, NavArc[] groupedArcs,
+            float[] costs, int[] offsets, int[] toIndices) {
+        assert indexedVertices.isEmpty();
+        assert arcCosts.isEmpty();
+        assert listeners.isEmpty();
+
+        for (NavVertex vertex : newVertices) {
+            assert vertex.getIndex() == indexedVertices.size();
+            String name = vertex.getName();
+            NavVertex oldVertex = vertices.put(name, vertex);
+            if (oldVertex != null) {
+                logger.log(Level.SEVERE, "name={0}", name);
+                throw new IllegalArgumentException("name already in use");
+            }
+            indexedVertices.add(vertex);
+        }
+
+        int numArcs = groupedArcs.length;
+        for (int arcIndex = 0; arcIndex < numArcs; ++arcIndex) {
+            arcCosts.put(groupedArcs[arcIndex], costs[arcIndex]);
+        }
+
+        ++version;
+        this.recompileAll = true;
+        router.lociChanged();
+        CompiledNavGraph snapshot = new CompiledNavGraph(newVertices,
+                groupedArcs, costs, offsets, toIndices, version);
+        setCompiled(snapshot);
+    }
+
+    /**
+     * Register a listener to be notified of modifications to this graph. The
+     * listener must not add or remove listeners during a notification.
+     *
+     * @param listener the listener to add (not null, not already registered,
+     * alias created)
+     */
+    public void addListener(NavGraphListener listener) {
+        Validate.nonNull(listener, "listener");
+        if (listeners.contains(listener)) {
+            throw new IllegalArgumentException("listener already added");
+        }
+
+        listeners.add(listener);
+    }
+
     /**
      * Create a new vertex without any arcs and add it to this graph.
      *
@@ -143,13 +263,47 @@ public class NavGraph {
         }
         Validate.nonNull(location, "location");
 
-        NavVertex newVertex = new NavVertex(name, locus, location);
+        int index = indexedVertices.size();
+        NavVertex newVertex
+                = new NavVertex(this, name, locus, location, index);
         NavVertex oldVertex = vertices.put(name, newVertex);
         assert oldVertex == null : oldVertex;
+        indexedVertices.add(newVertex);
+        ++version;
+        this.recompileAll = true;
+        router.lociChanged();
+        for (NavGraphListener listener : listeners) {
+            listener.vertexAdded(newVertex);
+        }
 
         return newVertex;
     }
 
+    /**
+     * Compile this graph into an immutable snapshot for allocation-free
+     * queries. The snapshot is cached and reused until the graph is modified.
+     * If only arc costs have changed since the previous compilation, the new
+     * snapshot shares its topology with the previous one.
+     *
+     * @return a snapshot reflecting the current state of this graph (not
+     * null)
+     */
+    public CompiledNavGraph compile() {
+        if (compiled == null || recompileAll) {
+            this.compiled
+                    = new CompiledNavGraph(indexedVertices, arcCosts, version);
+            this.recompileAll = false;
+            changedCosts.clear();
+
+        } else if (compiled.getVersion() != version) {
+            this.compiled = new CompiledNavGraph(
+                    compiled, changedCosts, arcCosts, version);
+            changedCosts.clear();
+        }
+
+        return compiled;
+    }
+
     /**
      * Test whether the specified arc is a member of this graph.
      *
@@ -226,10 +380,11 @@ public class NavGraph {
     public int countReachableFrom(NavVertex start) {
         validateMember(start, "start");
 
-        Set<NavVertex> visited = new HashSet<>(100);
-        visitReachable(start, visited);
+        CompiledNavGraph snapshot = compile();
+        NavWorkspace workspace = router.getWorkspace(snapshot.numVertices());
+        int result = snapshot.countReachableFrom(start.getIndex(), workspace);
 
-        return visited.size();
+        return result;
     }
 
     /**
@@ -244,6 +399,36 @@ public class NavGraph {
         return result;
     }
 
+    /**
+     * Enumerate the articulation points of this graph, ignoring the directions
+     * of arcs. Removing an articulation point would split its connected
+     * component. Runs in O(V+E) time.
+     *
+     * @return a new list of pre-existing member vertices, in index order
+     */
+    public List<NavVertex> findArticulationPoints() {
+        CompiledNavGraph snapshot = compile();
+        List<NavVertex> result = Connectivity.listArticulationPoints(snapshot);
+
+        return result;
+    }
+
+    /**
+     * Enumerate the arcs that form bridges in this graph, ignoring the
+     * directions of arcs. Removing a bridge (both arcs, if reversible) would
+     * split its connected component. In a reversible graph, these are
+     * precisely the arcs for which {@link #isConnectedWithout(NavArc)} returns
+     * false. Runs in O(V+E) time.
+     *
+     * @return a new list of pre-existing member arcs
+     */
+    public List<NavArc> findBridges() {
+        CompiledNavGraph snapshot = compile();
+        List<NavArc> result = Connectivity.listBridges(snapshot);
+
+        return result;
+    }
+
     /**
      * Enumerate all member vertices which are exactly a specified number of
      * hops from a specified vertex.
@@ -279,16 +464,10 @@ public class NavGraph {
         }
         validateMember(startVertex, "start vertex");
 
-        Map<NavVertex, Integer> hopData = new HashMap<>(numVertices());
-        forwardHopCounts(startVertex, 0, hopData);
-
-        List<NavVertex> result = new ArrayList<>(30);
-        for (NavVertex vertex : vertices.values()) {
-            Integer hops = hopData.get(vertex);
-            if (hops != null && hops >= minHopCount && hops <= maxHopCount) {
-                result.add(vertex);
-            }
-        }
+        CompiledNavGraph snapshot = compile();
+        NavWorkspace workspace = router.getWorkspace(snapshot.numVertices());
+        List<NavVertex> result = Connectivity.listByHops(snapshot,
+                startVertex.getIndex(), minHopCount, maxHopCount, workspace);
 
         return result;
     }
@@ -302,33 +481,8 @@ public class NavGraph {
     public NavVertex findContains(Vector3f point) {
         Validate.nonNull(point, "point");
 
-        // Test the closest vertex first.
-        Collection<NavVertex> allVertices = vertices.values();
-        NavVertex result = findNearest(allVertices, point);
-        if (result == null || result.getLocus().contains(point)) {
-            return result;
-        }
-
-        // Test the next closest, and so on.  TODO sort
-        Collection<NavVertex> remainingVertices
-                = new HashSet<>(vertices.values());
-        boolean success = remainingVertices.remove(result);
-        assert success;
-
-        while (!remainingVertices.isEmpty()) {
-            result = findNearest(remainingVertices, point);
-            assert result != null;
-            assert remainingVertices.contains(result);
-
-            if (result.getLocus().contains(point)) {
-                return result;
-            }
-
-            success = remainingVertices.remove(result);
-            assert success;
-        }
-
-        return null;
+        NavVertex result = router.findContains(point);
+        return result;
     }
 
     /**
@@ -357,23 +511,10 @@ public class NavGraph {
             NavVertex startVertex, Collection<? extends NavVertex> subset) {
         validateMember(startVertex, "start vertex");
 
-        Map<NavVertex, Integer> hopData = new HashMap<>(subset.size());
-        forwardHopCounts(startVertex, 0, hopData);
-
-        int mostHops = 0;
-        List<NavVertex> result = new ArrayList<>(10);
-        for (NavVertex vertex : subset) {
-            Integer hops = hopData.get(vertex);
-            if (hops != null) {
-                if (hops > mostHops) {
-                    mostHops = hops;
-                    result.clear();
-                }
-                if (hops == mostHops) {
-                    result.add(vertex);
-                }
-            }
-        }
+        CompiledNavGraph snapshot = compile();
+        NavWorkspace workspace = router.getWorkspace(snapshot.numVertices());
+        List<NavVertex> result = Connectivity.listMostHops(
+                snapshot, startVertex.getIndex(), subset, workspace);
 
         return result;
     }
@@ -387,19 +528,7 @@ public class NavGraph {
     public NavVertex findNearest(Vector3f point) {
         Validate.nonNull(point, "point");
 
-        NavVertex result = null;
-        double nearest = Double.POSITIVE_INFINITY;
-
-        for (NavVertex vertex : vertices.values()) {
-            Locus3f locus = vertex.getLocus();
-            Vector3f location = locus.findLocation(point);
-            double ds = MyVector3f.distanceSquared(point, location);
-            if (ds < nearest) {
-                nearest = ds;
-                result = vertex;
-            }
-        }
-
+        NavVertex result = router.findNearest(point);
         return result;
     }
 
@@ -431,6 +560,20 @@ public class NavGraph {
         return result;
     }
 
+    /**
+     * Partition the member vertices into strongly connected components, within
+     * which every vertex can reach every other. Runs in O(V+E) time.
+     *
+     * @return a new list of new lists of pre-existing member vertices
+     */
+    public List<List<NavVertex>> findStrongComponents() {
+        CompiledNavGraph snapshot = compile();
+        List<List<NavVertex>> result
+                = Connectivity.listStrongComponents(snapshot);
+
+        return result;
+    }
+
     /**
      * Read the current cost (or length) of a member arc.
      *
@@ -445,20 +588,64 @@ public class NavGraph {
         return result;
     }
 
+    /**
+     * Access the most recently published snapshot of this graph. Unlike
+     * other methods, this may be invoked from any thread.
+     *
+     * @return the pre-existing snapshot, or null if none has been published
+     * @see #publish()
+     */
+    public CompiledNavGraph getPublished() {
+        return published;
+    }
+
+    /**
+     * Access the route-finding strategy of this graph, which controls how the
+     * seek() methods find routes and creates route-planning helpers such as
+     * flow-field caches.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public NavRouter getRouter() {
+        return router;
+    }
+
+    /**
+     * Read the version of this graph, which changes each time a vertex or arc
+     * is added or removed, or an arc's cost is altered.
+     *
+     * @return the version number
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Access the member vertex with the specified index.
+     *
+     * @param index the index of the vertex (&ge;0, &lt;numVertices)
+     * @return the pre-existing instance (not null)
+     */
+    public NavVertex getVertex(int index) {
+        Validate.inRange(index, "index", 0, numVertices() - 1);
+        NavVertex result = indexedVertices.get(index);
+
+        return result;
+    }
+
     /**
      * Test whether every vertex in is reachable from every other.
      *
      * @return true if connected, false otherwise
      */
     public boolean isConnected() {
-        int numVertices = numVertices();
-        for (NavVertex vertex : vertices.values()) {
-            if (countReachableFrom(vertex) != numVertices) {
-                return false;
-            }
+        CompiledNavGraph snapshot = compile();
+        int numComponents = Connectivity.countStrongComponents(snapshot);
+        if (numComponents <= 1) {
+            return true;
+        } else {
+            return false;
         }
-
-        return true;
     }
 
     /**
@@ -472,11 +659,12 @@ public class NavGraph {
     public boolean isConnectedWithout(NavArc arc) {
         validateMember(arc, "arc");
 
-        NavVertex fromVertex = arc.getFromVertex();
-        NavVertex toVertex = arc.getToVertex();
-        Set<NavVertex> visitedVertices = new HashSet<>(100);
-        boolean result = existsRouteWithout(
-                arc, fromVertex, toVertex, visitedVertices);
+        CompiledNavGraph snapshot = compile();
+        NavWorkspace workspace = router.getWorkspace(snapshot.numVertices());
+        int arcIndex = snapshot.findArc(arc.getFromVertex().getIndex(),
+                arc.getToVertex().getIndex());
+        boolean result = Connectivity.isConnectedWithout(
+                snapshot, arcIndex, workspace);
 
         return result;
     }
@@ -519,6 +707,17 @@ public class NavGraph {
         return result;
     }
 
+    /**
+     * Callback when the locus of a member vertex is altered.
+     *
+     * @param vertex the vertex whose locus changed (member)
+     */
+    void locusChanged(NavVertex vertex) {
+        assert contains(vertex) : vertex;
+
+        router.lociChanged();
+    }
+
     /**
      * Count how many arcs this graph contains.
      *
@@ -557,6 +756,11 @@ public class NavGraph {
 
         NavVertex toVertex = arc.getToVertex();
         toVertex.removeIncoming(arc);
+        ++version;
+        this.recompileAll = true;
+        for (NavGraphListener listener : listeners) {
+            listener.arcRemoved(arc, oldCost);
+        }
     }
 
     /**
@@ -579,45 +783,110 @@ public class NavGraph {
     }
 
     /**
-     * Find the shortest (or cheapest) route from one vertex to another.
+     * Compile this graph and publish the resulting snapshot for use by other
+     * threads, which may then access it via {@link #getPublished()} without
+     * locking. The previously published snapshot remains valid for any
+     * readers still using it. Typically invoked by the writer thread once
+     * per batch of modifications, for instance once per frame.
+     * <p>
+     * Published snapshots refer to the graph's vertices and arcs, but reader
+     * threads should query them only through the snapshot, since the writer
+     * may be modifying their adjacency.
+     *
+     * @return the published snapshot (not null)
+     */
+    public CompiledNavGraph publish() {
+        CompiledNavGraph result = compile();
+        this.published = result;
+
+        return result;
+    }
+
+    /**
+     * De-register the specified listener.
+     *
+     * @param listener the listener to remove (not null, registered)
+     */
+    public void removeListener(NavGraphListener listener) {
+        Validate.nonNull(listener, "listener");
+
+        boolean success = listeners.remove(listener);
+        if (!success) {
+            throw new IllegalArgumentException("listener not found");
+        }
+    }
+
+    /**
+     * Find the shortest (or cheapest) route from one vertex to another using
+     * Dijkstra's algorithm.
      *
      * @param startVertex starting point (member, distinct from endVertex)
      * @param endVertex goal (member, distinct from startVertex)
      * @return a new list of arcs, or null if goal is unreachable
      */
     public List<NavArc> seek(NavVertex startVertex, NavVertex endVertex) {
+        List<NavArc> result = seek(startVertex, endVertex, null);
+        return result;
+    }
+
+    /**
+     * Find the shortest (or cheapest) route from one vertex to another using
+     * A* search. With a null heuristic, this is equivalent to Dijkstra's
+     * algorithm.
+     *
+     * @param startVertex starting point (member, distinct from endVertex)
+     * @param endVertex goal (member, distinct from startVertex)
+     * @param heuristic estimator for remaining costs, or null for none
+     * @return a new list of arcs, or null if goal is unreachable
+     */
+    public List<NavArc> seek(NavVertex startVertex, NavVertex endVertex,
+            NavHeuristic heuristic) {
+        List<NavArc> result = seek(startVertex, endVertex, heuristic, null);
+        return result;
+    }
+
+    /**
+     * Find the shortest (or cheapest) route from one vertex to another using
+     * A* search, avoiding anything blocked by the specified overlay and
+     * applying its cost multipliers. The graph itself isn't modified.
+     *
+     * @param startVertex starting point (member, distinct from endVertex)
+     * @param endVertex goal (member, distinct from startVertex)
+     * @param heuristic estimator for remaining costs, or null for none
+     * @param overlay blocks and multipliers to apply (matching the current
+     * snapshot) or null for none
+     * @return a new list of arcs, or null if goal is unreachable
+     */
+    public List<NavArc> seek(NavVertex startVertex, NavVertex endVertex,
+            NavHeuristic heuristic, NavOverlay overlay) {
         validateMember(startVertex, "start vertex");
         validateMember(endVertex, "end vertex");
         if (startVertex == endVertex) {
             throw new IllegalArgumentException("vertices not distinct");
         }
 
-        Map<NavVertex, Float> totalCosts = new HashMap<>(numVertices());
-        reverseTotalCosts(endVertex, 0f, totalCosts);
-        if (totalCosts.get(startVertex) == null) {
-            return null;
-        }
-        List<NavArc> result = new ArrayList<>(10);
-        NavVertex routeVertex = startVertex;
-        while (routeVertex != endVertex) {
-            NavArc nextArc = null;
-            float minDistance = Float.MAX_VALUE;
-            for (NavArc arc : routeVertex.copyOutgoing()) {
-                NavVertex neighbor = arc.getToVertex();
-                float distance = totalCosts.get(neighbor) + arcCosts.get(arc);
-                if (distance < minDistance) {
-                    minDistance = distance;
-                    nextArc = arc;
-                }
-            }
-            routeVertex = nextArc.getToVertex();
-            assert routeVertex != startVertex;
-            result.add(nextArc);
-        }
-
+        List<NavArc> result
+                = router.seek(startVertex, endVertex, heuristic, overlay);
         return result;
     }
 
+    /**
+     * Install a snapshot that was compiled by other means, such as from a
+     * file, so that {@link #compile()} won't need to rebuild it.
+     *
+     * @param snapshot a snapshot reflecting the current state of this graph
+     * (not null, alias created)
+     */
+    void setCompiled(CompiledNavGraph snapshot) {
+        assert snapshot.getVersion() == version : snapshot.getVersion();
+        assert snapshot.numVertices() == indexedVertices.size();
+        assert snapshot.numArcs() == arcCosts.size();
+
+        this.compiled = snapshot;
+        this.recompileAll = false;
+        changedCosts.clear();
+    }
+
     /**
      * Alter the cost (or length) of a member arc.
      *
@@ -630,6 +899,20 @@ public class NavGraph {
 
         Float oldCost = arcCosts.put(arc, newCost);
         assert oldCost != null;
+        if (newCost != oldCost) {
+            ++version;
+            if (!recompileAll) {
+                if (changedCosts.size() < arcCosts.size()) {
+                    changedCosts.add(arc);
+                } else {
+                    // Applying so many changes would cost more than a rebuild.
+                    this.recompileAll = true;
+                }
+            }
+            for (NavGraphListener listener : listeners) {
+                listener.costChanged(arc, oldCost, newCost);
+            }
+        }
     }
 
     /**
@@ -644,16 +927,8 @@ public class NavGraph {
     public float supportDistance(Vector3f location, float cosineTolerance) {
         Validate.nonNull(location, "point");
 
-        float shortest = Float.POSITIVE_INFINITY;
-        for (NavVertex vertex : vertices.values()) {
-            Locus3f locus = vertex.getLocus();
-            float distance = locus.supportDistance(location, cosineTolerance);
-            if (distance < shortest) {
-                shortest = distance;
-            }
-        }
-
-        return shortest;
+        float result = router.supportDistance(location, cosineTolerance);
+        return result;
     }
 
     /**
@@ -704,137 +979,15 @@ public class NavGraph {
     // private methods
 
     /**
-     * Test whether there's a route from a starting vertex to an ending vertex
-     * which avoids a specified arc. Note: recursive depth-first traversal.
-     *
-     * @param avoid arc to avoid (member)
-     * @param visit vertex being visited, initially the starting vertex (member,
-     * unaffected)
-     * @param ending ending vertex (member, unaffected)
-     * @param visitedSet set of vertices previously visited, initially empty
-     * (not null, unaffected)
-     * @return true if such a route exists, false if no such route exists
-     */
-    private boolean existsRouteWithout(NavArc avoid, NavVertex visit,
-            NavVertex ending, Set<? extends NavVertex> visitedSet) {
-        assert contains(avoid) : avoid;
-        assert contains(visit) : visit;
-        assert contains(ending) : ending;
-
-        if (visit == ending) {
-            return true;
-        }
-        if (visitedSet.contains(visit)) {
-            return false;
-        }
-
-        Set<NavVertex> nextVisited = new HashSet<>(visitedSet);
-        nextVisited.add(visit);
-
-        for (NavArc arc : visit.copyOutgoing()) {
-            if (arc.equals(avoid)) {
-                continue;
-            }
-            NavVertex nextVisit = arc.getToVertex();
-            boolean exists = existsRouteWithout(
-                    avoid, nextVisit, ending, nextVisited);
-            if (exists) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Calculate the minimum number of hops (arcs traversed) to each vertex from
-     * a starting vertex. Note: recursive depth-first traversal.
+     * Calculate the initial capacity for a HashMap that will hold the
+     * specified number of entries without rehashing.
      *
-     * @param visit vertex being visited, initially the starting vertex (member,
-     * unaffected)
-     * @param hopCount hop count from the start vertex to the current vertex,
-     * initially zero (&ge;0)
-     * @param minHopCounts minimum hop counts to vertices previously visited,
-     * initially empty (not null, updated)
-     */
-    private void forwardHopCounts(NavVertex visit, int hopCount,
-            Map<? super NavVertex, Integer> minHopCounts) {
-        assert contains(visit) : visit;
-        assert hopCount >= 0 : hopCount;
-        assert minHopCounts != null;
-
-        if (minHopCounts.containsKey(visit)
-                && hopCount > minHopCounts.get(visit)) {
-            return;
-        }
-
-        // Update the hop count of the current vertex.
-        minHopCounts.put(visit, hopCount);
-
-        // Follow each outgoing arc from the current vertex.
-        int nextHopCount = hopCount + 1;
-        for (NavArc arc : visit.copyOutgoing()) {
-            NavVertex nextVisit = arc.getToVertex();
-            forwardHopCounts(nextVisit, nextHopCount, minHopCounts);
-        }
-    }
-
-    /**
-     * Calculate the minimum total cost (or distance) from each vertex to an
-     * ending vertex. Note: recursive depth-first traversal.
-     *
-     * @param visit vertex being visited, initially the ending vertex (member,
-     * unaffected)
-     * @param totalCost total cost from the current vertex to the ending vertex,
-     * initially zero (&ge;0)
-     * @param minTotalCosts minimum total costs from vertices previously
-     * visited, initially empty (not null, updated)
-     */
-    private void reverseTotalCosts(NavVertex visit, float totalCost,
-            Map<? super NavVertex, Float> minTotalCosts) {
-        assert contains(visit) : visit;
-        assert totalCost >= 0f : totalCost;
-        assert minTotalCosts != null;
-
-        if (minTotalCosts.containsKey(visit)
-                && totalCost > minTotalCosts.get(visit)) {
-            return;
-        }
-
-        // Update the total cost of the current vertex.
-        minTotalCosts.put(visit, totalCost);
-
-        // Follow each incoming arc of the current vertex.
-        for (NavArc arc : visit.copyIncoming()) {
-            NavVertex nextVisit = arc.getFromVertex();
-            float arcCost = arcCosts.get(arc);
-            float nextTotalCost = totalCost + arcCost;
-            reverseTotalCosts(nextVisit, nextTotalCost, minTotalCosts);
-        }
-    }
-
-    /**
-     * Enumerate all vertices reachable from a starting vertex. Note: recursive
-     * depth-first traversal.
-     *
-     * @param visit vertex being visited, initially the starting vertex (member,
-     * unaffected)
-     * @param visitedVertices set of vertices previously visited, initially
-     * empty (not null, updated)
+     * @param numEntries the number of entries to expect (&ge;0)
+     * @return the capacity (&ge;1)
      */
-    private void visitReachable(
-            NavVertex visit, Set<? super NavVertex> visitedVertices) {
-        assert contains(visit) : visit;
-        assert visitedVertices != null;
-
-        if (visitedVertices.contains(visit)) {
-            return;
-        }
-        boolean success = visitedVertices.add(visit);
-        assert success;
-
-        for (NavArc arc : visit.copyOutgoing()) {
-            NavVertex vertex = arc.getToVertex();
-            visitReachable(vertex, visitedVertices);
-        }
+    private static int hashCapacity(int numEntries) {
+        int result = (int) Math.min(Integer.MAX_VALUE / 2,
+                (4L * numEntries) / 3 + 1);
+        return result;
     }
 }
@@ -0,0 +1,456 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import com.jme3.math.Vector3f;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+import jme3utilities.math.locus.Locus3f;
+
+/**
+ * Accumulates vertices and arcs for a new navigation graph, deferring all
+ * validation until {@link #build()}. Vertices and arcs are referenced by
+ * integer index, so adding them involves no hashing or logging, and the graph
+ * is assembled with pre-sized collections and a ready-made snapshot.
+ * <p>
+ * A builder may be reused: its contents are retained after each build, and
+ * each build produces an independent graph. Not thread-safe.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class NavGraphBuilder {
+    // *************************************************************************
+    // constants
+
+    /**
+     * build phase that creates vertices
+     */
+    final static int createVertices = 0;
+    /**
+     * build phase that creates arcs and links them to their origins
+     */
+    final static int linkOutgoing = 1;
+    /**
+     * build phase that links arcs to their termini
+     */
+    final static int linkIncoming = 2;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            NavGraphBuilder.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * cost of each arc, indexed by the order of addition
+     */
+    private float[] arcCosts;
+    /**
+     * grouped cost of each arc during a build, indexed by arc index
+     */
+    private float[] groupedCosts;
+    /**
+     * index of the originating vertex of each arc, indexed by the order of
+     * addition
+     */
+    private int[] arcFromIndices;
+    /**
+     * index of the terminating vertex of each arc, indexed by the order of
+     * addition
+     */
+    private int[] arcToIndices;
+    /**
+     * arc indices grouped by terminating vertex during a build
+     */
+    private int[] incomingArcs;
+    /**
+     * position in incomingArcs of the first incoming arc of each vertex during
+     * a build, plus a final entry equal to the number of arcs
+     */
+    private int[] incomingOffsets;
+    /**
+     * position of the first outgoing arc of each vertex during a build, plus a
+     * final entry equal to the number of arcs
+     */
+    private int[] outgoingOffsets;
+    /**
+     * index of the terminating vertex of each arc during a build, indexed by
+     * arc index
+     */
+    private int[] groupedToIndices;
+    /**
+     * number of arcs added (&ge;0)
+     */
+    private int numArcs = 0;
+    /**
+     * number of vertices added (&ge;0)
+     */
+    private int numVertices = 0;
+    /**
+     * region represented by each vertex, indexed by vertex index
+     */
+    private Locus3f[] loci;
+    /**
+     * graph being built, or null if not building
+     */
+    private NavGraph graph = null;
+    /**
+     * arcs of the graph being built, indexed by arc index
+     */
+    private NavArc[] newArcs;
+    /**
+     * vertices of the graph being built, indexed by vertex index
+     */
+    private NavVertex[] newVertices;
+    /**
+     * name of each vertex, indexed by vertex index
+     */
+    private String[] names;
+    /**
+     * location of each vertex, indexed by vertex index
+     */
+    private Vector3f[] locations;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an empty builder with room for the specified numbers of
+     * vertices and arcs. Storage grows as needed.
+     *
+     * @param vertexCapacity the number of vertices to expect (&ge;0)
+     * @param arcCapacity the number of arcs to expect (&ge;0)
+     */
+    public NavGraphBuilder(int vertexCapacity, int arcCapacity) {
+        Validate.nonNegative(vertexCapacity, "vertex capacity");
+        Validate.nonNegative(arcCapacity, "arc capacity");
+
+        this.names = new String[vertexCapacity];
+        this.loci = new Locus3f[vertexCapacity];
+        this.locations = new Vector3f[vertexCapacity];
+        this.arcFromIndices = new int[arcCapacity];
+        this.arcToIndices = new int[arcCapacity];
+        this.arcCosts = new float[arcCapacity];
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Add an arc from one vertex to another. Arguments are validated by
+     * {@link #build()}.
+     *
+     * @param fromIndex the index of the originating vertex
+     * @param toIndex the index of the terminating vertex (distinct from
+     * fromIndex)
+     * @param initialCost the initial cost (or length) of the arc (&ge;0)
+     */
+    public void addArc(int fromIndex, int toIndex, float initialCost) {
+        if (numArcs == arcCosts.length) {
+            int newCapacity = Math.max(16, 2 * numArcs);
+            this.arcFromIndices = Arrays.copyOf(arcFromIndices, newCapacity);
+            this.arcToIndices = Arrays.copyOf(arcToIndices, newCapacity);
+            this.arcCosts = Arrays.copyOf(arcCosts, newCapacity);
+        }
+        arcFromIndices[numArcs] = fromIndex;
+        arcToIndices[numArcs] = toIndex;
+        arcCosts[numArcs] = initialCost;
+        ++numArcs;
+    }
+
+    /**
+     * Add a pair of arcs between 2 vertices, one in each direction. Arguments
+     * are validated by {@link #build()}.
+     *
+     * @param index1 the index of the first vertex
+     * @param index2 the index of the 2nd vertex (distinct from index1)
+     * @param initialCost the initial cost (or length) of both arcs (&ge;0)
+     */
+    public void addArcPair(int index1, int index2, float initialCost) {
+        addArc(index1, index2, initialCost);
+        addArc(index2, index1, initialCost);
+    }
+
+    /**
+     * Add a vertex without any arcs. Arguments are validated by
+     * {@link #build()}.
+     *
+     * @param name the name for the vertex (not null, unique)
+     * @param locus the region represented by the vertex (in world
+     * coordinates) or null
+     * @param location coordinates for calculating arc offsets (not null,
+     * unaffected)
+     * @return the index of the vertex (&ge;0)
+     */
+    public int addVertex(String name, Locus3f locus, Vector3f location) {
+        if (numVertices == names.length) {
+            int newCapacity = Math.max(16, 2 * numVertices);
+            this.names = Arrays.copyOf(names, newCapacity);
+            this.loci = Arrays.copyOf(loci, newCapacity);
+            this.locations = Arrays.copyOf(locations, newCapacity);
+        }
+        int result = numVertices;
+        names[result] = name;
+        loci[result] = locus;
+        locations[result] = (location == null) ? null : location.clone();
+        ++numVertices;
+
+        return result;
+    }
+
+    /**
+     * Validate the accumulated vertices and arcs and build a graph from them,
+     * on the current thread.
+     *
+     * @return a new graph with a compiled snapshot
+     */
+    public NavGraph build() {
+        NavGraph result = build(null);
+        return result;
+    }
+
+    /**
+     * Validate the accumulated vertices and arcs and build a graph from them,
+     * creating and linking vertices in parallel.
+     *
+     * @param pool the pool in which to create vertices, or null to build on
+     * the current thread
+     * @return a new graph with a compiled snapshot
+     */
+    public NavGraph build(ForkJoinPool pool) {
+        validate();
+        groupArcs();
+
+        this.graph = new NavGraph(numVertices, numArcs);
+        this.newVertices = new NavVertex[numVertices];
+        this.newArcs = new NavArc[numArcs];
+        try {
+            runPhase(pool, createVertices);
+            runPhase(pool, linkOutgoing);
+            runPhase(pool, linkIncoming);
+            graph.addBulk(newVertices, newArcs, groupedCosts, outgoingOffsets,
+                    groupedToIndices);
+            NavGraph result = graph;
+
+            return result;
+
+        } finally {
+            this.graph = null;
+            this.newVertices = null;
+            this.newArcs = null;
+            this.groupedCosts = null;
+            this.groupedToIndices = null;
+            this.outgoingOffsets = null;
+            this.incomingOffsets = null;
+            this.incomingArcs = null;
+        }
+    }
+
+    /**
+     * Remove all vertices and arcs from this builder.
+     */
+    public void clear() {
+        Arrays.fill(names, 0, numVertices, null);
+        Arrays.fill(loci, 0, numVertices, null);
+        Arrays.fill(locations, 0, numVertices, null);
+        this.numVertices = 0;
+        this.numArcs = 0;
+    }
+
+    /**
+     * Count the arcs added so far.
+     *
+     * @return count (&ge;0)
+     */
+    public int numArcs() {
+        assert numArcs >= 0 : numArcs;
+        return numArcs;
+    }
+
+    /**
+     * Count the vertices added so far.
+     *
+     * @return count (&ge;0)
+     */
+    public int numVertices() {
+        assert numVertices >= 0 : numVertices;
+        return numVertices;
+    }
+
+    /**
+     * Perform one phase of the current build for a range of vertices. Ranges
+     * may be processed concurrently, since each writes only to its own
+     * vertices and arcs.
+     *
+     * @param phase which phase to perform
+     * @param firstVertex the index of the first vertex to process (&ge;0)
+     * @param endVertex the index just past the last vertex to process
+     * (&le;numVertices)
+     */
+    void buildRange(int phase, int firstVertex, int endVertex) {
+        switch (phase) {
+            case createVertices:
+                for (int index = firstVertex; index < endVertex; ++index) {
+                    NavVertex vertex = new NavVertex(graph, names[index],
+                            loci[index], locations[index], index);
+                    int numIn = incomingOffsets[index + 1]
+                            - incomingOffsets[index];
+                    int numOut = outgoingOffsets[index + 1]
+                            - outgoingOffsets[index];
+                    vertex.reserveArcs(numIn, numOut);
+                    newVertices[index] = vertex;
+                }
+                break;
+
+            case linkOutgoing:
+                for (int index = firstVertex; index < endVertex; ++index) {
+                    NavVertex origin = newVertices[index];
+                    int end = outgoingOffsets[index + 1];
+                    for (int arcIndex = outgoingOffsets[index];
+                            arcIndex < end; ++arcIndex) {
+                        int toIndex = groupedToIndices[arcIndex];
+                        NavArc arc = new NavArc(origin, newVertices[toIndex]);
+                        origin.addOutgoing(arc);
+                        newArcs[arcIndex] = arc;
+                    }
+                }
+                break;
+
+            case linkIncoming:
+                for (int index = firstVertex; index < endVertex; ++index) {
+                    NavVertex terminus = newVertices[index];
+                    int end = incomingOffsets[index + 1];
+                    for (int position = incomingOffsets[index];
+                            position < end; ++position) {
+                        int arcIndex = incomingArcs[position];
+                        terminus.addIncoming(newArcs[arcIndex]);
+                    }
+                }
+                break;
+
+            default:
+                throw new IllegalArgumentException("phase = " + phase);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Group the accumulated arcs by originating vertex (and again by
+     * terminating vertex) using counting sorts, and verify that no arc is
+     * duplicated.
+     */
+    private void groupArcs() {
+        this.outgoingOffsets = new int[numVertices + 1];
+        this.incomingOffsets = new int[numVertices + 1];
+        for (int addIndex = 0; addIndex < numArcs; ++addIndex) {
+            ++outgoingOffsets[arcFromIndices[addIndex] + 1];
+            ++incomingOffsets[arcToIndices[addIndex] + 1];
+        }
+        for (int index = 0; index < numVertices; ++index) {
+            outgoingOffsets[index + 1] += outgoingOffsets[index];
+            incomingOffsets[index + 1] += incomingOffsets[index];
+        }
+
+        this.groupedCosts = new float[numArcs];
+        this.groupedToIndices = new int[numArcs];
+        int[] fill = new int[numVertices];
+        for (int addIndex = 0; addIndex < numArcs; ++addIndex) {
+            int fromIndex = arcFromIndices[addIndex];
+            int arcIndex = outgoingOffsets[fromIndex] + fill[fromIndex];
+            groupedCosts[arcIndex] = arcCosts[addIndex];
+            groupedToIndices[arcIndex] = arcToIndices[addIndex];
+            ++fill[fromIndex];
+        }
+
+        // Detect duplicate arcs by marking the termini of each origin.
+        Arrays.fill(fill, -1);
+        for (int fromIndex = 0; fromIndex < numVertices; ++fromIndex) {
+            int end = outgoingOffsets[fromIndex + 1];
+            for (int arcIndex = outgoingOffsets[fromIndex]; arcIndex < end;
+                    ++arcIndex) {
+                int toIndex = groupedToIndices[arcIndex];
+                if (fill[toIndex] == fromIndex) {
+                    logger.log(Level.SEVERE, "from={0} to={1}",
+                            new Object[]{fromIndex, toIndex});
+                    throw new IllegalArgumentException("arc already exists");
+                }
+                fill[toIndex] = fromIndex;
+            }
+        }
+
+        this.incomingArcs = new int[numArcs];
+        Arrays.fill(fill, 0);
+        for (int arcIndex = 0; arcIndex < numArcs; ++arcIndex) {
+            int toIndex = groupedToIndices[arcIndex];
+            int position = incomingOffsets[toIndex] + fill[toIndex];
+            incomingArcs[position] = arcIndex;
+            ++fill[toIndex];
+        }
+    }
+
+    /**
+     * Perform one phase of the current build for all vertices.
+     *
+     * @param pool the pool to use, or null to use the current thread
+     * @param phase which phase to perform
+     */
+    private void runPhase(ForkJoinPool pool, int phase) {
+        if (pool == null || numVertices == 0) {
+            buildRange(phase, 0, numVertices);
+        } else {
+            NavGraphBuildTask task
+                    = new NavGraphBuildTask(this, phase, 0, numVertices);
+            pool.invoke(task);
+        }
+    }
+
+    /**
+     * Validate the accumulated vertices and arcs, apart from vertex names
+     * being unique and arcs being distinct.
+     */
+    private void validate() {
+        for (int index = 0; index < numVertices; ++index) {
+            Validate.nonNull(names[index], "name");
+            Validate.nonNull(locations[index], "location");
+        }
+
+        int maxIndex = numVertices - 1;
+        for (int addIndex = 0; addIndex < numArcs; ++addIndex) {
+            int fromIndex = arcFromIndices[addIndex];
+            int toIndex = arcToIndices[addIndex];
+            Validate.inRange(fromIndex, "from index", 0, maxIndex);
+            Validate.inRange(toIndex, "to index", 0, maxIndex);
+            if (fromIndex == toIndex) {
+                throw new IllegalArgumentException("vertices not distinct");
+            }
+            Validate.nonNegative(arcCosts[addIndex], "initial cost");
+        }
+    }
+}
@@ -0,0 +1,863 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+import jme3utilities.math.locus.Locus3f;
+import jme3utilities.math.locus.Metric;
+import jme3utilities.math.locus.Segment3f;
+import jme3utilities.math.locus.Shell3f;
+import jme3utilities.math.polygon.SimplePolygon3f;
+
+/**
+ * Utility methods to save navigation graphs in a compact binary format and
+ * load them again, optionally via a memory-mapped file.
+ * <p>
+ * The format is big-endian. It begins with a magic number and a format
+ * version, followed by the vertex count and arc count. Next come the vertices
+ * in index order: each is a name (length-prefixed UTF-8), a location, and a
+ * tagged locus. Last come the arcs in compressed-sparse-row form: an offset
+ * array (one entry per vertex plus one), the terminating vertex index of each
+ * arc, and the cost of each arc.
+ * <p>
+ * Because the arcs are stored already grouped by originating vertex, loading
+ * also installs a compiled snapshot, so the loaded graph is ready for queries
+ * without a separate compilation pass. Polygon loci are trusted on load and
+ * not re-verified. A shell locus is saved as the parameters of the generic
+ * {@link Shell3f} constructor, so a loaded shell scores best midway between its
+ * inner and outer radii.
+ * <p>
+ * A {@link ContractionHierarchy} is saved separately from its graph. Its
+ * format begins with a different magic number and a format version, followed
+ * by the vertex count, arc count, and edge count. Next come the rank of each
+ * vertex and then, for each edge, its originating vertex index, terminating
+ * vertex index, underlying arc index, shortcut halves, and cost, each as a
+ * separate array. Loading verifies every edge against the graph.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class NavGraphFormat {
+    // *************************************************************************
+    // constants
+
+    /**
+     * locus tag for a vertex without a locus
+     */
+    final private static byte noLocusTag = 0;
+    /**
+     * locus tag for a SimplePolygon3f
+     */
+    final private static byte polygonTag = 1;
+    /**
+     * locus tag for a Segment3f
+     */
+    final private static byte segmentTag = 2;
+    /**
+     * locus tag for a Shell3f
+     */
+    final private static byte shellTag = 3;
+    /**
+     * character set for vertex names
+     */
+    final private static Charset utf8 = Charset.forName("UTF-8");
+    /**
+     * version of the format written by this class
+     */
+    final public static int formatVersion = 1;
+    /**
+     * magic number at the start of every file ("NAVG" in ASCII)
+     */
+    final private static int magic = 0x4e415647;
+    /**
+     * version of the hierarchy format written by this class
+     */
+    final public static int hierarchyVersion = 1;
+    /**
+     * magic number at the start of every hierarchy file ("NAVH" in ASCII)
+     */
+    final private static int hierarchyMagic = 0x4e415648;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            NavGraphFormat.class.getName());
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private NavGraphFormat() {
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Load a graph from the specified file by mapping it into memory.
+     *
+     * @param file the file to read (not null)
+     * @return a new graph with its compiled snapshot already installed
+     * @throws IllegalArgumentException if the file isn't in a supported
+     * format
+     */
+    public static NavGraph load(File file) {
+        Validate.nonNull(file, "file");
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel
+                = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+        NavGraph result = read(buffer);
+
+        return result;
+    }
+
+    /**
+     * Load a contraction hierarchy for the specified graph from the specified
+     * file by mapping it into memory, and install it in the graph.
+     *
+     * @param file the file to read (not null)
+     * @param graph the graph that was preprocessed (not null, modified)
+     * @return a new hierarchy for the graph's current snapshot
+     * @throws IllegalArgumentException if the file isn't in a supported
+     * format or doesn't match the graph
+     */
+    public static ContractionHierarchy loadHierarchy(
+            File file, NavGraph graph) {
+        Validate.nonNull(file, "file");
+        Validate.nonNull(graph, "graph");
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel
+                = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+        ContractionHierarchy result = readHierarchy(buffer, graph);
+
+        return result;
+    }
+
+    /**
+     * Read a graph from the specified buffer, starting at its current
+     * position. Afterward, the position is just past the graph.
+     *
+     * @param buffer the buffer to read (not null, big-endian)
+     * @return a new graph with its compiled snapshot already installed
+     * @throws IllegalArgumentException if the data aren't in a supported
+     * format
+     */
+    public static NavGraph read(ByteBuffer buffer) {
+        Validate.nonNull(buffer, "buffer");
+
+        NavGraph result;
+        try {
+            result = readGraph(buffer);
+        } catch (BufferUnderflowException exception) {
+            throw new IllegalArgumentException(
+                    "truncated navigation graph", exception);
+        }
+
+        return result;
+    }
+
+    /**
+     * Read a contraction hierarchy for the specified graph from the specified
+     * buffer, starting at its current position, and install it in the graph.
+     * Afterward, the position is just past the hierarchy.
+     *
+     * @param buffer the buffer to read (not null, big-endian)
+     * @param graph the graph that was preprocessed (not null, modified)
+     * @return a new hierarchy for the graph's current snapshot
+     * @throws IllegalArgumentException if the data aren't in a supported
+     * format or don't match the graph
+     */
+    public static ContractionHierarchy readHierarchy(
+            ByteBuffer buffer, NavGraph graph) {
+        Validate.nonNull(buffer, "buffer");
+        Validate.nonNull(graph, "graph");
+
+        CompiledNavGraph snapshot = graph.compile();
+        ContractionHierarchy result;
+        try {
+            result = readRanksAndEdges(buffer, snapshot);
+        } catch (BufferUnderflowException exception) {
+            throw new IllegalArgumentException(
+                    "truncated contraction hierarchy", exception);
+        }
+        graph.getRouter().setContractionHierarchy(result);
+
+        return result;
+    }
+
+    /**
+     * Write the specified graph to the specified file, replacing any previous
+     * contents.
+     *
+     * @param graph the graph to write (not null, unaffected)
+     * @param file the file to write (not null)
+     */
+    public static void save(NavGraph graph, File file) {
+        Validate.nonNull(graph, "graph");
+        Validate.nonNull(file, "file");
+
+        try (OutputStream stream = new FileOutputStream(file)) {
+            write(graph, stream);
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Write the specified contraction hierarchy to the specified file,
+     * replacing any previous contents.
+     *
+     * @param hierarchy the hierarchy to write (not null, unaffected)
+     * @param file the file to write (not null)
+     */
+    public static void saveHierarchy(ContractionHierarchy hierarchy,
+            File file) {
+        Validate.nonNull(hierarchy, "hierarchy");
+        Validate.nonNull(file, "file");
+
+        try (OutputStream stream = new FileOutputStream(file)) {
+            writeHierarchy(hierarchy, stream);
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Write the specified graph to the specified stream.
+     *
+     * @param graph the graph to write (not null, unaffected)
+     * @param stream the stream to write to (not null, open, left open)
+     * @throws IllegalArgumentException if a vertex has an unsupported locus
+     */
+    public static void write(NavGraph graph, OutputStream stream) {
+        Validate.nonNull(graph, "graph");
+        Validate.nonNull(stream, "stream");
+
+        CompiledNavGraph snapshot = graph.compile();
+        int numVertices = snapshot.numVertices();
+        int numArcs = snapshot.numArcs();
+
+        byte[][] names = new byte[numVertices][];
+        int numBytes = 16 + 4 * (numVertices + 1) + 8 * numArcs;
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            NavVertex vertex = snapshot.getVertex(vertexIndex);
+            names[vertexIndex] = vertex.getName().getBytes(utf8);
+            numBytes += 16 + names[vertexIndex].length
+                    + countLocusBytes(vertex.getLocus());
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(numBytes);
+        buffer.putInt(magic);
+        buffer.putInt(formatVersion);
+        buffer.putInt(numVertices);
+        buffer.putInt(numArcs);
+
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            NavVertex vertex = snapshot.getVertex(vertexIndex);
+            buffer.putInt(names[vertexIndex].length);
+            buffer.put(names[vertexIndex]);
+            putVector(buffer, vertex.copyLocation());
+            putLocus(buffer, vertex.getLocus());
+        }
+
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            buffer.putInt(snapshot.outgoingStart(vertexIndex));
+        }
+        buffer.putInt(numArcs);
+        for (int arcIndex = 0; arcIndex < numArcs; ++arcIndex) {
+            buffer.putInt(snapshot.getToIndex(arcIndex));
+        }
+        for (int arcIndex = 0; arcIndex < numArcs; ++arcIndex) {
+            buffer.putFloat(snapshot.getCost(arcIndex));
+        }
+
+        writeBuffer(buffer, stream);
+    }
+
+    /**
+     * Write the specified contraction hierarchy to the specified stream.
+     *
+     * @param hierarchy the hierarchy to write (not null, unaffected)
+     * @param stream the stream to write to (not null, open, left open)
+     */
+    public static void writeHierarchy(ContractionHierarchy hierarchy,
+            OutputStream stream) {
+        Validate.nonNull(hierarchy, "hierarchy");
+        Validate.nonNull(stream, "stream");
+
+        CompiledNavGraph snapshot = hierarchy.getGraph();
+        int numVertices = snapshot.numVertices();
+        int numEdges = hierarchy.numEdges();
+
+        int numBytes = 20 + 4 * numVertices + 24 * numEdges;
+        ByteBuffer buffer = ByteBuffer.allocate(numBytes);
+        buffer.putInt(hierarchyMagic);
+        buffer.putInt(hierarchyVersion);
+        buffer.putInt(numVertices);
+        buffer.putInt(snapshot.numArcs());
+        buffer.putInt(numEdges);
+
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            buffer.putInt(hierarchy.getRank(vertexIndex));
+        }
+        for (int edgeIndex = 0; edgeIndex < numEdges; ++edgeIndex) {
+            buffer.putInt(hierarchy.edgeFromIndex(edgeIndex));
+        }
+        for (int edgeIndex = 0; edgeIndex < numEdges; ++edgeIndex) {
+            buffer.putInt(hierarchy.edgeToIndex(edgeIndex));
+        }
+        for (int edgeIndex = 0; edgeIndex < numEdges; ++edgeIndex) {
+            buffer.putInt(hierarchy.edgeArc(edgeIndex));
+        }
+        for (int edgeIndex = 0; edgeIndex < numEdges; ++edgeIndex) {
+            buffer.putInt(hierarchy.firstHalf(edgeIndex));
+        }
+        for (int edgeIndex = 0; edgeIndex < numEdges; ++edgeIndex) {
+            buffer.putInt(hierarchy.secondHalf(edgeIndex));
+        }
+        for (int edgeIndex = 0; edgeIndex < numEdges; ++edgeIndex) {
+            buffer.putFloat(hierarchy.edgeCost(edgeIndex));
+        }
+
+        writeBuffer(buffer, stream);
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Count the bytes needed to write the specified locus with
+     * {@link #putLocus(java.nio.ByteBuffer, jme3utilities.math.locus.Locus3f)}.
+     *
+     * @param locus the locus to measure (unaffected) or null
+     * @return the count (&gt;0)
+     */
+    private static int countLocusBytes(Locus3f locus) {
+        int result;
+        if (locus == null) {
+            result = 1;
+
+        } else if (locus instanceof SimplePolygon3f) {
+            int numCorners = ((SimplePolygon3f) locus).numCorners();
+            result = 9 + 12 * numCorners;
+
+        } else if (locus instanceof Segment3f) {
+            result = 29;
+
+        } else if (locus instanceof Shell3f) {
+            Shell3f shell = (Shell3f) locus;
+            result = 24;
+            if (shell.copyOrientation() != null) {
+                result += 16;
+            }
+            if (shell.copyWeights() != null) {
+                result += 12;
+            }
+
+        } else {
+            String className = locus.getClass().getName();
+            logger.log(Level.SEVERE, "locus class={0}", className);
+            throw new IllegalArgumentException("unsupported locus");
+        }
+
+        return result;
+    }
+
+    /**
+     * Create the arcs of a graph being loaded and link them to their
+     * vertices, with each adjacency array sized exactly.
+     *
+     * @param vertices the vertices in index order, without any arcs (not
+     * null, modified)
+     * @param offsets the position of the first outgoing arc of each vertex,
+     * plus a final entry equal to the number of arcs (not null, validated,
+     * unaffected)
+     * @param toIndices the index of the terminating vertex of each arc (not
+     * null, validated, unaffected)
+     * @return a new array of new arcs, grouped by originating vertex
+     */
+    private static NavArc[] linkArcs(
+            NavVertex[] vertices, int[] offsets, int[] toIndices) {
+        int numVertices = vertices.length;
+        int numArcs = toIndices.length;
+
+        int[] numIncoming = new int[numVertices];
+        for (int arcIndex = 0; arcIndex < numArcs; ++arcIndex) {
+            ++numIncoming[toIndices[arcIndex]];
+        }
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            int numOutgoing = offsets[vertexIndex + 1] - offsets[vertexIndex];
+            vertices[vertexIndex].reserveArcs(
+                    numIncoming[vertexIndex], numOutgoing);
+        }
+
+        NavArc[] result = new NavArc[numArcs];
+        for (int fromIndex = 0; fromIndex < numVertices; ++fromIndex) {
+            NavVertex origin = vertices[fromIndex];
+            int end = offsets[fromIndex + 1];
+            for (int arcIndex = offsets[fromIndex]; arcIndex < end;
+                    ++arcIndex) {
+                NavVertex terminus = vertices[toIndices[arcIndex]];
+                NavArc arc = new NavArc(origin, terminus);
+                origin.addOutgoing(arc);
+                terminus.addIncoming(arc);
+                result[arcIndex] = arc;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Write a tagged locus to a buffer.
+     *
+     * @param buffer the buffer to write to (not null)
+     * @param locus the locus to write (unaffected) or null
+     */
+    private static void putLocus(ByteBuffer buffer, Locus3f locus) {
+        if (locus == null) {
+            buffer.put(noLocusTag);
+
+        } else if (locus instanceof SimplePolygon3f) {
+            SimplePolygon3f polygon = (SimplePolygon3f) locus;
+            buffer.put(polygonTag);
+            buffer.putFloat(polygon.getTolerance());
+            Vector3f[] corners = polygon.copyCornerLocations();
+            buffer.putInt(corners.length);
+            for (Vector3f corner : corners) {
+                putVector(buffer, corner);
+            }
+
+        } else if (locus instanceof Segment3f) {
+            Segment3f segment = (Segment3f) locus;
+            buffer.put(segmentTag);
+            buffer.putFloat(segment.getTolerance());
+            Vector3f[] corners = segment.copyCornerLocations();
+            putVector(buffer, corners[0]);
+            putVector(buffer, corners[1]);
+
+        } else {
+            Shell3f shell = (Shell3f) locus;
+            buffer.put(shellTag);
+            buffer.put((byte) shell.getMetric().ordinal());
+            putVector(buffer, shell.copyCenter());
+
+            Quaternion orientation = shell.copyOrientation();
+            if (orientation == null) {
+                buffer.put((byte) 0);
+            } else {
+                buffer.put((byte) 1);
+                buffer.putFloat(orientation.getX());
+                buffer.putFloat(orientation.getY());
+                buffer.putFloat(orientation.getZ());
+                buffer.putFloat(orientation.getW());
+            }
+            Vector3f weights = shell.copyWeights();
+            if (weights == null) {
+                buffer.put((byte) 0);
+            } else {
+                buffer.put((byte) 1);
+                putVector(buffer, weights);
+            }
+            buffer.putFloat(shell.getInnerRadius());
+            buffer.putFloat(shell.getOuterRadius());
+        }
+    }
+
+    /**
+     * Write a 3-D vector to a buffer.
+     *
+     * @param buffer the buffer to write to (not null)
+     * @param vector the vector to write (not null, unaffected)
+     */
+    private static void putVector(ByteBuffer buffer, Vector3f vector) {
+        buffer.putFloat(vector.x);
+        buffer.putFloat(vector.y);
+        buffer.putFloat(vector.z);
+    }
+
+    /**
+     * Read the specified number of floats from a buffer in bulk.
+     *
+     * @param buffer the buffer to read (not null)
+     * @param count the number of floats to read (&ge;0)
+     * @return a new array
+     */
+    private static float[] readFloats(ByteBuffer buffer, int count) {
+        float[] result = new float[count];
+        buffer.asFloatBuffer().get(result);
+        buffer.position(buffer.position() + 4 * count);
+
+        return result;
+    }
+
+    /**
+     * Read a complete graph from a buffer.
+     *
+     * @param buffer the buffer to read (not null)
+     * @return a new graph
+     * @throws IllegalArgumentException if the data aren't in a supported
+     * format
+     */
+    private static NavGraph readGraph(ByteBuffer buffer) {
+        int fileMagic = buffer.getInt();
+        if (fileMagic != magic) {
+            throw new IllegalArgumentException("not a navigation graph");
+        }
+        int fileVersion = buffer.getInt();
+        if (fileVersion != formatVersion) {
+            logger.log(Level.SEVERE, "fileVersion={0}", fileVersion);
+            throw new IllegalArgumentException(
+                    "unsupported navigation-graph version");
+        }
+        int numVertices = buffer.getInt();
+        int numArcs = buffer.getInt();
+        if (numVertices < 0 || numArcs < 0) {
+            throw new IllegalArgumentException(
+                    "negative count in navigation graph");
+        }
+
+        NavGraph result = new NavGraph(numVertices, numArcs);
+        NavVertex[] vertices = new NavVertex[numVertices];
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            int nameLength = buffer.getInt();
+            if (nameLength < 0) {
+                throw new IllegalArgumentException("negative name length");
+            }
+            byte[] nameBytes = new byte[nameLength];
+            buffer.get(nameBytes);
+            String name = new String(nameBytes, utf8);
+            Vector3f location = readVector(buffer);
+            Locus3f locus = readLocus(buffer);
+            vertices[vertexIndex]
+                    = new NavVertex(result, name, locus, location, vertexIndex);
+        }
+
+        int[] offsets = readInts(buffer, numVertices + 1);
+        int[] toIndices = readInts(buffer, numArcs);
+        float[] costs = readFloats(buffer, numArcs);
+        validateArcs(offsets, toIndices, costs);
+
+        NavArc[] arcs = linkArcs(vertices, offsets, toIndices);
+        result.addBulk(vertices, arcs, costs, offsets, toIndices);
+
+        return result;
+    }
+
+    /**
+     * Read the specified number of ints from a buffer in bulk.
+     *
+     * @param buffer the buffer to read (not null)
+     * @param count the number of ints to read (&ge;0)
+     * @return a new array
+     */
+    private static int[] readInts(ByteBuffer buffer, int count) {
+        int[] result = new int[count];
+        buffer.asIntBuffer().get(result);
+        buffer.position(buffer.position() + 4 * count);
+
+        return result;
+    }
+
+    /**
+     * Read a tagged locus from a buffer.
+     *
+     * @param buffer the buffer to read (not null)
+     * @return a new locus, or null if the vertex has none
+     * @throws IllegalArgumentException if the tag isn't recognized
+     */
+    private static Locus3f readLocus(ByteBuffer buffer) {
+        Locus3f result;
+        byte tag = buffer.get();
+        switch (tag) {
+            case noLocusTag:
+                result = null;
+                break;
+
+            case polygonTag:
+                float tolerance = buffer.getFloat();
+                int numCorners = buffer.getInt();
+                if (numCorners < 0) {
+                    throw new IllegalArgumentException("negative corner count");
+                }
+                Vector3f[] corners = new Vector3f[numCorners];
+                for (int cornerI = 0; cornerI < numCorners; ++cornerI) {
+                    corners[cornerI] = readVector(buffer);
+                }
+                result = new SimplePolygon3f(corners, tolerance, false);
+                break;
+
+            case segmentTag:
+                tolerance = buffer.getFloat();
+                Vector3f corner0 = readVector(buffer);
+                Vector3f corner1 = readVector(buffer);
+                result = new Segment3f(corner0, corner1, tolerance);
+                break;
+
+            case shellTag:
+                result = readShell(buffer);
+                break;
+
+            default:
+                logger.log(Level.SEVERE, "tag={0}", tag);
+                throw new IllegalArgumentException("unknown locus tag");
+        }
+
+        return result;
+    }
+
+    /**
+     * Read the ranks and edges of a contraction hierarchy from a buffer,
+     * verifying them against the specified snapshot.
+     *
+     * @param buffer the buffer to read (not null)
+     * @param snapshot the snapshot that was preprocessed (not null)
+     * @return a new hierarchy
+     * @throws IllegalArgumentException if the data aren't in a supported
+     * format or don't match the snapshot
+     */
+    private static ContractionHierarchy readRanksAndEdges(ByteBuffer buffer,
+            CompiledNavGraph snapshot) {
+        int fileMagic = buffer.getInt();
+        if (fileMagic != hierarchyMagic) {
+            throw new IllegalArgumentException("not a contraction hierarchy");
+        }
+        int fileVersion = buffer.getInt();
+        if (fileVersion != hierarchyVersion) {
+            logger.log(Level.SEVERE, "fileVersion={0}", fileVersion);
+            throw new IllegalArgumentException(
+                    "unsupported contraction-hierarchy version");
+        }
+        int numVertices = buffer.getInt();
+        int numArcs = buffer.getInt();
+        int numEdges = buffer.getInt();
+        if (numVertices != snapshot.numVertices()
+                || numArcs != snapshot.numArcs() || numEdges < numArcs) {
+            throw new IllegalArgumentException(
+                    "hierarchy doesn't match the graph");
+        }
+
+        int[] ranks = readInts(buffer, numVertices);
+        boolean[] isRanked = new boolean[numVertices];
+        for (int rank : ranks) {
+            if (rank < 0 || rank >= numVertices || isRanked[rank]) {
+                throw new IllegalArgumentException("invalid vertex ranks");
+            }
+            isRanked[rank] = true;
+        }
+
+        int[] fromIndices = readInts(buffer, numEdges);
+        int[] toIndices = readInts(buffer, numEdges);
+        int[] arcs = readInts(buffer, numEdges);
+        int[] firstHalves = readInts(buffer, numEdges);
+        int[] secondHalves = readInts(buffer, numEdges);
+        float[] costs = readFloats(buffer, numEdges);
+
+        for (int edgeIndex = 0; edgeIndex < numEdges; ++edgeIndex) {
+            int fromIndex = fromIndices[edgeIndex];
+            int toIndex = toIndices[edgeIndex];
+            if (fromIndex < 0 || fromIndex >= numVertices || toIndex < 0
+                    || toIndex >= numVertices || fromIndex == toIndex) {
+                throw new IllegalArgumentException("invalid edge endpoints");
+            }
+
+            int arcIndex = arcs[edgeIndex];
+            int first = firstHalves[edgeIndex];
+            int second = secondHalves[edgeIndex];
+            boolean isValid;
+            if (arcIndex >= 0) { // an arc of the graph
+                isValid = arcIndex < numArcs && first == -1 && second == -1
+                        && snapshot.getFromIndex(arcIndex) == fromIndex
+                        && snapshot.getToIndex(arcIndex) == toIndex
+                        && snapshot.getCost(arcIndex) == costs[edgeIndex];
+
+            } else { // a shortcut, whose halves must precede it
+                isValid = arcIndex == -1 && first >= 0 && first < edgeIndex
+                        && second >= 0 && second < edgeIndex
+                        && fromIndices[first] == fromIndex
+                        && toIndices[first] == fromIndices[second]
+                        && toIndices[second] == toIndex
+                        && costs[first] + costs[second] == costs[edgeIndex];
+                if (isValid) {
+                    int middleRank = ranks[toIndices[first]];
+                    isValid = middleRank < ranks[fromIndex]
+                            && middleRank < ranks[toIndex];
+                }
+            }
+            if (!isValid) {
+                throw new IllegalArgumentException(
+                        "hierarchy doesn't match the graph");
+            }
+        }
+
+        ContractionHierarchy result = new ContractionHierarchy(
+                snapshot, ranks, costs, arcs, firstHalves, secondHalves);
+
+        return result;
+    }
+
+    /**
+     * Read the parameters of a shell from a buffer.
+     *
+     * @param buffer the buffer to read (not null)
+     * @return a new shell
+     * @throws IllegalArgumentException if the metric isn't recognized
+     */
+    private static Shell3f readShell(ByteBuffer buffer) {
+        Metric[] metrics = Metric.values();
+        int ordinal = buffer.get();
+        if (ordinal < 0 || ordinal >= metrics.length) {
+            throw new IllegalArgumentException("unknown metric");
+        }
+        Metric metric = metrics[ordinal];
+        Vector3f center = readVector(buffer);
+
+        Quaternion orientation = null;
+        if (buffer.get() != 0) {
+            float x = buffer.getFloat();
+            float y = buffer.getFloat();
+            float z = buffer.getFloat();
+            float w = buffer.getFloat();
+            orientation = new Quaternion(x, y, z, w);
+        }
+        Vector3f weights = null;
+        if (buffer.get() != 0) {
+            weights = readVector(buffer);
+        }
+        float innerRadius = buffer.getFloat();
+        float outerRadius = buffer.getFloat();
+
+        Shell3f result = new Shell3f(
+                metric, center, orientation, weights, innerRadius, outerRadius);
+
+        return result;
+    }
+
+    /**
+     * Read a 3-D vector from a buffer.
+     *
+     * @param buffer the buffer to read (not null)
+     * @return a new vector
+     */
+    private static Vector3f readVector(ByteBuffer buffer) {
+        float x = buffer.getFloat();
+        float y = buffer.getFloat();
+        float z = buffer.getFloat();
+        Vector3f result = new Vector3f(x, y, z);
+
+        return result;
+    }
+
+    /**
+     * Verify the arcs of a graph being loaded: the offsets must be ordered,
+     * each arc must join distinct vertices, no arc may be duplicated, and no
+     * cost may be negative.
+     *
+     * @param offsets the position of the first outgoing arc of each vertex,
+     * plus a final entry equal to the number of arcs (not null, unaffected)
+     * @param toIndices the index of the terminating vertex of each arc (not
+     * null, unaffected)
+     * @param costs the cost of each arc (not null, unaffected)
+     * @throws IllegalArgumentException if the arcs are malformed
+     */
+    private static void validateArcs(
+            int[] offsets, int[] toIndices, float[] costs) {
+        int numVertices = offsets.length - 1;
+        int numArcs = toIndices.length;
+        if (offsets[0] != 0 || offsets[numVertices] != numArcs) {
+            throw new IllegalArgumentException("invalid arc offsets");
+        }
+
+        // Detect duplicate arcs by marking the termini of each origin.
+        int[] marks = new int[numVertices];
+        Arrays.fill(marks, -1);
+        for (int fromIndex = 0; fromIndex < numVertices; ++fromIndex) {
+            int start = offsets[fromIndex];
+            int end = offsets[fromIndex + 1];
+            if (start > end) {
+                throw new IllegalArgumentException("invalid arc offsets");
+            }
+            for (int arcIndex = start; arcIndex < end; ++arcIndex) {
+                int toIndex = toIndices[arcIndex];
+                if (toIndex < 0 || toIndex >= numVertices
+                        || toIndex == fromIndex) {
+                    throw new IllegalArgumentException("invalid arc terminus");
+                }
+                if (marks[toIndex] == fromIndex) {
+                    logger.log(Level.SEVERE, "from={0} to={1}",
+                            new Object[]{fromIndex, toIndex});
+                    throw new IllegalArgumentException("duplicate arc");
+                }
+                marks[toIndex] = fromIndex;
+                if (!(costs[arcIndex] >= 0f)) {
+                    throw new IllegalArgumentException("invalid arc cost");
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the contents of a heap buffer to a stream.
+     *
+     * @param buffer the buffer to write (not null, full, unaffected)
+     * @param stream the stream to write to (not null, open, left open)
+     */
+    private static void writeBuffer(ByteBuffer buffer, OutputStream stream) {
+        assert !buffer.hasRemaining();
+        try {
+            stream.write(buffer.array());
+            stream.flush();
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+/**
+ * Receives notifications when a navigation graph is modified, so that derived
+ * data can be repaired or invalidated selectively.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public interface NavGraphListener {
+    /**
+     * Callback invoked after an arc is added to the graph.
+     *
+     * @param arc the new arc (not null)
+     * @param cost the cost (or length) of the new arc (&ge;0)
+     */
+    void arcAdded(NavArc arc, float cost);
+
+    /**
+     * Callback invoked after an arc is removed from the graph.
+     *
+     * @param arc the removed arc (not null)
+     * @param oldCost the cost (or length) the arc had (&ge;0)
+     */
+    void arcRemoved(NavArc arc, float oldCost);
+
+    /**
+     * Callback invoked after the cost of a member arc changes.
+     *
+     * @param arc the modified arc (not null)
+     * @param oldCost the previous cost (or length) of the arc (&ge;0)
+     * @param newCost the new cost (or length) of the arc (&ge;0)
+     */
+    void costChanged(NavArc arc, float oldCost, float newCost);
+
+    /**
+     * Callback invoked after a vertex is added to the graph.
+     *
+     * @param vertex the new vertex (not null, no arcs)
+     */
+    void vertexAdded(NavVertex vertex);
+}
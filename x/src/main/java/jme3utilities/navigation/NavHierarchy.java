@@ -0,0 +1,638 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import com.jme3.math.Vector3f;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * A 2-level hierarchy over a navigation graph, for fast long-range route
+ * planning in large worlds (in the style of HPA*).
+ * <p>
+ * Vertices are partitioned into clusters by location, using a cubic grid.
+ * Vertices with arcs to or from other clusters serve as portals, and the
+ * costs of the cheapest internal routes between the portals of each cluster
+ * are precomputed. Each query plans on the resulting abstract graph and then
+ * refines only the parts of the route it uses. Since every boundary vertex
+ * is a portal, the routes found are as cheap as those of
+ * {@link NavGraph#seek(NavVertex, NavVertex)}.
+ * <p>
+ * Instances are created by {@link NavRouter#createHierarchy(float)}, which
+ * registers them as listeners. A modification of the graph marks only the
+ * clusters it touches for rebuilding, and rebuilding is deferred until a
+ * query needs the cluster.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class NavHierarchy implements NavGraphListener {
+    // *************************************************************************
+    // constants
+
+    /**
+     * mask for each cell coordinate in a cell key
+     */
+    final private static long cellMask = 0x1fffffL;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            NavHierarchy.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * edge length of each grid cell (in world units, &gt;0)
+     */
+    final private float cellSize;
+    /**
+     * slot of each vertex among the portals of its cluster, indexed by vertex
+     * index (-1 if not a portal, valid only for clean clusters)
+     */
+    private int[] portalSlots;
+    /**
+     * predecessor of each node in the abstract search, indexed by vertex
+     * index
+     */
+    private int[] predecessors;
+    /**
+     * cluster of each vertex, indexed by vertex index
+     */
+    private NavCluster[] clusters;
+    /**
+     * arc used to reach each vertex in the local search, indexed by vertex
+     * index
+     */
+    private NavArc[] localArcs;
+    /**
+     * crossing arc used to reach each node in the abstract search, indexed
+     * by vertex index (null for an internal route)
+     */
+    private NavArc[] viaArcs;
+    /**
+     * graph being partitioned (not null, set by constructor)
+     */
+    final private NavGraph graph;
+    /**
+     * scratch storage for searches of the abstract graph
+     */
+    private NavWorkspace abstractWorkspace;
+    /**
+     * scratch storage for searches restricted to a single cluster
+     */
+    private NavWorkspace localWorkspace;
+    /**
+     * cluster for each occupied grid cell
+     */
+    final private Map<Long, NavCluster> cellMap = new HashMap<>(64);
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a hierarchy over the specified graph.
+     *
+     * @param graph the graph to partition (not null, alias created)
+     * @param cellSize the edge length of each grid cell (in world units,
+     * &gt;0)
+     */
+    NavHierarchy(NavGraph graph, float cellSize) {
+        assert graph != null;
+        assert cellSize > 0f : cellSize;
+
+        this.graph = graph;
+        this.cellSize = cellSize;
+
+        int numVertices = graph.numVertices();
+        this.clusters = new NavCluster[numVertices];
+        this.portalSlots = new int[numVertices];
+        Arrays.fill(portalSlots, -1);
+        this.predecessors = new int[numVertices];
+        this.localArcs = new NavArc[numVertices];
+        this.viaArcs = new NavArc[numVertices];
+        this.abstractWorkspace = new NavWorkspace(numVertices);
+        this.localWorkspace = new NavWorkspace(numVertices);
+
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            NavVertex vertex = graph.getVertex(vertexIndex);
+            assign(vertex);
+        }
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Count the clusters.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countClusters() {
+        int result = cellMap.size();
+        return result;
+    }
+
+    /**
+     * Count the portals in all clusters, rebuilding any dirty clusters.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countPortals() {
+        int result = 0;
+        for (NavCluster cluster : cellMap.values()) {
+            clean(cluster);
+            result += cluster.numPortals();
+        }
+
+        return result;
+    }
+
+    /**
+     * Read the edge length of the grid cells.
+     *
+     * @return the length (in world units, &gt;0)
+     */
+    public float getCellSize() {
+        assert cellSize > 0f : cellSize;
+        return cellSize;
+    }
+
+    /**
+     * Find the cheapest route from one vertex to another.
+     *
+     * @param startVertex starting point (member, distinct from endVertex)
+     * @param endVertex goal (member, distinct from startVertex)
+     * @return a new list of arcs, or null if goal is unreachable
+     */
+    public List<NavArc> seek(NavVertex startVertex, NavVertex endVertex) {
+        List<NavArc> result = seek(startVertex, endVertex, null);
+        return result;
+    }
+
+    /**
+     * Find the cheapest route from one vertex to another, using the specified
+     * heuristic to guide the search of the abstract graph.
+     *
+     * @param startVertex starting point (member, distinct from endVertex)
+     * @param endVertex goal (member, distinct from startVertex)
+     * @param heuristic estimator for remaining costs, or null for none
+     * @return a new list of arcs, or null if goal is unreachable
+     */
+    public List<NavArc> seek(NavVertex startVertex, NavVertex endVertex,
+            NavHeuristic heuristic) {
+        graph.validateMember(startVertex, "start vertex");
+        graph.validateMember(endVertex, "end vertex");
+        if (startVertex == endVertex) {
+            throw new IllegalArgumentException("vertices not distinct");
+        }
+
+        int startIndex = startVertex.getIndex();
+        int endIndex = endVertex.getIndex();
+        NavCluster startCluster = clusters[startIndex];
+        NavCluster endCluster = clusters[endIndex];
+        clean(startCluster);
+        clean(endCluster);
+
+        // Find the internal costs from the start to its portals.
+        searchCluster(startCluster, startVertex, null, false);
+        int numStartPortals = startCluster.numPortals();
+        float[] startCosts = new float[numStartPortals];
+        for (int slot = 0; slot < numStartPortals; ++slot) {
+            int portalIndex = startCluster.getPortal(slot).getIndex();
+            startCosts[slot] = localWorkspace.cost(portalIndex);
+        }
+        float directCost = localWorkspace.cost(endIndex);
+
+        // Find the internal costs from the portals of the goal to the goal.
+        searchCluster(endCluster, endVertex, null, true);
+        int numEndPortals = endCluster.numPortals();
+        float[] endCosts = new float[numEndPortals];
+        for (int slot = 0; slot < numEndPortals; ++slot) {
+            int portalIndex = endCluster.getPortal(slot).getIndex();
+            endCosts[slot] = localWorkspace.cost(portalIndex);
+        }
+
+        // Search the abstract graph.
+        NavWorkspace workspace = abstractWorkspace;
+        workspace.begin();
+        VertexQueue openQueue = workspace.getOpenQueue();
+        relax(startIndex, 0f, -1, null, endVertex, heuristic);
+
+        while (!openQueue.isEmpty()) {
+            int nodeIndex = openQueue.remove();
+            if (nodeIndex == endIndex) {
+                List<NavArc> result = refine(startVertex, endVertex);
+                return result;
+            }
+            workspace.settle(nodeIndex);
+            float nodeCost = workspace.cost(nodeIndex);
+            NavVertex node = graph.getVertex(nodeIndex);
+            NavCluster cluster = clusters[nodeIndex];
+
+            if (nodeIndex == startIndex) {
+                for (int slot = 0; slot < numStartPortals; ++slot) {
+                    int portalIndex = startCluster.getPortal(slot).getIndex();
+                    float cost = nodeCost + startCosts[slot];
+                    relax(portalIndex, cost, nodeIndex, null, endVertex,
+                            heuristic);
+                }
+                relax(endIndex, directCost, nodeIndex, null, endVertex,
+                        heuristic);
+
+            } else { // The node is a portal.
+                clean(cluster);
+                int fromSlot = portalSlots[nodeIndex];
+                assert fromSlot >= 0 : fromSlot;
+                int numPortals = cluster.numPortals();
+                for (int toSlot = 0; toSlot < numPortals; ++toSlot) {
+                    if (toSlot != fromSlot) {
+                        int portalIndex = cluster.getPortal(toSlot).getIndex();
+                        float cost = nodeCost
+                                + cluster.portalCost(fromSlot, toSlot);
+                        relax(portalIndex, cost, nodeIndex, null, endVertex,
+                                heuristic);
+                    }
+                }
+                if (cluster == endCluster) {
+                    float cost = nodeCost + endCosts[fromSlot];
+                    relax(endIndex, cost, nodeIndex, null, endVertex,
+                            heuristic);
+                }
+            }
+
+            // Follow arcs that cross into other clusters.
+            int numOutgoing = node.numOutgoing();
+            for (int position = 0; position < numOutgoing; ++position) {
+                NavArc arc = node.getOutgoing(position);
+                int toIndex = arc.getToVertex().getIndex();
+                if (clusters[toIndex] != cluster) {
+                    float cost = nodeCost + graph.getCost(arc);
+                    relax(toIndex, cost, nodeIndex, arc, endVertex,
+                            heuristic);
+                }
+            }
+        }
+
+        return null;
+    }
+    // *************************************************************************
+    // NavGraphListener methods
+
+    /**
+     * Mark the clusters at the ends of a new arc as dirty.
+     *
+     * @param arc the new arc (not null)
+     * @param cost the cost (or length) of the new arc (&ge;0)
+     */
+    @Override
+    public void arcAdded(NavArc arc, float cost) {
+        markEndsDirty(arc);
+    }
+
+    /**
+     * Mark the clusters at the ends of a removed arc as dirty.
+     *
+     * @param arc the removed arc (not null)
+     * @param oldCost the cost (or length) the arc had (&ge;0)
+     */
+    @Override
+    public void arcRemoved(NavArc arc, float oldCost) {
+        markEndsDirty(arc);
+    }
+
+    /**
+     * Mark the cluster of a modified internal arc as dirty. The costs of
+     * crossing arcs aren't cached, so changing them requires no action.
+     *
+     * @param arc the modified arc (not null)
+     * @param oldCost the previous cost of the arc (&ge;0)
+     * @param newCost the new cost of the arc (&ge;0)
+     */
+    @Override
+    public void costChanged(NavArc arc, float oldCost, float newCost) {
+        int fromIndex = arc.getFromVertex().getIndex();
+        int toIndex = arc.getToVertex().getIndex();
+        NavCluster cluster = clusters[fromIndex];
+        if (cluster == clusters[toIndex]) {
+            cluster.markDirty();
+        }
+    }
+
+    /**
+     * Assign a new vertex to a cluster.
+     *
+     * @param vertex the new vertex (not null)
+     */
+    @Override
+    public void vertexAdded(NavVertex vertex) {
+        int oldLength = clusters.length;
+        int newLength = vertex.getIndex() + 1;
+        if (newLength > oldLength) {
+            int capacity = Math.max(newLength, 2 * oldLength);
+            this.clusters = Arrays.copyOf(clusters, capacity);
+            this.portalSlots = Arrays.copyOf(portalSlots, capacity);
+            Arrays.fill(portalSlots, oldLength, capacity, -1);
+            this.predecessors = Arrays.copyOf(predecessors, capacity);
+            this.localArcs = Arrays.copyOf(localArcs, capacity);
+            this.viaArcs = Arrays.copyOf(viaArcs, capacity);
+            this.abstractWorkspace = new NavWorkspace(capacity);
+            this.localWorkspace = new NavWorkspace(capacity);
+        }
+
+        assign(vertex);
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Assign the specified vertex to the cluster of the grid cell containing
+     * its location, creating the cluster if necessary.
+     *
+     * @param vertex the vertex to assign (not null)
+     */
+    private void assign(NavVertex vertex) {
+        Vector3f location = vertex.copyLocation();
+        long x = (long) Math.floor(location.x / cellSize);
+        long y = (long) Math.floor(location.y / cellSize);
+        long z = (long) Math.floor(location.z / cellSize);
+        long key = ((x & cellMask) << 42) | ((y & cellMask) << 21)
+                | (z & cellMask);
+
+        NavCluster cluster = cellMap.get(key);
+        if (cluster == null) {
+            cluster = new NavCluster();
+            cellMap.put(key, cluster);
+        }
+        cluster.addMember(vertex);
+        clusters[vertex.getIndex()] = cluster;
+    }
+
+    /**
+     * Rebuild the specified cluster if it's dirty: identify its portals and
+     * calculate the costs of the internal routes between them.
+     *
+     * @param cluster the cluster to rebuild (not null)
+     */
+    private void clean(NavCluster cluster) {
+        if (!cluster.isDirty()) {
+            return;
+        }
+
+        List<NavVertex> portals = new ArrayList<>(8);
+        for (NavVertex member : cluster.listMembers()) {
+            int memberIndex = member.getIndex();
+            portalSlots[memberIndex] = -1;
+            if (hasCrossingArc(member)) {
+                portalSlots[memberIndex] = portals.size();
+                portals.add(member);
+            }
+        }
+
+        int numPortals = portals.size();
+        float[] costs = new float[numPortals * numPortals];
+        for (int fromSlot = 0; fromSlot < numPortals; ++fromSlot) {
+            NavVertex from = portals.get(fromSlot);
+            searchCluster(cluster, from, null, false);
+            for (int toSlot = 0; toSlot < numPortals; ++toSlot) {
+                int toIndex = portals.get(toSlot).getIndex();
+                costs[fromSlot * numPortals + toSlot]
+                        = localWorkspace.cost(toIndex);
+            }
+        }
+
+        cluster.setPortals(portals, costs);
+    }
+
+    /**
+     * Test whether the specified vertex has any arcs to or from other
+     * clusters.
+     *
+     * @param vertex the vertex to test (not null, unaffected)
+     * @return true if it does, otherwise false
+     */
+    private boolean hasCrossingArc(NavVertex vertex) {
+        NavCluster cluster = clusters[vertex.getIndex()];
+        int numOutgoing = vertex.numOutgoing();
+        for (int position = 0; position < numOutgoing; ++position) {
+            NavArc arc = vertex.getOutgoing(position);
+            if (clusters[arc.getToVertex().getIndex()] != cluster) {
+                return true;
+            }
+        }
+        int numIncoming = vertex.numIncoming();
+        for (int position = 0; position < numIncoming; ++position) {
+            NavArc arc = vertex.getIncoming(position);
+            if (clusters[arc.getFromVertex().getIndex()] != cluster) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Mark the cluster(s) at the ends of the specified arc as dirty.
+     *
+     * @param arc the arc (not null)
+     */
+    private void markEndsDirty(NavArc arc) {
+        int fromIndex = arc.getFromVertex().getIndex();
+        clusters[fromIndex].markDirty();
+        int toIndex = arc.getToVertex().getIndex();
+        clusters[toIndex].markDirty();
+    }
+
+    /**
+     * Expand the abstract route to the specified goal into arcs, refining each
+     * internal segment with a search restricted to its cluster.
+     *
+     * @param startVertex the starting vertex (not null)
+     * @param endVertex the goal vertex (not null)
+     * @return a new list of member arcs, in route order
+     */
+    private List<NavArc> refine(NavVertex startVertex, NavVertex endVertex) {
+        // Collect the abstract nodes, from the goal back to the start.
+        int startIndex = startVertex.getIndex();
+        List<NavVertex> nodes = new ArrayList<>(16);
+        int nodeIndex = endVertex.getIndex();
+        while (nodeIndex != startIndex) {
+            nodes.add(graph.getVertex(nodeIndex));
+            nodeIndex = predecessors[nodeIndex];
+        }
+        nodes.add(startVertex);
+        Collections.reverse(nodes);
+
+        List<NavArc> result = new ArrayList<>(32);
+        int numNodes = nodes.size();
+        for (int i = 1; i < numNodes; ++i) {
+            NavVertex from = nodes.get(i - 1);
+            NavVertex to = nodes.get(i);
+            int toIndex = to.getIndex();
+            NavArc viaArc = viaArcs[toIndex];
+            if (viaArc != null) {
+                result.add(viaArc);
+                continue;
+            }
+
+            NavCluster cluster = clusters[toIndex];
+            if (from == startVertex || to == endVertex) {
+                searchCluster(cluster, from, to, false);
+                List<NavArc> segment = traceLocal(from, to);
+                result.addAll(segment);
+            } else { // internal route between portals
+                int fromSlot = portalSlots[from.getIndex()];
+                int toSlot = portalSlots[toIndex];
+                List<NavArc> segment
+                        = cluster.findRefinedRoute(fromSlot, toSlot);
+                if (segment == null) {
+                    searchCluster(cluster, from, to, false);
+                    segment = traceLocal(from, to);
+                    cluster.putRefinedRoute(fromSlot, toSlot, segment);
+                }
+                result.addAll(segment);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Reach a node of the abstract graph, if the cost is an improvement.
+     *
+     * @param nodeIndex the vertex index of the node
+     * @param cost the cost to the node (may be infinite)
+     * @param predecessor the vertex index of the previous node, or -1 if none
+     * @param viaArc the crossing arc used, or null for an internal route
+     * @param endVertex the goal vertex (not null)
+     * @param heuristic estimator for remaining costs, or null for none
+     */
+    private void relax(int nodeIndex, float cost, int predecessor,
+            NavArc viaArc, NavVertex endVertex, NavHeuristic heuristic) {
+        NavWorkspace workspace = abstractWorkspace;
+        if (workspace.isSettled(nodeIndex)
+                || cost >= workspace.cost(nodeIndex)) {
+            return;
+        }
+
+        workspace.reach(nodeIndex, cost, -1);
+        predecessors[nodeIndex] = predecessor;
+        viaArcs[nodeIndex] = viaArc;
+        float priority = cost;
+        if (heuristic != null) {
+            NavVertex node = graph.getVertex(nodeIndex);
+            priority += heuristic.estimateCost(node, endVertex);
+        }
+        workspace.getOpenQueue().offer(nodeIndex, priority);
+    }
+
+    /**
+     * Search outward from the specified vertex using Dijkstra's algorithm,
+     * following only arcs between members of the specified cluster. The
+     * results are left in the local workspace and localArcs.
+     *
+     * @param cluster the cluster to search (not null)
+     * @param source the starting vertex (member of the cluster)
+     * @param target a vertex at which to stop early, or null to search the
+     * entire cluster
+     * @param reverse true to follow arcs backward, false to follow them
+     * forward
+     */
+    private void searchCluster(NavCluster cluster, NavVertex source,
+            NavVertex target, boolean reverse) {
+        NavWorkspace workspace = localWorkspace;
+        workspace.begin();
+        VertexQueue openQueue = workspace.getOpenQueue();
+        int sourceIndex = source.getIndex();
+        workspace.reach(sourceIndex, 0f, -1);
+        openQueue.offer(sourceIndex, 0f);
+
+        while (!openQueue.isEmpty()) {
+            int visitIndex = openQueue.remove();
+            workspace.settle(visitIndex);
+            NavVertex visit = graph.getVertex(visitIndex);
+            if (visit == target) {
+                return;
+            }
+
+            float visitCost = workspace.cost(visitIndex);
+            int numArcs;
+            if (reverse) {
+                numArcs = visit.numIncoming();
+            } else {
+                numArcs = visit.numOutgoing();
+            }
+            for (int position = 0; position < numArcs; ++position) {
+                NavArc arc;
+                NavVertex neighbor;
+                if (reverse) {
+                    arc = visit.getIncoming(position);
+                    neighbor = arc.getFromVertex();
+                } else {
+                    arc = visit.getOutgoing(position);
+                    neighbor = arc.getToVertex();
+                }
+                int neighborIndex = neighbor.getIndex();
+                if (clusters[neighborIndex] != cluster
+                        || workspace.isSettled(neighborIndex)) {
+                    continue;
+                }
+                float cost = visitCost + graph.getCost(arc);
+                if (cost < workspace.cost(neighborIndex)) {
+                    workspace.reach(neighborIndex, cost, -1);
+                    localArcs[neighborIndex] = arc;
+                    openQueue.offer(neighborIndex, cost);
+                }
+            }
+        }
+    }
+
+    /**
+     * Trace the route found by the most recent forward local search.
+     *
+     * @param from the source of the search (not null)
+     * @param to the vertex reached (not null)
+     * @return a new list of member arcs, in route order
+     */
+    private List<NavArc> traceLocal(NavVertex from, NavVertex to) {
+        assert localWorkspace.isReached(to.getIndex()) : to;
+
+        List<NavArc> result = new ArrayList<>(8);
+        NavVertex vertex = to;
+        while (vertex != from) {
+            NavArc arc = localArcs[vertex.getIndex()];
+            result.add(arc);
+            vertex = arc.getFromVertex();
+        }
+        Collections.reverse(result);
+
+        return result;
+    }
+}
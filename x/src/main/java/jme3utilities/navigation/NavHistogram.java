@@ -0,0 +1,256 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * A histogram of non-negative long values (such as durations in nanoseconds)
+ * with logarithmic bucketing in the style of HdrHistogram. Each power of 2 is
+ * split into 32 linear sub-buckets, so every recorded value is reproduced to
+ * within about 3%, regardless of magnitude. Recording takes constant time and
+ * never allocates. Not thread-safe.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class NavHistogram {
+    // *************************************************************************
+    // constants
+
+    /**
+     * base-2 logarithm of the number of sub-buckets per power of 2
+     */
+    final private static int subBits = 5;
+    /**
+     * number of sub-buckets per power of 2
+     */
+    final private static int subCount = 1 << subBits;
+    /**
+     * total number of buckets, enough for any non-negative long
+     */
+    final private static int numBuckets = (64 - subBits) * subCount;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            NavHistogram.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * number of values recorded in each bucket
+     */
+    final private long[] counts = new long[numBuckets];
+    /**
+     * number of values recorded (&ge;0)
+     */
+    private long totalCount = 0L;
+    /**
+     * largest value recorded, or -1 if none
+     */
+    private long maxValue = -1L;
+    /**
+     * smallest value recorded, or Long.MAX_VALUE if none
+     */
+    private long minValue = Long.MAX_VALUE;
+    /**
+     * sum of the recorded values, for computing the mean
+     */
+    private double sum = 0.0;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an empty histogram.
+     */
+    public NavHistogram() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Read the number of values recorded.
+     *
+     * @return count (&ge;0)
+     */
+    public long getCount() {
+        assert totalCount >= 0L : totalCount;
+        return totalCount;
+    }
+
+    /**
+     * Read the largest value recorded.
+     *
+     * @return the value (&ge;0) or -1 if none recorded
+     */
+    public long getMax() {
+        return maxValue;
+    }
+
+    /**
+     * Calculate the mean of the recorded values.
+     *
+     * @return the mean (&ge;0) or -1 if none recorded
+     */
+    public double getMean() {
+        double result = (totalCount == 0L) ? -1.0 : sum / totalCount;
+        return result;
+    }
+
+    /**
+     * Read the smallest value recorded.
+     *
+     * @return the value (&ge;0) or -1 if none recorded
+     */
+    public long getMin() {
+        long result = (totalCount == 0L) ? -1L : minValue;
+        return result;
+    }
+
+    /**
+     * Estimate the value at the specified percentile. The estimate is the
+     * largest value equivalent (within the histogram's precision) to the
+     * recorded value at that rank, but never exceeds the maximum.
+     *
+     * @param percentile the desired percentile (&ge;0, &le;100)
+     * @return the estimated value (&ge;0) or -1 if none recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        Validate.inRange(percentile, "percentile", 0.0, 100.0);
+        if (totalCount == 0L) {
+            return -1L;
+        }
+
+        long rank = (long) Math.ceil(percentile / 100.0 * totalCount);
+        rank = Math.max(1L, rank);
+        long cumulative = 0L;
+        for (int bucket = 0; bucket < numBuckets; ++bucket) {
+            cumulative += counts[bucket];
+            if (cumulative >= rank) {
+                long result = Math.min(highestEquivalent(bucket), maxValue);
+                return result;
+            }
+        }
+
+        return maxValue;
+    }
+
+    /**
+     * Record a value.
+     *
+     * @param value the value to record (&ge;0)
+     */
+    public void record(long value) {
+        Validate.nonNegative(value, "value");
+
+        int bucket = bucketIndex(value);
+        ++counts[bucket];
+        ++totalCount;
+        sum += value;
+        if (value > maxValue) {
+            this.maxValue = value;
+        }
+        if (value < minValue) {
+            this.minValue = value;
+        }
+    }
+
+    /**
+     * Discard all recorded values.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0L);
+        this.totalCount = 0L;
+        this.maxValue = -1L;
+        this.minValue = Long.MAX_VALUE;
+        this.sum = 0.0;
+    }
+    // *************************************************************************
+    // Object methods
+
+    /**
+     * Summarize this histogram as a string of text.
+     *
+     * @return descriptive string of text (not null, not empty)
+     */
+    @Override
+    public String toString() {
+        String result = String.format(
+                "n=%d min=%d p50=%d p90=%d p99=%d max=%d", totalCount,
+                getMin(), getValueAtPercentile(50.0),
+                getValueAtPercentile(90.0), getValueAtPercentile(99.0),
+                maxValue);
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Determine which bucket holds the specified value.
+     *
+     * @param value the value (&ge;0)
+     * @return the bucket index (&ge;0, &lt;numBuckets)
+     */
+    private static int bucketIndex(long value) {
+        if (value < subCount) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - subBits;
+        int subBucket = (int) (value >>> shift);
+        assert subBucket >= subCount && subBucket < 2 * subCount : subBucket;
+        int result = shift * subCount + subBucket;
+
+        assert result < numBuckets : result;
+        return result;
+    }
+
+    /**
+     * Calculate the largest value held by the specified bucket.
+     *
+     * @param bucket the bucket index (&ge;0, &lt;numBuckets)
+     * @return the value (&ge;0)
+     */
+    private static long highestEquivalent(int bucket) {
+        if (bucket < subCount) {
+            return bucket;
+        }
+
+        int shift = bucket / subCount - 1;
+        long subBucket = bucket - shift * subCount;
+        long result = ((subBucket + 1) << shift) - 1;
+        if (result < 0L) {
+            result = Long.MAX_VALUE;
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import com.jme3.math.Vector3f;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * Collects statistics about navigation queries: for each kind of query,
+ * histograms of wall-clock time, vertices expanded (or loci examined), and
+ * heap (or stack) pushes. Queries that take longer than a threshold are
+ * logged along with their arguments.
+ * <p>
+ * Install an instance using
+ * {@link NavRouter#setMetrics(jme3utilities.navigation.NavMetrics)}. When no
+ * metrics are installed, queries skip all timing and recording. Not
+ * thread-safe.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class NavMetrics {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            NavMetrics.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * minimum duration of a slow query (in nanoseconds, &ge;0)
+     */
+    private long slowThreshold;
+    /**
+     * histogram of vertices expanded (or loci examined) for each kind of query
+     */
+    final private Map<NavQuery, NavHistogram> expansions
+            = new EnumMap<>(NavQuery.class);
+    /**
+     * histogram of pushes for each kind of query
+     */
+    final private Map<NavQuery, NavHistogram> pushes
+            = new EnumMap<>(NavQuery.class);
+    /**
+     * histogram of durations (in nanoseconds) for each kind of query
+     */
+    final private Map<NavQuery, NavHistogram> times
+            = new EnumMap<>(NavQuery.class);
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate metrics that log queries taking 10 milliseconds or more.
+     */
+    public NavMetrics() {
+        this(10000000L);
+    }
+
+    /**
+     * Instantiate metrics that log queries taking at least the specified
+     * duration.
+     *
+     * @param slowThreshold the minimum duration of a slow query (in
+     * nanoseconds, &ge;0)
+     */
+    public NavMetrics(long slowThreshold) {
+        Validate.nonNegative(slowThreshold, "slow threshold");
+
+        this.slowThreshold = slowThreshold;
+        for (NavQuery query : NavQuery.values()) {
+            expansions.put(query, new NavHistogram());
+            pushes.put(query, new NavHistogram());
+            times.put(query, new NavHistogram());
+        }
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Access the histogram of vertices expanded (for seek) or loci examined
+     * (for the find queries) for the specified kind of query.
+     *
+     * @param query the kind of query (not null)
+     * @return the pre-existing instance (not null)
+     */
+    public NavHistogram getExpansions(NavQuery query) {
+        Validate.nonNull(query, "query");
+        NavHistogram result = expansions.get(query);
+        return result;
+    }
+
+    /**
+     * Access the histogram of heap (or stack) pushes for the specified kind of
+     * query.
+     *
+     * @param query the kind of query (not null)
+     * @return the pre-existing instance (not null)
+     */
+    public NavHistogram getPushes(NavQuery query) {
+        Validate.nonNull(query, "query");
+        NavHistogram result = pushes.get(query);
+        return result;
+    }
+
+    /**
+     * Read the minimum duration of a slow query.
+     *
+     * @return the threshold (in nanoseconds, &ge;0)
+     */
+    public long getSlowThreshold() {
+        assert slowThreshold >= 0L : slowThreshold;
+        return slowThreshold;
+    }
+
+    /**
+     * Access the histogram of durations (in nanoseconds) for the specified
+     * kind of query.
+     *
+     * @param query the kind of query (not null)
+     * @return the pre-existing instance (not null)
+     */
+    public NavHistogram getTimes(NavQuery query) {
+        Validate.nonNull(query, "query");
+        NavHistogram result = times.get(query);
+        return result;
+    }
+
+    /**
+     * Discard all recorded statistics.
+     */
+    public void reset() {
+        for (NavQuery query : NavQuery.values()) {
+            expansions.get(query).reset();
+            pushes.get(query).reset();
+            times.get(query).reset();
+        }
+    }
+
+    /**
+     * Alter the minimum duration of a slow query.
+     *
+     * @param threshold the desired threshold (in nanoseconds, &ge;0)
+     */
+    public void setSlowThreshold(long threshold) {
+        Validate.nonNegative(threshold, "threshold");
+        this.slowThreshold = threshold;
+    }
+
+    /**
+     * Record a point-location query, logging it if it was slow.
+     *
+     * @param query the kind of query (FIND_NEAREST or FIND_CONTAINS)
+     * @param point the query point (not null, unaffected)
+     * @param nanos the duration of the query (in nanoseconds)
+     * @param numExamined the number of loci examined
+     * @param numPushes the number of pushes
+     */
+    void recordLocate(NavQuery query, Vector3f point, long nanos,
+            int numExamined, int numPushes) {
+        record(query, nanos, numExamined, numPushes);
+        if (nanos >= slowThreshold) {
+            logger.log(Level.WARNING, "slow {0} for {1}: {2} ms, {3} loci",
+                    new Object[]{
+                        query.describe(), point, nanos / 1e6, numExamined
+                    });
+        }
+    }
+
+    /**
+     * Record a route search, logging it if it was slow.
+     *
+     * @param startVertex the starting vertex (not null)
+     * @param endVertex the goal vertex (not null)
+     * @param nanos the duration of the query (in nanoseconds)
+     * @param numExpanded the number of vertices expanded
+     * @param numPushes the number of heap pushes
+     */
+    void recordSeek(NavVertex startVertex, NavVertex endVertex, long nanos,
+            int numExpanded, int numPushes) {
+        record(NavQuery.SEEK, nanos, numExpanded, numPushes);
+        if (nanos >= slowThreshold) {
+            logger.log(Level.WARNING,
+                    "slow seek from {0} to {1}: {2} ms, {3} expanded",
+                    new Object[]{
+                        startVertex, endVertex, nanos / 1e6, numExpanded
+                    });
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Record the statistics of a query.
+     *
+     * @param query the kind of query (not null)
+     * @param nanos the duration of the query (in nanoseconds)
+     * @param numExpanded the number of vertices expanded or loci examined
+     * @param numPushes the number of pushes
+     */
+    private void record(
+            NavQuery query, long nanos, int numExpanded, int numPushes) {
+        times.get(query).record(Math.max(0L, nanos));
+        expansions.get(query).record(numExpanded);
+        pushes.get(query).record(numPushes);
+    }
+}
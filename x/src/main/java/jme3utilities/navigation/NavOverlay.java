@@ -0,0 +1,357 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * A mutable layer of temporary changes over an immutable snapshot of a
+ * navigation graph: blocked arcs, blocked vertices, and per-arc cost
+ * multipliers. Searches that take an overlay consult it instead of the base
+ * costs, so corridors can be closed and reopened without mutating the graph
+ * or invalidating anything derived from it.
+ * <p>
+ * Blocked arcs and vertices are stored as bitsets keyed by arc (or vertex)
+ * index, so a search pays only a bit test per relaxed arc. An overlay stays
+ * valid for later snapshots of the same graph as long as only arc costs
+ * change, since those snapshots share the same arc indices. Not thread-safe:
+ * an overlay shouldn't be modified while searches are using it.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class NavOverlay {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            NavOverlay.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * snapshot whose indices this overlay uses (not null, initialized by
+     * constructor)
+     */
+    final private CompiledNavGraph graph;
+    /**
+     * cost multiplier of each arc, indexed by arc index, or null if all
+     * multipliers are 1
+     */
+    private float[] multipliers = null;
+    /**
+     * bitset of blocked arcs, keyed by arc index
+     */
+    final private long[] blockedArcs;
+    /**
+     * bitset of blocked vertices, keyed by vertex index
+     */
+    final private long[] blockedVertices;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an empty overlay for the specified snapshot.
+     *
+     * @param graph the snapshot to overlay (not null, alias created)
+     */
+    public NavOverlay(CompiledNavGraph graph) {
+        Validate.nonNull(graph, "graph");
+
+        this.graph = graph;
+        this.blockedArcs = new long[(graph.numArcs() + 63) >>> 6];
+        this.blockedVertices = new long[(graph.numVertices() + 63) >>> 6];
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Calculate the effective cost of traversing the indexed arc into the
+     * indexed vertex. Invoked from search inner loops, so arguments aren't
+     * validated.
+     *
+     * @param arcIndex the index of the arc (&ge;0, &lt;numArcs)
+     * @param enterIndex the index of the vertex the search would enter: the
+     * terminus for forward searches, the origin for reverse ones
+     * @param baseCost the cost of the arc in the snapshot
+     * @return the effective cost, or {@link Float#POSITIVE_INFINITY} if the
+     * arc or the vertex is blocked
+     */
+    float adjustCost(int arcIndex, int enterIndex, float baseCost) {
+        if ((blockedArcs[arcIndex >>> 6] & 1L << arcIndex) != 0L
+                || (blockedVertices[enterIndex >>> 6] & 1L << enterIndex)
+                != 0L) {
+            return Float.POSITIVE_INFINITY;
+        }
+
+        float result = baseCost;
+        if (multipliers != null) {
+            result *= multipliers[arcIndex];
+        }
+
+        return result;
+    }
+    /**
+     * Block the indexed arc.
+     *
+     * @param arcIndex the index of the arc (&ge;0, &lt;numArcs)
+     */
+    public void blockArc(int arcIndex) {
+        validateArcIndex(arcIndex);
+        blockedArcs[arcIndex >>> 6] |= 1L << arcIndex;
+    }
+
+    /**
+     * Block the specified arc.
+     *
+     * @param arc the arc to block (member of the overlaid snapshot)
+     */
+    public void blockArc(NavArc arc) {
+        int arcIndex = findArc(arc);
+        blockArc(arcIndex);
+    }
+
+    /**
+     * Block the indexed vertex, preventing searches from entering it.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;numVertices)
+     */
+    public void blockVertex(int vertexIndex) {
+        validateVertexIndex(vertexIndex);
+        blockedVertices[vertexIndex >>> 6] |= 1L << vertexIndex;
+    }
+
+    /**
+     * Block the specified vertex, preventing searches from entering it.
+     *
+     * @param vertex the vertex to block (member of the overlaid snapshot)
+     */
+    public void blockVertex(NavVertex vertex) {
+        graph.validateMember(vertex, "vertex");
+        blockVertex(vertex.getIndex());
+    }
+
+    /**
+     * Remove all blocks and reset all multipliers to 1.
+     */
+    public void clear() {
+        Arrays.fill(blockedArcs, 0L);
+        Arrays.fill(blockedVertices, 0L);
+        this.multipliers = null;
+    }
+
+    /**
+     * Access the snapshot whose indices this overlay uses.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    public CompiledNavGraph getGraph() {
+        assert graph != null;
+        return graph;
+    }
+
+    /**
+     * Read the cost multiplier of the indexed arc.
+     *
+     * @param arcIndex the index of the arc (&ge;0, &lt;numArcs)
+     * @return the multiplier (&gt;0)
+     */
+    public float getMultiplier(int arcIndex) {
+        validateArcIndex(arcIndex);
+
+        float result = 1f;
+        if (multipliers != null) {
+            result = multipliers[arcIndex];
+        }
+
+        assert result > 0f : result;
+        return result;
+    }
+
+    /**
+     * Test whether the indexed arc is blocked.
+     *
+     * @param arcIndex the index of the arc (&ge;0, &lt;numArcs)
+     * @return true if blocked, otherwise false
+     */
+    public boolean isArcBlocked(int arcIndex) {
+        validateArcIndex(arcIndex);
+        boolean result = (blockedArcs[arcIndex >>> 6] & 1L << arcIndex) != 0L;
+        return result;
+    }
+
+    /**
+     * Test whether the indexed vertex is blocked.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;numVertices)
+     * @return true if blocked, otherwise false
+     */
+    public boolean isVertexBlocked(int vertexIndex) {
+        validateVertexIndex(vertexIndex);
+        boolean result
+                = (blockedVertices[vertexIndex >>> 6] & 1L << vertexIndex)
+                != 0L;
+        return result;
+    }
+
+    /**
+     * Test whether this overlay can be used with the specified snapshot, which
+     * is the case if the snapshot has the same topology (and thus the same arc
+     * indices) as the overlaid one.
+     *
+     * @param snapshot the snapshot to test (not null, unaffected)
+     * @return true if compatible, otherwise false
+     */
+    public boolean matches(CompiledNavGraph snapshot) {
+        Validate.nonNull(snapshot, "snapshot");
+        boolean result = graph.sharesTopology(snapshot);
+        return result;
+    }
+
+    /**
+     * Alter the cost multiplier of the indexed arc. Multipliers less than 1
+     * may cause A* searches with distance-based heuristics to return
+     * suboptimal routes.
+     *
+     * @param arcIndex the index of the arc (&ge;0, &lt;numArcs)
+     * @param multiplier the desired multiplier (&gt;0, default=1)
+     */
+    public void setMultiplier(int arcIndex, float multiplier) {
+        validateArcIndex(arcIndex);
+        Validate.positive(multiplier, "multiplier");
+        Validate.finite(multiplier, "multiplier");
+
+        if (multipliers == null) {
+            if (multiplier == 1f) {
+                return;
+            }
+            this.multipliers = new float[graph.numArcs()];
+            Arrays.fill(multipliers, 1f);
+        }
+        multipliers[arcIndex] = multiplier;
+    }
+
+    /**
+     * Alter the cost multiplier of the specified arc. Multipliers less than 1
+     * may cause A* searches with distance-based heuristics to return
+     * suboptimal routes.
+     *
+     * @param arc the arc to modify (member of the overlaid snapshot)
+     * @param multiplier the desired multiplier (&gt;0, default=1)
+     */
+    public void setMultiplier(NavArc arc, float multiplier) {
+        int arcIndex = findArc(arc);
+        setMultiplier(arcIndex, multiplier);
+    }
+
+    /**
+     * Unblock the indexed arc.
+     *
+     * @param arcIndex the index of the arc (&ge;0, &lt;numArcs)
+     */
+    public void unblockArc(int arcIndex) {
+        validateArcIndex(arcIndex);
+        blockedArcs[arcIndex >>> 6] &= ~(1L << arcIndex);
+    }
+
+    /**
+     * Unblock the specified arc.
+     *
+     * @param arc the arc to unblock (member of the overlaid snapshot)
+     */
+    public void unblockArc(NavArc arc) {
+        int arcIndex = findArc(arc);
+        unblockArc(arcIndex);
+    }
+
+    /**
+     * Unblock the indexed vertex.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;numVertices)
+     */
+    public void unblockVertex(int vertexIndex) {
+        validateVertexIndex(vertexIndex);
+        blockedVertices[vertexIndex >>> 6] &= ~(1L << vertexIndex);
+    }
+
+    /**
+     * Unblock the specified vertex.
+     *
+     * @param vertex the vertex to unblock (member of the overlaid snapshot)
+     */
+    public void unblockVertex(NavVertex vertex) {
+        graph.validateMember(vertex, "vertex");
+        unblockVertex(vertex.getIndex());
+    }
+
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Find the index of the specified arc in the overlaid snapshot.
+     *
+     * @param arc the arc to find (member of the overlaid snapshot)
+     * @return the arc index (&ge;0, &lt;numArcs)
+     */
+    private int findArc(NavArc arc) {
+        Validate.nonNull(arc, "arc");
+
+        NavVertex fromVertex = arc.getFromVertex();
+        NavVertex toVertex = arc.getToVertex();
+        graph.validateMember(fromVertex, "origin of arc");
+        graph.validateMember(toVertex, "terminus of arc");
+        int result = graph.findArc(fromVertex.getIndex(), toVertex.getIndex());
+        if (result < 0 || graph.getArc(result) != arc) {
+            throw new IllegalArgumentException("arc must be a member");
+        }
+
+        return result;
+    }
+
+    /**
+     * Verify that an arc index (used as a method argument) is in range.
+     *
+     * @param arcIndex the index to be validated
+     */
+    private void validateArcIndex(int arcIndex) {
+        Validate.inRange(arcIndex, "arc index", 0, graph.numArcs() - 1);
+    }
+
+    /**
+     * Verify that a vertex index (used as a method argument) is in range.
+     *
+     * @param vertexIndex the index to be validated
+     */
+    private void validateVertexIndex(int vertexIndex) {
+        Validate.inRange(
+                vertexIndex, "vertex index", 0, graph.numVertices() - 1);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+/**
+ * Enumerate the kinds of navigation queries tracked by NavMetrics.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public enum NavQuery {
+    // *************************************************************************
+    // values
+
+    /**
+     * route search between 2 vertices, as by NavGraph.seek()
+     */
+    SEEK,
+    /**
+     * nearest-locus search, as by NavGraph.findNearest()
+     */
+    FIND_NEAREST,
+    /**
+     * containing-locus search, as by NavGraph.findContains()
+     */
+    FIND_CONTAINS;
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Look up the textual description of this kind of query.
+     *
+     * @return a string of text or "?" if not known
+     */
+    public String describe() {
+        switch (this) {
+            case SEEK:
+                return "seek";
+            case FIND_NEAREST:
+                return "findNearest";
+            case FIND_CONTAINS:
+                return "findContains";
+            default:
+        }
+        return "?";
+    }
+}
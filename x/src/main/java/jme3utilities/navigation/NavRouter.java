@@ -0,0 +1,659 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import com.jme3.math.Vector3f;
+import java.util.List;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+import jme3utilities.math.MyVector3f;
+import jme3utilities.math.locus.Locus3f;
+
+/**
+ * Route-finding strategy for a navigation graph: decides how the graph's
+ * seek() methods find routes, caches any structures they precompute,
+ * maintains the optional spatial index for locating vertices, and
+ * optionally collects statistics about queries on the graph. It also creates
+ * the flow-field caches, live routes, hierarchies, and overlays that plan
+ * routes over the graph.
+ * <p>
+ * Each graph has exactly one router, obtained from
+ * {@link NavGraph#getRouter()}. Like its graph, a router isn't thread-safe.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class NavRouter {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            NavRouter.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * true if seek() should consult the all-pairs table, otherwise false
+     */
+    private boolean useDistanceTable = false;
+    /**
+     * true if seek() should query the contraction hierarchy, otherwise false
+     */
+    private boolean useContractionHierarchy = false;
+    /**
+     * most recently built (or installed) contraction hierarchy, or null if
+     * none
+     */
+    private ContractionHierarchy contractionHierarchy = null;
+    /**
+     * most recently built all-pairs table, or null if none
+     */
+    private DistanceTable distanceTable = null;
+    /**
+     * spatial index over vertex loci, or null if disabled
+     */
+    private LocusTree locusTree = null;
+    /**
+     * statistics collector, or null if instrumentation is disabled
+     */
+    private NavMetrics metrics = null;
+    /**
+     * scratch storage for the backward half of bidirectional searches, or
+     * null if not yet needed
+     */
+    private NavWorkspace backwardWorkspace = null;
+    /**
+     * scratch storage for searches and traversals, or null if not yet needed
+     */
+    private NavWorkspace workspace = null;
+    /**
+     * graph being routed (not null, initialized by constructor)
+     */
+    final private NavGraph graph;
+    /**
+     * the graph's vertices in index order (not null, initialized by
+     * constructor)
+     */
+    final private List<NavVertex> indexedVertices;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a router for the specified graph.
+     *
+     * @param graph the graph to route (not null, alias created)
+     * @param indexedVertices the graph's vertices in index order (not null,
+     * alias created)
+     */
+    NavRouter(NavGraph graph, List<NavVertex> indexedVertices) {
+        assert graph != null;
+        assert indexedVertices != null;
+
+        this.graph = graph;
+        this.indexedVertices = indexedVertices;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Create a least-recently-used cache of flow fields for the graph. Each
+     * modification of the graph discards only the fields it could affect. The
+     * cache is registered as a listener of the graph until passed to
+     * {@link NavGraph#removeListener(NavGraphListener)}.
+     *
+     * @param capacity the maximum number of fields to cache (&ge;1)
+     * @return a new, registered cache
+     */
+    public FlowFieldCache createFlowFieldCache(int capacity) {
+        Validate.positive(capacity, "capacity");
+
+        FlowFieldCache result = new FlowFieldCache(graph, capacity);
+        graph.addListener(result);
+
+        return result;
+    }
+
+    /**
+     * Create a hierarchy over the graph for fast long-range route planning.
+     * Vertices are grouped into clusters using a cubic grid. The hierarchy is
+     * registered as a listener of the graph until passed to
+     * {@link NavGraph#removeListener(NavGraphListener)}.
+     *
+     * @param cellSize the edge length of each grid cell (in world units,
+     * &gt;0)
+     * @return a new, registered hierarchy
+     */
+    public NavHierarchy createHierarchy(float cellSize) {
+        Validate.positive(cellSize, "cell size");
+
+        NavHierarchy result = new NavHierarchy(graph, cellSize);
+        graph.addListener(result);
+
+        return result;
+    }
+
+    /**
+     * Create a route between the specified member vertices that's updated
+     * incrementally (using D* Lite) as arcs are added, removed, or have their
+     * costs altered. The route is registered as a listener of the graph until
+     * passed to {@link NavGraph#removeListener(NavGraphListener)}.
+     *
+     * @param startVertex the starting vertex (member)
+     * @param goalVertex the goal vertex (member)
+     * @param heuristic estimator for remaining costs (consistent, alias
+     * created) or null for none
+     * @return a new, registered route
+     */
+    public LiveRoute createLiveRoute(NavVertex startVertex,
+            NavVertex goalVertex, NavHeuristic heuristic) {
+        graph.validateMember(startVertex, "start vertex");
+        graph.validateMember(goalVertex, "goal vertex");
+
+        LiveRoute result
+                = new LiveRoute(graph, startVertex, goalVertex, heuristic);
+        graph.addListener(result);
+
+        return result;
+    }
+
+    /**
+     * Create an empty overlay for temporarily blocking arcs and vertices
+     * without modifying the graph. The overlay remains usable until arcs or
+     * vertices are added or removed.
+     *
+     * @return a new overlay for the current snapshot
+     */
+    public NavOverlay createOverlay() {
+        CompiledNavGraph snapshot = graph.compile();
+        NavOverlay result = new NavOverlay(snapshot);
+
+        return result;
+    }
+
+    /**
+     * Access a contraction hierarchy for the current state of the graph,
+     * preprocessing it if it's missing or stale. Any modification of the
+     * graph, including a cost change, invalidates the hierarchy.
+     * Preprocessing uses the common fork/join pool and may take a while for
+     * large graphs.
+     *
+     * @return a hierarchy reflecting the current state of the graph (not
+     * null)
+     * @see #setContractionHierarchyEnabled(boolean)
+     */
+    public ContractionHierarchy getContractionHierarchy() {
+        CompiledNavGraph snapshot = graph.compile();
+        if (contractionHierarchy == null
+                || contractionHierarchy.getGraph() != snapshot) {
+            this.contractionHierarchy = new ContractionHierarchy(snapshot);
+        }
+
+        return contractionHierarchy;
+    }
+
+    /**
+     * Access an all-pairs table for the current state of the graph, building
+     * it if it's missing or stale. Any modification of the graph, including a
+     * cost change, invalidates the table. Intended for small graphs: building
+     * takes one search per vertex, and memory grows with the square of the
+     * vertex count.
+     *
+     * @return a table reflecting the current state of the graph (not null)
+     * @see #setDistanceTableEnabled(boolean)
+     */
+    public DistanceTable getDistanceTable() {
+        CompiledNavGraph snapshot = graph.compile();
+        if (distanceTable == null || distanceTable.getGraph() != snapshot) {
+            this.distanceTable = new DistanceTable(snapshot);
+        }
+
+        return distanceTable;
+    }
+
+    /**
+     * Access the statistics collector, if any.
+     *
+     * @return the pre-existing instance, or null if instrumentation is
+     * disabled
+     */
+    public NavMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Test whether the seek() methods query the contraction hierarchy.
+     *
+     * @return true if enabled, otherwise false
+     * @see #setContractionHierarchyEnabled(boolean)
+     */
+    public boolean isContractionHierarchyEnabled() {
+        return useContractionHierarchy;
+    }
+
+    /**
+     * Test whether the seek() methods consult the all-pairs table.
+     *
+     * @return true if enabled, otherwise false
+     * @see #setDistanceTableEnabled(boolean)
+     */
+    public boolean isDistanceTableEnabled() {
+        return useDistanceTable;
+    }
+
+    /**
+     * Test whether the spatial index is enabled.
+     *
+     * @return true if enabled, otherwise false
+     * @see #setSpatialIndexEnabled(boolean)
+     */
+    public boolean isSpatialIndexEnabled() {
+        if (locusTree == null) {
+            return false;
+        } else {
+            return true;
+        }
+    }
+
+    /**
+     * Mark the spatial index (if any) as out of date, for instance because a
+     * vertex was added or a locus was altered.
+     */
+    void lociChanged() {
+        if (locusTree != null) {
+            locusTree.markDirty();
+        }
+    }
+
+    /**
+     * Find a member vertex whose locus contains the specified point,
+     * recording statistics if instrumentation is enabled.
+     *
+     * @param point the coordinate vector (not null, unaffected)
+     * @return a pre-existing member vertex, or null if none found
+     */
+    NavVertex findContains(Vector3f point) {
+        if (metrics == null) {
+            NavVertex result = locateContaining(point);
+            return result;
+        }
+
+        long startNanos = System.nanoTime();
+        NavVertex result = locateContaining(point);
+        long nanos = System.nanoTime() - startNanos;
+
+        int numExamined;
+        int numPushes;
+        if (locusTree == null) {
+            numPushes = graph.numVertices();
+            numExamined = numPushes - workspace.getOpenQueue().size();
+        } else {
+            numExamined = locusTree.countExamined();
+            numPushes = locusTree.countPushes();
+        }
+        metrics.recordLocate(
+                NavQuery.FIND_CONTAINS, point, nanos, numExamined, numPushes);
+
+        return result;
+    }
+
+    /**
+     * Find the member vertex nearest to the specified point, recording
+     * statistics if instrumentation is enabled.
+     *
+     * @param point the coordinate vector (not null, unaffected)
+     * @return a pre-existing member vertex, or null if the graph is empty
+     */
+    NavVertex findNearest(Vector3f point) {
+        if (metrics == null) {
+            NavVertex result = locateNearest(point);
+            return result;
+        }
+
+        long startNanos = System.nanoTime();
+        NavVertex result = locateNearest(point);
+        long nanos = System.nanoTime() - startNanos;
+
+        int numExamined;
+        int numPushes;
+        if (locusTree == null) {
+            numExamined = graph.numVertices();
+            numPushes = 0;
+        } else {
+            numExamined = locusTree.countExamined();
+            numPushes = locusTree.countPushes();
+        }
+        metrics.recordLocate(
+                NavQuery.FIND_NEAREST, point, nanos, numExamined, numPushes);
+
+        return result;
+    }
+
+    /**
+     * Access the primary workspace, first replacing it if it's missing or too
+     * small.
+     *
+     * @param minCapacity the number of vertices to accommodate (&ge;0)
+     * @return the pre-existing (or new) instance (not null)
+     */
+    NavWorkspace getWorkspace(int minCapacity) {
+        if (workspace == null || workspace.getCapacity() < minCapacity) {
+            this.workspace = new NavWorkspace(minCapacity);
+        }
+
+        return workspace;
+    }
+
+    /**
+     * Find the cheapest route from one vertex to another, recording
+     * statistics if instrumentation is enabled.
+     *
+     * @param startVertex starting point (member, distinct from endVertex)
+     * @param endVertex goal (member, distinct from startVertex)
+     * @param heuristic estimator for remaining costs, or null for none
+     * @param overlay blocks and multipliers to apply (matching the current
+     * snapshot) or null for none
+     * @return a new list of arcs, or null if goal is unreachable
+     */
+    List<NavArc> seek(NavVertex startVertex, NavVertex endVertex,
+            NavHeuristic heuristic, NavOverlay overlay) {
+        if (metrics == null) {
+            List<NavArc> result
+                    = search(startVertex, endVertex, heuristic, overlay);
+            return result;
+        }
+
+        long startNanos = System.nanoTime();
+        List<NavArc> result
+                = search(startVertex, endVertex, heuristic, overlay);
+        long nanos = System.nanoTime() - startNanos;
+
+        int numExpanded = 0;
+        int numPushes = 0;
+        if (!usesTable(overlay)) {
+            numExpanded = workspace.countSettled();
+            numPushes = workspace.getOpenQueue().countPushes();
+            if (usesHierarchy(overlay)) {
+                numExpanded += backwardWorkspace.countSettled();
+                numPushes += backwardWorkspace.getOpenQueue().countPushes();
+            }
+        }
+        metrics.recordSeek(
+                startVertex, endVertex, nanos, numExpanded, numPushes);
+
+        return result;
+    }
+
+    /**
+     * Install a contraction hierarchy that was preprocessed earlier, such as
+     * one loaded from a file, so that {@link #getContractionHierarchy()}
+     * won't need to rebuild it.
+     *
+     * @param hierarchy a hierarchy for the current snapshot of the graph
+     * (not null, alias created)
+     */
+    public void setContractionHierarchy(ContractionHierarchy hierarchy) {
+        Validate.nonNull(hierarchy, "hierarchy");
+        if (hierarchy.getGraph() != graph.compile()) {
+            throw new IllegalArgumentException(
+                    "The hierarchy doesn't match the current snapshot.");
+        }
+
+        this.contractionHierarchy = hierarchy;
+    }
+
+    /**
+     * Enable or disable the use of a contraction hierarchy by the seek()
+     * methods. When enabled, each route is found by a bidirectional search
+     * that visits only a small fraction of the vertices, ignoring any
+     * heuristic, but the first query after any modification preprocesses
+     * the graph again. Suitable for large graphs whose costs never change.
+     * Any hierarchy already built (or installed) is released when disabled.
+     *
+     * @param enable true to enable the hierarchy, false to disable it
+     * @see #getContractionHierarchy()
+     */
+    public void setContractionHierarchyEnabled(boolean enable) {
+        this.useContractionHierarchy = enable;
+        if (!enable) {
+            this.contractionHierarchy = null;
+        }
+    }
+
+    /**
+     * Enable or disable the use of an all-pairs table by the seek() methods.
+     * When enabled, each route is found in time proportional to its length,
+     * ignoring any heuristic, but the first query after any modification
+     * rebuilds the table. Suitable for small graphs whose costs change rarely.
+     * Any table already built is released when disabled.
+     *
+     * @param enable true to enable the table, false to disable it
+     * @see #getDistanceTable()
+     */
+    public void setDistanceTableEnabled(boolean enable) {
+        this.useDistanceTable = enable;
+        if (!enable) {
+            this.distanceTable = null;
+        }
+    }
+
+    /**
+     * Enable or disable the spatial index over vertex loci. When enabled, the
+     * graph's findContains(), findNearest(), and supportDistance() methods
+     * take logarithmic time for loci that implement
+     * {@link jme3utilities.math.locus.BoundedLocus3f}, at the cost of
+     * rebuilding the index after vertices are added or loci are altered.
+     *
+     * @param enable true to enable the index, false to disable it
+     */
+    public void setSpatialIndexEnabled(boolean enable) {
+        if (!enable) {
+            this.locusTree = null;
+        } else if (locusTree == null) {
+            this.locusTree = new LocusTree(indexedVertices);
+        }
+    }
+
+    /**
+     * Calculate the distance from the specified starting point to the first
+     * point of support (if any) directly below it in the graph.
+     *
+     * @param location coordinates of starting point (not null, unaffected)
+     * @param cosineTolerance cosine of maximum slope for support (&gt;0, &lt;1)
+     * @return the shortest support distance (&ge;0) or
+     * {@link Float#POSITIVE_INFINITY} if no support
+     */
+    float supportDistance(Vector3f location, float cosineTolerance) {
+        if (locusTree != null) {
+            float result
+                    = locusTree.supportDistance(location, cosineTolerance);
+            return result;
+        }
+
+        float shortest = Float.POSITIVE_INFINITY;
+        for (NavVertex vertex : indexedVertices) {
+            Locus3f locus = vertex.getLocus();
+            float distance = locus.supportDistance(location, cosineTolerance);
+            if (distance < shortest) {
+                shortest = distance;
+            }
+        }
+
+        return shortest;
+    }
+
+    /**
+     * Install (or remove) a statistics collector for the graph's seek(),
+     * findNearest(), and findContains() methods. With no collector installed,
+     * those queries skip all timing and recording.
+     *
+     * @param newMetrics the collector to use (alias created) or null to
+     * disable instrumentation
+     */
+    public void setMetrics(NavMetrics newMetrics) {
+        this.metrics = newMetrics;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Find a member vertex whose locus contains the specified point.
+     *
+     * @param point the coordinate vector (not null, unaffected)
+     * @return a pre-existing member vertex, or null if none found
+     */
+    private NavVertex locateContaining(Vector3f point) {
+        if (locusTree != null) {
+            NavVertex result = locusTree.findContains(point);
+            return result;
+        }
+
+        // Test the vertices in order of increasing distance.
+        int numVertices = graph.numVertices();
+        getWorkspace(numVertices).begin();
+        VertexQueue queue = workspace.getOpenQueue();
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            Locus3f locus = graph.getVertex(vertexIndex).getLocus();
+            Vector3f location = locus.findLocation(point);
+            double ds = MyVector3f.distanceSquared(point, location);
+            queue.offer(vertexIndex, (float) ds);
+        }
+
+        while (!queue.isEmpty()) {
+            int vertexIndex = queue.remove();
+            NavVertex vertex = graph.getVertex(vertexIndex);
+            if (vertex.getLocus().contains(point)) {
+                return vertex;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Find the member vertex nearest to the specified point.
+     *
+     * @param point the coordinate vector (not null, unaffected)
+     * @return a pre-existing member vertex, or null if the graph is empty
+     */
+    private NavVertex locateNearest(Vector3f point) {
+        if (locusTree != null) {
+            NavVertex result = locusTree.findNearest(point);
+            return result;
+        }
+
+        NavVertex result = null;
+        double nearest = Double.POSITIVE_INFINITY;
+        int numVertices = graph.numVertices();
+        for (int vertexIndex = 0; vertexIndex < numVertices; ++vertexIndex) {
+            NavVertex vertex = graph.getVertex(vertexIndex);
+            Vector3f location = vertex.getLocus().findLocation(point);
+            double ds = MyVector3f.distanceSquared(point, location);
+            if (ds < nearest) {
+                nearest = ds;
+                result = vertex;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the cheapest route from one vertex to another, using whichever
+     * strategy is enabled and applicable.
+     *
+     * @param startVertex starting point (member, distinct from endVertex)
+     * @param endVertex goal (member, distinct from startVertex)
+     * @param heuristic estimator for remaining costs, or null for none
+     * @param overlay blocks and multipliers to apply (matching the current
+     * snapshot) or null for none
+     * @return a new list of arcs, or null if goal is unreachable
+     */
+    private List<NavArc> search(NavVertex startVertex, NavVertex endVertex,
+            NavHeuristic heuristic, NavOverlay overlay) {
+        if (usesTable(overlay)) {
+            DistanceTable table = getDistanceTable();
+            List<NavArc> result = table.seek(startVertex, endVertex);
+            return result;
+        }
+
+        CompiledNavGraph snapshot = graph.compile();
+        int numVertices = snapshot.numVertices();
+        getWorkspace(numVertices);
+        if (usesHierarchy(overlay)) {
+            ContractionHierarchy hierarchy = getContractionHierarchy();
+            if (backwardWorkspace == null
+                    || backwardWorkspace.getCapacity() < numVertices) {
+                this.backwardWorkspace = new NavWorkspace(numVertices);
+            }
+            List<NavArc> result = hierarchy.seek(
+                    startVertex, endVertex, workspace, backwardWorkspace);
+            return result;
+        }
+
+        int endIndex = endVertex.getIndex();
+        float cost = snapshot.seek(startVertex.getIndex(), endIndex,
+                heuristic, overlay, workspace);
+        if (cost == Float.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        List<NavArc> result = snapshot.listRoute(endIndex, workspace);
+        return result;
+    }
+
+    /**
+     * Test whether a search with the specified overlay would query the
+     * contraction hierarchy.
+     *
+     * @param overlay the overlay to apply, or null for none
+     * @return true if it would, otherwise false
+     */
+    private boolean usesHierarchy(NavOverlay overlay) {
+        if (overlay == null && !useDistanceTable && useContractionHierarchy) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Test whether a search with the specified overlay would consult the
+     * all-pairs table.
+     *
+     * @param overlay the overlay to apply, or null for none
+     * @return true if it would, otherwise false
+     */
+    private boolean usesTable(NavOverlay overlay) {
+        if (overlay == null && useDistanceTable) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+}
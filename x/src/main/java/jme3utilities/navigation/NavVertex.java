@@ -28,10 +28,9 @@ package jme3utilities.navigation;
 
 import com.jme3.math.Vector3f;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 import java.util.logging.Logger;
 import jme3utilities.Validate;
 import jme3utilities.math.MyVector3f;
@@ -42,6 +41,11 @@ import jme3utilities.math.locus.Locus3f;
 /**
  * Navigation vertex: represents a reachable region of 3-D space, along with its
  * connections to other such regions.
+ * <p>
+ * Arcs are stored in compact arrays, in the order they were added. They can be
+ * iterated without allocation using {@link #getIncoming(int)} and
+ * {@link #getOutgoing(int)}. Removing an arc may move the last arc into its
+ * position, so positions are valid only until the next removal.
  *
  * @author Stephen Gold sgold@sonic.net
  */
@@ -54,6 +58,10 @@ public class NavVertex implements Comparable<NavVertex> {
      */
     final private static Logger logger = Logger.getLogger(
             NavVertex.class.getName());
+    /**
+     * shared storage for vertices without arcs
+     */
+    final private static NavArc[] noArcs = new NavArc[0];
     // *************************************************************************
     // fields
 
@@ -63,13 +71,29 @@ public class NavVertex implements Comparable<NavVertex> {
      */
     private Locus3f locus;
     /**
-     * set of arcs which terminate at this vertex
+     * graph that contains this vertex (not null, initialized by constructor)
+     */
+    final private NavGraph graph;
+    /**
+     * number of arcs which terminate at this vertex (&ge;0)
+     */
+    private int numIncoming = 0;
+    /**
+     * number of arcs which originate from this vertex (&ge;0)
+     */
+    private int numOutgoing = 0;
+    /**
+     * arcs which terminate at this vertex, in positions [0, numIncoming)
+     */
+    private NavArc[] incoming = noArcs;
+    /**
+     * arcs which originate from this vertex, in positions [0, numOutgoing)
      */
-    final private Set<NavArc> incoming = new HashSet<>(4);
+    private NavArc[] outgoing = noArcs;
     /**
-     * set of arcs which originate from this vertex
+     * index of this vertex in its graph (&ge;0, initialized by constructor)
      */
-    final private Set<NavArc> outgoing = new HashSet<>(4);
+    final private int index;
     /**
      * name of this vertex (not null, initialized by constructor)
      */
@@ -85,17 +109,24 @@ public class NavVertex implements Comparable<NavVertex> {
     /**
      * Instantiate a vertex without any arcs.
      *
+     * @param graph the graph that will contain the vertex (not null)
      * @param name name for the new vertex (not null)
      * @param locus region represented or null
      * @param location for calculating arc offsets (not null, unaffected)
+     * @param index index in the graph (&ge;0)
      */
-    NavVertex(String name, Locus3f locus, Vector3f location) {
+    NavVertex(NavGraph graph, String name, Locus3f locus, Vector3f location,
+            int index) {
+        assert graph != null;
         assert name != null;
         assert location != null;
+        assert index >= 0 : index;
 
+        this.graph = graph;
         this.name = name;
         this.locus = locus;
         this.location = location;
+        this.index = index;
     }
     // *************************************************************************
     // new methods exposed
@@ -109,9 +140,13 @@ public class NavVertex implements Comparable<NavVertex> {
         assert arc != null;
         assert arc.getToVertex() == this : arc;
         assert arc.getFromVertex() != this : arc;
+        assert findIncoming(arc.getFromVertex()) == null : arc;
 
-        boolean success = incoming.add(arc);
-        assert success : arc;
+        if (numIncoming == incoming.length) {
+            this.incoming = grow(incoming);
+        }
+        incoming[numIncoming] = arc;
+        ++numIncoming;
     }
 
     /**
@@ -123,9 +158,13 @@ public class NavVertex implements Comparable<NavVertex> {
         assert arc != null;
         assert arc.getFromVertex() == this : arc;
         assert arc.getToVertex() != this : arc;
+        assert findOutgoing(arc.getToVertex()) == null : arc;
 
-        boolean success = outgoing.add(arc);
-        assert success : arc;
+        if (numOutgoing == outgoing.length) {
+            this.outgoing = grow(outgoing);
+        }
+        outgoing[numOutgoing] = arc;
+        ++numOutgoing;
     }
 
     /**
@@ -134,13 +173,7 @@ public class NavVertex implements Comparable<NavVertex> {
      * @return a new array of pre-existing instances
      */
     public NavArc[] copyIncoming() {
-        NavArc[] result = new NavArc[incoming.size()];
-        int i = 0;
-        for (NavArc arc : incoming) {
-            result[i] = arc;
-            ++i;
-        }
-
+        NavArc[] result = Arrays.copyOf(incoming, numIncoming);
         return result;
     }
 
@@ -155,19 +188,44 @@ public class NavVertex implements Comparable<NavVertex> {
         return result;
     }
 
+    /**
+     * Copy the location used to calculate arc offsets, which need not be in the
+     * locus of this vertex.
+     *
+     * @param storeResult storage for the result (modified if not null)
+     * @return a coordinate vector (either storeResult or a new instance)
+     */
+    public Vector3f copyLocation(Vector3f storeResult) {
+        Vector3f result
+                = (storeResult == null) ? new Vector3f() : storeResult;
+        result.set(location);
+        return result;
+    }
+
     /**
      * Copy all outgoing arcs.
      *
      * @return a new array of pre-existing instances
      */
     public NavArc[] copyOutgoing() {
-        NavArc[] result = new NavArc[outgoing.size()];
-        int i = 0;
-        for (NavArc arc : outgoing) {
-            result[i] = arc;
-            ++i;
-        }
+        NavArc[] result = Arrays.copyOf(outgoing, numOutgoing);
+        return result;
+    }
+
+    /**
+     * Calculate the straight-line distance between the locations of this
+     * vertex and another.
+     *
+     * @param otherVertex the other vertex (not null, unaffected)
+     * @return the distance (in world units, &ge;0)
+     */
+    public float distance(NavVertex otherVertex) {
+        Validate.nonNull(otherVertex, "other vertex");
+
+        Vector3f otherLocation = otherVertex.location;
+        float result = location.distance(otherLocation);
 
+        assert result >= 0f : result;
         return result;
     }
 
@@ -183,7 +241,8 @@ public class NavVertex implements Comparable<NavVertex> {
             throw new IllegalArgumentException("origin not distinct");
         }
 
-        for (NavArc arc : incoming) {
+        for (int position = 0; position < numIncoming; ++position) {
+            NavArc arc = incoming[position];
             if (arc.getFromVertex() == origin) {
                 return arc;
             }
@@ -203,7 +262,8 @@ public class NavVertex implements Comparable<NavVertex> {
             throw new IllegalArgumentException("terminus not distinct");
         }
 
-        for (NavArc arc : outgoing) {
+        for (int position = 0; position < numOutgoing; ++position) {
+            NavArc arc = outgoing[position];
             if (arc.getToVertex() == terminus) {
                 return arc;
             }
@@ -228,7 +288,8 @@ public class NavVertex implements Comparable<NavVertex> {
 
         NavArc result = null;
         double bestCosine = cosineTolerance;
-        for (NavArc arc : outgoing) {
+        for (int position = 0; position < numOutgoing; ++position) {
+            NavArc arc = outgoing[position];
             Vector3f offset = arc.offset();
             double dot = MyVector3f.dot(direction, offset);
             double arcLS = MyVector3f.lengthSquared(offset);
@@ -261,7 +322,8 @@ public class NavVertex implements Comparable<NavVertex> {
 
         NavArc result = null;
         double bestCosine = cosineTolerance;
-        for (NavArc arc : outgoing) {
+        for (int position = 0; position < numOutgoing; ++position) {
+            NavArc arc = outgoing[position];
             Vector3f offset = arc.offset();
             VectorXZ offsetXZ = new VectorXZ(offset);
             double dot = horizontalDirection.dot(offsetXZ);
@@ -277,6 +339,32 @@ public class NavVertex implements Comparable<NavVertex> {
         return result;
     }
 
+    /**
+     * Access the incoming arc at the specified position, for iterating without
+     * allocation.
+     *
+     * @param position the position of the arc (&ge;0, &lt;numIncoming)
+     * @return the pre-existing instance (not null)
+     */
+    public NavArc getIncoming(int position) {
+        Validate.inRange(position, "position", 0, numIncoming - 1);
+        NavArc result = incoming[position];
+
+        assert result != null;
+        return result;
+    }
+
+    /**
+     * Read the index of this vertex in its graph. Indices are assigned
+     * consecutively, starting from zero, in the order vertices are added.
+     *
+     * @return index (&ge;0)
+     */
+    public int getIndex() {
+        assert index >= 0 : index;
+        return index;
+    }
+
     /**
      * Access the region currently represented by this vertex.
      *
@@ -296,13 +384,32 @@ public class NavVertex implements Comparable<NavVertex> {
         return name;
     }
 
+    /**
+     * Access the outgoing arc at the specified position, for iterating without
+     * allocation.
+     *
+     * @param position the position of the arc (&ge;0, &lt;numOutgoing)
+     * @return the pre-existing instance (not null)
+     */
+    public NavArc getOutgoing(int position) {
+        Validate.inRange(position, "position", 0, numOutgoing - 1);
+        NavArc result = outgoing[position];
+
+        assert result != null;
+        return result;
+    }
+
     /**
      * List the incoming arcs.
      *
      * @return a new list of pre-existing instances
      */
     public List<NavArc> listIncoming() {
-        List<NavArc> result = new ArrayList<>(incoming);
+        List<NavArc> result = new ArrayList<>(numIncoming);
+        for (int position = 0; position < numIncoming; ++position) {
+            result.add(incoming[position]);
+        }
+
         return result;
     }
 
@@ -312,7 +419,11 @@ public class NavVertex implements Comparable<NavVertex> {
      * @return a new list of pre-existing instances
      */
     public List<NavArc> listOutgoing() {
-        List<NavArc> result = new ArrayList<>(outgoing);
+        List<NavArc> result = new ArrayList<>(numOutgoing);
+        for (int position = 0; position < numOutgoing; ++position) {
+            result.add(outgoing[position]);
+        }
+
         return result;
     }
 
@@ -322,8 +433,8 @@ public class NavVertex implements Comparable<NavVertex> {
      * @return number of arcs (&ge;0)
      */
     public int numIncoming() {
-        int result = incoming.size();
-        return result;
+        assert numIncoming >= 0 : numIncoming;
+        return numIncoming;
     }
 
     /**
@@ -332,8 +443,8 @@ public class NavVertex implements Comparable<NavVertex> {
      * @return number of arcs (&ge;0)
      */
     public int numOutgoing() {
-        int result = outgoing.size();
-        return result;
+        assert numOutgoing >= 0 : numOutgoing;
+        return numOutgoing;
     }
 
     /**
@@ -345,8 +456,11 @@ public class NavVertex implements Comparable<NavVertex> {
         assert arc != null;
         assert arc.getToVertex() == this : arc;
 
-        boolean success = incoming.remove(arc);
-        assert success : arc;
+        int position = find(incoming, numIncoming, arc);
+        assert position >= 0 : arc;
+        --numIncoming;
+        incoming[position] = incoming[numIncoming];
+        incoming[numIncoming] = null;
     }
 
     /**
@@ -358,17 +472,42 @@ public class NavVertex implements Comparable<NavVertex> {
         assert arc != null;
         assert arc.getFromVertex() == this : arc;
 
-        boolean success = outgoing.remove(arc);
-        assert success : arc;
+        int position = find(outgoing, numOutgoing, arc);
+        assert position >= 0 : arc;
+        --numOutgoing;
+        outgoing[position] = outgoing[numOutgoing];
+        outgoing[numOutgoing] = null;
     }
 
     /**
-     * Alter the region represented by this vertex.
+     * Pre-size the arc arrays of this vertex, which must not have any arcs
+     * yet, so that bulk construction doesn't need to grow them.
+     *
+     * @param incomingCapacity the number of incoming arcs to expect (&ge;0)
+     * @param outgoingCapacity the number of outgoing arcs to expect (&ge;0)
+     */
+    void reserveArcs(int incomingCapacity, int outgoingCapacity) {
+        assert numIncoming == 0 : numIncoming;
+        assert numOutgoing == 0 : numOutgoing;
+
+        if (incomingCapacity > incoming.length) {
+            this.incoming = new NavArc[incomingCapacity];
+        }
+        if (outgoingCapacity > outgoing.length) {
+            this.outgoing = new NavArc[outgoingCapacity];
+        }
+    }
+
+    /**
+     * Alter the region represented by this vertex. Also invoke this method
+     * after modifying the current locus in place (for instance, by relocating
+     * a shell), so that the graph's spatial index remains accurate.
      *
      * @param newLocus region or null
      */
     public void setLocus(Locus3f newLocus) {
         this.locus = newLocus;
+        graph.locusChanged(this);
     }
     // *************************************************************************
     // Comparable methods
@@ -436,4 +575,37 @@ public class NavVertex implements Comparable<NavVertex> {
         assert name != null;
         return name;
     }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Find the position of the specified arc in an array.
+     *
+     * @param arcs the array to search (not null, unaffected)
+     * @param count the number of arcs in use (&ge;0)
+     * @param arc the arc to find (not null, unaffected)
+     * @return the position (&ge;0, &lt;count) or -1 if not found
+     */
+    private static int find(NavArc[] arcs, int count, NavArc arc) {
+        for (int position = 0; position < count; ++position) {
+            if (arcs[position].equals(arc)) {
+                return position;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Enlarge an arc array, preserving its contents.
+     *
+     * @param arcs the array to enlarge (not null, unaffected)
+     * @return a new array, at least one element larger
+     */
+    private static NavArc[] grow(NavArc[] arcs) {
+        int newLength = Math.max(4, 2 * arcs.length);
+        NavArc[] result = Arrays.copyOf(arcs, newLength);
+
+        return result;
+    }
 }
@@ -0,0 +1,288 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+
+/**
+ * Reusable scratch storage for queries on a compiled navigation graph, so that
+ * repeated queries needn't allocate. Results of the most recent query remain
+ * readable until the next query begins. Not thread-safe: each thread should
+ * use its own workspace.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class NavWorkspace {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            NavWorkspace.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * total cost of the best route found to (or from) each vertex, indexed by
+     * vertex index
+     */
+    final private float[] costs;
+    /**
+     * hop count to each vertex, indexed by vertex index
+     */
+    final private int[] hopCounts;
+    /**
+     * FIFO queue for breadth-first traversals
+     */
+    final private int[] frontier;
+    /**
+     * stamp marking the vertices reached by the current query, indexed by
+     * vertex index
+     */
+    final private int[] reachedStamps;
+    /**
+     * index of the arc by which each vertex was reached, or -1 for none,
+     * indexed by vertex index
+     */
+    final private int[] routeArcs;
+    /**
+     * stamp marking the vertices settled by the current query, indexed by
+     * vertex index
+     */
+    final private int[] settledStamps;
+    /**
+     * number of vertices settled by the current query (&ge;0)
+     */
+    private int numSettled = 0;
+    /**
+     * stamp value of the current query (&ge;1)
+     */
+    private int stamp = 1;
+    /**
+     * priority queue for best-first searches
+     */
+    final private VertexQueue openQueue;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a workspace for graphs with the specified number of
+     * vertices.
+     *
+     * @param capacity the maximum number of vertices (&ge;0)
+     */
+    public NavWorkspace(int capacity) {
+        Validate.nonNegative(capacity, "capacity");
+
+        this.costs = new float[capacity];
+        this.hopCounts = new int[capacity];
+        this.frontier = new int[capacity];
+        this.reachedStamps = new int[capacity];
+        this.routeArcs = new int[capacity];
+        this.settledStamps = new int[capacity];
+        this.openQueue = new VertexQueue(capacity);
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Read the total cost of the best route found by the most recent search.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;capacity)
+     * @return the cost (&ge;0) or {@link Float#POSITIVE_INFINITY} if the vertex
+     * wasn't reached
+     */
+    public float cost(int vertexIndex) {
+        float result;
+        if (isReached(vertexIndex)) {
+            result = costs[vertexIndex];
+        } else {
+            result = Float.POSITIVE_INFINITY;
+        }
+
+        return result;
+    }
+
+    /**
+     * Read the capacity of this workspace.
+     *
+     * @return the maximum number of vertices (&ge;0)
+     */
+    public int getCapacity() {
+        int result = costs.length;
+        return result;
+    }
+
+    /**
+     * Read the hop count found by the most recent breadth-first traversal.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;capacity)
+     * @return the count (&ge;0) or -1 if the vertex wasn't reached
+     */
+    public int hopCount(int vertexIndex) {
+        int result;
+        if (isReached(vertexIndex)) {
+            result = hopCounts[vertexIndex];
+        } else {
+            result = -1;
+        }
+
+        return result;
+    }
+
+    /**
+     * Test whether the specified vertex was reached by the most recent query.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;capacity)
+     * @return true if reached, otherwise false
+     */
+    public boolean isReached(int vertexIndex) {
+        if (reachedStamps[vertexIndex] == stamp) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Read the arc by which the specified vertex was reached in the most
+     * recent query. After a reverse search, this is the first arc of the
+     * route from the vertex to the goal.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;capacity)
+     * @return the arc index, or -1 if the vertex was the origin of the query
+     * or wasn't reached
+     */
+    public int routeArc(int vertexIndex) {
+        int result;
+        if (isReached(vertexIndex)) {
+            result = routeArcs[vertexIndex];
+        } else {
+            result = -1;
+        }
+
+        return result;
+    }
+
+    /**
+     * Begin a new query, forgetting the results of any previous one. Runs in
+     * constant time, except when the stamp value wraps around.
+     */
+    void begin() {
+        openQueue.clear();
+        this.numSettled = 0;
+        ++stamp;
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(reachedStamps, 0);
+            Arrays.fill(settledStamps, 0);
+            this.stamp = 1;
+        }
+    }
+
+    /**
+     * Count the vertices settled by the current query.
+     *
+     * @return the count (&ge;0)
+     */
+    int countSettled() {
+        assert numSettled >= 0 : numSettled;
+        return numSettled;
+    }
+
+    /**
+     * Access the FIFO queue for breadth-first traversals.
+     *
+     * @return the pre-existing array (not null)
+     */
+    int[] getFrontier() {
+        return frontier;
+    }
+
+    /**
+     * Access the priority queue for best-first searches.
+     *
+     * @return the pre-existing instance (not null)
+     */
+    VertexQueue getOpenQueue() {
+        return openQueue;
+    }
+
+    /**
+     * Test whether the specified vertex has been settled by the current
+     * query.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;capacity)
+     * @return true if settled, otherwise false
+     */
+    boolean isSettled(int vertexIndex) {
+        if (settledStamps[vertexIndex] == stamp) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Record a route to the specified vertex with the specified cost.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;capacity)
+     * @param cost the total cost of the route (&ge;0)
+     * @param arcIndex the index of the final arc in the route, or -1 if none
+     */
+    void reach(int vertexIndex, float cost, int arcIndex) {
+        reachedStamps[vertexIndex] = stamp;
+        costs[vertexIndex] = cost;
+        routeArcs[vertexIndex] = arcIndex;
+    }
+
+    /**
+     * Record a route to the specified vertex with the specified hop count.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;capacity)
+     * @param hopCount the number of arcs in the route (&ge;0)
+     * @param arcIndex the index of the final arc in the route, or -1 if none
+     */
+    void reachByHops(int vertexIndex, int hopCount, int arcIndex) {
+        reachedStamps[vertexIndex] = stamp;
+        hopCounts[vertexIndex] = hopCount;
+        routeArcs[vertexIndex] = arcIndex;
+    }
+
+    /**
+     * Mark the specified vertex as settled by the current query.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;capacity)
+     */
+    void settle(int vertexIndex) {
+        settledStamps[vertexIndex] = stamp;
+        ++numSettled;
+    }
+}
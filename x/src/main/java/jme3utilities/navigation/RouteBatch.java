@@ -0,0 +1,200 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * The requests of a single batch planning operation, grouped by goal.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class RouteBatch {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            RouteBatch.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * planner that created this batch (not null)
+     */
+    final private BatchPlanner planner;
+    /**
+     * position in #requestOrder of the first request in each group, plus a
+     * final entry equal to the number of requests
+     */
+    final private int[] groupOffsets;
+    /**
+     * index of the goal vertex of each request
+     */
+    final private int[] endIndices;
+    /**
+     * request indices, grouped by goal
+     */
+    final private int[] requestOrder;
+    /**
+     * index of the starting vertex of each request
+     */
+    final private int[] startIndices;
+    /**
+     * storage for the route of each request (not null, one element per
+     * request)
+     */
+    final private List<List<NavArc>> results;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Group the specified requests by goal.
+     *
+     * @param planner the planner (not null)
+     * @param startIndices the index of the starting vertex of each request
+     * (not null, alias created)
+     * @param endIndices the index of the goal vertex of each request (not
+     * null, same length as startIndices, alias created)
+     * @param storeResults storage for the results (not null, one element per
+     * request, alias created)
+     */
+    RouteBatch(BatchPlanner planner, int[] startIndices, int[] endIndices,
+            List<List<NavArc>> storeResults) {
+        assert startIndices.length == endIndices.length;
+        assert storeResults.size() == startIndices.length;
+
+        this.planner = planner;
+        this.startIndices = startIndices;
+        this.endIndices = endIndices;
+        this.results = storeResults;
+
+        // Count the requests for each goal.
+        int numRequests = startIndices.length;
+        int numVertices = planner.getGraph().numVertices();
+        int[] counts = new int[numVertices];
+        int numGroups = 0;
+        for (int request = 0; request < numRequests; ++request) {
+            int endIndex = endIndices[request];
+            if (counts[endIndex] == 0) {
+                ++numGroups;
+            }
+            ++counts[endIndex];
+        }
+
+        // Assign each goal a contiguous range of requestOrder.
+        this.groupOffsets = new int[numGroups + 1];
+        int[] fill = new int[numVertices];
+        int groupIndex = 0;
+        int position = 0;
+        for (int request = 0; request < numRequests; ++request) {
+            int endIndex = endIndices[request];
+            if (counts[endIndex] > 0) {
+                groupOffsets[groupIndex] = position;
+                ++groupIndex;
+                fill[endIndex] = position;
+                position += counts[endIndex];
+                counts[endIndex] = 0;
+            }
+        }
+        assert groupIndex == numGroups : groupIndex;
+        assert position == numRequests : position;
+        groupOffsets[numGroups] = numRequests;
+
+        this.requestOrder = new int[numRequests];
+        for (int request = 0; request < numRequests; ++request) {
+            int endIndex = endIndices[request];
+            requestOrder[fill[endIndex]] = request;
+            ++fill[endIndex];
+        }
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Count the distinct goals in this batch.
+     *
+     * @return the count (&ge;1)
+     */
+    int numGroups() {
+        int result = groupOffsets.length - 1;
+        return result;
+    }
+
+    /**
+     * Plan the routes for every request in the specified group, using the
+     * current thread's workspace.
+     *
+     * @param groupIndex which group (&ge;0, &lt;numGroups)
+     */
+    void planGroup(int groupIndex) {
+        CompiledNavGraph graph = planner.getGraph();
+        NavWorkspace workspace = planner.getWorkspace();
+        int first = groupOffsets[groupIndex];
+        int end = groupOffsets[groupIndex + 1];
+        int endIndex = endIndices[requestOrder[first]];
+
+        if (end - first == 1) {
+            // A lone request gets a goal-directed forward search.
+            int request = requestOrder[first];
+            int startIndex = startIndices[request];
+            List<NavArc> route;
+            if (startIndex == endIndex) {
+                route = new ArrayList<>(0);
+            } else {
+                NavHeuristic heuristic = planner.getHeuristic();
+                float cost = graph.seek(
+                        startIndex, endIndex, heuristic, workspace);
+                if (cost == Float.POSITIVE_INFINITY) {
+                    route = null;
+                } else {
+                    route = graph.listRoute(endIndex, workspace);
+                }
+            }
+            results.set(request, route);
+            return;
+        }
+
+        // Multiple requests share one reverse search from their goal.
+        graph.reverseTotalCosts(endIndex, workspace);
+        for (int position = first; position < end; ++position) {
+            int request = requestOrder[position];
+            int startIndex = startIndices[request];
+            List<NavArc> route;
+            if (workspace.isReached(startIndex)) {
+                route = graph.listReverseRoute(startIndex, workspace);
+            } else {
+                route = null;
+            }
+            results.set(request, route);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import com.jme3.math.Vector3f;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+import jme3utilities.Validate;
+import jme3utilities.math.locus.Locus3f;
+import jme3utilities.math.polygon.SimplePolygon3f;
+import jme3utilities.math.spline.LinearSpline3f;
+
+/**
+ * Converts a route of navigation arcs into a smooth path, using the "simple
+ * stupid funnel" string-pulling algorithm.
+ * <p>
+ * When consecutive vertices on a route both have SimplePolygon3f loci with a
+ * shared side, that side is the portal between them. Otherwise the portal
+ * collapses to the location of the arc's terminus. The funnel operates on
+ * horizontal (X-Z) projections, and the path bends only at portal endpoints,
+ * so the result is the shortest horizontal path through the portals.
+ * <p>
+ * Each bend restarts the scan at the portal just past the bend, so portals
+ * between the bend and the point where it was detected are examined again.
+ * When bends are detected soon after they occur, the time is nearly linear
+ * in the number of portals, but the worst case is quadratic: for instance, a
+ * long corridor whose inner wall turns slightly at every portal.
+ * <p>
+ * Portal storage is allocated once per route and reused between calls.
+ * Nothing is allocated per portal, apart from the control points of the
+ * resulting spline. Not thread-safe: each thread should use its own instance.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+public class RouteSmoother {
+    // *************************************************************************
+    // constants
+
+    /**
+     * number of floats stored per portal: left X, Y, Z, right X, Y, Z
+     */
+    final private static int floatsPerPortal = 6;
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            RouteSmoother.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * endpoint coordinates of each portal, from start to goal
+     */
+    private float[] portals = new float[8 * floatsPerPortal];
+    /**
+     * number of portals in use (&ge;0)
+     */
+    private int numPortals = 0;
+    /**
+     * temporary storage for a corner location
+     */
+    final private Vector3f tmpCorner = new Vector3f();
+    /**
+     * temporary storage for the following corner location
+     */
+    final private Vector3f tmpNext = new Vector3f();
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a smoother with room for short routes. Storage grows as
+     * needed.
+     */
+    public RouteSmoother() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Generate the shortest path through the portals of the specified route.
+     * The time taken is quadratic in the route length in the worst case: see
+     * the class description.
+     *
+     * @param start the starting location, typically inside the locus of the
+     * route's first vertex (not null, unaffected)
+     * @param route the arcs to follow, in order (not null, unaffected, may be
+     * empty)
+     * @param goal the goal location, typically inside the locus of the
+     * route's last vertex (not null, unaffected)
+     * @return a new spline from start to goal
+     */
+    public LinearSpline3f smooth(
+            Vector3f start, List<NavArc> route, Vector3f goal) {
+        Validate.nonNull(start, "start");
+        Validate.nonNull(route, "route");
+        Validate.nonNull(goal, "goal");
+
+        int numArcs = route.size();
+        int needed = (numArcs + 2) * floatsPerPortal;
+        if (portals.length < needed) {
+            this.portals = new float[needed];
+        }
+
+        this.numPortals = 0;
+        addPortal(start, start);
+        for (int arcIndex = 0; arcIndex < numArcs; ++arcIndex) {
+            NavArc arc = route.get(arcIndex);
+            addPortal(arc);
+        }
+        addPortal(goal, goal);
+
+        List<Vector3f> points = new ArrayList<>(8);
+        pullString(points);
+        LinearSpline3f result = new LinearSpline3f(points);
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Add the portal of the specified arc.
+     *
+     * @param arc the arc to cross (not null, unaffected)
+     */
+    private void addPortal(NavArc arc) {
+        NavVertex fromVertex = arc.getFromVertex();
+        NavVertex toVertex = arc.getToVertex();
+        Locus3f fromLocus = fromVertex.getLocus();
+        Locus3f toLocus = toVertex.getLocus();
+
+        if (fromLocus instanceof SimplePolygon3f
+                && toLocus instanceof SimplePolygon3f) {
+            SimplePolygon3f fromPolygon = (SimplePolygon3f) fromLocus;
+            SimplePolygon3f toPolygon = (SimplePolygon3f) toLocus;
+            if (fromPolygon.getTolerance() == toPolygon.getTolerance()) {
+                int sideIndex = fromPolygon.findSharedSide(toPolygon);
+                double area = (sideIndex < 0) ? 0.0 : signedAreaXZ(fromPolygon);
+                if (area != 0.0) {
+                    int nextIndex = fromPolygon.nextIndex(sideIndex);
+                    fromPolygon.copyCornerLocation(sideIndex, tmpCorner);
+                    fromPolygon.copyCornerLocation(nextIndex, tmpNext);
+                    /*
+                     * The interior lies to the left of each side of a
+                     * counter-clockwise polygon, so the side's first corner
+                     * is on the traveler's right.
+                     */
+                    if (area > 0.0) {
+                        addPortal(tmpNext, tmpCorner);
+                    } else {
+                        addPortal(tmpCorner, tmpNext);
+                    }
+                    return;
+                }
+            }
+        }
+        /*
+         * No usable shared side, so pass through the terminus location.
+         */
+        toVertex.copyLocation(tmpCorner);
+        addPortal(tmpCorner, tmpCorner);
+    }
+
+    /**
+     * Append a portal with the specified endpoints.
+     *
+     * @param left the location of the left endpoint (not null, unaffected)
+     * @param right the location of the right endpoint (not null, unaffected)
+     */
+    private void addPortal(Vector3f left, Vector3f right) {
+        int offset = numPortals * floatsPerPortal;
+        assert offset + floatsPerPortal <= portals.length : offset;
+
+        portals[offset] = left.x;
+        portals[offset + 1] = left.y;
+        portals[offset + 2] = left.z;
+        portals[offset + 3] = right.x;
+        portals[offset + 4] = right.y;
+        portals[offset + 5] = right.z;
+        ++numPortals;
+    }
+
+    /**
+     * Calculate twice the signed area of the horizontal projection of a
+     * triangle. The result is negative if a, b, and c wind counter-clockwise,
+     * in the same sense as signedAreaXZ().
+     *
+     * @param a the offset of the first vertex in the portal array
+     * @param b the offset of the 2nd vertex in the portal array
+     * @param c the offset of the 3rd vertex in the portal array
+     * @return twice the signed area
+     */
+    private float area2(int a, int b, int c) {
+        float abX = portals[b] - portals[a];
+        float abZ = portals[b + 2] - portals[a + 2];
+        float acX = portals[c] - portals[a];
+        float acZ = portals[c + 2] - portals[a + 2];
+        float result = acX * abZ - abX * acZ;
+
+        return result;
+    }
+
+    /**
+     * Test whether 2 points in the portal array have the same horizontal
+     * projection.
+     *
+     * @param a the offset of the first point
+     * @param b the offset of the 2nd point
+     * @return true if they coincide, otherwise false
+     */
+    private boolean coincide(int a, int b) {
+        if (portals[a] == portals[b] && portals[a + 2] == portals[b + 2]) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Copy a point in the portal array.
+     *
+     * @param offset the offset of the point
+     * @return a new coordinate vector
+     */
+    private Vector3f copyPoint(int offset) {
+        Vector3f result = new Vector3f(
+                portals[offset], portals[offset + 1], portals[offset + 2]);
+        return result;
+    }
+
+    /**
+     * Pull a string through the funnel formed by the portals, from the first
+     * portal to the last. After each bend, scanning resumes at the portal
+     * following the bend's portal, so with n portals the worst-case time is
+     * O(n^2).
+     *
+     * @param storePoints storage for the path's control points (not null,
+     * added to)
+     */
+    private void pullString(List<Vector3f> storePoints) {
+        assert numPortals >= 2 : numPortals;
+
+        int apex = 0;
+        int left = 0;
+        int right = 3;
+        int apexPortal = 0;
+        int leftPortal = 0;
+        int rightPortal = 0;
+        storePoints.add(copyPoint(apex));
+
+        int portalIndex = 1;
+        while (portalIndex < numPortals) {
+            int newLeft = portalIndex * floatsPerPortal;
+            int newRight = newLeft + 3;
+            /*
+             * Try to narrow the funnel from the right.
+             */
+            if (area2(apex, right, newRight) <= 0f) {
+                if (coincide(apex, right) || area2(apex, left, newRight) > 0f) {
+                    right = newRight;
+                    rightPortal = portalIndex;
+                } else {
+                    // The right side crossed the left, which becomes a bend.
+                    apex = left;
+                    apexPortal = leftPortal;
+                    storePoints.add(copyPoint(apex));
+                    right = apex;
+                    rightPortal = apexPortal;
+                    portalIndex = apexPortal + 1;
+                    continue;
+                }
+            }
+            /*
+             * Try to narrow the funnel from the left.
+             */
+            if (area2(apex, left, newLeft) >= 0f) {
+                if (coincide(apex, left) || area2(apex, right, newLeft) < 0f) {
+                    left = newLeft;
+                    leftPortal = portalIndex;
+                } else {
+                    // The left side crossed the right, which becomes a bend.
+                    apex = right;
+                    apexPortal = rightPortal;
+                    storePoints.add(copyPoint(apex));
+                    left = apex;
+                    leftPortal = apexPortal;
+                    portalIndex = apexPortal + 1;
+                    continue;
+                }
+            }
+            ++portalIndex;
+        }
+
+        int goal = (numPortals - 1) * floatsPerPortal;
+        storePoints.add(copyPoint(goal));
+    }
+
+    /**
+     * Calculate twice the signed area of the horizontal projection of the
+     * specified polygon, without allocating.
+     *
+     * @param polygon the polygon to measure (not null, unaffected)
+     * @return twice the area: positive if the projection winds
+     * counter-clockwise, negative if clockwise, zero if degenerate
+     */
+    private double signedAreaXZ(SimplePolygon3f polygon) {
+        int numCorners = polygon.numCorners();
+        double result = 0.0;
+        polygon.copyCornerLocation(numCorners - 1, tmpCorner);
+        for (int cornerIndex = 0; cornerIndex < numCorners; ++cornerIndex) {
+            polygon.copyCornerLocation(cornerIndex, tmpNext);
+            result += (double) tmpCorner.x * tmpNext.z
+                    - (double) tmpNext.x * tmpCorner.z;
+            tmpCorner.set(tmpNext);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Logger;
+
+/**
+ * Fork/join task to plan the routes for a range of goal groups in a batch,
+ * splitting the range until each task handles a single group.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class RouteTask extends RecursiveAction {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            RouteTask.class.getName());
+    /**
+     * serialization version, to avoid a lint warning
+     */
+    final private static long serialVersionUID = 1L;
+    // *************************************************************************
+    // fields
+
+    /**
+     * batch being planned (not null, initialized by constructor)
+     */
+    final private RouteBatch batch;
+    /**
+     * index of the first group to plan (initialized by constructor)
+     */
+    final private int firstGroup;
+    /**
+     * index just past the last group to plan (initialized by constructor)
+     */
+    final private int endGroup;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a task for the specified range of groups.
+     *
+     * @param batch the batch being planned (not null, alias created)
+     * @param firstGroup the index of the first group to plan (&ge;0)
+     * @param endGroup the index just past the last group to plan
+     * (&gt;firstGroup)
+     */
+    RouteTask(RouteBatch batch, int firstGroup, int endGroup) {
+        assert batch != null;
+        assert firstGroup >= 0 : firstGroup;
+        assert endGroup > firstGroup : endGroup;
+
+        this.batch = batch;
+        this.firstGroup = firstGroup;
+        this.endGroup = endGroup;
+    }
+    // *************************************************************************
+    // RecursiveAction methods
+
+    /**
+     * Plan the routes, forking subtasks if there's more than one group.
+     */
+    @Override
+    protected void compute() {
+        if (endGroup - firstGroup == 1) {
+            batch.planGroup(firstGroup);
+        } else {
+            int middle = (firstGroup + endGroup) >>> 1;
+            RouteTask low = new RouteTask(batch, firstGroup, middle);
+            RouteTask high = new RouteTask(batch, middle, endGroup);
+            invokeAll(low, high);
+        }
+    }
+}
@@ -0,0 +1,454 @@
+/*
+ Copyright (c) 2026, Stephen Gold
+ All rights reserved.
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright
+ notice, this list of conditions and the following disclaimer.
+ * Redistributions in binary form must reproduce the above copyright
+ notice, this list of conditions and the following disclaimer in the
+ documentation and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its contributors
+ may be used to endorse or promote products derived from this software without
+ specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package jme3utilities.navigation;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * Indexed binary min-heap of vertex indices, prioritized by float keys, for use
+ * in shortest-path searches. Supports decrease-key in O(log n) time. Keys may
+ * have secondary and tertiary components to break ties, as in D* Lite. Not
+ * thread-safe.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class VertexQueue {
+    // *************************************************************************
+    // constants
+
+    /**
+     * message logger for this class
+     */
+    final private static Logger logger = Logger.getLogger(
+            VertexQueue.class.getName());
+    // *************************************************************************
+    // fields
+
+    /**
+     * priority of each queued vertex, indexed by heap position
+     */
+    private float[] priorities;
+    /**
+     * secondary priority of each queued vertex, indexed by heap position
+     */
+    private float[] secondaries;
+    /**
+     * tertiary priority of each queued vertex, indexed by heap position
+     */
+    private float[] tertiaries;
+    /**
+     * vertex index at each heap position
+     */
+    private int[] heap;
+    /**
+     * heap position of each vertex index, or -1 if not queued
+     */
+    private int[] positions;
+    /**
+     * number of successful offers since the queue was last cleared (&ge;0)
+     */
+    private int numPushes = 0;
+    /**
+     * number of vertices currently queued (&ge;0)
+     */
+    private int size = 0;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate an empty queue for the specified number of vertices.
+     *
+     * @param capacity one more than the largest vertex index that will be
+     * queued (&ge;0)
+     */
+    VertexQueue(int capacity) {
+        assert capacity >= 0 : capacity;
+
+        this.priorities = new float[capacity];
+        this.secondaries = new float[capacity];
+        this.tertiaries = new float[capacity];
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Remove all vertices from this queue. Runs in time proportional to the
+     * number of vertices queued, not the capacity.
+     */
+    void clear() {
+        for (int heapI = 0; heapI < size; ++heapI) {
+            int vertexIndex = heap[heapI];
+            positions[vertexIndex] = -1;
+        }
+        this.numPushes = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Count the successful offers since this queue was last cleared,
+     * including those that lowered the priority of a queued vertex.
+     *
+     * @return the count (&ge;0)
+     */
+    int countPushes() {
+        assert numPushes >= 0 : numPushes;
+        return numPushes;
+    }
+
+    /**
+     * Test whether the specified vertex is queued.
+     *
+     * @param vertexIndex the index of the vertex to test (&ge;0,
+     * &lt;capacity)
+     * @return true if queued, otherwise false
+     */
+    boolean contains(int vertexIndex) {
+        boolean result = positions[vertexIndex] >= 0;
+        return result;
+    }
+
+    /**
+     * Remove the specified vertex from this queue, if it's queued.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;capacity)
+     * @return true if the vertex was removed, false if it wasn't queued
+     */
+    boolean delete(int vertexIndex) {
+        int heapI = positions[vertexIndex];
+        if (heapI < 0) {
+            return false;
+        }
+
+        positions[vertexIndex] = -1;
+        --size;
+        if (heapI < size) {
+            // Fill the hole with the last vertex.
+            int lastVertex = heap[size];
+            float lastPriority = priorities[size];
+            float lastSecondary = secondaries[size];
+            float lastTertiary = tertiaries[size];
+            siftUp(heapI, lastVertex, lastPriority, lastSecondary,
+                    lastTertiary);
+            if (positions[lastVertex] == heapI) {
+                siftDown(heapI, lastVertex, lastPriority, lastSecondary,
+                        lastTertiary);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Enlarge this queue (if necessary) to accommodate the specified number of
+     * vertices. Queued vertices are retained.
+     *
+     * @param capacity one more than the largest vertex index that will be
+     * queued (&ge;0)
+     */
+    void ensureCapacity(int capacity) {
+        int oldCapacity = positions.length;
+        if (capacity > oldCapacity) {
+            this.priorities = Arrays.copyOf(priorities, capacity);
+            this.secondaries = Arrays.copyOf(secondaries, capacity);
+            this.tertiaries = Arrays.copyOf(tertiaries, capacity);
+            this.heap = Arrays.copyOf(heap, capacity);
+            this.positions = Arrays.copyOf(positions, capacity);
+            Arrays.fill(positions, oldCapacity, capacity, -1);
+        }
+    }
+
+    /**
+     * Test whether this queue is empty.
+     *
+     * @return true if empty, otherwise false
+     */
+    boolean isEmpty() {
+        if (size == 0) {
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Add the specified vertex to this queue, or lower its priority if it's
+     * already queued with a higher one.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;capacity)
+     * @param priority the desired priority (lower values are removed first)
+     * @return true if the queue was modified, false if the vertex was already
+     * queued with an equal or lower priority
+     */
+    boolean offer(int vertexIndex, float priority) {
+        int heapI = positions[vertexIndex];
+        if (heapI < 0) {
+            heapI = size;
+            ++size;
+        } else if (priority < priorities[heapI]) {
+            // decrease-key
+        } else {
+            return false;
+        }
+        siftUp(heapI, vertexIndex, priority, 0f, 0f);
+        ++numPushes;
+
+        return true;
+    }
+
+    /**
+     * Read the lowest priority in this queue.
+     *
+     * @return the priority of the first vertex to be removed (queue not empty)
+     */
+    float peekPriority() {
+        assert size > 0;
+        float result = priorities[0];
+        return result;
+    }
+
+    /**
+     * Read the secondary priority of the first vertex to be removed.
+     *
+     * @return the secondary priority (queue not empty)
+     */
+    float peekSecondary() {
+        assert size > 0;
+        float result = secondaries[0];
+        return result;
+    }
+
+    /**
+     * Read the tertiary priority of the first vertex to be removed.
+     *
+     * @return the tertiary priority (queue not empty)
+     */
+    float peekTertiary() {
+        assert size > 0;
+        float result = tertiaries[0];
+        return result;
+    }
+
+    /**
+     * Identify the first vertex to be removed, without removing it.
+     *
+     * @return the vertex index (queue not empty)
+     */
+    int peekVertex() {
+        assert size > 0;
+        int result = heap[0];
+        return result;
+    }
+
+    /**
+     * Remove the vertex with the lowest priority from this queue.
+     *
+     * @return the index of the removed vertex (queue not empty)
+     */
+    int remove() {
+        assert size > 0;
+
+        int result = heap[0];
+        positions[result] = -1;
+        --size;
+        if (size > 0) {
+            int lastVertex = heap[size];
+            float lastPriority = priorities[size];
+            float lastSecondary = secondaries[size];
+            float lastTertiary = tertiaries[size];
+            siftDown(0, lastVertex, lastPriority, lastSecondary,
+                    lastTertiary);
+        }
+
+        return result;
+    }
+
+    /**
+     * Count how many vertices are queued.
+     *
+     * @return count (&ge;0)
+     */
+    int size() {
+        assert size >= 0 : size;
+        return size;
+    }
+
+    /**
+     * Add the specified vertex to this queue, or alter its priority (up or
+     * down) if it's already queued. Keys are compared lexicographically.
+     *
+     * @param vertexIndex the index of the vertex (&ge;0, &lt;capacity)
+     * @param priority the desired priority (lower values are removed first)
+     * @param secondary the desired secondary priority, for breaking ties
+     * @param tertiary the desired tertiary priority, for breaking ties in the
+     * secondary priority
+     */
+    void update(int vertexIndex, float priority, float secondary,
+            float tertiary) {
+        int heapI = positions[vertexIndex];
+        if (heapI < 0) {
+            siftUp(size, vertexIndex, priority, secondary, tertiary);
+            ++size;
+        } else if (precedes(priority, secondary, tertiary, heapI)) {
+            siftUp(heapI, vertexIndex, priority, secondary, tertiary);
+        } else {
+            siftDown(heapI, vertexIndex, priority, secondary, tertiary);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Test whether one key should be removed before another. Keys are compared
+     * lexicographically.
+     *
+     * @param priority1 the priority of the first key
+     * @param secondary1 the secondary priority of the first key
+     * @param tertiary1 the tertiary priority of the first key
+     * @param priority2 the priority of the second key
+     * @param secondary2 the secondary priority of the second key
+     * @param tertiary2 the tertiary priority of the second key
+     * @return true if the first key is lower, otherwise false
+     */
+    private static boolean precedes(float priority1, float secondary1,
+            float tertiary1, float priority2, float secondary2,
+            float tertiary2) {
+        if (priority1 != priority2) {
+            return priority1 < priority2;
+        } else if (secondary1 != secondary2) {
+            return secondary1 < secondary2;
+        } else {
+            return tertiary1 < tertiary2;
+        }
+    }
+
+    /**
+     * Test whether the specified key should be removed before the key at the
+     * specified heap position.
+     *
+     * @param priority the priority of the key
+     * @param secondary the secondary priority of the key
+     * @param tertiary the tertiary priority of the key
+     * @param heapI the heap position of the other key (&ge;0, &lt;size)
+     * @return true if the specified key is lower, otherwise false
+     */
+    private boolean precedes(
+            float priority, float secondary, float tertiary, int heapI) {
+        boolean result = precedes(priority, secondary, tertiary,
+                priorities[heapI], secondaries[heapI], tertiaries[heapI]);
+        return result;
+    }
+
+    /**
+     * Test whether the key at one heap position should be removed before the
+     * key at another.
+     *
+     * @param heapI the heap position of the first key (&ge;0, &lt;size)
+     * @param otherI the heap position of the other key (&ge;0, &lt;size)
+     * @return true if the first key is lower, otherwise false
+     */
+    private boolean precedes(int heapI, int otherI) {
+        boolean result = precedes(priorities[heapI], secondaries[heapI],
+                tertiaries[heapI], otherI);
+        return result;
+    }
+
+    /**
+     * Place the specified vertex at the specified heap position or below,
+     * moving lighter children up as needed.
+     *
+     * @param heapI the starting heap position (&ge;0, &lt;size)
+     * @param vertexIndex the vertex to place
+     * @param priority the priority of the vertex
+     * @param secondary the secondary priority of the vertex
+     * @param tertiary the tertiary priority of the vertex
+     */
+    private void siftDown(int heapI, int vertexIndex, float priority,
+            float secondary, float tertiary) {
+        int half = size >>> 1;
+        while (heapI < half) {
+            int childI = 2 * heapI + 1;
+            int rightI = childI + 1;
+            if (rightI < size && precedes(rightI, childI)) {
+                childI = rightI;
+            }
+            if (!precedes(priorities[childI], secondaries[childI],
+                    tertiaries[childI], priority, secondary, tertiary)) {
+                break;
+            }
+            place(heapI, heap[childI], priorities[childI],
+                    secondaries[childI], tertiaries[childI]);
+            heapI = childI;
+        }
+        place(heapI, vertexIndex, priority, secondary, tertiary);
+    }
+
+    /**
+     * Place the specified vertex at the specified heap position or above,
+     * moving heavier parents down as needed.
+     *
+     * @param heapI the starting heap position (&ge;0, &le;size)
+     * @param vertexIndex the vertex to place
+     * @param priority the priority of the vertex
+     * @param secondary the secondary priority of the vertex
+     * @param tertiary the tertiary priority of the vertex
+     */
+    private void siftUp(int heapI, int vertexIndex, float priority,
+            float secondary, float tertiary) {
+        while (heapI > 0) {
+            int parentI = (heapI - 1) >>> 1;
+            if (!precedes(priority, secondary, tertiary, parentI)) {
+                break;
+            }
+            place(heapI, heap[parentI], priorities[parentI],
+                    secondaries[parentI], tertiaries[parentI]);
+            heapI = parentI;
+        }
+        place(heapI, vertexIndex, priority, secondary, tertiary);
+    }
+
+    /**
+     * Store the specified vertex at the specified heap position.
+     *
+     * @param heapI the heap position (&ge;0, &lt;capacity)
+     * @param vertexIndex the vertex to store
+     * @param priority the priority of the vertex
+     * @param secondary the secondary priority of the vertex
+     * @param tertiary the tertiary priority of the vertex
+     */
+    private void place(int heapI, int vertexIndex, float priority,
+            float secondary, float tertiary) {
+        heap[heapI] = vertexIndex;
+        priorities[heapI] = priority;
+        secondaries[heapI] = secondary;
+        tertiaries[heapI] = tertiary;
+        positions[vertexIndex] = heapI;
+    }
+}